@@ -0,0 +1,138 @@
+package com.driverental.onlinecarrental;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the JMH benchmarks with the allocation profiler and compares each result against
+ * the checked-in baseline (src/jmh/baseline.json). Exits non-zero when a benchmark
+ * allocates more than 10% above its baseline bytes per operation, which holds on any
+ * machine and JVM build of the same version.
+ *
+ * Time is opt-in with -Djmh.gate-time=true, for machines quiet enough to trust it: the run
+ * then also fails when a benchmark got more than 30% slower. Absolute times only hold on
+ * the machine that recorded them, so time is compared as a multiple of
+ * {@link ReferenceBenchmark}, which always runs in the same session; the baseline keeps
+ * ns/op for reading only.
+ *
+ * Arguments are the usual JMH command line. With -Djmh.update-baseline=true the results
+ * are written into the baseline instead.
+ */
+public class BenchmarkGate {
+
+    private static final double TIME_TOLERANCE = 0.30;
+    private static final double ALLOC_TOLERANCE = 0.10;
+    // Absorbs rounding in the profiler's per-operation figure for allocation-free benchmarks
+    private static final double ALLOC_SLACK_BYTES = 16;
+    private static final String REFERENCE = ReferenceBenchmark.class.getSimpleName() + ".reference";
+
+    public static void main(String[] args) throws Exception {
+        File baselineFile = new File(System.getProperty("jmh.baseline", "src/jmh/baseline.json"));
+        boolean update = Boolean.getBoolean("jmh.update-baseline");
+        boolean gateTime = Boolean.getBoolean("jmh.gate-time");
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(".*");
+        }
+        Options options = builder
+                .parent(commandLine)
+                .include(Pattern.quote(ReferenceBenchmark.class.getName() + "."))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        Map<String, RunResult> results = new Runner(options).run().stream()
+                .collect(Collectors.toMap(BenchmarkGate::label, result -> result, (a, b) -> b, TreeMap::new));
+        RunResult reference = results.remove(REFERENCE);
+        if (reference == null) {
+            throw new IllegalStateException(REFERENCE + " did not run");
+        }
+        double referenceNs = reference.getPrimaryResult().getScore();
+        Map<String, Measurement> measured = new TreeMap<>();
+        results.forEach((name, result) -> measured.put(name, measurement(result, referenceNs)));
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Map<String, Measurement> baseline = baselineFile.exists()
+                ? objectMapper.readValue(baselineFile, new TypeReference<TreeMap<String, Measurement>>() { })
+                : new TreeMap<>();
+
+        if (update) {
+            measured.forEach((name, measurement) -> baseline.put(name, measurement.rounded()));
+            objectMapper.writeValue(baselineFile, baseline);
+            System.out.printf("Baseline %s updated with %d results%n", baselineFile, measured.size());
+            return;
+        }
+
+        int regressions = 0;
+        System.out.printf("%n%s: %.1f ns/op, time %s%n", REFERENCE, referenceNs,
+                gateTime ? "gated" : "reported only (-Djmh.gate-time=true to gate it)");
+        System.out.printf("%-60s %12s %12s %12s %12s %12s%n", "Benchmark", "ns/op", "x ref", "base x ref", "B/op",
+                "base B/op");
+        for (Map.Entry<String, Measurement> entry : measured.entrySet()) {
+            Measurement now = entry.getValue();
+            Measurement base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-60s %12.1f %12.4f %12s %12.0f %12s  (no baseline)%n", entry.getKey(),
+                        now.nsPerOp(), now.relativeTime(), "-", now.bytesPerOp(), "-");
+                continue;
+            }
+            boolean slower = gateTime && now.relativeTime() > base.relativeTime() * (1 + TIME_TOLERANCE);
+            boolean allocates = now.bytesPerOp() > base.bytesPerOp() * (1 + ALLOC_TOLERANCE) + ALLOC_SLACK_BYTES;
+            System.out.printf("%-60s %12.1f %12.4f %12.4f %12.0f %12.0f%s%n", entry.getKey(), now.nsPerOp(),
+                    now.relativeTime(), base.relativeTime(), now.bytesPerOp(), base.bytesPerOp(),
+                    slower || allocates ? "  REGRESSION" : "");
+            if (slower || allocates) {
+                regressions++;
+            }
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed against %s%n", regressions, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    private static String label(RunResult result) {
+        String benchmark = result.getParams().getBenchmark();
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        String params = result.getParams().getParamsKeys().stream()
+                .map(key -> key + "=" + result.getParams().getParam(key))
+                .collect(Collectors.joining(","));
+        return params.isEmpty() ? name : name + ":" + params;
+    }
+
+    private static Measurement measurement(RunResult result, double referenceNs) {
+        Result<?> allocated = result.getSecondaryResults().get("gc.alloc.rate.norm");
+        double nsPerOp = result.getPrimaryResult().getScore();
+        return new Measurement(nsPerOp, nsPerOp / referenceNs, allocated == null ? 0 : allocated.getScore());
+    }
+
+    /**
+     * One benchmark's result; relativeTime is its ns/op over the reference benchmark's.
+     */
+    record Measurement(double nsPerOp, double relativeTime, double bytesPerOp) {
+
+        Measurement rounded() {
+            return new Measurement(Math.round(nsPerOp * 10) / 10.0,
+                    new BigDecimal(relativeTime).round(new MathContext(4)).doubleValue(), Math.round(bytesPerOp));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.driverental.onlinecarrental;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed work that never changes with the application, run alongside the other benchmarks
+ * so {@link BenchmarkGate} can express their times relative to it: a faster or slower
+ * machine scales both sides alike. The work is a short dependent chain of double
+ * arithmetic with a little allocation, like the pricing code, and reaches steady state
+ * quickly, so a single fork measures it reproducibly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReferenceBenchmark {
+
+    private final double[] multipliers = new double[64];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < multipliers.length; i++) {
+            multipliers[i] = 0.5 + random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public long reference() {
+        double[] daily = multipliers.clone();
+        double total = 0;
+        for (int i = 0; i < daily.length; i++) {
+            daily[i] = Math.min(2.0, Math.max(0.7, daily[i] * (i % 7 >= 5 ? 1.25 : 1.0)));
+            total = total * 0.999 + Math.round(349_999 * daily[i]);
+        }
+        return (long) total;
+    }
+}
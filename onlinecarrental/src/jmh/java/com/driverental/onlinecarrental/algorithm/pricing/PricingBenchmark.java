@@ -0,0 +1,140 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of one quote through the pricing package, wired as in the application.
+ *
+ * Ranges start on a Friday three weeks out (weekend and lead-time rules apply) and run
+ * for a weekend, a week or a month, the latter crossing into the next month. The demand
+ * forecast is fitted from a year of synthetic history for the quoted location and type,
+ * and logging runs at the application's INFO level.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingBenchmark {
+
+    private static final String LOCATION = "Kathmandu";
+
+    @Param({"2", "7", "30"})
+    private int days;
+
+    private DemandCalculator demandCalculator;
+    private DynamicPricingEngine dynamicPricingEngine;
+    private PricingPipeline pricingPipeline;
+    private PriceFactorCalculator priceFactorCalculator;
+    private PricingRules rules;
+    private Vehicle vehicle;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<PriceFactor> factors;
+    private BigDecimal basePrice;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+        OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+        when(vehicleRepository.countByLocationAndType())
+                .thenReturn(List.<Object[]>of(new Object[] { LOCATION, VehicleType.SUV, 12L }));
+        when(bookingRepository.countActiveStartsByLocationAndType(any(), any())).thenReturn(history());
+        DemandForecaster demandForecaster = new DemandForecaster(bookingRepository, vehicleRepository,
+                outboxEventRepository, new ObjectMapper());
+        demandForecaster.backfill();
+
+        demandCalculator = new DemandCalculator();
+        dynamicPricingEngine = new DynamicPricingEngine(demandForecaster);
+        pricingPipeline = new PricingPipeline(demandCalculator, dynamicPricingEngine, new PricingRuleRegistry(null));
+        priceFactorCalculator = new PriceFactorCalculator(pricingPipeline);
+        rules = pricingPipeline.rules();
+
+        vehicle = Vehicle.builder()
+                .type(VehicleType.SUV)
+                .fuelType(FuelType.DIESEL)
+                .rating(4.6)
+                .basePrice(new BigDecimal("6500.00"))
+                .location(LOCATION)
+                .build();
+        basePrice = vehicle.getBasePrice();
+        startDate = LocalDate.now().plusWeeks(3).with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+        endDate = startDate.plusDays(days);
+        factors = priceFactorCalculator.createDefaultFactors(vehicle, startDate, endDate);
+    }
+
+    // One to five one- to four-day rentals starting on each day of the past year
+    private static List<Object[]> history() {
+        List<Object[]> rows = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(365); day.isBefore(today); day = day.plusDays(1)) {
+            int starts = 1 + day.getDayOfYear() % 5;
+            rows.add(new Object[] { LOCATION, VehicleType.SUV, day, day.plusDays(1 + day.getDayOfMonth() % 4),
+                    (long) starts });
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public double dailyFactors() {
+        double sum = 0;
+        for (LocalDate day = startDate; day.isBefore(endDate); day = day.plusDays(1)) {
+            sum += demandCalculator.calculateDailyFactor(rules, day);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double engineFactors() {
+        return dynamicPricingEngine.calculateDemandFactor(rules, vehicle, startDate, endDate)
+                * dynamicPricingEngine.calculateDurationFactor(rules, startDate, endDate)
+                * dynamicPricingEngine.calculateLeadTimeFactor(rules, startDate)
+                * dynamicPricingEngine.calculateVehicleFactor(rules, vehicle);
+    }
+
+    @Benchmark
+    public PricingPipeline.Breakdown pipelineQuote() {
+        return pricingPipeline.explain(vehicle, startDate, endDate);
+    }
+
+    @Benchmark
+    public List<PriceFactor> defaultFactors() {
+        return priceFactorCalculator.createDefaultFactors(vehicle, startDate, endDate);
+    }
+
+    @Benchmark
+    public BigDecimal combinedMultiplier() {
+        return priceFactorCalculator.calculateCombinedMultiplier(factors);
+    }
+
+    @Benchmark
+    public BigDecimal finalPrice() {
+        return priceFactorCalculator.calculateFinalPrice(basePrice, factors);
+    }
+}
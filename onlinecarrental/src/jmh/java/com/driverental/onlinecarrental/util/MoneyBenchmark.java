@@ -0,0 +1,74 @@
+package com.driverental.onlinecarrental.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the BigDecimal arithmetic pricing used to do with the {@link Money} path.
+ *
+ * Both variants compute the same figures: a per-day rental total over two weeks of
+ * multipliers, and a checkout total with insurance, a service fee and tax.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final BigDecimal INSURANCE_RATE = new BigDecimal("0.15");
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.13");
+    private static final BigDecimal DELIVERY_FEE = new BigDecimal("25.00");
+
+    private final double[] dailyMultipliers = new double[14];
+    private BigDecimal basePrice;
+    private Money baseMoney;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < dailyMultipliers.length; i++) {
+            dailyMultipliers[i] = i % 7 >= 4 ? 1.25 * 1.3 : 1.3;
+        }
+        basePrice = new BigDecimal("3499.99");
+        baseMoney = Money.of(basePrice);
+    }
+
+    @Benchmark
+    public BigDecimal dailyTotalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (double multiplier : dailyMultipliers) {
+            total = total.add(basePrice.multiply(BigDecimal.valueOf(multiplier)).setScale(2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal dailyTotalMoney() {
+        Money total = Money.ZERO;
+        for (double multiplier : dailyMultipliers) {
+            total = total.plus(baseMoney.times(multiplier));
+        }
+        return total.toBigDecimal();
+    }
+
+    @Benchmark
+    public BigDecimal checkoutTotalBigDecimal() {
+        BigDecimal subtotal = basePrice.multiply(BigDecimal.valueOf(dailyMultipliers.length));
+        BigDecimal insurance = subtotal.multiply(INSURANCE_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal taxable = subtotal.add(insurance).add(DELIVERY_FEE);
+        BigDecimal tax = taxable.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        return taxable.add(tax).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal checkoutTotalMoney() {
+        Money subtotal = baseMoney.times(dailyMultipliers.length);
+        Money insurance = subtotal.times(INSURANCE_RATE);
+        Money taxable = subtotal.plus(insurance).plus(Money.ofRupees(25));
+        return taxable.plus(taxable.times(TAX_RATE)).toBigDecimal();
+    }
+}
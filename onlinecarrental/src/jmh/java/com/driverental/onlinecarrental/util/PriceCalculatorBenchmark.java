@@ -0,0 +1,66 @@
+package com.driverental.onlinecarrental.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link PriceCalculator} helpers a checkout and a cancellation go through,
+ * over a weekend, a week and a month starting on a Friday three weeks out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriceCalculatorBenchmark {
+
+    private static final String[] SERVICES = { "DELIVERY", "CHILD_SEAT", "GPS" };
+
+    @Param({"2", "7", "30"})
+    private int days;
+
+    private final BigDecimal dailyRate = new BigDecimal("6500.00");
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate cancellationDate;
+
+    @Setup
+    public void setUp() {
+        startDate = LocalDate.now().plusWeeks(3).with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+        endDate = startDate.plusDays(days);
+        cancellationDate = startDate.minusDays(5);
+    }
+
+    @Benchmark
+    public BigDecimal adjustedTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LocalDate day = startDate; day.isBefore(endDate); day = day.plusDays(1)) {
+            total = total.add(PriceCalculator.applyWeekendPricing(
+                    PriceCalculator.applySeasonalPricing(dailyRate, day), day));
+        }
+        total = PriceCalculator.applyLongTermDiscount(total, days);
+        return PriceCalculator.applyLeadTimePricing(total, startDate);
+    }
+
+    @Benchmark
+    public BigDecimal checkoutTotal() {
+        BigDecimal rental = PriceCalculator.calculateTotalPrice(dailyRate, startDate, endDate);
+        BigDecimal insurance = PriceCalculator.calculateInsuranceCost(rental, "STANDARD");
+        BigDecimal fees = PriceCalculator.calculateAdditionalFees(SERVICES);
+        BigDecimal tax = PriceCalculator.calculateTax(rental.add(insurance).add(fees), "NP");
+        return PriceCalculator.calculateFinalTotal(rental, insurance, fees, tax);
+    }
+
+    @Benchmark
+    public BigDecimal cancellationRefund() {
+        BigDecimal total = PriceCalculator.calculateTotalPrice(dailyRate, startDate, endDate);
+        BigDecimal fee = PriceCalculator.calculateCancellationFee(total, startDate, cancellationDate);
+        return PriceCalculator.calculateRefundAmount(total, fee);
+    }
+}
@@ -0,0 +1,79 @@
+package com.driverental.onlinecarrental.algorithm.availability;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-vehicle set of occupied date ranges, kept as disjoint intervals keyed by start day.
+ *
+ * Because the intervals never overlap, both their starts and their ends are sorted, so a
+ * request [start, end] conflicts exactly when the interval with the greatest start not
+ * after {@code end} reaches {@code start}. That makes a conflict check a single
+ * {@link TreeMap#floorEntry} lookup. Bounds are inclusive, matching
+ * {@code BookingRepository.findConflictingBookings}. Not thread-safe.
+ */
+public class IntervalIndex {
+
+    private final Map<Long, TreeMap<Long, Long>> occupied = new HashMap<>();
+
+    public boolean conflicts(long vehicleId, LocalDate startDate, LocalDate endDate) {
+        TreeMap<Long, Long> intervals = occupied.get(vehicleId);
+        if (intervals == null) {
+            return false;
+        }
+        Map.Entry<Long, Long> candidate = intervals.floorEntry(endDate.toEpochDay());
+        return candidate != null && candidate.getValue() >= startDate.toEpochDay();
+    }
+
+    /**
+     * Marks the range as occupied, merging it with any interval it touches so the
+     * disjointness invariant holds even for overlapping input.
+     */
+    public void add(long vehicleId, LocalDate startDate, LocalDate endDate) {
+        TreeMap<Long, Long> intervals = occupied.computeIfAbsent(vehicleId, id -> new TreeMap<>());
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+
+        Map.Entry<Long, Long> previous = intervals.floorEntry(start);
+        if (previous != null && previous.getValue() >= start) {
+            start = previous.getKey();
+            end = Math.max(end, previous.getValue());
+            intervals.remove(previous.getKey());
+        }
+
+        Map.Entry<Long, Long> next = intervals.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            intervals.remove(next.getKey());
+            next = intervals.ceilingEntry(start);
+        }
+
+        intervals.put(start, end);
+    }
+
+    /**
+     * Marks the range as free again, trimming or splitting any interval that covers part of it.
+     */
+    public void remove(long vehicleId, LocalDate startDate, LocalDate endDate) {
+        TreeMap<Long, Long> intervals = occupied.get(vehicleId);
+        if (intervals == null) {
+            return;
+        }
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+
+        Map.Entry<Long, Long> entry = intervals.floorEntry(end);
+        while (entry != null && entry.getValue() >= start) {
+            intervals.remove(entry.getKey());
+            if (entry.getKey() < start) {
+                intervals.put(entry.getKey(), start - 1);
+            }
+            if (entry.getValue() > end) {
+                intervals.put(end + 1, entry.getValue());
+            }
+            entry = intervals.lowerEntry(entry.getKey());
+        }
+    }
+}
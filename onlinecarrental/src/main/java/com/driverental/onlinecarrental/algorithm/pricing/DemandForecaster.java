@@ -0,0 +1,295 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.event.SnapshotEventGate;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Forecast demand per location x vehicle type x day, in the fleet's own terms.
+ *
+ * For each location and type the forecaster keeps an exponentially smoothed level of
+ * bookings starting per day, a smoothed weekly seasonal index, the mean rental length,
+ * the fleet size and the bookings already made for each day ahead. The expected starts on
+ * a day are the seasonal baseline, or the bookings already on the books when those are
+ * higher; utilization over a range is expected starts x mean length / fleet.
+ *
+ * The model is rebuilt nightly from booking history, each series fitted in parallel. In
+ * between, relayed booking events adjust the bookings ahead in O(1), so lookups never
+ * touch the database. Events relayed while the model is rebuilt are held back and applied
+ * to the new model unless its history already holds them, see {@link SnapshotEventGate}.
+ * Locations match case-insensitively.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DemandForecaster {
+
+    private static final VehicleType[] TYPES = VehicleType.values();
+    private static final double MIN_SEASON = 0.1;
+
+    private final BookingRepository bookingRepository;
+    private final VehicleRepository vehicleRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pricing.forecast-history-days:365}")
+    private int historyDays = 365;
+
+    @Value("${app.pricing.forecast-future-days:400}")
+    private int futureDays = 400;
+
+    @Value("${app.pricing.forecast-level-smoothing:0.2}")
+    private double levelSmoothing = 0.2;
+
+    @Value("${app.pricing.forecast-season-smoothing:0.1}")
+    private double seasonSmoothing = 0.1;
+
+    private final AtomicReference<Model> model = new AtomicReference<>(new Model(0, 0));
+    private final SnapshotEventGate eventGate = new SnapshotEventGate();
+
+    /**
+     * Expected share of the location's fleet of this type in use over the rental days of
+     * the range, or NaN when no such fleet is known.
+     */
+    public double utilization(String location, VehicleType type, LocalDate startDate, LocalDate endDate) {
+        Model current = model.get();
+        Series series = current.find(location, type);
+        if (series == null || series.fleet() == 0) {
+            return Double.NaN;
+        }
+        long fromDay = startDate.toEpochDay();
+        int days = PricingPipeline.rentalDays(startDate, endDate);
+        double starts = 0;
+        for (int i = 0; i < days; i++) {
+            starts += series.expectedStarts(current.originDay, fromDay + i);
+        }
+        return starts * series.meanDays() / ((double) series.fleet() * days);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 5 0 * * ?")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void backfill() {
+        eventGate.close();
+        Model rebuilt;
+        try {
+            rebuilt = rebuild();
+        } catch (RuntimeException e) {
+            // The current model stays, so it takes the events held back meanwhile
+            eventGate.reopen().forEach(this::apply);
+            throw e;
+        }
+        model.set(rebuilt);
+        eventGate.open(outboxEventRepository).forEach(this::apply);
+    }
+
+    private Model rebuild() {
+        long today = LocalDate.now().toEpochDay();
+        long historyOrigin = today - historyDays;
+
+        Map<String, Map<VehicleType, History>> histories = new HashMap<>();
+        for (Object[] row : vehicleRepository.countByLocationAndType()) {
+            history(histories, (String) row[0], (VehicleType) row[1]).fleet += ((Long) row[2]).intValue();
+        }
+        List<Object[]> rows = bookingRepository.countActiveStartsByLocationAndType(
+                LocalDate.ofEpochDay(historyOrigin), LocalDate.ofEpochDay(today + futureDays));
+        for (Object[] row : rows) {
+            History history = history(histories, (String) row[0], (VehicleType) row[1]);
+            long startDay = ((LocalDate) row[2]).toEpochDay();
+            int count = ((Long) row[4]).intValue();
+            history.add(startDay - historyOrigin, count,
+                    PricingPipeline.rentalDays((LocalDate) row[2], (LocalDate) row[3]));
+        }
+
+        Model rebuilt = new Model(today, futureDays + 1);
+        histories.entrySet().parallelStream().forEach(location -> {
+            Series[] byType = new Series[TYPES.length];
+            for (VehicleType type : TYPES) {
+                History history = location.getValue().get(type);
+                byType[type.ordinal()] = history != null ? history.fit(historyOrigin) : rebuilt.emptySeries();
+            }
+            rebuilt.byLocation.put(location.getKey(), byType);
+        });
+
+        log.info("Demand forecast rebuilt for {} locations from {} day/type buckets", histories.size(), rows.size());
+        return rebuilt;
+    }
+
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (delta(event) != 0 && eventGate.admit(event)) {
+            apply(event);
+        }
+    }
+
+    private void apply(DomainEvent event) {
+        int delta = delta(event);
+        Model current = model.get();
+        try {
+            BookingEventPayload booking = objectMapper.readValue(event.payload(), BookingEventPayload.class);
+            if (booking.vehicleType() != null) {
+                current.seriesFor(normalize(booking.location()))[booking.vehicleType().ordinal()]
+                        .addBooked(booking.startDate().toEpochDay() - current.originDay, delta);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable booking event {}", event.id());
+        }
+    }
+
+    private static int delta(DomainEvent event) {
+        return switch (event.type()) {
+            case BOOKING_CREATED -> 1;
+            case BOOKING_CANCELLED, BOOKING_EXPIRED -> -1;
+            default -> 0;
+        };
+    }
+
+    private History history(Map<String, Map<VehicleType, History>> histories, String location, VehicleType type) {
+        return histories.computeIfAbsent(normalize(location), key -> new HashMap<>())
+                .computeIfAbsent(type, key -> new History());
+    }
+
+    static String normalize(String location) {
+        return location == null ? "" : location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int dayOfWeek(long epochDay) {
+        // Epoch day 0 was a Thursday; index 0 is Monday as in DayOfWeek
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    private static final class Model {
+        private final long originDay;
+        private final int length;
+        private final Map<String, Series[]> byLocation = new ConcurrentHashMap<>();
+
+        private Model(long originDay, int length) {
+            this.originDay = originDay;
+            this.length = length;
+        }
+
+        private Series find(String location, VehicleType type) {
+            Series[] byType = byLocation.get(normalize(location));
+            return byType == null || type == null ? null : byType[type.ordinal()];
+        }
+
+        private Series[] seriesFor(String normalizedLocation) {
+            return byLocation.computeIfAbsent(normalizedLocation, key -> {
+                Series[] byType = new Series[TYPES.length];
+                for (int i = 0; i < byType.length; i++) {
+                    byType[i] = emptySeries();
+                }
+                return byType;
+            });
+        }
+
+        // A location or type first seen after the fit: no fleet yet, so no forecast until the next rebuild
+        private Series emptySeries() {
+            return new Series(0, 0, filledSeason(), 1.0, new AtomicIntegerArray(length));
+        }
+    }
+
+    /**
+     * Fitted state of one location and type. Only the bookings ahead change after the fit.
+     */
+    private record Series(int fleet, double level, double[] season, double meanDays, AtomicIntegerArray booked) {
+
+        double expectedStarts(long originDay, long day) {
+            long index = day - originDay;
+            int known = index >= 0 && index < booked.length() ? booked.get((int) index) : 0;
+            return Math.max(known, level * season[dayOfWeek(day)]);
+        }
+
+        void addBooked(long index, int delta) {
+            if (index >= 0 && index < booked.length()) {
+                booked.addAndGet((int) index, delta);
+            }
+        }
+    }
+
+    /**
+     * Booking history of one location and type as read from the database, before fitting.
+     */
+    private final class History {
+        private final int[] startsPerDay = new int[historyDays + futureDays + 1];
+        private int fleet;
+        private long bookings;
+        private long bookedDays;
+
+        private void add(long index, int count, int days) {
+            if (index >= 0 && index < startsPerDay.length) {
+                startsPerDay[(int) index] += count;
+                bookings += count;
+                bookedDays += (long) count * days;
+            }
+        }
+
+        /**
+         * Multiplicative exponential smoothing of level and weekly season over the past
+         * days, oldest first; days from today on become the bookings ahead.
+         */
+        private Series fit(long historyOrigin) {
+            double level = 0;
+            for (int i = 0; i < historyDays; i++) {
+                level += startsPerDay[i];
+            }
+            level = historyDays == 0 ? 0 : level / historyDays;
+
+            double[] season = filledSeason();
+            for (int i = 0; i < historyDays; i++) {
+                int dayOfWeek = dayOfWeek(historyOrigin + i);
+                double observed = startsPerDay[i];
+                double index = Math.max(MIN_SEASON, season[dayOfWeek]);
+                double nextLevel = levelSmoothing * (observed / index) + (1 - levelSmoothing) * level;
+                if (nextLevel > 0) {
+                    season[dayOfWeek] = seasonSmoothing * (observed / nextLevel) + (1 - seasonSmoothing) * index;
+                }
+                level = nextLevel;
+            }
+
+            // Keep the weekly indices averaging one so the level stays in starts per day
+            double mean = Arrays.stream(season).average().orElse(1.0);
+            for (int i = 0; i < season.length; i++) {
+                season[i] /= mean;
+            }
+
+            AtomicIntegerArray booked = new AtomicIntegerArray(futureDays + 1);
+            for (int i = 0; i <= futureDays; i++) {
+                booked.set(i, startsPerDay[historyDays + i]);
+            }
+            double meanDays = bookings == 0 ? 1.0 : (double) bookedDays / bookings;
+            return new Series(fleet, level * mean, season, meanDays, booked);
+        }
+    }
+
+    private static double[] filledSeason() {
+        double[] season = new double[7];
+        Arrays.fill(season, 1.0);
+        return season;
+    }
+}
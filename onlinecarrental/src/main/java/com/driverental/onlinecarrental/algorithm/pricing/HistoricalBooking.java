@@ -0,0 +1,17 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * What re-pricing a past booking needs: its dates and charged total, and the vehicle's
+ * price inputs. Read as a projection so streaming history never loads entities.
+ */
+public record HistoricalBooking(LocalDate startDate, LocalDate endDate, LocalDateTime createdAt,
+        BigDecimal totalPrice, BigDecimal basePrice, Double rating, VehicleType type, FuelType fuelType,
+        String location) {
+}
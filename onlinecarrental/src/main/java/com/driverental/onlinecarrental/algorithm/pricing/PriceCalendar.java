@@ -0,0 +1,130 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.util.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materialized per-vehicle daily rates over a rolling horizon.
+ *
+ * Each vehicle's calendar holds, in paisa, the running total of its daily rate as
+ * defined by {@link PricingPipeline} (base price x daily multiplier x vehicle multiplier)
+ * at neutral forecast demand, from today onwards. The rental-days total of any range
+ * inside the horizon is then a difference of two prefix sums; the range multiplier is
+ * applied once on top. When the forecast moves the vehicle's demand multiplier off 1.0,
+ * the daily bounds apply to each day's calendar x demand product, so that quote is
+ * evaluated day by day from the pipeline's calendar multipliers instead.
+ *
+ * A calendar is rebuilt when the day rolls over, when the pricing rules version changes
+ * or when the vehicle's price inputs (base price, rating, type, fuel) no longer match what
+ * it was built from, so rule, rating and price edits take effect on the next quote.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceCalendar {
+
+    private final PricingPipeline pricingPipeline;
+
+    @Value("${app.pricing.calendar-horizon-days:365}")
+    private int horizonDays;
+
+    private final Map<Long, VehicleCalendar> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Total price for renting the vehicle from startDate to endDate (at least one day).
+     */
+    public Money quote(PricingRules rules, Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        return Money.ofPaisa(quoteAll(rules, List.of(vehicle), startDate, endDate)[0]);
+    }
+
+    /**
+     * Totals in paisa for renting each vehicle over the same range, in input order.
+     *
+     * Everything that depends only on the range (the range multiplier and, when needed,
+     * the calendar multipliers) is computed once; the per-vehicle work is a forecast lookup
+     * plus a prefix-sum lookup or a primitive loop over those shared multipliers.
+     */
+    public long[] quoteAll(PricingRules rules, List<Vehicle> vehicles, LocalDate startDate, LocalDate endDate) {
+        int days = PricingPipeline.rentalDays(startDate, endDate);
+        long today = LocalDate.now().toEpochDay();
+        long offset = startDate.toEpochDay() - today;
+        boolean inHorizon = offset >= 0 && offset + days <= horizonDays;
+
+        double rangeMultiplier = pricingPipeline.rangeMultiplier(rules, startDate, endDate);
+
+        double[] calendar = null;
+        long[] totals = new long[vehicles.size()];
+        for (int i = 0; i < totals.length; i++) {
+            Vehicle vehicle = vehicles.get(i);
+            long basePaisa = Money.of(vehicle.getBasePrice()).paisa();
+            double demandMultiplier = pricingPipeline.demandMultiplier(rules, vehicle, startDate, endDate);
+
+            long dailyTotal;
+            if (inHorizon && vehicle.getId() != null && demandMultiplier == 1.0) {
+                long[] prefix = calendarFor(rules, vehicle, basePaisa, today).prefix;
+                dailyTotal = prefix[(int) (offset + days)] - prefix[(int) offset];
+            } else {
+                // Forecast demand, outside the horizon or an unsaved vehicle: same formula, evaluated directly
+                if (calendar == null) {
+                    calendar = new double[days];
+                    pricingPipeline.calendarMultipliers(rules, startDate.toEpochDay(), calendar);
+                }
+                dailyTotal = PricingPipeline.dailyTotal(rules, basePaisa, calendar, 0, days, demandMultiplier,
+                        pricingPipeline.vehicleMultiplier(rules, vehicle));
+            }
+
+            totals[i] = PricingPipeline.total(basePaisa, dailyTotal, days, rangeMultiplier);
+        }
+        return totals;
+    }
+
+    public void invalidate(Long vehicleId) {
+        calendars.remove(vehicleId);
+    }
+
+    public void invalidateAll() {
+        calendars.clear();
+    }
+
+    private VehicleCalendar calendarFor(PricingRules rules, Vehicle vehicle, long basePaisa, long today) {
+        Inputs inputs = new Inputs(basePaisa, vehicle.getRating(), vehicle.getType(), vehicle.getFuelType(), today,
+                rules.version());
+        VehicleCalendar calendar = calendars.get(vehicle.getId());
+        if (calendar != null && calendar.inputs.equals(inputs)) {
+            return calendar;
+        }
+        return calendars.compute(vehicle.getId(), (id, existing) ->
+                existing != null && existing.inputs.equals(inputs) ? existing : build(rules, vehicle, inputs));
+    }
+
+    private VehicleCalendar build(PricingRules rules, Vehicle vehicle, Inputs inputs) {
+        double vehicleMultiplier = pricingPipeline.vehicleMultiplier(rules, vehicle);
+        double[] calendar = new double[horizonDays];
+        pricingPipeline.calendarMultipliers(rules, inputs.originDay(), calendar);
+        long[] prefix = new long[horizonDays + 1];
+        for (int i = 0; i < horizonDays; i++) {
+            prefix[i + 1] = prefix[i]
+                    + PricingPipeline.dailyTotal(rules, inputs.basePaisa(), calendar, i, 1, 1.0, vehicleMultiplier);
+        }
+        log.debug("Built {}-day price calendar for vehicle {}", horizonDays, vehicle.getId());
+        return new VehicleCalendar(inputs, prefix);
+    }
+
+    private record Inputs(long basePaisa, Double rating, VehicleType type, FuelType fuelType, long originDay,
+            long rulesVersion) {
+    }
+
+    private record VehicleCalendar(Inputs inputs, long[] prefix) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.driverental.onlinecarrental.algorithm.pricing;
 
+import com.driverental.onlinecarrental.util.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -89,9 +90,9 @@ public class PriceFactor implements Comparable<PriceFactor> {
      * Get the impact of this factor on a base price
      */
     public BigDecimal calculateImpact(BigDecimal basePrice) {
-        return basePrice.multiply(multiplier.subtract(BigDecimal.ONE))
-                .multiply(weight)
-                .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(basePrice)
+                .times(multiplier.subtract(BigDecimal.ONE).multiply(weight))
+                .toBigDecimal();
     }
 
     /**
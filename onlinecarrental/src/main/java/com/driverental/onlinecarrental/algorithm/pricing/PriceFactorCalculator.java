@@ -1,5 +1,8 @@
 package com.driverental.onlinecarrental.algorithm.pricing;
 
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.util.Money;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -13,12 +16,16 @@ import java.util.stream.Collectors;
  * Utility class for calculating and combining price factors
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class PriceFactorCalculator {
     
-    private static final BigDecimal MIN_MULTIPLIER = BigDecimal.valueOf(0.5);
-    private static final BigDecimal MAX_MULTIPLIER = BigDecimal.valueOf(2.0);
-    private static final BigDecimal WEIGHT_THRESHOLD = BigDecimal.valueOf(0.1);
+    private static final double MIN_MULTIPLIER = 0.5;
+    private static final double MAX_MULTIPLIER = 2.0;
+    private static final double WEIGHT_THRESHOLD = 0.1;
+    private static final double CONFIDENCE_THRESHOLD = 0.3;
+    
+    private final PricingPipeline pricingPipeline;
     
     /**
      * Calculate the combined multiplier from multiple price factors
@@ -28,43 +35,34 @@ public class PriceFactorCalculator {
             return BigDecimal.ONE;
         }
         
-        // Filter out factors with very low weight or confidence
-        List<PriceFactor> significantFactors = factors.stream()
-                .filter(factor -> factor.getWeight().compareTo(WEIGHT_THRESHOLD) >= 0)
-                .filter(factor -> factor.getConfidence().compareTo(BigDecimal.valueOf(0.3)) >= 0)
-                .sorted() // Sort by weight (descending)
-                .collect(Collectors.toList());
-        
-        if (significantFactors.isEmpty()) {
-            return BigDecimal.ONE;
-        }
-        
-        // Calculate weighted geometric mean for multipliers
-        BigDecimal weightedProduct = BigDecimal.ONE;
-        BigDecimal totalWeight = BigDecimal.ZERO;
-        
-        for (PriceFactor factor : significantFactors) {
-            BigDecimal adjustedWeight = factor.getWeight().multiply(factor.getConfidence());
-            BigDecimal weightedMultiplier = BigDecimal.valueOf(
-                Math.pow(factor.getMultiplier().doubleValue(), adjustedWeight.doubleValue())
-            );
-            weightedProduct = weightedProduct.multiply(weightedMultiplier);
-            totalWeight = totalWeight.add(adjustedWeight);
+        // Weighted geometric mean, accumulated as a sum of logs in double precision:
+        // significant factors only (enough weight and confidence)
+        double logProduct = 0;
+        double totalWeight = 0;
+        int significantFactors = 0;
+        for (PriceFactor factor : factors) {
+            double weight = factor.getWeight().doubleValue();
+            double confidence = factor.getConfidence().doubleValue();
+            if (weight < WEIGHT_THRESHOLD || confidence < CONFIDENCE_THRESHOLD) {
+                continue;
+            }
+            double adjustedWeight = weight * confidence;
+            logProduct += adjustedWeight * Math.log(factor.getMultiplier().doubleValue());
+            totalWeight += adjustedWeight;
+            significantFactors++;
         }
         
-        if (totalWeight.compareTo(BigDecimal.ZERO) == 0) {
+        if (significantFactors == 0 || totalWeight == 0) {
             return BigDecimal.ONE;
         }
         
-        BigDecimal combinedMultiplier = weightedProduct;
-        
         // Apply bounds to prevent extreme pricing
-        combinedMultiplier = applyMultiplierBounds(combinedMultiplier);
+        double combinedMultiplier = Math.min(MAX_MULTIPLIER, Math.max(MIN_MULTIPLIER, Math.exp(logProduct)));
         
         log.debug("Combined multiplier calculated: {} from {} significant factors", 
-                 combinedMultiplier, significantFactors.size());
+                 combinedMultiplier, significantFactors);
         
-        return combinedMultiplier.setScale(4, RoundingMode.HALF_UP);
+        return BigDecimal.valueOf(combinedMultiplier).setScale(4, RoundingMode.HALF_UP);
     }
     
     /**
@@ -72,13 +70,12 @@ public class PriceFactorCalculator {
      */
     public BigDecimal calculateFinalPrice(BigDecimal basePrice, List<PriceFactor> factors) {
         BigDecimal combinedMultiplier = calculateCombinedMultiplier(factors);
-        BigDecimal finalPrice = basePrice.multiply(combinedMultiplier)
-                .setScale(2, RoundingMode.HALF_UP);
+        Money finalPrice = Money.of(basePrice).times(combinedMultiplier);
         
-        log.info("Final price calculation: base={}, multiplier={}, final={}", 
+        log.debug("Final price calculation: base={}, multiplier={}, final={}", 
                 basePrice, combinedMultiplier, finalPrice);
         
-        return finalPrice;
+        return finalPrice.toBigDecimal();
     }
     
     /**
@@ -194,11 +191,11 @@ public class PriceFactorCalculator {
             PriceFactor factor = factors.get(i);
             
             // Check multiplier bounds
-            if (factor.getMultiplier().compareTo(MIN_MULTIPLIER) < 0) {
+            if (factor.getMultiplier().doubleValue() < MIN_MULTIPLIER) {
                 errors.add(String.format("Factor %d (%s) has multiplier below minimum: %s", 
                         i, factor.getName(), factor.getMultiplier()));
             }
-            if (factor.getMultiplier().compareTo(MAX_MULTIPLIER) > 0) {
+            if (factor.getMultiplier().doubleValue() > MAX_MULTIPLIER) {
                 errors.add(String.format("Factor %d (%s) has multiplier above maximum: %s", 
                         i, factor.getName(), factor.getMultiplier()));
             }
@@ -235,77 +232,39 @@ public class PriceFactorCalculator {
     }
     
     /**
-     * Create a default set of factors for a standard booking
+     * Create the factors a booking of this vehicle and range is actually priced with, as
+     * evaluated by the pricing pipeline. Each carries full weight and confidence, so the
+     * combined multiplier is their plain product.
      */
-    public List<PriceFactor> createDefaultFactors(LocalDate startDate, LocalDate endDate, 
-                                                 String location, String vehicleType) {
-        List<PriceFactor> factors = new ArrayList<>();
-        
-        long rentalDays = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate);
+    public List<PriceFactor> createDefaultFactors(Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        PricingPipeline.Breakdown breakdown = pricingPipeline.explain(vehicle, startDate, endDate);
         
-        // Seasonal factor
-        factors.add(PriceFactor.createSeasonalFactor(
-            startDate.getMonth(), BigDecimal.valueOf(0.15)));
-        
-        // Weekend factor for each day in the rental period
-        LocalDate currentDate = startDate;
-        int weekendDays = 0;
-        int totalDays = 0;
-        
-        while (!currentDate.isAfter(endDate)) {
-            if (isWeekend(currentDate)) {
-                weekendDays++;
-            }
-            totalDays++;
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        if (totalDays > 0) {
-            double weekendRatio = (double) weekendDays / totalDays;
-            BigDecimal weekendWeight = BigDecimal.valueOf(weekendRatio * 0.1);
-            factors.add(PriceFactor.createWeekendFactor(startDate, weekendWeight));
-        }
-        
-        // Duration factor
-        factors.add(PriceFactor.createDurationFactor(
-            rentalDays, BigDecimal.valueOf(0.2)));
-        
-        // Lead time factor
-        factors.add(PriceFactor.createLeadTimeFactor(
-            startDate, BigDecimal.valueOf(0.15)));
-        
-        // Location factor
-        factors.add(PriceFactor.createLocationFactor(
-            location, BigDecimal.valueOf(0.1)));
-        
-        // Vehicle type factor
-        factors.add(PriceFactor.createVehicleTypeFactor(
-            vehicleType, BigDecimal.valueOf(0.15)));
-        
-        // Validate the factors
-        List<String> validationErrors = validateFactors(factors);
-        if (!validationErrors.isEmpty()) {
-            log.warn("Validation errors in default factors: {}", validationErrors);
-        }
+        List<PriceFactor> factors = new ArrayList<>();
+        factors.add(pipelineFactor(PriceFactor.PriceFactorType.SEASONAL, "Calendar Demand",
+                breakdown.averageDailyMultiplier(), "Average season, weekday and holiday multiplier over "
+                        + breakdown.days() + " days"));
+        factors.add(pipelineFactor(PriceFactor.PriceFactorType.VEHICLE_TYPE, "Vehicle",
+                breakdown.vehicleMultiplier(), "Rating, type and fuel premium for " + vehicle.getType()));
+        factors.add(pipelineFactor(PriceFactor.PriceFactorType.DEMAND, "Forecast Demand",
+                breakdown.demandMultiplier(), "Forecast " + vehicle.getType() + " fleet utilization in "
+                        + vehicle.getLocation() + ", within the daily bounds"));
+        factors.add(pipelineFactor(PriceFactor.PriceFactorType.DURATION, "Rental Duration",
+                breakdown.durationMultiplier(), breakdown.days() + " day rental"));
+        factors.add(pipelineFactor(PriceFactor.PriceFactorType.LEAD_TIME, "Lead Time",
+                breakdown.leadTimeMultiplier(), "Booked ahead of " + startDate));
         
         return factors;
     }
     
-    private BigDecimal applyMultiplierBounds(BigDecimal multiplier) {
-        if (multiplier.compareTo(MIN_MULTIPLIER) < 0) {
-            return MIN_MULTIPLIER;
-        }
-        if (multiplier.compareTo(MAX_MULTIPLIER) > 0) {
-            return MAX_MULTIPLIER;
-        }
-        return multiplier;
-    }
-    
-    private boolean isWeekend(LocalDate date) {
-        java.time.DayOfWeek day = date.getDayOfWeek();
-        return day == java.time.DayOfWeek.FRIDAY || 
-               day == java.time.DayOfWeek.SATURDAY || 
-               day == java.time.DayOfWeek.SUNDAY;
+    private PriceFactor pipelineFactor(PriceFactor.PriceFactorType type, String name, double multiplier,
+                                       String description) {
+        return PriceFactor.builder()
+                .type(type)
+                .name(name)
+                .multiplier(BigDecimal.valueOf(multiplier).setScale(4, RoundingMode.HALF_UP))
+                .weight(BigDecimal.ONE)
+                .description(description)
+                .build();
     }
     
     /**
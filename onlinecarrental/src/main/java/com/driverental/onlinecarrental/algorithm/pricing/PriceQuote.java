@@ -0,0 +1,9 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.util.Money;
+
+/**
+ * A rental price together with the pricing rules version it was calculated with.
+ */
+public record PriceQuote(Money totalPrice, long rulesVersion) {
+}
@@ -0,0 +1,162 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * The one pricing formula, shared by booking, quoting and factor analysis.
+ *
+ * A rental is priced per day: base x daily multiplier x vehicle multiplier, summed in
+ * paisa, then scaled once by the range multiplier (duration, lead time) and floored at
+ * the base price per day. A day's multiplier is its calendar multiplier (season, weekday,
+ * holiday) times the forecast demand for the vehicle's location and type, and the rules'
+ * daily bounds (0.5x to 2.0x by default) hold that product, not just the calendar part.
+ * Calendar multipliers are compiled once per day and rule version into a primitive array
+ * over the horizon, so evaluating a range is a loop over doubles and longs; the result
+ * is returned as {@link Money}.
+ *
+ * Every method takes the {@link PricingRules} snapshot explicitly. Callers read it once
+ * via {@link #rules()} per calculation and record its version with the result.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingPipeline {
+
+    private final DemandCalculator demandCalculator;
+    private final DynamicPricingEngine dynamicPricingEngine;
+    private final PricingRuleRegistry pricingRuleRegistry;
+
+    @Value("${app.pricing.calendar-horizon-days:365}")
+    private int horizonDays = 365;
+
+    private volatile CompiledDays compiled = new CompiledDays(Long.MIN_VALUE, -1, new double[0]);
+
+    public PricingRules rules() {
+        return pricingRuleRegistry.current();
+    }
+
+    /**
+     * Fills out[i] with the calendar multiplier of day fromDay + i, before the daily bounds.
+     */
+    public void calendarMultipliers(PricingRules rules, long fromDay, double[] out) {
+        CompiledDays days = compiledFor(rules, LocalDate.now().toEpochDay());
+        long offset = fromDay - days.originDay();
+        if (offset >= 0 && offset + out.length <= days.calendar().length) {
+            System.arraycopy(days.calendar(), (int) offset, out, 0, out.length);
+            return;
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = demandCalculator.calculateCalendarFactor(rules, LocalDate.ofEpochDay(fromDay + i));
+        }
+    }
+
+    /**
+     * Fills out[i] with the daily multiplier of day fromDay + i at neutral forecast demand.
+     */
+    public void dailyMultipliers(PricingRules rules, long fromDay, double[] out) {
+        calendarMultipliers(rules, fromDay, out);
+        for (int i = 0; i < out.length; i++) {
+            out[i] = rules.bounded(out[i]);
+        }
+    }
+
+    /**
+     * Multiplier that depends only on the range, shared by every vehicle quoted for it.
+     */
+    public double rangeMultiplier(PricingRules rules, LocalDate startDate, LocalDate endDate) {
+        return dynamicPricingEngine.calculateDurationFactor(rules, startDate, endDate)
+                * dynamicPricingEngine.calculateLeadTimeFactor(rules, startDate);
+    }
+
+    public double demandMultiplier(PricingRules rules, Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        return dynamicPricingEngine.calculateDemandFactor(rules, vehicle, startDate, endDate);
+    }
+
+    public double vehicleMultiplier(PricingRules rules, Vehicle vehicle) {
+        return dynamicPricingEngine.calculateVehicleFactor(rules, vehicle);
+    }
+
+    /**
+     * Per-factor view of a single rental, for analysis. Evaluates exactly what a booking
+     * of the same vehicle and range is charged. The demand multiplier reported is the
+     * share forecast demand added once the daily bounds were applied.
+     */
+    public Breakdown explain(Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        PricingRules rules = rules();
+        int days = rentalDays(startDate, endDate);
+        double demandMultiplier = demandMultiplier(rules, vehicle, startDate, endDate);
+        double[] calendar = new double[days];
+        calendarMultipliers(rules, startDate.toEpochDay(), calendar);
+        double calendarSum = 0;
+        double dailySum = 0;
+        for (double multiplier : calendar) {
+            calendarSum += rules.bounded(multiplier);
+            dailySum += rules.bounded(multiplier * demandMultiplier);
+        }
+
+        long basePaisa = Money.of(vehicle.getBasePrice()).paisa();
+        double vehicleMultiplier = vehicleMultiplier(rules, vehicle);
+        long total = total(basePaisa,
+                dailyTotal(rules, basePaisa, calendar, 0, days, demandMultiplier, vehicleMultiplier), days,
+                rangeMultiplier(rules, startDate, endDate));
+
+        return new Breakdown(days, calendarSum / days, vehicleMultiplier, dailySum / calendarSum,
+                dynamicPricingEngine.calculateDurationFactor(rules, startDate, endDate),
+                dynamicPricingEngine.calculateLeadTimeFactor(rules, startDate), Money.ofPaisa(total), rules.version());
+    }
+
+    /**
+     * Sum in paisa of the rounded daily rates for the days calendar[from, from + days): base
+     * x (calendar multiplier x demand multiplier, within the daily bounds) x vehicle multiplier.
+     */
+    public static long dailyTotal(PricingRules rules, long basePaisa, double[] calendar, int from, int days,
+                                  double demandMultiplier, double vehicleMultiplier) {
+        long total = 0;
+        for (int i = from; i < from + days; i++) {
+            total += Math.round(basePaisa * rules.bounded(calendar[i] * demandMultiplier) * vehicleMultiplier);
+        }
+        return total;
+    }
+
+    /**
+     * Final total in paisa: the range multiplier applied once, never below base price per day.
+     */
+    public static long total(long basePaisa, long dailyTotal, int days, double multiplier) {
+        return Math.max(Math.round(dailyTotal * multiplier), basePaisa * days);
+    }
+
+    /**
+     * Rental days between the two dates, at least one.
+     */
+    public static int rentalDays(LocalDate startDate, LocalDate endDate) {
+        return (int) Math.max(1, endDate.toEpochDay() - startDate.toEpochDay());
+    }
+
+    private CompiledDays compiledFor(PricingRules rules, long today) {
+        CompiledDays current = compiled;
+        if (current.originDay() == today && current.rulesVersion() == rules.version()) {
+            return current;
+        }
+        // Concurrent rebuilds are harmless: each caller uses the table it built
+        double[] calendar = new double[horizonDays];
+        for (int i = 0; i < horizonDays; i++) {
+            calendar[i] = demandCalculator.calculateCalendarFactor(rules, LocalDate.ofEpochDay(today + i));
+        }
+        CompiledDays rebuilt = new CompiledDays(today, rules.version(), calendar);
+        compiled = rebuilt;
+        return rebuilt;
+    }
+
+    public record Breakdown(int days, double averageDailyMultiplier, double vehicleMultiplier,
+            double demandMultiplier, double durationMultiplier, double leadTimeMultiplier, Money totalPrice,
+            long rulesVersion) {
+    }
+
+    private record CompiledDays(long originDay, long rulesVersion, double[] calendar) {
+    }
+}
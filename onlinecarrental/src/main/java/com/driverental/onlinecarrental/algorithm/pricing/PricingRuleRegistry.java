@@ -0,0 +1,71 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.entity.PriceConfig;
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import com.driverental.onlinecarrental.repository.PriceConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Holds the current compiled {@link PricingRules} snapshot.
+ *
+ * Readers take the snapshot with a single volatile read and keep using it for the whole
+ * calculation, so a price and the version recorded with it always agree. Edits compile a
+ * new snapshot and swap it in; other instances notice the new version on their next poll.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PricingRuleRegistry {
+
+    private final PriceConfigRepository priceConfigRepository;
+
+    private volatile PricingRules current = PricingRules.defaults();
+
+    public PricingRules current() {
+        return current;
+    }
+
+    /**
+     * Seeds the default rules of every rule type with no stored rows (all of them on a new
+     * database, newly introduced types on an existing one), then loads the snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        List<PriceRuleType> stored = priceConfigRepository.findStoredRuleTypes();
+        List<PriceConfig> missing = PricingRules.defaultRules().stream()
+                .filter(rule -> !stored.contains(rule.getRuleType()))
+                .toList();
+        if (!missing.isEmpty()) {
+            long version = priceConfigRepository.findMaxVersion() + 1;
+            missing.forEach(rule -> rule.setVersion(version));
+            priceConfigRepository.saveAll(missing);
+            log.info("Seeded {} default pricing rules at version {}", missing.size(), version);
+        }
+        reload();
+    }
+
+    @Transactional(readOnly = true)
+    public void reload() {
+        long version = priceConfigRepository.findMaxVersion();
+        PricingRules rules = PricingRules.compile(version, priceConfigRepository.findByActiveTrue());
+        current = rules;
+        log.info("Loaded pricing rules version {}", version);
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.rules-poll-ms:30000}")
+    @Transactional(readOnly = true)
+    public void pollForChanges() {
+        if (priceConfigRepository.findMaxVersion() != current.version()) {
+            reload();
+        }
+    }
+}
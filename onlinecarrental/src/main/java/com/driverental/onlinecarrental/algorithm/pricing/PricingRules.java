@@ -0,0 +1,354 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.entity.PriceConfig;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, compiled pricing rule set.
+ *
+ * Compiling turns {@link PriceConfig} rows into primitive lookup tables: multipliers by
+ * month, weekday and day of year, and sorted threshold/multiplier arrays for the tiered
+ * rules. Lookups never allocate, lock or touch the database. A snapshot is replaced as a
+ * whole when the rules change, and its version is recorded on every price it produces.
+ */
+public final class PricingRules {
+
+    static final String ALL = "ALL";
+
+    private static final AtomicLong CANDIDATE_VERSIONS = new AtomicLong();
+
+    // Day-of-year offset of each month in a leap year, so every calendar day has a slot
+    private static final int[] MONTH_OFFSETS = new int[12];
+
+    static {
+        for (int month = 1; month < 12; month++) {
+            MONTH_OFFSETS[month] = MONTH_OFFSETS[month - 1] + Month.of(month).length(true);
+        }
+    }
+
+    private final long version;
+    private final double[] monthMultipliers = filled(12);
+    private final double[] weekdayMultipliers = filled(7);
+    private final double[] holidayMultipliers = filled(366);
+    private final double[] vehicleTypeMultipliers = filled(VehicleType.values().length);
+    private final double[] fuelTypeMultipliers = filled(FuelType.values().length);
+    private double dailyMin = 0;
+    private double dailyMax = Double.MAX_VALUE;
+    private final Tiers utilizationAbove;
+    private final Tiers utilizationBelow;
+    private final Tiers durationAtLeast;
+    private final Tiers leadTimeAtMost;
+    private final Tiers leadTimeAtLeast;
+    private final Tiers ratingAtLeast;
+
+    private PricingRules(long version, List<PriceConfig> rules) {
+        this.version = version;
+        List<PriceConfig> utilizationAboveRules = new ArrayList<>();
+        List<PriceConfig> utilizationBelowRules = new ArrayList<>();
+        List<PriceConfig> durationRules = new ArrayList<>();
+        List<PriceConfig> leadTimeAtMostRules = new ArrayList<>();
+        List<PriceConfig> leadTimeAtLeastRules = new ArrayList<>();
+        List<PriceConfig> ratingRules = new ArrayList<>();
+
+        for (PriceConfig rule : rules) {
+            if (rule.getMultiplier() == null || !(rule.getMultiplier() > 0)) {
+                throw new BusinessException("Multiplier must be positive for " + describe(rule));
+            }
+            double multiplier = rule.getMultiplier();
+            try {
+                switch (rule.getRuleType()) {
+                    case SEASON -> monthMultipliers[Month.valueOf(upper(rule)).ordinal()] = multiplier;
+                    case WEEKDAY -> weekdayMultipliers[DayOfWeek.valueOf(upper(rule)).ordinal()] = multiplier;
+                    case HOLIDAY -> applyHoliday(rule.getSelector(), multiplier);
+                    case DAILY_MIN -> dailyMin = multiplier;
+                    case DAILY_MAX -> dailyMax = multiplier;
+                    case VEHICLE_TYPE -> vehicleTypeMultipliers[VehicleType.valueOf(upper(rule)).ordinal()] = multiplier;
+                    case FUEL_TYPE -> fuelTypeMultipliers[FuelType.valueOf(upper(rule)).ordinal()] = multiplier;
+                    // Stored rows from before the demand forecast still load, but no longer apply
+                    case DENSITY_ABOVE, DENSITY_BELOW -> { }
+                    case UTILIZATION_ABOVE -> utilizationAboveRules.add(rule);
+                    case UTILIZATION_BELOW -> utilizationBelowRules.add(rule);
+                    case DURATION_AT_LEAST -> durationRules.add(rule);
+                    case LEAD_TIME_AT_MOST -> leadTimeAtMostRules.add(rule);
+                    case LEAD_TIME_AT_LEAST -> leadTimeAtLeastRules.add(rule);
+                    case RATING_AT_LEAST -> ratingRules.add(rule);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Invalid selector for " + describe(rule));
+            }
+        }
+        if (dailyMin > dailyMax) {
+            throw new BusinessException("DAILY_MIN cannot be greater than DAILY_MAX");
+        }
+
+        utilizationAbove = Tiers.descending(utilizationAboveRules);
+        utilizationBelow = Tiers.ascending(utilizationBelowRules);
+        durationAtLeast = Tiers.descending(durationRules);
+        leadTimeAtMost = Tiers.ascending(leadTimeAtMostRules);
+        leadTimeAtLeast = Tiers.descending(leadTimeAtLeastRules);
+        ratingAtLeast = Tiers.descending(ratingRules);
+    }
+
+    /**
+     * Compiles the active rules into a snapshot, rejecting rules that cannot be applied.
+     */
+    public static PricingRules compile(long version, List<PriceConfig> rules) {
+        return new PricingRules(version, rules);
+    }
+
+    /**
+     * Compiles rules that are evaluated but never stored, such as a simulation's candidate.
+     * Each gets its own negative version, so it never shares a compiled table or a cached
+     * quote with a stored rule set.
+     */
+    public static PricingRules compileCandidate(List<PriceConfig> rules) {
+        return compile(CANDIDATE_VERSIONS.decrementAndGet(), rules);
+    }
+
+    /**
+     * Rule set used before any rules are stored: the long-standing built-in pricing.
+     */
+    public static PricingRules defaults() {
+        return compile(0, defaultRules());
+    }
+
+    public static List<PriceConfig> defaultRules() {
+        List<PriceConfig> rules = new ArrayList<>();
+        for (Month month : List.of(Month.JUNE, Month.JULY, Month.AUGUST, Month.DECEMBER)) {
+            rules.add(rule(PriceRuleType.SEASON, month.name(), 1.3));
+        }
+        for (DayOfWeek day : List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)) {
+            rules.add(rule(PriceRuleType.WEEKDAY, day.name(), 1.25));
+        }
+        rules.add(rule(PriceRuleType.HOLIDAY, "12-20..01-05", 1.5));
+        rules.add(rule(PriceRuleType.DAILY_MIN, ALL, 0.5));
+        rules.add(rule(PriceRuleType.DAILY_MAX, ALL, 2.0));
+        rules.add(rule(PriceRuleType.UTILIZATION_ABOVE, "0.9", 1.4));
+        rules.add(rule(PriceRuleType.UTILIZATION_ABOVE, "0.75", 1.2));
+        rules.add(rule(PriceRuleType.UTILIZATION_BELOW, "0.3", 0.8));
+        rules.add(rule(PriceRuleType.DURATION_AT_LEAST, "14", 0.85));
+        rules.add(rule(PriceRuleType.DURATION_AT_LEAST, "7", 0.90));
+        rules.add(rule(PriceRuleType.DURATION_AT_LEAST, "3", 0.95));
+        rules.add(rule(PriceRuleType.LEAD_TIME_AT_MOST, "1", 1.20));
+        rules.add(rule(PriceRuleType.LEAD_TIME_AT_MOST, "3", 1.10));
+        rules.add(rule(PriceRuleType.LEAD_TIME_AT_LEAST, "30", 0.95));
+        rules.add(rule(PriceRuleType.LEAD_TIME_AT_LEAST, "14", 0.98));
+        rules.add(rule(PriceRuleType.RATING_AT_LEAST, "4.5", 1.15));
+        rules.add(rule(PriceRuleType.RATING_AT_LEAST, "4.0", 1.08));
+        rules.add(rule(PriceRuleType.VEHICLE_TYPE, VehicleType.LUXURY.name(), 1.25));
+        rules.add(rule(PriceRuleType.VEHICLE_TYPE, VehicleType.SPORTS.name(), 1.25));
+        rules.add(rule(PriceRuleType.VEHICLE_TYPE, VehicleType.SUV.name(), 1.10));
+        rules.add(rule(PriceRuleType.VEHICLE_TYPE, VehicleType.CONVERTIBLE.name(), 1.20));
+        rules.add(rule(PriceRuleType.FUEL_TYPE, FuelType.ELECTRIC.name(), 1.15));
+        return rules;
+    }
+
+    /**
+     * Canonical form of a selector, so the same rule is always stored under the same key:
+     * upper-case names, plain numbers for tier thresholds.
+     */
+    public static String normalizeSelector(PriceRuleType type, String selector) {
+        String trimmed = selector == null ? "" : selector.trim();
+        return switch (type) {
+            case DAILY_MIN, DAILY_MAX -> ALL;
+            case DENSITY_ABOVE, DENSITY_BELOW ->
+                    throw new BusinessException(type + " is retired, use " + type.name().replace("DENSITY", "UTILIZATION"));
+            case HOLIDAY -> trimmed;
+            case SEASON, WEEKDAY, VEHICLE_TYPE, FUEL_TYPE -> trimmed.toUpperCase(Locale.ROOT);
+            default -> {
+                try {
+                    yield new BigDecimal(trimmed).stripTrailingZeros().toPlainString();
+                } catch (NumberFormatException e) {
+                    throw new BusinessException("Threshold must be a number for " + type + " " + selector);
+                }
+            }
+        };
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Season x weekday x holiday multiplier for the day, before the daily bounds.
+     */
+    public double calendar(LocalDate date) {
+        return monthMultipliers[date.getMonthValue() - 1]
+                * weekdayMultipliers[date.getDayOfWeek().ordinal()]
+                * holidayMultipliers[dayOfLeapYear(date.getMonthValue(), date.getDayOfMonth())];
+    }
+
+    /**
+     * Season x weekday x holiday multiplier for the day, within the daily bounds.
+     */
+    public double daily(LocalDate date) {
+        return bounded(calendar(date));
+    }
+
+    /**
+     * A day's combined demand multiplier (calendar x forecast demand), held within the
+     * daily bounds.
+     */
+    public double bounded(double demand) {
+        return Math.min(dailyMax, Math.max(dailyMin, demand));
+    }
+
+    /**
+     * Multiplier for the forecast share of the fleet in use; 1.0 when there is no forecast (NaN).
+     */
+    public double utilization(double utilization) {
+        double above = utilizationAbove.firstAbove(utilization);
+        return Double.isNaN(above) ? orOne(utilizationBelow.firstBelow(utilization)) : above;
+    }
+
+    public double duration(long days) {
+        return orOne(durationAtLeast.firstReached(days));
+    }
+
+    public double leadTime(long daysUntilStart) {
+        double atMost = leadTimeAtMost.firstNotExceeded(daysUntilStart);
+        return Double.isNaN(atMost) ? orOne(leadTimeAtLeast.firstReached(daysUntilStart)) : atMost;
+    }
+
+    public double vehicle(Double rating, VehicleType type, FuelType fuelType) {
+        double factor = rating != null ? orOne(ratingAtLeast.firstReached(rating)) : 1.0;
+        if (type != null) {
+            factor *= vehicleTypeMultipliers[type.ordinal()];
+        }
+        if (fuelType != null) {
+            factor *= fuelTypeMultipliers[fuelType.ordinal()];
+        }
+        return factor;
+    }
+
+    private void applyHoliday(String selector, double multiplier) {
+        String[] bounds = selector.split("\\.\\.");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException(selector);
+        }
+        MonthDay from = MonthDay.parse("--" + bounds[0].trim());
+        MonthDay to = MonthDay.parse("--" + bounds[1].trim());
+        int start = dayOfLeapYear(from.getMonthValue(), from.getDayOfMonth());
+        int end = dayOfLeapYear(to.getMonthValue(), to.getDayOfMonth());
+        // A range such as 12-20..01-05 wraps the year end
+        for (int day = start; ; day = (day + 1) % holidayMultipliers.length) {
+            holidayMultipliers[day] = multiplier;
+            if (day == end) {
+                break;
+            }
+        }
+    }
+
+    private static int dayOfLeapYear(int month, int dayOfMonth) {
+        return MONTH_OFFSETS[month - 1] + dayOfMonth - 1;
+    }
+
+    private static String upper(PriceConfig rule) {
+        return rule.getSelector().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String describe(PriceConfig rule) {
+        return rule.getRuleType() + " " + rule.getSelector();
+    }
+
+    private static double orOne(double multiplier) {
+        return Double.isNaN(multiplier) ? 1.0 : multiplier;
+    }
+
+    private static double[] filled(int length) {
+        double[] values = new double[length];
+        Arrays.fill(values, 1.0);
+        return values;
+    }
+
+    private static PriceConfig rule(PriceRuleType type, String selector, double multiplier) {
+        return PriceConfig.builder().ruleType(type).selector(normalizeSelector(type, selector)).multiplier(multiplier)
+                .build();
+    }
+
+    /**
+     * Threshold tiers in evaluation order; the first matching tier wins. Lookups return
+     * NaN when no tier matches.
+     */
+    private record Tiers(double[] thresholds, double[] multipliers) {
+
+        static Tiers ascending(List<PriceConfig> rules) {
+            return of(rules, Comparator.comparingDouble(Tiers::threshold));
+        }
+
+        static Tiers descending(List<PriceConfig> rules) {
+            return of(rules, Comparator.comparingDouble(Tiers::threshold).reversed());
+        }
+
+        private static Tiers of(List<PriceConfig> rules, Comparator<PriceConfig> order) {
+            List<PriceConfig> sorted = new ArrayList<>(rules);
+            sorted.sort(order);
+            double[] thresholds = new double[sorted.size()];
+            double[] multipliers = new double[sorted.size()];
+            for (int i = 0; i < thresholds.length; i++) {
+                thresholds[i] = threshold(sorted.get(i));
+                multipliers[i] = sorted.get(i).getMultiplier();
+            }
+            return new Tiers(thresholds, multipliers);
+        }
+
+        private static double threshold(PriceConfig rule) {
+            try {
+                return Double.parseDouble(rule.getSelector().trim());
+            } catch (NumberFormatException e) {
+                throw new BusinessException("Threshold must be a number for " + describe(rule));
+            }
+        }
+
+        double firstAbove(double value) {
+            for (int i = 0; i < thresholds.length; i++) {
+                if (value > thresholds[i]) {
+                    return multipliers[i];
+                }
+            }
+            return Double.NaN;
+        }
+
+        double firstBelow(double value) {
+            for (int i = 0; i < thresholds.length; i++) {
+                if (value < thresholds[i]) {
+                    return multipliers[i];
+                }
+            }
+            return Double.NaN;
+        }
+
+        double firstReached(double value) {
+            for (int i = 0; i < thresholds.length; i++) {
+                if (value >= thresholds[i]) {
+                    return multipliers[i];
+                }
+            }
+            return Double.NaN;
+        }
+
+        double firstNotExceeded(double value) {
+            for (int i = 0; i < thresholds.length; i++) {
+                if (value <= thresholds[i]) {
+                    return multipliers[i];
+                }
+            }
+            return Double.NaN;
+        }
+    }
+}
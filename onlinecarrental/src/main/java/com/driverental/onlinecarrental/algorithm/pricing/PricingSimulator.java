@@ -0,0 +1,416 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.enums.SimulationStatus;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.driverental.onlinecarrental.util.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Re-prices booking history under a candidate rule set, next to the current one.
+ *
+ * Bookings are streamed from a database cursor in chunks; each chunk is priced under both
+ * rule sets on a ForkJoin pool while the next one is read, and the totals are aggregated
+ * by start month, location and vehicle type. Every booking is priced with the live
+ * formula as of the day it was made: lead time counts from its creation date, and fleet
+ * utilization is the realized occupancy of its location and type over the rental days
+ * (against today's fleet). Only one simulation runs at a time; the last few are kept for
+ * polling.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PricingSimulator {
+
+    private static final int KEPT_SIMULATIONS = 20;
+    private static final int TABLE_SLACK_DAYS = 366;
+
+    private final BookingRepository bookingRepository;
+    private final VehicleRepository vehicleRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.pricing.simulation-parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.pricing.simulation-chunk-size:2000}")
+    private int chunkSize = 2000;
+
+    private final ExecutorService reader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "pricing-simulation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ForkJoinPool pool;
+
+    private final AtomicReference<Simulation> running = new AtomicReference<>();
+    private final Map<String, Simulation> simulations = Collections.synchronizedMap(
+            new LinkedHashMap<>(KEPT_SIMULATIONS, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Simulation> eldest) {
+                    return size() > KEPT_SIMULATIONS;
+                }
+            });
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reader.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Starts re-pricing bookings starting between the two dates (inclusive) in the
+     * background and returns a handle to poll.
+     */
+    public Simulation start(PricingRules current, PricingRules candidate, LocalDate from, LocalDate to) {
+        Simulation simulation = new Simulation(UUID.randomUUID().toString(), from, to, current.version());
+        if (!running.compareAndSet(null, simulation)) {
+            throw new BusinessException("A pricing simulation is already running");
+        }
+        simulations.put(simulation.id, simulation);
+        reader.execute(() -> {
+            try {
+                run(simulation, current, candidate);
+                simulation.finish(SimulationStatus.COMPLETED, null);
+            } catch (RuntimeException e) {
+                log.error("Pricing simulation {} failed", simulation.id, e);
+                simulation.finish(SimulationStatus.FAILED, e.getMessage());
+            } finally {
+                running.set(null);
+            }
+        });
+        return simulation;
+    }
+
+    public Optional<Simulation> find(String id) {
+        return Optional.ofNullable(simulations.get(id));
+    }
+
+    void run(Simulation simulation, PricingRules current, PricingRules candidate) {
+        long fromDay = simulation.from.toEpochDay();
+        long toDay = simulation.to.toEpochDay() + TABLE_SLACK_DAYS;
+        RealizedUtilization utilization = loadUtilization(fromDay, toDay);
+        DailyTable currentDaily = new DailyTable(current, fromDay, toDay);
+        DailyTable candidateDaily = new DailyTable(candidate, fromDay, toDay);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            simulation.total.set(bookingRepository.countHistory(simulation.from, simulation.to));
+
+            // Bounded so the cursor is never read far ahead of the pricing
+            Semaphore inFlight = new Semaphore(pool.getParallelism() * 2);
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            try (Stream<HistoricalBooking> history = bookingRepository.streamHistory(simulation.from, simulation.to)) {
+                Iterator<HistoricalBooking> rows = history.iterator();
+                while (rows.hasNext()) {
+                    List<HistoricalBooking> chunk = new ArrayList<>(chunkSize);
+                    while (rows.hasNext() && chunk.size() < chunkSize) {
+                        chunk.add(rows.next());
+                    }
+                    inFlight.acquireUninterruptibly();
+                    tasks.add(pool.submit(() -> {
+                        try {
+                            simulation.merge(price(chunk, current, currentDaily, candidate, candidateDaily,
+                                    utilization), chunk.size());
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+            }
+            tasks.forEach(ForkJoinTask::join);
+        });
+        log.info("Pricing simulation {} re-priced {} bookings in {} ms", simulation.id, simulation.processed.get(),
+                System.currentTimeMillis() - simulation.startedAt.toEpochMilli());
+    }
+
+    private Map<GroupKey, long[]> price(List<HistoricalBooking> chunk, PricingRules current, DailyTable currentDaily,
+                                        PricingRules candidate, DailyTable candidateDaily,
+                                        RealizedUtilization utilization) {
+        Map<GroupKey, long[]> totals = new HashMap<>();
+        for (HistoricalBooking booking : chunk) {
+            long startDay = booking.startDate().toEpochDay();
+            long lengthDays = booking.endDate().toEpochDay() - startDay;
+            int days = PricingPipeline.rentalDays(booking.startDate(), booking.endDate());
+            long bookedDay = booking.createdAt() != null ? booking.createdAt().toLocalDate().toEpochDay() : startDay;
+            long basePaisa = Money.of(booking.basePrice()).paisa();
+            double used = utilization.over(booking.location(), booking.type(), startDay, days);
+
+            long[] group = totals.computeIfAbsent(
+                    new GroupKey(YearMonth.from(booking.startDate()), booking.location(), booking.type()),
+                    key -> new long[4]);
+            group[0]++;
+            group[1] += booking.totalPrice() != null ? Money.of(booking.totalPrice()).paisa() : 0;
+            group[2] += reprice(current, currentDaily, booking, basePaisa, startDay, days, lengthDays,
+                    startDay - bookedDay, used);
+            group[3] += reprice(candidate, candidateDaily, booking, basePaisa, startDay, days, lengthDays,
+                    startDay - bookedDay, used);
+        }
+        return totals;
+    }
+
+    /**
+     * The {@link PricingPipeline} formula under the given rules, with lead time and
+     * utilization as they were for the booking.
+     */
+    private static long reprice(PricingRules rules, DailyTable daily, HistoricalBooking booking, long basePaisa,
+                                long startDay, int days, long lengthDays, long leadDays, double utilization) {
+        long dailyTotal = daily.dailyTotal(basePaisa, startDay, days, rules.utilization(utilization),
+                rules.vehicle(booking.rating(), booking.type(), booking.fuelType()));
+        return PricingPipeline.total(basePaisa, dailyTotal, days,
+                rules.duration(lengthDays) * rules.leadTime(leadDays));
+    }
+
+    private RealizedUtilization loadUtilization(long fromDay, long toDay) {
+        RealizedUtilization utilization = new RealizedUtilization(fromDay, (int) (toDay - fromDay));
+        for (Object[] row : vehicleRepository.countByLocationAndType()) {
+            utilization.addFleet((String) row[0], (VehicleType) row[1], ((Long) row[2]).intValue());
+        }
+        for (Object[] row : bookingRepository.countActiveStartsByLocationAndType(
+                LocalDate.ofEpochDay(fromDay - TABLE_SLACK_DAYS), LocalDate.ofEpochDay(toDay))) {
+            utilization.addBookings((String) row[0], (VehicleType) row[1], ((LocalDate) row[2]).toEpochDay(),
+                    ((LocalDate) row[3]).toEpochDay(), ((Long) row[4]).intValue());
+        }
+        utilization.accumulate();
+        return utilization;
+    }
+
+    /**
+     * A running or finished simulation. Counters are live; results are complete once the
+     * status is no longer RUNNING.
+     */
+    public static final class Simulation {
+        private final String id;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final long currentRulesVersion;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final Map<GroupKey, long[]> groups = new ConcurrentHashMap<>();
+        private volatile SimulationStatus status = SimulationStatus.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Simulation(String id, LocalDate from, LocalDate to, long currentRulesVersion) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+            this.currentRulesVersion = currentRulesVersion;
+        }
+
+        private void merge(Map<GroupKey, long[]> partial, int bookings) {
+            partial.forEach((key, values) -> groups.merge(key, values, (existing, added) -> {
+                for (int i = 0; i < existing.length; i++) {
+                    existing[i] += added[i];
+                }
+                return existing;
+            }));
+            processed.addAndGet(bookings);
+        }
+
+        private void finish(SimulationStatus status, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public LocalDate from() {
+            return from;
+        }
+
+        public LocalDate to() {
+            return to;
+        }
+
+        public long currentRulesVersion() {
+            return currentRulesVersion;
+        }
+
+        public SimulationStatus status() {
+            return status;
+        }
+
+        public long total() {
+            return total.get();
+        }
+
+        public long processed() {
+            return processed.get();
+        }
+
+        public Instant startedAt() {
+            return startedAt;
+        }
+
+        public Instant finishedAt() {
+            return finishedAt;
+        }
+
+        public String error() {
+            return error;
+        }
+
+        /**
+         * Totals per month, location and type, ordered by month then location; empty until
+         * the simulation has completed.
+         */
+        public List<GroupResult> results() {
+            if (status != SimulationStatus.COMPLETED) {
+                return List.of();
+            }
+            List<GroupResult> results = new ArrayList<>(groups.size());
+            groups.forEach((key, values) -> results.add(new GroupResult(key.month(), key.location(), key.type(),
+                    values[0], Money.ofPaisa(values[1]), Money.ofPaisa(values[2]), Money.ofPaisa(values[3]))));
+            results.sort(GroupResult.ORDER);
+            return results;
+        }
+    }
+
+    public record GroupResult(YearMonth month, String location, VehicleType type, long bookings, Money actual,
+            Money current, Money candidate) {
+
+        private static final Comparator<GroupResult> ORDER = Comparator
+                .comparing(GroupResult::month)
+                .thenComparing(GroupResult::location, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(GroupResult::type, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private record GroupKey(YearMonth month, String location, VehicleType type) {
+    }
+
+    /**
+     * Calendar multipliers of one rule set, before the daily bounds, precomputed over the
+     * simulated span.
+     */
+    private static final class DailyTable {
+        private final PricingRules rules;
+        private final long originDay;
+        private final double[] multipliers;
+
+        private DailyTable(PricingRules rules, long fromDay, long toDay) {
+            this.rules = rules;
+            this.originDay = fromDay;
+            this.multipliers = new double[(int) (toDay - fromDay)];
+            for (int i = 0; i < multipliers.length; i++) {
+                multipliers[i] = rules.calendar(LocalDate.ofEpochDay(fromDay + i));
+            }
+        }
+
+        private long dailyTotal(long basePaisa, long startDay, int days, double demandMultiplier,
+                                double vehicleMultiplier) {
+            long index = startDay - originDay;
+            if (index >= 0 && index + days <= multipliers.length) {
+                return PricingPipeline.dailyTotal(rules, basePaisa, multipliers, (int) index, days, demandMultiplier,
+                        vehicleMultiplier);
+            }
+            double[] outside = new double[days];
+            for (int i = 0; i < days; i++) {
+                outside[i] = rules.calendar(LocalDate.ofEpochDay(startDay + i));
+            }
+            return PricingPipeline.dailyTotal(rules, basePaisa, outside, 0, days, demandMultiplier,
+                    vehicleMultiplier);
+        }
+    }
+
+    /**
+     * Vehicles booked per location, type and day over the simulated span, from one grouped
+     * query, as a share of the fleet.
+     */
+    private static final class RealizedUtilization {
+        private final long originDay;
+        private final int length;
+        private final Map<String, Map<VehicleType, int[]>> occupied = new HashMap<>();
+        private final Map<String, Map<VehicleType, Integer>> fleet = new HashMap<>();
+
+        private RealizedUtilization(long originDay, int length) {
+            this.originDay = originDay;
+            this.length = length;
+        }
+
+        private void addFleet(String location, VehicleType type, int vehicles) {
+            fleet.computeIfAbsent(DemandForecaster.normalize(location), key -> new HashMap<>())
+                    .merge(type, vehicles, Integer::sum);
+        }
+
+        private void addBookings(String location, VehicleType type, long startDay, long endDay, int count) {
+            // Difference array over the occupied days [start, end), turned into counts by accumulate()
+            int[] days = occupied.computeIfAbsent(DemandForecaster.normalize(location), key -> new HashMap<>())
+                    .computeIfAbsent(type, key -> new int[length + 1]);
+            int from = (int) Math.max(0, startDay - originDay);
+            int to = (int) Math.min(length, Math.max(endDay, startDay + 1) - originDay);
+            if (from < to) {
+                days[from] += count;
+                days[to] -= count;
+            }
+        }
+
+        private void accumulate() {
+            for (Map<VehicleType, int[]> byType : occupied.values()) {
+                for (int[] days : byType.values()) {
+                    for (int i = 1; i < days.length; i++) {
+                        days[i] += days[i - 1];
+                    }
+                }
+            }
+        }
+
+        private double over(String location, VehicleType type, long startDay, int days) {
+            String key = DemandForecaster.normalize(location);
+            Integer vehicles = fleet.getOrDefault(key, Map.of()).get(type);
+            if (vehicles == null || vehicles == 0) {
+                return Double.NaN;
+            }
+            int[] counts = occupied.getOrDefault(key, Map.of()).get(type);
+            long booked = 0;
+            for (int i = 0; i < days && counts != null; i++) {
+                long index = startDay + i - originDay;
+                if (index >= 0 && index < length) {
+                    booked += counts[(int) index];
+                }
+            }
+            return (double) booked / ((double) vehicles * days);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.event.VehicleCatalogChangedEvent;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.util.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recently issued quotes by vehicle and (start, end, rules version), kept for a short TTL.
+ *
+ * A customer who reloads a search or opens a vehicle gets the same price back instead of
+ * a fresh calculation; tokens are signed per customer on top. An entry is only served
+ * while the vehicle's price inputs still match what it was priced from, and a vehicle's
+ * entries are dropped when it is edited, deleted or changes availability, so vehicle
+ * changes take effect immediately; forecast demand is allowed to drift for at most the TTL.
+ */
+@Component
+@Slf4j
+public class QuoteCache {
+
+    @Value("${app.pricing.quote-cache-ttl:2m}")
+    private Duration ttl = Duration.ofMinutes(2);
+
+    @Value("${app.pricing.quote-cache-max-entries:100000}")
+    private int maxEntries = 100_000;
+
+    private final Map<Long, Map<Key, Entry>> entriesByVehicle = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The cached quote, or null when there is none still fresh for these inputs.
+     */
+    public PriceQuote get(PricingRules rules, Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        Map<Key, Entry> entries = vehicle.getId() == null ? null : entriesByVehicle.get(vehicle.getId());
+        Entry entry = entries == null
+                ? null
+                : entries.get(new Key(startDate.toEpochDay(), endDate.toEpochDay(), rules.version()));
+        if (entry == null || entry.expiresAtMillis < System.currentTimeMillis()
+                || !entry.inputs.equals(Inputs.of(vehicle))) {
+            return null;
+        }
+        return entry.quote;
+    }
+
+    public void put(Vehicle vehicle, LocalDate startDate, LocalDate endDate, PriceQuote quote) {
+        if (vehicle.getId() == null || size.get() >= maxEntries) {
+            // Full until the next sweep; quotes are still issued, just not reused
+            return;
+        }
+        Entry entry = new Entry(Inputs.of(vehicle), quote, System.currentTimeMillis() + ttl.toMillis());
+        if (entriesByVehicle.computeIfAbsent(vehicle.getId(), id -> new ConcurrentHashMap<>())
+                .put(new Key(startDate.toEpochDay(), endDate.toEpochDay(), quote.rulesVersion()), entry) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleCatalogChangedEvent event) {
+        Map<Key, Entry> removed = entriesByVehicle.remove(event.vehicleId());
+        if (removed != null) {
+            size.addAndGet(-removed.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.quote-cache-sweep-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int remaining = 0;
+        for (Map<Key, Entry> entries : entriesByVehicle.values()) {
+            entries.values().removeIf(entry -> entry.expiresAtMillis < now);
+            remaining += entries.size();
+        }
+        entriesByVehicle.values().removeIf(Map::isEmpty);
+        // Recounted on each sweep, so puts racing a vehicle eviction cannot skew the bound for long
+        int before = size.getAndSet(remaining);
+        log.debug("Evicted {} expired quotes", before - remaining);
+    }
+
+    private record Key(long startDay, long endDay, long rulesVersion) {
+    }
+
+    private record Inputs(long basePaisa, Double rating, VehicleType type, FuelType fuelType, String location) {
+
+        static Inputs of(Vehicle vehicle) {
+            return new Inputs(Money.of(vehicle.getBasePrice()).paisa(), vehicle.getRating(), vehicle.getType(),
+                    vehicle.getFuelType(), vehicle.getLocation());
+        }
+    }
+
+    private record Entry(Inputs inputs, PriceQuote quote, long expiresAtMillis) {
+    }
+}
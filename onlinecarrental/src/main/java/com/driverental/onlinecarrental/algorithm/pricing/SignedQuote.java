@@ -0,0 +1,10 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import java.time.Instant;
+
+/**
+ * A quote as handed to the customer: the price, and a signed token that lets a booking
+ * made before {@code expiresAt} be charged exactly that price.
+ */
+public record SignedQuote(PriceQuote quote, String token, Instant expiresAt) {
+}
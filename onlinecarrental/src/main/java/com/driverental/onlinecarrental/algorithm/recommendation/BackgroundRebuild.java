@@ -0,0 +1,68 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a snapshot holder's rebuild on a dedicated daemon thread, so startup, the nightly
+ * schedule and admin requests never wait for it and readers keep using the previous
+ * snapshot until the new one is installed.
+ *
+ * A request while a rebuild is already queued is dropped; one arriving while it runs
+ * queues exactly one more, so the last request always sees a rebuild that started after
+ * it. A failed rebuild is logged and leaves the previous snapshot in place. Other work
+ * that must not overlap a rebuild can be run on the same thread with {@link #execute}.
+ */
+@Slf4j
+public final class BackgroundRebuild {
+
+    private final String name;
+    private final Runnable rebuild;
+    private final ExecutorService executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param name    thread name, also used in the failure log
+     * @param rebuild builds and installs a new snapshot
+     */
+    public BackgroundRebuild(String name, Runnable rebuild) {
+        this.name = name;
+        this.rebuild = rebuild;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a rebuild unless one is already queued.
+     */
+    public void request() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                // Cleared first so a request arriving mid-build queues one more round
+                scheduled.set(false);
+                try {
+                    rebuild.run();
+                } catch (RuntimeException e) {
+                    log.error("{} rebuild failed; keeping the previous snapshot", name, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs other work on the rebuild thread, after anything already queued.
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -3,7 +3,6 @@ package com.driverental.onlinecarrental.algorithm.recommendation;
 import com.driverental.onlinecarrental.model.entity.User;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
 import com.driverental.onlinecarrental.model.entity.Booking;
-import com.driverental.onlinecarrental.model.entity.Review;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -18,17 +17,20 @@ public class CollaborativeFiltering {
 
     private final UserSimilarity userSimilarity;
     private final ItemSimilarity itemSimilarity;
+    private final ItemNeighbourBuilder itemNeighbourBuilder;
+    private final VehicleSimilarityIndex vehicleSimilarityIndex;
+    private final UserSimilarityIndex userSimilarityIndex;
 
     /**
-     * User-based collaborative filtering recommendations
+     * User-based collaborative filtering recommendations.
+     * Similar users come from the user similarity index's candidates, so nothing is returned
+     * until its first build.
      */
-    public List<Vehicle> userBasedRecommendations(User targetUser, List<User> allUsers,
-            List<Vehicle> allVehicles, int topK) {
+    public List<Vehicle> userBasedRecommendations(User targetUser, List<Vehicle> allVehicles, int topK) {
         log.info("Generating user-based collaborative filtering recommendations for user: {}", targetUser.getId());
 
         // Find similar users
-        List<UserSimilarity.UserSimilarityScore> similarUsers = userSimilarity.findSimilarUsers(targetUser, allUsers,
-                topK);
+        List<UserSimilarity.UserSimilarityScore> similarUsers = userSimilarity.findSimilarUsers(targetUser, topK);
 
         if (similarUsers.isEmpty()) {
             log.info("No similar users found for user: {}", targetUser.getId());
@@ -48,7 +50,7 @@ public class CollaborativeFiltering {
             for (Vehicle vehicle : similarUserVehicles) {
                 if (!targetUserVehicles.contains(vehicle) && vehicle.getIsAvailable()) {
                     // Score vehicle based on user similarity and vehicle popularity
-                    double score = similarity * calculateVehiclePopularity(vehicle, allUsers);
+                    double score = similarity * calculateVehiclePopularity(vehicle);
                     vehicleScores.merge(vehicle, score, Double::sum);
                 }
             }
@@ -63,11 +65,12 @@ public class CollaborativeFiltering {
     }
 
     /**
-     * Item-based collaborative filtering recommendations
-     * Enhanced with ItemSimilarity for more accurate similarity calculations
+     * Item-based collaborative filtering recommendations.
+     * Merges the precomputed neighbour lists of the vehicles the user has booked; while no
+     * booked vehicle has neighbours yet (new vehicles, or before the first table build), falls
+     * back to the topK nearest vehicles by attributes from the similarity index.
      */
-    public List<Vehicle> itemBasedRecommendations(User user, List<Vehicle> allVehicles, 
-                                                  List<Booking> allBookings, List<Review> allReviews, int topK) {
+    public List<Vehicle> itemBasedRecommendations(User user, List<Vehicle> allVehicles, int topK) {
         log.info("Generating item-based collaborative filtering recommendations for user: {}", user.getId());
 
         Set<Vehicle> userVehicles = getBookedVehicles(user);
@@ -77,53 +80,23 @@ public class CollaborativeFiltering {
             return Collections.emptyList();
         }
 
-        Map<Vehicle, Double> vehicleScores = new HashMap<>();
-
-        for (Vehicle userVehicle : userVehicles) {
-            List<Vehicle> similarVehicles = findSimilarVehicles(userVehicle, allVehicles, allBookings, allReviews, topK);
-
-            for (Vehicle similarVehicle : similarVehicles) {
-                if (!userVehicles.contains(similarVehicle) && similarVehicle.getIsAvailable()) {
-                    // Use ItemSimilarity for comprehensive similarity calculation
-                    double similarity = itemSimilarity.calculateOverallSimilarity(
-                            userVehicle, similarVehicle, allBookings, allReviews);
-                    vehicleScores.merge(similarVehicle, similarity, Double::sum);
-                }
-            }
-        }
-
-        return vehicleScores.entrySet().stream()
-                .sorted(Map.Entry.<Vehicle, Double>comparingByValue().reversed())
-                .map(Map.Entry::getKey)
-                .limit(10)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Item-based collaborative filtering recommendations (backward compatibility)
-     * Uses simple similarity calculation when bookings/reviews are not available
-     */
-    public List<Vehicle> itemBasedRecommendations(User user, List<Vehicle> allVehicles, int topK) {
-        log.info("Generating item-based collaborative filtering recommendations for user: {} (simple mode)", user.getId());
-
-        Set<Vehicle> userVehicles = getBookedVehicles(user);
+        Map<Long, Vehicle> availableById = allVehicles.stream()
+                .filter(Vehicle::getIsAvailable)
+                .collect(Collectors.toMap(Vehicle::getId, vehicle -> vehicle, (first, second) -> first));
+        Set<Long> bookedIds = userVehicles.stream().map(Vehicle::getId).collect(Collectors.toSet());
 
-        if (userVehicles.isEmpty()) {
-            log.info("User {} has no booking history for item-based recommendations", user.getId());
-            return Collections.emptyList();
+        List<Long> merged = itemNeighbourBuilder.current().recommend(bookedIds, 10, availableById::containsKey);
+        if (!merged.isEmpty()) {
+            return merged.stream().map(availableById::get).collect(Collectors.toList());
         }
 
         Map<Vehicle, Double> vehicleScores = new HashMap<>();
-
         for (Vehicle userVehicle : userVehicles) {
-            List<Vehicle> similarVehicles = findSimilarVehicles(userVehicle, allVehicles, topK);
-
-            for (Vehicle similarVehicle : similarVehicles) {
-                if (!userVehicles.contains(similarVehicle) && similarVehicle.getIsAvailable()) {
-                    // Use ItemSimilarity for attribute similarity (doesn't require bookings/reviews)
-                    double similarity = itemSimilarity.calculateAttributeSimilarity(userVehicle, similarVehicle);
-                    vehicleScores.merge(similarVehicle, similarity, Double::sum);
-                }
+            for (Long similarId : vehicleSimilarityIndex.similarVehicleIds(userVehicle, topK,
+                    id -> availableById.containsKey(id) && !bookedIds.contains(id))) {
+                Vehicle similarVehicle = availableById.get(similarId);
+                double similarity = itemSimilarity.calculateAttributeSimilarity(userVehicle, similarVehicle);
+                vehicleScores.merge(similarVehicle, similarity, Double::sum);
             }
         }
 
@@ -134,35 +107,6 @@ public class CollaborativeFiltering {
                 .collect(Collectors.toList());
     }
 
-    /**
-     * Find similar vehicles using ItemSimilarity (enhanced version with bookings and reviews)
-     */
-    private List<Vehicle> findSimilarVehicles(Vehicle targetVehicle, List<Vehicle> allVehicles,
-                                             List<Booking> allBookings, List<Review> allReviews, int topK) {
-        return allVehicles.stream()
-                .filter(vehicle -> !vehicle.getId().equals(targetVehicle.getId()))
-                .filter(Vehicle::getIsAvailable)
-                .sorted((v1, v2) -> Double.compare(
-                        itemSimilarity.calculateOverallSimilarity(targetVehicle, v2, allBookings, allReviews),
-                        itemSimilarity.calculateOverallSimilarity(targetVehicle, v1, allBookings, allReviews)))
-                .limit(topK)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Find similar vehicles based on various attributes (simple version)
-     */
-    private List<Vehicle> findSimilarVehicles(Vehicle targetVehicle, List<Vehicle> allVehicles, int topK) {
-        return allVehicles.stream()
-                .filter(vehicle -> !vehicle.getId().equals(targetVehicle.getId()))
-                .filter(Vehicle::getIsAvailable)
-                .sorted((v1, v2) -> Double.compare(
-                        itemSimilarity.calculateAttributeSimilarity(targetVehicle, v2),
-                        itemSimilarity.calculateAttributeSimilarity(targetVehicle, v1)))
-                .limit(topK)
-                .collect(Collectors.toList());
-    }
-
     /**
      * Calculate similarity between two vehicles (legacy method - kept for backward compatibility)
      * @deprecated Use ItemSimilarity.calculateAttributeSimilarity() or calculateOverallSimilarity() instead
@@ -174,14 +118,11 @@ public class CollaborativeFiltering {
     }
 
     /**
-     * Calculate vehicle popularity based on booking frequency and ratings
+     * Calculate vehicle popularity based on booking frequency and ratings.
+     * Bookings are counted as of the last user similarity index build.
      */
-    private double calculateVehiclePopularity(Vehicle vehicle, List<User> allUsers) {
-        long bookingCount = allUsers.stream()
-                .map(User::getBookings)
-                .flatMap(List::stream)
-                .filter(booking -> booking.getVehicle().getId().equals(vehicle.getId()))
-                .count();
+    private double calculateVehiclePopularity(Vehicle vehicle) {
+        long bookingCount = userSimilarityIndex.vehicleBookings(vehicle.getId());
 
         double ratingScore = vehicle.getRating() / 5.0; // Normalize to 0-1
 
@@ -201,12 +142,11 @@ public class CollaborativeFiltering {
      * Generate explanations for recommendations
      */
     public Map<String, Object> generateRecommendationExplanations(User targetUser, Vehicle recommendedVehicle,
-            List<User> allUsers, int topK) {
+            int topK) {
         Map<String, Object> explanations = new HashMap<>();
 
         // Find similar users who booked this vehicle
-        List<UserSimilarity.UserSimilarityScore> similarUsers = userSimilarity.findSimilarUsers(targetUser, allUsers,
-                topK);
+        List<UserSimilarity.UserSimilarityScore> similarUsers = userSimilarity.findSimilarUsers(targetUser, topK);
 
         List<String> similarUserNames = similarUsers.stream()
                 .filter(score -> hasBookedVehicle(score.getUser(), recommendedVehicle))
@@ -219,7 +159,7 @@ public class CollaborativeFiltering {
         }
 
         // Vehicle popularity
-        double popularity = calculateVehiclePopularity(recommendedVehicle, allUsers);
+        double popularity = calculateVehiclePopularity(recommendedVehicle);
         explanations.put("popularityScore", popularity);
 
         // Feature match with user preferences
@@ -0,0 +1,143 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable snapshot of a trained matrix factorization model: the rating matrix it was
+ * trained on (for the id to index maps and what each user already booked) and the learned
+ * biases and factors.
+ *
+ * Serving a user is one scan over the vehicle vectors, keeping the best n in a bounded
+ * heap: O(vehicles x features), allocating only the heap and the result.
+ */
+public final class FactorModel {
+
+    public static final FactorModel EMPTY = new FactorModel(0, Instant.EPOCH,
+            RatingMatrix.of(List.of(), List.of(), Map.of()),
+            new MatrixFactorization.Factors(0, new float[0], new float[0], new float[0], new float[0]));
+
+    private final long version;
+    private final Instant trainedAt;
+    private final RatingMatrix matrix;
+    private final MatrixFactorization.Factors factors;
+
+    public FactorModel(long version, Instant trainedAt, RatingMatrix matrix, MatrixFactorization.Factors factors) {
+        this.version = version;
+        this.trainedAt = trainedAt;
+        this.matrix = matrix;
+        this.factors = factors;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant trainedAt() {
+        return trainedAt;
+    }
+
+    public int users() {
+        return matrix.users();
+    }
+
+    public int items() {
+        return matrix.items();
+    }
+
+    public boolean knows(Long userId) {
+        return matrix.userIndex(userId) >= 0;
+    }
+
+    /**
+     * Ids of the n best scoring vehicles for the user, best first, among those the user has
+     * not booked and that pass the filter. Empty for a user the model was not trained on.
+     */
+    public List<Long> topItems(Long userId, int n, LongPredicate eligible) {
+        int user = matrix.userIndex(userId);
+        if (user < 0 || n <= 0) {
+            return List.of();
+        }
+
+        // Min-heap of the best n so far: the root is the weakest kept candidate
+        int[] heapItems = new int[n];
+        float[] heapScores = new float[n];
+        int size = 0;
+        for (int item = 0; item < matrix.items(); item++) {
+            if (!eligible.test(matrix.itemId(item)) || booked(user, item)) {
+                continue;
+            }
+            float score = factors.score(user, item);
+            if (size < n) {
+                heapItems[size] = item;
+                heapScores[size] = score;
+                siftUp(heapItems, heapScores, size++);
+            } else if (score > heapScores[0]) {
+                heapItems[0] = item;
+                heapScores[0] = score;
+                siftDown(heapItems, heapScores, size);
+            }
+        }
+
+        // Pop the weakest first, filling the result from the back
+        Long[] best = new Long[size];
+        for (int last = size - 1; last >= 0; last--) {
+            best[last] = matrix.itemId(heapItems[0]);
+            heapItems[0] = heapItems[last];
+            heapScores[0] = heapScores[last];
+            siftDown(heapItems, heapScores, last);
+        }
+        return List.of(best);
+    }
+
+    private boolean booked(int user, int item) {
+        for (int p = matrix.rowStart(user); p < matrix.rowEnd(user); p++) {
+            if (matrix.column(p) == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void siftUp(int[] items, float[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(items, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] items, float[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(items, scores, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] items, float[] scores, int i, int j) {
+        int item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
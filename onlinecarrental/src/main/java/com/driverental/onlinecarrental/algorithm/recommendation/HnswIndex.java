@@ -0,0 +1,380 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Hierarchical navigable small world graph (Malkov and Yashunin) over unit vectors, for
+ * approximate nearest neighbours by cosine similarity.
+ *
+ * Every vector is a node on levels 0 .. l, with l drawn from a geometric distribution, so
+ * each level up holds about 1/m of the one below. A search descends greedily from the top
+ * level's entry point to level 0, then runs a best-first search with a candidate list of
+ * efSearch nodes: about O(log n) distance computations per query instead of n. Inserts
+ * search the same way with efConstruction and link the node to its m best neighbours
+ * (2m on level 0), chosen with the diversity heuristic so clusters of near-duplicates do
+ * not absorb every link.
+ *
+ * Removing an id only marks its node, which keeps routing searches but is never returned.
+ * Once marked nodes outnumber live ones the graph is rebuilt from the live vectors.
+ * Searches run concurrently; adds and removes take an exclusive lock.
+ */
+public final class HnswIndex {
+
+    // Vectors this close are the same attributes; float rounding keeps it above 0
+    private static final float DUPLICATE_DISTANCE = 1e-6f;
+
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelFactor;
+    private final Random random = new Random(42L);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<Node> nodes = new ArrayList<>();
+    private Map<Long, Integer> live = new HashMap<>();
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int removed;
+
+    public HnswIndex(int dimensions, int m, int efConstruction, int efSearch) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelFactor = 1 / Math.log(m);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return live.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the vector under the id, replacing the id's previous vector if any.
+     */
+    public void add(long id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer previous = live.remove(id);
+            if (previous != null) {
+                markRemoved(previous);
+            }
+            insert(id, vector);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = live.remove(id);
+            if (node != null) {
+                markRemoved(node);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of up to k live vectors most similar to the query that pass the filter, most
+     * similar first. The candidate list is widened until k pass or the graph is exhausted.
+     */
+    public List<Long> search(float[] query, int k, LongPredicate eligible) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            int entry = entryPoint;
+            for (int level = topLevel; level > 0; level--) {
+                entry = greedyClosest(query, entry, level);
+            }
+            for (int ef = Math.max(efSearch, k); ; ef *= 2) {
+                List<Long> result = new ArrayList<>(k);
+                for (Candidate candidate : searchLevel(query, entry, ef, 0)) {
+                    Node node = nodes.get(candidate.node());
+                    if (!node.removed && eligible.test(node.id)) {
+                        result.add(node.id);
+                        if (result.size() == k) {
+                            return result;
+                        }
+                    }
+                }
+                if (ef >= nodes.size()) {
+                    return result;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Brute-force top k by scanning every live vector, for measuring the graph's recall.
+     */
+    public List<Long> exactSearch(float[] query, int k, LongPredicate eligible) {
+        lock.readLock().lock();
+        try {
+            List<Candidate> all = new ArrayList<>(live.size());
+            for (int node : live.values()) {
+                if (eligible.test(nodes.get(node).id)) {
+                    all.add(new Candidate(node, distance(query, nodes.get(node).vector)));
+                }
+            }
+            all.sort(Comparator.comparingDouble(Candidate::distance));
+            return all.stream().limit(k).map(candidate -> nodes.get(candidate.node()).id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Similarity (dot product) between the query and the stored vector of a live id, or
+     * NaN for an unknown id.
+     */
+    public double similarity(float[] query, long id) {
+        lock.readLock().lock();
+        try {
+            Integer node = live.get(id);
+            return node == null ? Double.NaN : 1 - distance(query, nodes.get(node).vector);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(long id, float[] vector) {
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+        int index = nodes.size();
+        Node node = new Node(id, vector, level, m);
+        nodes.add(node);
+        live.put(id, index);
+        if (entryPoint < 0) {
+            entryPoint = index;
+            topLevel = level;
+            return;
+        }
+
+        int entry = entryPoint;
+        for (int l = topLevel; l > level; l--) {
+            entry = greedyClosest(vector, entry, l);
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            List<Candidate> found = searchLevel(vector, entry, efConstruction, l);
+            int[] selected = selectNeighbours(found, maxLinks(l));
+            System.arraycopy(selected, 0, node.links[l], 0, selected.length);
+            node.linkCount[l] = selected.length;
+            for (int neighbour : selected) {
+                link(neighbour, index, l);
+            }
+            entry = found.get(0).node();
+        }
+        if (level > topLevel) {
+            topLevel = level;
+            entryPoint = index;
+        }
+    }
+
+    /**
+     * Adds a back link from node to target, re-selecting node's links when it is full.
+     */
+    private void link(int node, int target, int level) {
+        Node from = nodes.get(node);
+        int max = maxLinks(level);
+        if (from.linkCount[level] < max) {
+            from.links[level][from.linkCount[level]++] = target;
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(max + 1);
+        candidates.add(new Candidate(target, distance(from.vector, nodes.get(target).vector)));
+        for (int i = 0; i < max; i++) {
+            int neighbour = from.links[level][i];
+            candidates.add(new Candidate(neighbour, distance(from.vector, nodes.get(neighbour).vector)));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::distance));
+        int[] selected = selectNeighbours(candidates, max);
+        System.arraycopy(selected, 0, from.links[level], 0, selected.length);
+        from.linkCount[level] = selected.length;
+    }
+
+    /**
+     * Keeps a candidate (nearest first) only if it is no closer to a neighbour already kept
+     * than to the base, and not a duplicate of one, then tops up with the pruned ones nearest
+     * first. Without the duplicate check, identical vehicles fill each other's links and cut
+     * off everything else.
+     */
+    private int[] selectNeighbours(List<Candidate> candidates, int max) {
+        int[] selected = new int[Math.min(max, candidates.size())];
+        int count = 0;
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (count == selected.length) {
+                break;
+            }
+            float[] vector = nodes.get(candidate.node()).vector;
+            boolean diverse = true;
+            for (int i = 0; i < count && diverse; i++) {
+                float toSelected = distance(vector, nodes.get(selected[i]).vector);
+                diverse = toSelected >= candidate.distance() && toSelected > DUPLICATE_DISTANCE;
+            }
+            if (diverse) {
+                selected[count++] = candidate.node();
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (int i = 0; count < selected.length && i < pruned.size(); i++) {
+            selected[count++] = pruned.get(i).node();
+        }
+        return selected;
+    }
+
+    private int greedyClosest(float[] query, int entry, int level) {
+        int current = entry;
+        float best = distance(query, nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.linkCount[level]; i++) {
+                int neighbour = node.links[level][i];
+                float distance = distance(query, nodes.get(neighbour).vector);
+                if (distance < best) {
+                    best = distance;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search on one level, returning the ef closest nodes found, nearest first.
+     */
+    private List<Candidate> searchLevel(float[] query, int entry, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        PriorityQueue<Candidate> toVisit = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> closest = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::distance).reversed());
+        Candidate start = new Candidate(entry, distance(query, nodes.get(entry).vector));
+        visited.set(entry);
+        toVisit.add(start);
+        closest.add(start);
+
+        while (!toVisit.isEmpty()) {
+            Candidate current = toVisit.poll();
+            if (current.distance() > closest.peek().distance() && closest.size() >= ef) {
+                break;
+            }
+            Node node = nodes.get(current.node());
+            for (int i = 0; i < node.linkCount[level]; i++) {
+                int neighbour = node.links[level][i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float distance = distance(query, nodes.get(neighbour).vector);
+                if (closest.size() < ef || distance < closest.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbour, distance);
+                    toVisit.add(candidate);
+                    closest.add(candidate);
+                    if (closest.size() > ef) {
+                        closest.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> found = new ArrayList<>(closest);
+        found.sort(Comparator.comparingDouble(Candidate::distance));
+        return found;
+    }
+
+    private void markRemoved(int node) {
+        nodes.get(node).removed = true;
+        removed++;
+    }
+
+    private void compactIfSparse() {
+        if (removed <= live.size()) {
+            return;
+        }
+        List<Node> survivors = new ArrayList<>(live.size());
+        for (int node : live.values()) {
+            survivors.add(nodes.get(node));
+        }
+        survivors.sort(Comparator.comparingInt(node -> live.get(node.id)));
+        nodes = new ArrayList<>(survivors.size());
+        live = new HashMap<>(survivors.size() * 2);
+        entryPoint = -1;
+        topLevel = -1;
+        removed = 0;
+        for (Node node : survivors) {
+            insert(node.id, node.vector);
+        }
+    }
+
+    private int maxLinks(int level) {
+        return level == 0 ? 2 * m : m;
+    }
+
+    private static float distance(float[] a, float[] b) {
+        float dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return 1 - dot;
+    }
+
+    private record Candidate(int node, float distance) {
+    }
+
+    private static final class Node {
+        private final long id;
+        private final float[] vector;
+        private final int[][] links;
+        private final int[] linkCount;
+        private boolean removed;
+
+        private Node(long id, float[] vector, int level, int m) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[l == 0 ? 2 * m : m];
+            }
+            this.linkCount = new int[level + 1];
+        }
+    }
+}
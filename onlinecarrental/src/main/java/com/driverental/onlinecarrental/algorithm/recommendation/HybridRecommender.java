@@ -1,7 +1,6 @@
 package com.driverental.onlinecarrental.algorithm.recommendation;
 
 import com.driverental.onlinecarrental.model.entity.User;
-import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,25 +15,19 @@ import java.util.stream.Collectors;
 public class HybridRecommender {
 
     private final CollaborativeFiltering collaborativeFiltering;
-    private final MatrixFactorization matrixFactorization;
+    private final RecommendationModelTrainer recommendationModelTrainer;
 
-    public List<Vehicle> getHybridRecommendations(User user, List<User> allUsers,
-            List<Vehicle> allVehicles, List<Booking> allBookings, int topN) {
+    public List<Vehicle> getHybridRecommendations(User user, List<Vehicle> allVehicles, int topN) {
         // Get recommendations from different algorithms
-        List<Vehicle> userBased = collaborativeFiltering.userBasedRecommendations(user, allUsers, allVehicles, 5);
+        List<Vehicle> userBased = collaborativeFiltering.userBasedRecommendations(user, allVehicles, 5);
         List<Vehicle> itemBased = collaborativeFiltering.itemBasedRecommendations(user, allVehicles, 10);
 
-        // Matrix factorization (personalized ranking using implicit feedback from bookings)
-        Map<Long, Map<Long, Double>> userItemRatings = matrixFactorization.buildUserItemMatrix(allUsers, allBookings);
-        Map<Long, Double> mfPredictions = matrixFactorization.factorizeForUser(user, allUsers, allVehicles,
-                userItemRatings);
-
-        // Vehicles already booked by the user should not be recommended again
-        Set<Long> alreadyBookedVehicleIds = allBookings.stream()
-                .filter(b -> b.getUser() != null && b.getUser().getId().equals(user.getId()))
-                .filter(b -> b.getVehicle() != null)
-                .map(b -> b.getVehicle().getId())
-                .collect(Collectors.toSet());
+        // Matrix factorization (personalized ranking from the latest trained model, which
+        // already leaves out vehicles the user has booked)
+        Map<Long, Vehicle> vehiclesById = allVehicles.stream()
+                .collect(Collectors.toMap(Vehicle::getId, vehicle -> vehicle, (first, second) -> first));
+        List<Long> topMf = recommendationModelTrainer.current().topItems(user.getId(), 10,
+                vehiclesById::containsKey);
 
         // Combine and rank recommendations
         Map<Vehicle, Double> combinedScores = new HashMap<>();
@@ -53,24 +46,10 @@ public class HybridRecommender {
             combinedScores.merge(vehicle, score * 0.3, Double::sum);
         }
 
-        // Score matrix factorization recommendations
-        if (mfPredictions != null && !mfPredictions.isEmpty()) {
-            // Normalize by rank rather than raw score to avoid scale issues
-            List<Long> topMf = mfPredictions.entrySet().stream()
-                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
-                    .map(Map.Entry::getKey)
-                    .filter(id -> !alreadyBookedVehicleIds.contains(id))
-                    .limit(10)
-                    .collect(Collectors.toList());
-
-            for (int i = 0; i < topMf.size(); i++) {
-                Long vehicleId = topMf.get(i);
-                Vehicle vehicle = allVehicles.stream().filter(v -> v.getId().equals(vehicleId)).findFirst().orElse(null);
-                if (vehicle != null) {
-                    double score = 1.0 - (i * 0.07);
-                    combinedScores.merge(vehicle, score * 0.3, Double::sum);
-                }
-            }
+        // Score matrix factorization recommendations by rank rather than raw score to avoid scale issues
+        for (int i = 0; i < topMf.size(); i++) {
+            double score = 1.0 - (i * 0.07);
+            combinedScores.merge(vehiclesById.get(topMf.get(i)), score * 0.3, Double::sum);
         }
 
         // Add popularity/diversity factor
@@ -0,0 +1,221 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Confidence-weighted ALS for implicit feedback (Hu, Koren and Volinsky).
+ *
+ * Every booked (user, vehicle) pair is a preference of 1 held with confidence 1 + alpha x
+ * its implicit rating; every other pair is a preference of 0 with confidence 1. Each
+ * half-iteration fixes one side and solves the other row by row in closed form. The
+ * unobserved pairs only enter through the Gramian of the fixed side, computed once per
+ * half-iteration, so solving a row costs O(its ratings x k^2 + k^3) and no dense
+ * users x vehicles work is ever done. Rows are independent and solved in parallel on a
+ * dedicated ForkJoin pool.
+ *
+ * Scores are preferences, not ratings: the returned factors have no mean or biases.
+ */
+@Component
+@Slf4j
+public class ImplicitAlsTrainer {
+
+    private static final int FEATURES = MatrixFactorization.LATENT_FEATURES;
+    private static final long SEED = 42L;
+
+    @Value("${app.recommendation.als-iterations:15}")
+    private int iterations = 15;
+
+    @Value("${app.recommendation.als-alpha:10.0}")
+    private double alpha = 10.0;
+
+    @Value("${app.recommendation.als-regularization:0.1}")
+    private double regularization = 0.1;
+
+    @Value("${app.recommendation.als-parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public Training train(RatingMatrix matrix) {
+        Random random = new Random(SEED);
+        float[] userFeatures = randomFactors(matrix.users(), random);
+        float[] itemFeatures = randomFactors(matrix.items(), random);
+        RatingMatrix byItem = matrix.transpose();
+
+        List<Iteration> history = new ArrayList<>(iterations);
+        for (int iter = 1; iter <= iterations; iter++) {
+            long started = System.nanoTime();
+            solveSide(matrix, userFeatures, itemFeatures);
+            solveSide(byItem, itemFeatures, userFeatures);
+            long millis = (System.nanoTime() - started) / 1_000_000;
+
+            double loss = loss(matrix, userFeatures, itemFeatures);
+            history.add(new Iteration(iter, loss, millis));
+            log.info("ALS iteration {}/{}: loss {} in {} ms on {} threads", iter, iterations,
+                    String.format("%.4f", loss), millis, pool.getParallelism());
+        }
+
+        int users = matrix.users();
+        int items = matrix.items();
+        return new Training(new MatrixFactorization.Factors(0, new float[users], new float[items], userFeatures,
+                itemFeatures), history);
+    }
+
+    /**
+     * Solves the factors of every row of the matrix against the fixed columns' factors F:
+     * (F'F + F'(C - I)F + lambda I) x = F'C p, with C - I and p nonzero only on the row's
+     * ratings.
+     */
+    private void solveSide(RatingMatrix matrix, float[] solved, float[] fixed) {
+        double[] gramian = gramian(fixed);
+        pool.submit(() -> IntStream.range(0, matrix.users()).parallel().forEach(row -> {
+            double[] a = gramian.clone();
+            double[] b = new double[FEATURES];
+            for (int f = 0; f < FEATURES; f++) {
+                a[f * FEATURES + f] += regularization;
+            }
+            for (int p = matrix.rowStart(row); p < matrix.rowEnd(row); p++) {
+                int offset = matrix.column(p) * FEATURES;
+                double confidence = 1 + alpha * matrix.value(p);
+                for (int f = 0; f < FEATURES; f++) {
+                    double weighted = (confidence - 1) * fixed[offset + f];
+                    for (int g = 0; g < FEATURES; g++) {
+                        a[f * FEATURES + g] += weighted * fixed[offset + g];
+                    }
+                    b[f] += confidence * fixed[offset + f];
+                }
+            }
+            choleskySolve(a, b);
+            int offset = row * FEATURES;
+            for (int f = 0; f < FEATURES; f++) {
+                solved[offset + f] = (float) b[f];
+            }
+        })).join();
+    }
+
+    private double[] gramian(float[] factors) {
+        int rows = factors.length / FEATURES;
+        return pool.submit(() -> IntStream.range(0, rows).parallel()
+                .collect(() -> new double[FEATURES * FEATURES], (sum, row) -> {
+                    int offset = row * FEATURES;
+                    for (int f = 0; f < FEATURES; f++) {
+                        for (int g = 0; g < FEATURES; g++) {
+                            sum[f * FEATURES + g] += (double) factors[offset + f] * factors[offset + g];
+                        }
+                    }
+                }, (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        left[i] += right[i];
+                    }
+                })).join();
+    }
+
+    /**
+     * Weighted squared error over all users x vehicles plus regularization, without visiting
+     * the unobserved pairs: their (x'y)^2 terms sum to x'(Y'Y)x per user, and the observed
+     * pairs correct for their own confidence and preference.
+     */
+    private double loss(RatingMatrix matrix, float[] userFeatures, float[] itemFeatures) {
+        double[] itemGramian = gramian(itemFeatures);
+        return pool.submit(() -> IntStream.range(0, matrix.users()).parallel().mapToDouble(user -> {
+            int offset = user * FEATURES;
+            double loss = 0;
+            for (int f = 0; f < FEATURES; f++) {
+                double row = 0;
+                for (int g = 0; g < FEATURES; g++) {
+                    row += itemGramian[f * FEATURES + g] * userFeatures[offset + g];
+                }
+                loss += userFeatures[offset + f] * row + regularization * userFeatures[offset + f]
+                        * userFeatures[offset + f];
+            }
+            for (int p = matrix.rowStart(user); p < matrix.rowEnd(user); p++) {
+                int itemOffset = matrix.column(p) * FEATURES;
+                double score = 0;
+                for (int f = 0; f < FEATURES; f++) {
+                    score += userFeatures[offset + f] * itemFeatures[itemOffset + f];
+                }
+                double confidence = 1 + alpha * matrix.value(p);
+                loss += confidence * (1 - score) * (1 - score) - score * score;
+            }
+            return loss;
+        }).sum()).join() + regularization * squaredNorm(itemFeatures);
+    }
+
+    private static double squaredNorm(float[] factors) {
+        double sum = 0;
+        for (float factor : factors) {
+            sum += factor * factor;
+        }
+        return sum;
+    }
+
+    /**
+     * Solves a x = b for symmetric positive definite a (row-major FEATURES x FEATURES),
+     * leaving x in b. a is overwritten with its Cholesky factor.
+     */
+    private static void choleskySolve(double[] a, double[] b) {
+        for (int j = 0; j < FEATURES; j++) {
+            double diagonal = a[j * FEATURES + j];
+            for (int k = 0; k < j; k++) {
+                diagonal -= a[j * FEATURES + k] * a[j * FEATURES + k];
+            }
+            double pivot = Math.sqrt(diagonal);
+            a[j * FEATURES + j] = pivot;
+            for (int i = j + 1; i < FEATURES; i++) {
+                double value = a[i * FEATURES + j];
+                for (int k = 0; k < j; k++) {
+                    value -= a[i * FEATURES + k] * a[j * FEATURES + k];
+                }
+                a[i * FEATURES + j] = value / pivot;
+            }
+        }
+        for (int i = 0; i < FEATURES; i++) {
+            double value = b[i];
+            for (int k = 0; k < i; k++) {
+                value -= a[i * FEATURES + k] * b[k];
+            }
+            b[i] = value / a[i * FEATURES + i];
+        }
+        for (int i = FEATURES - 1; i >= 0; i--) {
+            double value = b[i];
+            for (int k = i + 1; k < FEATURES; k++) {
+                value -= a[k * FEATURES + i] * b[k];
+            }
+            b[i] = value / a[i * FEATURES + i];
+        }
+    }
+
+    private static float[] randomFactors(int rows, Random random) {
+        float[] factors = new float[rows * FEATURES];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = random.nextFloat() * 0.01f;
+        }
+        return factors;
+    }
+
+    public record Training(MatrixFactorization.Factors factors, List<Iteration> iterations) {
+    }
+
+    public record Iteration(int number, double loss, long millis) {
+    }
+}
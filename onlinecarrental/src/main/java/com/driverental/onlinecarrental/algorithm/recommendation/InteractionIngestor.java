@@ -0,0 +1,150 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decouples interaction tracking from request threads: requests offer interactions to a
+ * bounded {@link MpscRingBuffer} without locking, and a single consumer thread drains it in
+ * batches into the {@link InteractionStore}, one log lock acquisition per batch.
+ *
+ * When the buffer is full new interactions are rejected and counted rather than queued,
+ * so a burst sheds tracking load instead of request latency. The consumer parks while the
+ * buffer is empty and is unparked by the next offer. On shutdown it drains what is left.
+ * Buffer depth and the ingested and rejected totals are exported as Micrometer meters.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InteractionIngestor {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final InteractionStore interactionStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.recommendation.ingest-buffer-capacity:65536}")
+    private int bufferCapacity = 65536;
+
+    @Value("${app.recommendation.ingest-batch-size:1024}")
+    private int batchSize = 1024;
+
+    private final LongAdder ingested = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private MpscRingBuffer<UserInteraction> buffer;
+    private Thread consumer;
+    private volatile boolean idle;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        buffer = new MpscRingBuffer<>(bufferCapacity);
+        running = true;
+        consumer = new Thread(this::consume, "interaction-ingest");
+        consumer.setDaemon(true);
+        consumer.start();
+
+        Gauge.builder("recommendation.ingest.buffer.depth", this, InteractionIngestor::bufferDepth)
+                .description("Interactions waiting in the ingestion buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("recommendation.ingest.ingested", this, InteractionIngestor::ingested)
+                .description("Interactions written to the interaction store")
+                .register(meterRegistry);
+        FunctionCounter.builder("recommendation.ingest.rejected", this, InteractionIngestor::rejected)
+                .description("Interactions dropped because the ingestion buffer was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queues the interaction; false if the buffer is full and it was dropped.
+     */
+    public boolean submit(UserInteraction interaction) {
+        if (!buffer.offer(interaction)) {
+            rejected.increment();
+            return false;
+        }
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    /**
+     * Queues the interactions in order until the buffer fills up, and returns how many
+     * were accepted; the rest are dropped.
+     */
+    public int submitAll(Collection<UserInteraction> interactions) {
+        int accepted = 0;
+        for (UserInteraction interaction : interactions) {
+            if (!buffer.offer(interaction)) {
+                rejected.add(interactions.size() - accepted);
+                break;
+            }
+            accepted++;
+        }
+        if (accepted > 0 && idle) {
+            LockSupport.unpark(consumer);
+        }
+        return accepted;
+    }
+
+    public int bufferDepth() {
+        return buffer.size();
+    }
+
+    public int bufferCapacity() {
+        return buffer.capacity();
+    }
+
+    public long ingested() {
+        return ingested.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private void consume() {
+        List<UserInteraction> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                idle = true;
+                // Re-check after announcing idleness, so an offer in between is not missed
+                if (buffer.size() == 0 && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            try {
+                interactionStore.recordAll(batch);
+                ingested.add(batch.size());
+            } catch (RuntimeException e) {
+                log.error("Dropping {} interactions that could not be stored", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of {@link UserInteraction}s in a directory of memory-mapped segment files,
+ * each named after the epoch millisecond it was started at.
+ *
+ * A record is its payload length, a CRC32 of the payload and the payload: timestamp, user,
+ * vehicle, then type and details as length-prefixed UTF-8 (texts are cut at 1 KB). Mapped
+ * files are zero-filled, so a zero length marks the end of a segment; the length is written
+ * last and the CRC catches a record torn by a crash, so recovery resumes after the last
+ * complete record. A new segment is started when the current one is full or spans more
+ * than the configured duration, and retention deletes whole segments without rewriting.
+ *
+ * Appends are serialized by a lock. Writes reach the page cache immediately and survive a
+ * process crash; {@link #flush()} forces them to disk.
+ */
+public final class InteractionLog implements Closeable {
+
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 3 * Long.BYTES + 2 * Short.BYTES;
+    private static final int MAX_TEXT_BYTES = 1024;
+    private static final long NULL_ID = Long.MIN_VALUE;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long segmentMillis;
+    private final List<Segment> segments = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+    private volatile Segment active;
+
+    private InteractionLog(Path directory, int segmentBytes, Duration segmentSpan) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.segmentMillis = segmentSpan.toMillis();
+    }
+
+    /**
+     * Opens the log in the directory, creating it if needed, and passes every recovered
+     * record to the consumer, oldest segment first.
+     */
+    public static InteractionLog open(Path directory, int segmentBytes, Duration segmentSpan,
+                                      Consumer<UserInteraction> recovered) {
+        InteractionLog log = new InteractionLog(directory, segmentBytes, segmentSpan);
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                        .sorted((a, b) -> Long.compare(startOf(a), startOf(b)))
+                        .toList();
+            }
+            for (int i = 0; i < files.size(); i++) {
+                Segment segment = log.recover(files.get(i), i == files.size() - 1, recovered);
+                log.segments.add(segment);
+            }
+            if (!log.segments.isEmpty()) {
+                log.active = log.segments.get(log.segments.size() - 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open interaction log in " + directory, e);
+        }
+        return log;
+    }
+
+    public synchronized void append(UserInteraction interaction) {
+        write(interaction);
+    }
+
+    /**
+     * Appends the interactions in order under a single acquisition of the append lock.
+     */
+    public synchronized void appendAll(Collection<UserInteraction> interactions) {
+        interactions.forEach(this::write);
+    }
+
+    private void write(UserInteraction interaction) {
+        byte[] type = text(interaction.type());
+        byte[] details = text(interaction.details());
+        int payloadBytes = FIXED_PAYLOAD_BYTES + length(type) + length(details);
+        if (HEADER_BYTES + payloadBytes > segmentBytes) {
+            throw new IllegalArgumentException("Interaction record larger than a segment");
+        }
+        long timestamp = interaction.timestamp().toEpochMilli();
+
+        Segment segment = active;
+        if (segment == null || segment.position + HEADER_BYTES + payloadBytes > segment.buffer.capacity()
+                || timestamp >= segment.start + segmentMillis) {
+            segment = roll(segment == null ? timestamp : Math.max(timestamp, segment.start + 1));
+        }
+
+        ByteBuffer buffer = segment.buffer;
+        int position = segment.position;
+        int offset = position + HEADER_BYTES;
+        buffer.putLong(offset, timestamp);
+        buffer.putLong(offset + 8, interaction.userId() == null ? NULL_ID : interaction.userId());
+        buffer.putLong(offset + 16, interaction.vehicleId() == null ? NULL_ID : interaction.vehicleId());
+        offset = putText(buffer, offset + 24, type);
+        putText(buffer, offset, details);
+
+        crc.reset();
+        crc.update(buffer.slice(position + HEADER_BYTES, payloadBytes));
+        buffer.putInt(position + 4, (int) crc.getValue());
+        // Length last: until it is written the record reads as the end of the segment
+        buffer.putInt(position, payloadBytes);
+        segment.position = position + HEADER_BYTES + payloadBytes;
+    }
+
+    /**
+     * Deletes the segments holding only interactions before the cutoff: those followed by a
+     * segment started at or before it. Returns how many were deleted.
+     */
+    public synchronized int dropBefore(Instant cutoff) {
+        long cutoffMillis = cutoff.toEpochMilli();
+        int dropped = 0;
+        while (segments.size() > 1 && segments.get(1).start <= cutoffMillis) {
+            Segment segment = segments.remove(0);
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete interaction log segment " + segment.path, e);
+            }
+            dropped++;
+        }
+        return dropped;
+    }
+
+    public synchronized int segments() {
+        return segments.size();
+    }
+
+    /**
+     * Forces appended records of the current segment to disk; earlier segments were forced
+     * when they were closed.
+     */
+    public void flush() {
+        Segment segment = active;
+        if (segment != null) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private Segment roll(long start) {
+        if (active != null) {
+            active.buffer.force();
+        }
+        Segment segment = new Segment(directory.resolve(start + SUFFIX), start, map(directory.resolve(start + SUFFIX)));
+        segments.add(segment);
+        active = segment;
+        return segment;
+    }
+
+    private Segment recover(Path path, boolean last, Consumer<UserInteraction> recovered) {
+        Segment segment = new Segment(path, startOf(path), map(path));
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int payloadBytes = buffer.getInt(position);
+            if (payloadBytes < FIXED_PAYLOAD_BYTES || position + HEADER_BYTES + payloadBytes > buffer.capacity()) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + HEADER_BYTES, payloadBytes));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            UserInteraction interaction = read(buffer, position + HEADER_BYTES);
+            recovered.accept(interaction);
+            position += HEADER_BYTES + payloadBytes;
+        }
+        if (last && position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+            // Clear a torn record so shorter records appended over it leave no stale tail
+            buffer.put(position, new byte[buffer.capacity() - position]);
+        }
+        segment.position = position;
+        return segment;
+    }
+
+    private MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map interaction log segment " + path, e);
+        }
+    }
+
+    private static UserInteraction read(ByteBuffer buffer, int offset) {
+        long timestamp = buffer.getLong(offset);
+        long userId = buffer.getLong(offset + 8);
+        long vehicleId = buffer.getLong(offset + 16);
+        offset += 24;
+        String type = getText(buffer, offset);
+        offset += Short.BYTES + Math.max(0, buffer.getShort(offset));
+        String details = getText(buffer, offset);
+        return new UserInteraction(userId == NULL_ID ? null : userId, vehicleId == NULL_ID ? null : vehicleId,
+                type, details, Instant.ofEpochMilli(timestamp));
+    }
+
+    private static byte[] text(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= MAX_TEXT_BYTES ? bytes : Arrays.copyOf(bytes, MAX_TEXT_BYTES);
+    }
+
+    private static int length(byte[] text) {
+        return text == null ? 0 : text.length;
+    }
+
+    private static int putText(ByteBuffer buffer, int offset, byte[] text) {
+        buffer.putShort(offset, (short) (text == null ? -1 : text.length));
+        if (text != null) {
+            buffer.put(offset + Short.BYTES, text);
+        }
+        return offset + Short.BYTES + length(text);
+    }
+
+    private static String getText(ByteBuffer buffer, int offset) {
+        short length = buffer.getShort(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long startOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long start;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(Path path, long start, MappedByteBuffer buffer) {
+            this.path = path;
+            this.start = start;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durable store of user interactions: an {@link InteractionLog} on disk, with each user's
+ * most recent interactions kept in memory for personalization.
+ *
+ * The per-user windows are immutable arrays replaced on append, so reads take no lock.
+ * They, the {@link TrendingCounters} and the {@link RecommendationMetrics} are fed every
+ * recorded interaction, and rebuilt from the log at startup. Interactions older than the
+ * retention period are removed by deleting whole log segments daily; windows of users
+ * inactive since then are dropped and older entries are filtered out when read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InteractionStore {
+
+    private static final UserInteraction[] EMPTY = new UserInteraction[0];
+
+    private final TrendingCounters trendingCounters;
+    private final RecommendationMetrics recommendationMetrics;
+
+    @Value("${app.recommendation.interactions-dir:data/interactions}")
+    private String directory = "data/interactions";
+
+    @Value("${app.recommendation.interaction-segment-bytes:16777216}")
+    private int segmentBytes = 16 * 1024 * 1024;
+
+    @Value("${app.recommendation.interaction-segment-hours:24}")
+    private int segmentHours = 24;
+
+    @Value("${app.recommendation.interaction-retention-days:90}")
+    private int retentionDays = 90;
+
+    @Value("${app.recommendation.interaction-window:100}")
+    private int windowSize = 100;
+
+    private final Map<Long, UserInteraction[]> recentByUser = new ConcurrentHashMap<>();
+    private InteractionLog interactionLog;
+
+    @PostConstruct
+    public void init() {
+        long started = System.currentTimeMillis();
+        interactionLog = InteractionLog.open(Path.of(directory), segmentBytes, Duration.ofHours(segmentHours),
+                this::remember);
+        log.info("Interaction log opened: {} segments, {} users with recent interactions in {} ms",
+                interactionLog.segments(), recentByUser.size(), System.currentTimeMillis() - started);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        interactionLog.close();
+    }
+
+    public void record(UserInteraction interaction) {
+        interactionLog.append(interaction);
+        remember(interaction);
+    }
+
+    public void recordAll(List<UserInteraction> interactions) {
+        interactionLog.appendAll(interactions);
+        interactions.forEach(this::remember);
+    }
+
+    /**
+     * The user's most recent interactions within the retention period, oldest first.
+     */
+    public List<UserInteraction> recent(Long userId) {
+        UserInteraction[] window = recentByUser.getOrDefault(userId, EMPTY);
+        Instant cutoff = retentionCutoff();
+        return Arrays.stream(window)
+                .filter(interaction -> interaction.timestamp().isAfter(cutoff))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.recommendation.interaction-flush-ms:1000}")
+    public void flush() {
+        interactionLog.flush();
+    }
+
+    @Scheduled(cron = "${app.recommendation.interaction-retention-cron:0 0 3 * * ?}")
+    public void dropExpired() {
+        Instant cutoff = retentionCutoff();
+        int dropped = interactionLog.dropBefore(cutoff);
+        recentByUser.values().removeIf(window -> window[window.length - 1].timestamp().isBefore(cutoff));
+        log.info("Dropped {} interaction log segments older than {}", dropped, cutoff);
+    }
+
+    private void remember(UserInteraction interaction) {
+        trendingCounters.recordInteraction(interaction);
+        recommendationMetrics.recordInteraction(interaction);
+        if (interaction.userId() == null) {
+            return;
+        }
+        recentByUser.merge(interaction.userId(), new UserInteraction[] { interaction }, (window, added) -> {
+            int kept = Math.min(window.length, windowSize - 1);
+            UserInteraction[] next = Arrays.copyOfRange(window, window.length - kept, window.length + 1);
+            next[kept] = interaction;
+            return next;
+        });
+    }
+
+    private Instant retentionCutoff() {
+        return Instant.now().minus(Duration.ofDays(retentionDays));
+    }
+}
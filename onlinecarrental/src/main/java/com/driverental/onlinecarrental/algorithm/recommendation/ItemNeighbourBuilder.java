@@ -0,0 +1,359 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.ReviewRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Batch job that precomputes the {@link ItemNeighbourTable}: for every vehicle, its top K
+ * neighbours by the collaborative part of {@link ItemSimilarity} (Jaccard co-occurrence of
+ * bookers and Pearson correlation of review ratings, with the same weights and neutral
+ * values).
+ *
+ * Bookings and reviews are read once into user to vehicle and vehicle to user postings.
+ * A vehicle's candidates are only the vehicles sharing at least one booker or reviewer,
+ * found by joining its postings with those of its users, and every co-occurrence count and
+ * Pearson sum is accumulated in that one pass: O(sum over users of vehicles^2) instead of
+ * rescanning all bookings per pair. Vehicles are processed in parallel on a dedicated
+ * ForkJoin pool.
+ *
+ * Rebuilt in the background at startup, nightly (app.recommendation.item-neighbours-cron)
+ * and when the models are refreshed; recommendations keep merging the previous table's
+ * lists until the new one is complete.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemNeighbourBuilder {
+
+    private final BookingRepository bookingRepository;
+    private final ReviewRepository reviewRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final BackgroundRebuild rebuild = new BackgroundRebuild("item-neighbours", this::build);
+
+    @Value("${app.recommendation.item-neighbours:50}")
+    private int neighboursPerVehicle = 50;
+
+    @Value("${app.recommendation.item-neighbours-parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private volatile ItemNeighbourTable current = ItemNeighbourTable.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuild.shutdown();
+        pool.shutdownNow();
+    }
+
+    public ItemNeighbourTable current() {
+        return current;
+    }
+
+    /**
+     * Schedules a rebuild unless one is already queued.
+     */
+    public void requestBuild() {
+        rebuild.request();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.recommendation.item-neighbours-cron:0 0 2 * * ?}")
+    public void scheduledBuild() {
+        requestBuild();
+    }
+
+    void build() {
+        long started = System.currentTimeMillis();
+        Map<Long, Map<Long, Double>> bookings = new HashMap<>();
+        Map<Long, Map<Long, Double>> ratings = new HashMap<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rentals = bookingRepository.streamUserVehicleRentals()) {
+                rentals.forEach(row -> bookings.computeIfAbsent((Long) row[0], key -> new HashMap<>())
+                        .put((Long) row[1], 1.0));
+            }
+            try (Stream<Object[]> reviews = reviewRepository.streamUserVehicleRatings()) {
+                // The first review of a vehicle by a user counts, as in ItemSimilarity
+                reviews.forEach(row -> ratings.computeIfAbsent((Long) row[0], key -> new HashMap<>())
+                        .putIfAbsent((Long) row[1], ((Integer) row[2]).doubleValue()));
+            }
+        });
+
+        ItemNeighbourTable built = compute(bookings, ratings, current.version() + 1);
+        current = built;
+        log.info("Item neighbour table version {} built: {} vehicles, {} neighbours in {} ms",
+                built.version(), built.vehicles(), built.entries(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Builds the table from vehicles booked per user and review ratings per user and vehicle.
+     */
+    ItemNeighbourTable compute(Map<Long, Map<Long, Double>> bookings, Map<Long, Map<Long, Double>> ratings,
+                               long version) {
+        Set<Long> userIds = new LinkedHashSet<>(bookings.keySet());
+        userIds.addAll(ratings.keySet());
+        Set<Long> vehicleIds = new LinkedHashSet<>();
+        bookings.values().forEach(booked -> vehicleIds.addAll(booked.keySet()));
+        ratings.values().forEach(rated -> vehicleIds.addAll(rated.keySet()));
+
+        List<Long> users = new ArrayList<>(userIds);
+        List<Long> vehicles = new ArrayList<>(vehicleIds);
+        RatingMatrix booked = RatingMatrix.of(users, vehicles, bookings);
+        RatingMatrix bookedBy = booked.transpose();
+        RatingMatrix rated = RatingMatrix.of(users, vehicles, ratings);
+        RatingMatrix ratedBy = rated.transpose();
+
+        int vehicleCount = vehicles.size();
+        int[][] rowNeighbours = new int[vehicleCount][];
+        float[][] rowScores = new float[vehicleCount][];
+        int chunks = Math.max(1, Math.min(vehicleCount, pool.getParallelism() * 4));
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            Accumulator accumulator = new Accumulator(vehicleCount, neighboursPerVehicle);
+            for (int vehicle = chunk; vehicle < vehicleCount; vehicle += chunks) {
+                accumulator.row(vehicle, booked, bookedBy, rated, ratedBy);
+                accumulator.drain(vehicle, rowNeighbours, rowScores);
+            }
+        })).join();
+
+        int[] rowStart = new int[vehicleCount + 1];
+        for (int vehicle = 0; vehicle < vehicleCount; vehicle++) {
+            rowStart[vehicle + 1] = rowStart[vehicle] + rowNeighbours[vehicle].length;
+        }
+        int[] neighbours = new int[rowStart[vehicleCount]];
+        float[] scores = new float[neighbours.length];
+        long[] ids = new long[vehicleCount];
+        for (int vehicle = 0; vehicle < vehicleCount; vehicle++) {
+            System.arraycopy(rowNeighbours[vehicle], 0, neighbours, rowStart[vehicle], rowNeighbours[vehicle].length);
+            System.arraycopy(rowScores[vehicle], 0, scores, rowStart[vehicle], rowScores[vehicle].length);
+            ids[vehicle] = vehicles.get(vehicle);
+        }
+        return new ItemNeighbourTable(version, Instant.now(), ids, rowStart, neighbours, scores);
+    }
+
+    /**
+     * Per-thread scratch for one vehicle's row: co-occurrence counts and Pearson sums for
+     * every vehicle, touched entries listed so resetting costs only what was used.
+     */
+    private static final class Accumulator {
+        private final int[] coBookers;
+        private final int[] coRaters;
+        private final double[] sumX;
+        private final double[] sumY;
+        private final double[] sumXX;
+        private final double[] sumYY;
+        private final double[] sumXY;
+        private final boolean[] seen;
+        private final int[] touched;
+        private int touchedCount;
+
+        private final int k;
+        private final int[] heapNeighbours;
+        private final float[] heapScores;
+        private int heapSize;
+
+        private Accumulator(int vehicles, int k) {
+            coBookers = new int[vehicles];
+            coRaters = new int[vehicles];
+            sumX = new double[vehicles];
+            sumY = new double[vehicles];
+            sumXX = new double[vehicles];
+            sumYY = new double[vehicles];
+            sumXY = new double[vehicles];
+            seen = new boolean[vehicles];
+            touched = new int[vehicles];
+            this.k = k;
+            heapNeighbours = new int[k];
+            heapScores = new float[k];
+        }
+
+        private void row(int vehicle, RatingMatrix booked, RatingMatrix bookedBy, RatingMatrix rated,
+                         RatingMatrix ratedBy) {
+            for (int p = bookedBy.rowStart(vehicle); p < bookedBy.rowEnd(vehicle); p++) {
+                int user = bookedBy.column(p);
+                for (int q = booked.rowStart(user); q < booked.rowEnd(user); q++) {
+                    int other = booked.column(q);
+                    if (other != vehicle) {
+                        touch(other);
+                        coBookers[other]++;
+                    }
+                }
+            }
+            for (int p = ratedBy.rowStart(vehicle); p < ratedBy.rowEnd(vehicle); p++) {
+                int user = ratedBy.column(p);
+                double x = ratedBy.value(p);
+                for (int q = rated.rowStart(user); q < rated.rowEnd(user); q++) {
+                    int other = rated.column(q);
+                    if (other != vehicle) {
+                        double y = rated.value(q);
+                        touch(other);
+                        coRaters[other]++;
+                        sumX[other] += x;
+                        sumY[other] += y;
+                        sumXX[other] += x * x;
+                        sumYY[other] += y * y;
+                        sumXY[other] += x * y;
+                    }
+                }
+            }
+
+            int bookers = bookedBy.rowEnd(vehicle) - bookedBy.rowStart(vehicle);
+            int raters = ratedBy.rowEnd(vehicle) - ratedBy.rowStart(vehicle);
+            heapSize = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int other = touched[i];
+                double coOccurrence = coOccurrence(bookers, bookedBy.rowEnd(other) - bookedBy.rowStart(other),
+                        coBookers[other]);
+                double rating = rating(raters, ratedBy.rowEnd(other) - ratedBy.rowStart(other), other);
+                float score = (float) (ItemSimilarity.CO_OCCURRENCE_SIMILARITY_WEIGHT * coOccurrence
+                        + ItemSimilarity.RATING_SIMILARITY_WEIGHT * rating);
+                if (score > 0) {
+                    offer(other, score);
+                }
+                reset(other);
+            }
+            touchedCount = 0;
+        }
+
+        /**
+         * Jaccard overlap of the bookers, 0.5 when neither vehicle was booked.
+         */
+        private static double coOccurrence(int bookers, int otherBookers, int common) {
+            if (bookers == 0 && otherBookers == 0) {
+                return 0.5;
+            }
+            if (bookers == 0 || otherBookers == 0) {
+                return 0.0;
+            }
+            return (double) common / (bookers + otherBookers - common);
+        }
+
+        /**
+         * Pearson correlation over the common reviewers mapped to [0, 1]; 0.5 when neither
+         * vehicle was reviewed, 0 with fewer than two common reviewers.
+         */
+        private double rating(int raters, int otherRaters, int other) {
+            if (raters == 0 && otherRaters == 0) {
+                return 0.5;
+            }
+            int n = coRaters[other];
+            if (raters == 0 || otherRaters == 0 || n < 2) {
+                return 0.0;
+            }
+            double numerator = sumXY[other] - sumX[other] * sumY[other] / n;
+            double denominator = Math.sqrt((sumXX[other] - sumX[other] * sumX[other] / n)
+                    * (sumYY[other] - sumY[other] * sumY[other] / n));
+            double correlation = denominator == 0 ? 0.0 : numerator / denominator;
+            return Math.max(0.0, (correlation + 1) / 2);
+        }
+
+        private void touch(int other) {
+            if (!seen[other]) {
+                seen[other] = true;
+                touched[touchedCount++] = other;
+            }
+        }
+
+        private void reset(int other) {
+            seen[other] = false;
+            coBookers[other] = 0;
+            coRaters[other] = 0;
+            sumX[other] = 0;
+            sumY[other] = 0;
+            sumXX[other] = 0;
+            sumYY[other] = 0;
+            sumXY[other] = 0;
+        }
+
+        // Min-heap of the best k so far: the root is the weakest kept neighbour
+        private void offer(int neighbour, float score) {
+            if (heapSize < k) {
+                heapNeighbours[heapSize] = neighbour;
+                heapScores[heapSize] = score;
+                int index = heapSize++;
+                while (index > 0 && heapScores[(index - 1) / 2] > heapScores[index]) {
+                    swap((index - 1) / 2, index);
+                    index = (index - 1) / 2;
+                }
+            } else if (score > heapScores[0]) {
+                heapNeighbours[0] = neighbour;
+                heapScores[0] = score;
+                siftDown(heapSize);
+            }
+        }
+
+        /**
+         * Empties the heap into the vehicle's row, best first.
+         */
+        private void drain(int vehicle, int[][] rowNeighbours, float[][] rowScores) {
+            int[] neighbours = new int[heapSize];
+            float[] scores = new float[heapSize];
+            for (int last = heapSize - 1; last >= 0; last--) {
+                neighbours[last] = heapNeighbours[0];
+                scores[last] = heapScores[0];
+                swap(0, last);
+                siftDown(last);
+            }
+            heapSize = 0;
+            rowNeighbours[vehicle] = neighbours;
+            rowScores[vehicle] = scores;
+        }
+
+        private void siftDown(int size) {
+            int index = 0;
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heapScores[left] < heapScores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heapScores[right] < heapScores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int neighbour = heapNeighbours[i];
+            heapNeighbours[i] = heapNeighbours[j];
+            heapNeighbours[j] = neighbour;
+            float score = heapScores[i];
+            heapScores[i] = heapScores[j];
+            heapScores[j] = score;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable table of each vehicle's top K most similar vehicles by booking co-occurrence
+ * and rating correlation, best first, in compressed sparse row form.
+ *
+ * Item-based recommendation is a merge of the K-lists of the vehicles a user has booked:
+ * O(booked x K), independent of the size of the fleet or the booking history.
+ */
+public final class ItemNeighbourTable {
+
+    public static final ItemNeighbourTable EMPTY = new ItemNeighbourTable(0, Instant.EPOCH, new long[0],
+            new int[1], new int[0], new float[0]);
+
+    private final long version;
+    private final Instant builtAt;
+    private final long[] vehicleIds;
+    private final Map<Long, Integer> vehicleIndex;
+    private final int[] rowStart;
+    private final int[] neighbours;
+    private final float[] scores;
+
+    ItemNeighbourTable(long version, Instant builtAt, long[] vehicleIds, int[] rowStart, int[] neighbours,
+                       float[] scores) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.vehicleIds = vehicleIds;
+        this.vehicleIndex = new HashMap<>(vehicleIds.length * 2);
+        for (int i = 0; i < vehicleIds.length; i++) {
+            vehicleIndex.put(vehicleIds[i], i);
+        }
+        this.rowStart = rowStart;
+        this.neighbours = neighbours;
+        this.scores = scores;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public int vehicles() {
+        return vehicleIds.length;
+    }
+
+    public int entries() {
+        return neighbours.length;
+    }
+
+    /**
+     * The vehicle's neighbours and their similarity, best first; empty for a vehicle
+     * without co-bookings or co-ratings.
+     */
+    public Map<Long, Double> neighbours(Long vehicleId) {
+        Integer row = vehicleIndex.get(vehicleId);
+        if (row == null) {
+            return Map.of();
+        }
+        Map<Long, Double> result = new LinkedHashMap<>();
+        for (int p = rowStart[row]; p < rowStart[row + 1]; p++) {
+            result.put(vehicleIds[neighbours[p]], (double) scores[p]);
+        }
+        return result;
+    }
+
+    /**
+     * Ids of up to n vehicles scored by their summed similarity to the seed vehicles, best
+     * first, leaving out the seeds themselves and vehicles that fail the filter.
+     */
+    public List<Long> recommend(Collection<Long> seedVehicleIds, int n, LongPredicate eligible) {
+        Map<Long, Double> merged = new HashMap<>();
+        for (Long seed : seedVehicleIds) {
+            Integer row = vehicleIndex.get(seed);
+            if (row == null) {
+                continue;
+            }
+            for (int p = rowStart[row]; p < rowStart[row + 1]; p++) {
+                long neighbour = vehicleIds[neighbours[p]];
+                if (!seedVehicleIds.contains(neighbour) && eligible.test(neighbour)) {
+                    merged.merge(neighbour, (double) scores[p], Double::sum);
+                }
+            }
+        }
+        return merged.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
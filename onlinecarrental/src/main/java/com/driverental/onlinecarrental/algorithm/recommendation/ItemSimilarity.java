@@ -4,6 +4,7 @@ import com.driverental.onlinecarrental.model.entity.Vehicle;
 import com.driverental.onlinecarrental.model.entity.Review;
 import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.enums.VehicleType;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.Data;
 import org.springframework.stereotype.Component;
@@ -19,15 +20,21 @@ import java.util.stream.Collectors;
  * - Feature similarity
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class ItemSimilarity {
 
     // Weight configuration for different similarity factors
     private static final double ATTRIBUTE_SIMILARITY_WEIGHT = 0.4;
-    private static final double CO_OCCURRENCE_SIMILARITY_WEIGHT = 0.3;
-    private static final double RATING_SIMILARITY_WEIGHT = 0.2;
+    static final double CO_OCCURRENCE_SIMILARITY_WEIGHT = 0.3;
+    static final double RATING_SIMILARITY_WEIGHT = 0.2;
     private static final double PRICE_SIMILARITY_WEIGHT = 0.1;
 
+    // Index neighbours re-ranked per requested result
+    private static final int CANDIDATES_PER_RESULT = 4;
+
+    private final VehicleSimilarityIndex vehicleSimilarityIndex;
+
     /**
      * Calculate overall similarity between two vehicles
      */
@@ -209,11 +216,24 @@ public class ItemSimilarity {
     }
 
     /**
-     * Find the top N most similar vehicles to a target vehicle
+     * Find the top N most similar vehicles to a target vehicle.
+     * Candidates come from the vehicle similarity index (a few times N nearest by attributes),
+     * so only those are scored against the bookings and reviews; every vehicle is scored
+     * until the index is built.
      */
     public List<VehicleSimilarityScore> findSimilarVehicles(Vehicle targetVehicle, List<Vehicle> allVehicles,
                                                              List<Booking> allBookings, List<Review> allReviews, int topN) {
-        return allVehicles.stream()
+        List<Vehicle> candidates = allVehicles;
+        if (vehicleSimilarityIndex.isReady()) {
+            Map<Long, Vehicle> byId = allVehicles.stream()
+                    .collect(Collectors.toMap(Vehicle::getId, vehicle -> vehicle, (first, second) -> first));
+            candidates = vehicleSimilarityIndex
+                    .similarVehicleIds(targetVehicle, topN * CANDIDATES_PER_RESULT, byId::containsKey).stream()
+                    .map(byId::get)
+                    .collect(Collectors.toList());
+        }
+
+        return candidates.stream()
                 .filter(vehicle -> !vehicle.getId().equals(targetVehicle.getId()))
                 .filter(Vehicle::getIsAvailable)
                 .map(vehicle -> new VehicleSimilarityScore(
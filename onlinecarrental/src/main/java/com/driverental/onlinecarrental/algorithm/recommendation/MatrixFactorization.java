@@ -4,10 +4,9 @@ import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.entity.User;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.RealMatrix;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -15,61 +14,71 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MatrixFactorization {
 
-    private static final int LATENT_FEATURES = 10;
-    private static final double LEARNING_RATE = 0.01;
-    private static final double REGULARIZATION = 0.02;
+    static final int LATENT_FEATURES = 10;
+    private static final float LEARNING_RATE = 0.01f;
+    private static final float REGULARIZATION = 0.02f;
     private static final int ITERATIONS = 100;
+    private static final long SEED = 42L;
 
-    public Map<Long, Double> factorize(List<User> users, List<Vehicle> vehicles,
+    /**
+     * Generate predictions for a single target user: trains on every observed rating, then
+     * scores each vehicle for the target. Empty when the target is not among the users.
+     */
+    public Map<Long, Double> factorizeForUser(User targetUser, List<User> users, List<Vehicle> vehicles,
             Map<Long, Map<Long, Double>> userItemRatings) {
-        int numUsers = users.size();
-        int numItems = vehicles.size();
-
-        // Initialize user and item matrices
-        RealMatrix userFeatures = new Array2DRowRealMatrix(numUsers, LATENT_FEATURES);
-        RealMatrix itemFeatures = new Array2DRowRealMatrix(numItems, LATENT_FEATURES);
+        if (targetUser == null || users == null || vehicles == null) {
+            return Collections.emptyMap();
+        }
 
-        Random random = new Random();
-        for (int i = 0; i < numUsers; i++) {
-            for (int j = 0; j < LATENT_FEATURES; j++) {
-                userFeatures.setEntry(i, j, random.nextDouble() * 0.1);
-            }
+        RatingMatrix matrix = RatingMatrix.of(
+                users.stream().map(User::getId).toList(),
+                vehicles.stream().map(Vehicle::getId).toList(),
+                userItemRatings);
+        int targetUserIndex = matrix.userIndex(targetUser.getId());
+        if (targetUserIndex < 0) {
+            return Collections.emptyMap();
         }
 
-        for (int i = 0; i < numItems; i++) {
-            for (int j = 0; j < LATENT_FEATURES; j++) {
-                itemFeatures.setEntry(i, j, random.nextDouble() * 0.1);
-            }
+        Factors factors = train(matrix);
+        Map<Long, Double> predictions = new HashMap<>(matrix.items() * 2);
+        for (int item = 0; item < matrix.items(); item++) {
+            predictions.put(matrix.itemId(item), factors.predict(targetUserIndex, item));
         }
+        return predictions;
+    }
+
+    /**
+     * Biased SGD over the observed ratings only: a rating is predicted as global mean +
+     * user bias + vehicle bias + the dot product of their factors. Each epoch visits every
+     * non-zero of the matrix once, so it costs O(nnz x features) whatever the number of
+     * users and vehicles.
+     */
+    public Factors train(RatingMatrix matrix) {
+        Random random = new Random(SEED);
+        float[] userFeatures = randomFactors(matrix.users(), random);
+        float[] itemFeatures = randomFactors(matrix.items(), random);
+        float[] userBias = new float[matrix.users()];
+        float[] itemBias = new float[matrix.items()];
+        float globalMean = mean(matrix);
 
-        // Stochastic Gradient Descent
         for (int iter = 0; iter < ITERATIONS; iter++) {
-            for (User user : users) {
-                for (Vehicle vehicle : vehicles) {
-                    Double actualRating = userItemRatings
-                            .getOrDefault(user.getId(), new HashMap<>())
-                            .get(vehicle.getId());
-
-                    if (actualRating != null) {
-                        int userIndex = users.indexOf(user);
-                        int itemIndex = vehicles.indexOf(vehicle);
-
-                        double predictedRating = predictRating(userFeatures, itemFeatures, userIndex, itemIndex);
-                        double error = actualRating - predictedRating;
-
-                        // Update user and item features
-                        for (int f = 0; f < LATENT_FEATURES; f++) {
-                            double userFeature = userFeatures.getEntry(userIndex, f);
-                            double itemFeature = itemFeatures.getEntry(itemIndex, f);
-
-                            double newUserFeature = userFeature + LEARNING_RATE *
-                                    (error * itemFeature - REGULARIZATION * userFeature);
-                            userFeatures.setEntry(userIndex, f, newUserFeature);
-
-                            double newItemFeature = itemFeature + LEARNING_RATE *
-                                    (error * userFeature - REGULARIZATION * itemFeature);
-                            itemFeatures.setEntry(itemIndex, f, newItemFeature);
-                        }
+            for (int user = 0; user < matrix.users(); user++) {
+                int userOffset = user * LATENT_FEATURES;
+                for (int p = matrix.rowStart(user); p < matrix.rowEnd(user); p++) {
+                    int item = matrix.column(p);
+                    int itemOffset = item * LATENT_FEATURES;
+                    float error = matrix.value(p) - clip(globalMean + userBias[user] + itemBias[item]
+                            + dot(userFeatures, userOffset, itemFeatures, itemOffset));
+
+                    userBias[user] += LEARNING_RATE * (error - REGULARIZATION * userBias[user]);
+                    itemBias[item] += LEARNING_RATE * (error - REGULARIZATION * itemBias[item]);
+                    for (int f = 0; f < LATENT_FEATURES; f++) {
+                        float userFeature = userFeatures[userOffset + f];
+                        float itemFeature = itemFeatures[itemOffset + f];
+                        userFeatures[userOffset + f] = userFeature + LEARNING_RATE
+                                * (error * itemFeature - REGULARIZATION * userFeature);
+                        itemFeatures[itemOffset + f] = itemFeature + LEARNING_RATE
+                                * (error * userFeature - REGULARIZATION * itemFeature);
                     }
                 }
             }
@@ -79,108 +88,62 @@ public class MatrixFactorization {
             }
         }
 
-        // Generate predictions
-        Map<Long, Double> predictions = new HashMap<>();
-        for (User user : users) {
-            for (Vehicle vehicle : vehicles) {
-                int userIndex = users.indexOf(user);
-                int itemIndex = vehicles.indexOf(vehicle);
-                double predictedRating = predictRating(userFeatures, itemFeatures, userIndex, itemIndex);
-                predictions.put(vehicle.getId(), predictedRating);
-            }
-        }
-
-        log.info("Matrix factorization completed. Generated {} predictions.", predictions.size());
-        return predictions;
+        log.debug("Matrix factorization trained on {} ratings from {} users over {} vehicles",
+                matrix.nonZeros(), matrix.users(), matrix.items());
+        return new Factors(globalMean, userBias, itemBias, userFeatures, itemFeatures);
     }
 
-    /**
-     * Generate predictions for a single target user.
-     *
-     * This avoids the ambiguity of {@link #factorize(List, List, Map)} which currently
-     * produces a vehicle->score map that is overwritten for each user.
-     */
-    public Map<Long, Double> factorizeForUser(User targetUser, List<User> users, List<Vehicle> vehicles,
-            Map<Long, Map<Long, Double>> userItemRatings) {
-        if (targetUser == null || users == null || vehicles == null) {
-            return Collections.emptyMap();
+    private static float mean(RatingMatrix matrix) {
+        double sum = 0;
+        for (int p = 0; p < matrix.nonZeros(); p++) {
+            sum += matrix.value(p);
         }
+        return matrix.nonZeros() == 0 ? 0 : (float) (sum / matrix.nonZeros());
+    }
 
-        int numUsers = users.size();
-        int numItems = vehicles.size();
-
-        RealMatrix userFeatures = new Array2DRowRealMatrix(numUsers, LATENT_FEATURES);
-        RealMatrix itemFeatures = new Array2DRowRealMatrix(numItems, LATENT_FEATURES);
-
-        Random random = new Random();
-        for (int i = 0; i < numUsers; i++) {
-            for (int j = 0; j < LATENT_FEATURES; j++) {
-                userFeatures.setEntry(i, j, random.nextDouble() * 0.1);
-            }
+    private static float[] randomFactors(int rows, Random random) {
+        float[] factors = new float[rows * LATENT_FEATURES];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = random.nextFloat() * 0.1f;
         }
+        return factors;
+    }
 
-        for (int i = 0; i < numItems; i++) {
-            for (int j = 0; j < LATENT_FEATURES; j++) {
-                itemFeatures.setEntry(i, j, random.nextDouble() * 0.1);
-            }
+    private static float dot(float[] left, int leftOffset, float[] right, int rightOffset) {
+        float sum = 0;
+        for (int f = 0; f < LATENT_FEATURES; f++) {
+            sum += left[leftOffset + f] * right[rightOffset + f];
         }
+        return sum;
+    }
 
-        // SGD training on known ratings
-        for (int iter = 0; iter < ITERATIONS; iter++) {
-            for (User user : users) {
-                Map<Long, Double> ratings = userItemRatings.getOrDefault(user.getId(), Collections.emptyMap());
-                if (ratings.isEmpty()) {
-                    continue;
-                }
-
-                int userIndex = users.indexOf(user);
-                for (Vehicle vehicle : vehicles) {
-                    Double actualRating = ratings.get(vehicle.getId());
-                    if (actualRating == null) {
-                        continue;
-                    }
-
-                    int itemIndex = vehicles.indexOf(vehicle);
-                    double predictedRating = predictRating(userFeatures, itemFeatures, userIndex, itemIndex);
-                    double error = actualRating - predictedRating;
-
-                    for (int f = 0; f < LATENT_FEATURES; f++) {
-                        double userFeature = userFeatures.getEntry(userIndex, f);
-                        double itemFeature = itemFeatures.getEntry(itemIndex, f);
-
-                        double newUserFeature = userFeature + LEARNING_RATE *
-                                (error * itemFeature - REGULARIZATION * userFeature);
-                        userFeatures.setEntry(userIndex, f, newUserFeature);
+    private static float clip(float rating) {
+        return Math.min(5.0f, Math.max(1.0f, rating)); // Clip to 1-5 rating scale
+    }
 
-                        double newItemFeature = itemFeature + LEARNING_RATE *
-                                (error * userFeature - REGULARIZATION * itemFeature);
-                        itemFeatures.setEntry(itemIndex, f, newItemFeature);
-                    }
-                }
-            }
-        }
+    /**
+     * Trained model, indexed as in the {@link RatingMatrix} trained on. Factors are
+     * row-major: user u's features at [u x features, (u + 1) x features), likewise for
+     * vehicles.
+     */
+    public record Factors(float globalMean, float[] userBias, float[] itemBias, float[] userFeatures,
+            float[] itemFeatures) {
 
-        int targetUserIndex = users.indexOf(targetUser);
-        if (targetUserIndex < 0) {
-            return Collections.emptyMap();
+        public int features() {
+            return LATENT_FEATURES;
         }
 
-        Map<Long, Double> predictions = new HashMap<>();
-        for (Vehicle vehicle : vehicles) {
-            int itemIndex = vehicles.indexOf(vehicle);
-            double predictedRating = predictRating(userFeatures, itemFeatures, targetUserIndex, itemIndex);
-            predictions.put(vehicle.getId(), predictedRating);
+        /**
+         * Unclipped score, for ranking.
+         */
+        public float score(int user, int item) {
+            return globalMean + userBias[user] + itemBias[item]
+                    + dot(userFeatures, user * LATENT_FEATURES, itemFeatures, item * LATENT_FEATURES);
         }
 
-        return predictions;
-    }
-
-    private double predictRating(RealMatrix userFeatures, RealMatrix itemFeatures, int userIndex, int itemIndex) {
-        double prediction = 0.0;
-        for (int f = 0; f < LATENT_FEATURES; f++) {
-            prediction += userFeatures.getEntry(userIndex, f) * itemFeatures.getEntry(itemIndex, f);
+        public double predict(int user, int item) {
+            return clip(score(user, item));
         }
-        return Math.min(5.0, Math.max(1.0, prediction)); // Clip to 1-5 rating scale
     }
 
     public Map<Long, Map<Long, Double>> buildUserItemMatrix(List<User> users, List<Booking> bookings) {
@@ -197,7 +160,7 @@ public class MatrixFactorization {
             if (userBookings != null) {
                 for (Booking booking : userBookings) {
                     if (booking.getVehicle() != null) {
-                        double rating = calculateImplicitRating(booking);
+                        double rating = implicitRating(booking.getStartDate(), booking.getEndDate());
                         itemRatings.put(booking.getVehicle().getId(), rating);
                     }
                 }
@@ -210,12 +173,16 @@ public class MatrixFactorization {
         return userItemRatings;
     }
 
-    private double calculateImplicitRating(Booking booking) {
+    /**
+     * Implicit rating of a booking from its length: 3 for any booking, up to 2 more for
+     * longer rentals.
+     */
+    public static double implicitRating(LocalDate startDate, LocalDate endDate) {
         double baseRating = 3.0; // Base rating for any booking
 
         // Adjust based on booking duration (longer duration = higher preference)
-        if (booking.getEndDate() != null && booking.getStartDate() != null) {
-            long days = booking.getEndDate().toEpochDay() - booking.getStartDate().toEpochDay();
+        if (endDate != null && startDate != null) {
+            long days = endDate.toEpochDay() - startDate.toEpochDay();
             double durationBonus = Math.min(2.0, days / 7.0); // Max 2 points bonus
             baseRating += durationBonus;
         }
@@ -229,13 +196,6 @@ public class MatrixFactorization {
         return Math.min(5.0, Math.max(1.0, baseRating)); // Ensure rating is between 1-5
     }
 
-    /**
-     * Alternative method using matrix operations for prediction
-     */
-    public RealMatrix predictAllRatings(RealMatrix userFeatures, RealMatrix itemFeatures) {
-        return userFeatures.multiply(itemFeatures.transpose());
-    }
-
     /**
      * Get top N recommendations for a user
      */
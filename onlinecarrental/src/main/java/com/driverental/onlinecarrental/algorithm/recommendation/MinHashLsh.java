@@ -0,0 +1,130 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Locality-sensitive hashing of MinHash signatures, for finding users whose booked vehicles
+ * and vehicle types overlap without comparing against every user.
+ *
+ * A signature holds, for each of BANDS x ROWS seeded hash functions, the minimum hash over
+ * the user's tokens; two users agree on one entry with probability equal to the Jaccard
+ * similarity s of their token sets. Signatures are cut into BANDS bands of ROWS entries and
+ * each band is hashed to a bucket, so two users share at least one bucket with probability
+ * 1 - (1 - s^ROWS)^BANDS: about 0.99 at s = 0.3 and 0.63 at s = 0.2, which suits the short
+ * histories of car rental customers. Candidates are ranked by how many buckets they share,
+ * which grows with s. Buckets are visited smallest first, and the large ones that popular
+ * vehicle types produce are skipped once enough candidates have been found.
+ *
+ * Immutable once built. Users without tokens have an empty signature and are not indexed.
+ */
+public final class MinHashLsh {
+
+    static final int BANDS = 24;
+    static final int ROWS = 2;
+    private static final int HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new Random(42L).longs(HASHES).toArray();
+
+    private final long[] userIds;
+    private final Map<Long, int[]> buckets;
+
+    private MinHashLsh(long[] userIds, Map<Long, int[]> buckets) {
+        this.userIds = userIds;
+        this.buckets = buckets;
+    }
+
+    public static int[] signature(long[] tokens) {
+        if (tokens.length == 0) {
+            return new int[0];
+        }
+        int[] signature = new int[HASHES];
+        for (int h = 0; h < HASHES; h++) {
+            int min = Integer.MAX_VALUE;
+            for (long token : tokens) {
+                min = Math.min(min, (int) (mix(token ^ SEEDS[h]) >>> 33));
+            }
+            signature[h] = min;
+        }
+        return signature;
+    }
+
+    public static MinHashLsh of(Collection<UserProfile> profiles) {
+        long[] userIds = new long[profiles.size()];
+        Map<Long, List<Integer>> members = new HashMap<>();
+        int user = 0;
+        for (UserProfile profile : profiles) {
+            userIds[user] = profile.userId();
+            if (profile.signature().length > 0) {
+                for (int band = 0; band < BANDS; band++) {
+                    members.computeIfAbsent(bucket(profile.signature(), band), key -> new ArrayList<>()).add(user);
+                }
+            }
+            user++;
+        }
+        Map<Long, int[]> buckets = new HashMap<>(members.size() * 2);
+        members.forEach((bucket, users) -> buckets.put(bucket, users.stream().mapToInt(Integer::intValue).toArray()));
+        return new MinHashLsh(userIds, buckets);
+    }
+
+    public int users() {
+        return userIds.length;
+    }
+
+    public int buckets() {
+        return buckets.size();
+    }
+
+    /**
+     * Ids of up to limit users sharing a bucket with the signature, most shared buckets
+     * first, leaving out the given user.
+     */
+    public List<Long> candidates(int[] signature, int limit, long excludedUserId) {
+        if (signature.length == 0) {
+            return List.of();
+        }
+        List<int[]> matched = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            int[] users = buckets.get(bucket(signature, band));
+            if (users != null) {
+                matched.add(users);
+            }
+        }
+        matched.sort(Comparator.comparingInt(users -> users.length));
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (int[] users : matched) {
+            if (shared.size() >= limit && users.length > limit) {
+                break;
+            }
+            for (int user : users) {
+                if (userIds[user] != excludedUserId) {
+                    shared.merge(user, 1, Integer::sum);
+                }
+            }
+        }
+        return shared.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(entry -> userIds[entry.getKey()])
+                .toList();
+    }
+
+    private static long bucket(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = mix(hash * 31 + signature[row]);
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
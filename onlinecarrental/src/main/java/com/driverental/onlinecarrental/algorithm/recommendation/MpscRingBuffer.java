@@ -0,0 +1,91 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * Each slot carries a sequence number telling whose turn it is: a producer claims the slot
+ * at the tail with one CAS when its sequence equals the tail position, writes the element
+ * and publishes it by advancing the sequence; the consumer takes it once the sequence is
+ * one past its position and hands the slot back a lap later. A full buffer rejects the
+ * offer instead of blocking, so callers decide how to shed load.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * Capacity is rounded up to a power of two.
+     */
+    public MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        elements = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds the element unless the buffer is full. Safe from any thread.
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long turn = sequences.get(slot) - position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[slot] = element;
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (turn < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Passes up to max published elements to the consumer, oldest first, and returns how
+     * many. Only one thread may drain.
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            E element = (E) elements[slot];
+            elements[slot] = null;
+            sequences.set(slot, position + elements.length);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+        head = position;
+        return drained;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Number of claimed but not yet drained slots; approximate while producers are active.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(elements.length, tail.get() - head));
+    }
+}
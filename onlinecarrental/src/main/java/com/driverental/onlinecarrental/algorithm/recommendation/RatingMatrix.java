@@ -0,0 +1,150 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Observed (user, vehicle, rating) triples in compressed sparse row form.
+ *
+ * Users and vehicles are numbered once, in the order given, with id to index maps built
+ * alongside. Row u holds the ratings of user u: columns colIndex[rowStart[u] ..
+ * rowStart[u + 1]) with the matching values. Ratings for ids outside the given users or
+ * vehicles are dropped. Immutable once built.
+ */
+public final class RatingMatrix {
+
+    private final long[] userIds;
+    private final long[] itemIds;
+    private final Map<Long, Integer> userIndex;
+    private final Map<Long, Integer> itemIndex;
+    private final int[] rowStart;
+    private final int[] colIndex;
+    private final float[] values;
+
+    private RatingMatrix(long[] userIds, long[] itemIds, Map<Long, Integer> userIndex, Map<Long, Integer> itemIndex,
+                         int[] rowStart, int[] colIndex, float[] values) {
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.userIndex = userIndex;
+        this.itemIndex = itemIndex;
+        this.rowStart = rowStart;
+        this.colIndex = colIndex;
+        this.values = values;
+    }
+
+    public static RatingMatrix of(List<Long> userIds, List<Long> itemIds, Map<Long, Map<Long, Double>> ratings) {
+        long[] users = new long[userIds.size()];
+        Map<Long, Integer> userIndex = new HashMap<>(userIds.size() * 2);
+        for (int u = 0; u < users.length; u++) {
+            users[u] = userIds.get(u);
+            userIndex.put(users[u], u);
+        }
+        long[] items = new long[itemIds.size()];
+        Map<Long, Integer> itemIndex = new HashMap<>(itemIds.size() * 2);
+        for (int i = 0; i < items.length; i++) {
+            items[i] = itemIds.get(i);
+            itemIndex.put(items[i], i);
+        }
+
+        // Two passes: count each row's known ratings, then fill
+        int[] rowStart = new int[users.length + 1];
+        for (int u = 0; u < users.length; u++) {
+            int known = 0;
+            for (Map.Entry<Long, Double> rating : ratings.getOrDefault(users[u], Map.of()).entrySet()) {
+                if (rating.getValue() != null && itemIndex.containsKey(rating.getKey())) {
+                    known++;
+                }
+            }
+            rowStart[u + 1] = rowStart[u] + known;
+        }
+        int[] colIndex = new int[rowStart[users.length]];
+        float[] values = new float[colIndex.length];
+        for (int u = 0; u < users.length; u++) {
+            int next = rowStart[u];
+            for (Map.Entry<Long, Double> rating : ratings.getOrDefault(users[u], Map.of()).entrySet()) {
+                Integer item = itemIndex.get(rating.getKey());
+                if (item != null && rating.getValue() != null) {
+                    colIndex[next] = item;
+                    values[next] = rating.getValue().floatValue();
+                    next++;
+                }
+            }
+        }
+        return new RatingMatrix(users, items, userIndex, itemIndex, rowStart, colIndex, values);
+    }
+
+    /**
+     * The same ratings by vehicle: rows are vehicles and columns users.
+     */
+    public RatingMatrix transpose() {
+        int[] start = new int[items() + 1];
+        for (int p = 0; p < nonZeros(); p++) {
+            start[colIndex[p] + 1]++;
+        }
+        for (int item = 0; item < items(); item++) {
+            start[item + 1] += start[item];
+        }
+        int[] next = start.clone();
+        int[] rows = new int[nonZeros()];
+        float[] transposed = new float[nonZeros()];
+        for (int user = 0; user < users(); user++) {
+            for (int p = rowStart[user]; p < rowStart[user + 1]; p++) {
+                int position = next[colIndex[p]]++;
+                rows[position] = user;
+                transposed[position] = values[p];
+            }
+        }
+        return new RatingMatrix(itemIds, userIds, itemIndex, userIndex, start, rows, transposed);
+    }
+
+    public int users() {
+        return userIds.length;
+    }
+
+    public int items() {
+        return itemIds.length;
+    }
+
+    public int nonZeros() {
+        return rowStart[userIds.length];
+    }
+
+    /**
+     * Index of the user, or -1 if not in the matrix.
+     */
+    public int userIndex(Long userId) {
+        return userIndex.getOrDefault(userId, -1);
+    }
+
+    /**
+     * Index of the vehicle, or -1 if not in the matrix.
+     */
+    public int itemIndex(Long vehicleId) {
+        return itemIndex.getOrDefault(vehicleId, -1);
+    }
+
+    public long userId(int user) {
+        return userIds[user];
+    }
+
+    public long itemId(int item) {
+        return itemIds[item];
+    }
+
+    public int rowStart(int user) {
+        return rowStart[user];
+    }
+
+    public int rowEnd(int user) {
+        return rowStart[user + 1];
+    }
+
+    public int column(int position) {
+        return colIndex[position];
+    }
+
+    public float value(int position) {
+        return values[position];
+    }
+}
@@ -0,0 +1,240 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.event.SnapshotEventGate;
+import com.driverental.onlinecarrental.event.UserDeletedEvent;
+import com.driverental.onlinecarrental.event.UserRegisteredEvent;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Recommendation quality metrics maintained as events arrive, so reading them is O(1):
+ * <ul>
+ * <li>click-through rate and conversion rate: clicks per impression and booking interactions
+ * per click, over a rolling window of daily buckets;</li>
+ * <li>coverage: the share of users with enough history for personalization (2 bookings or
+ * 5 interactions), from per-user counters that flag a user once when the threshold is
+ * crossed;</li>
+ * <li>diversity: the mean share of distinct vehicle types in generated recommendation lists,
+ * over the same window.</li>
+ * </ul>
+ * All four are also registered as Micrometer gauges.
+ *
+ * Interactions arrive from the {@link InteractionStore}, including those replayed from its
+ * log at startup. User and booking counts are seeded from the database once the application
+ * is ready and then follow registrations, deletions and relayed BOOKING_CREATED events, lined
+ * up with the seed by a {@link SnapshotEventGate}. Coverage is not withdrawn when a user's
+ * interactions later expire from the log.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationMetrics {
+
+    static final int MIN_BOOKINGS = 2;
+    static final int MIN_INTERACTIONS = 5;
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.recommendation.metrics-window-days:30}")
+    private int windowDays = 30;
+
+    private final Map<Long, Activity> activityByUser = new ConcurrentHashMap<>();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong coveredUsers = new AtomicLong();
+    private RollingCounter impressions;
+    private RollingCounter clicks;
+    private RollingCounter conversions;
+    private RollingCounter lists;
+    private RollingCounter listDiversity;
+    private final SnapshotEventGate eventGate = new SnapshotEventGate();
+
+    private static final class Activity {
+        private long bookings;
+        private long interactions;
+        private boolean covered;
+    }
+
+    @PostConstruct
+    public void init() {
+        Duration window = Duration.ofDays(windowDays);
+        impressions = new RollingCounter(window, windowDays);
+        clicks = new RollingCounter(window, windowDays);
+        conversions = new RollingCounter(window, windowDays);
+        lists = new RollingCounter(window, windowDays);
+        listDiversity = new RollingCounter(window, windowDays);
+
+        gauge("recommendation.click.through.rate", "Clicks per recommendation impression",
+                RecommendationMetrics::clickThroughRate);
+        gauge("recommendation.conversion.rate", "Booking interactions per recommendation click",
+                RecommendationMetrics::conversionRate);
+        gauge("recommendation.coverage", "Share of users with personalized recommendations",
+                RecommendationMetrics::coverage);
+        gauge("recommendation.diversity", "Mean share of distinct vehicle types per recommendation list",
+                RecommendationMetrics::diversity);
+    }
+
+    public double clickThroughRate() {
+        return ratio(clicks, impressions);
+    }
+
+    public double conversionRate() {
+        return ratio(conversions, clicks);
+    }
+
+    public double coverage() {
+        long total = users.get();
+        return total > 0 ? Math.min(1.0, (double) coveredUsers.get() / total) : 0.0;
+    }
+
+    public double diversity() {
+        return ratio(listDiversity, lists);
+    }
+
+    /**
+     * The current values, keyed as reported by the metrics endpoint.
+     */
+    public Map<String, Double> snapshot() {
+        Map<String, Double> metrics = new HashMap<>();
+        metrics.put("clickThroughRate", clickThroughRate());
+        metrics.put("conversionRate", conversionRate());
+        metrics.put("coverage", coverage());
+        metrics.put("diversityScore", diversity());
+        return metrics;
+    }
+
+    public void recordInteraction(UserInteraction interaction) {
+        switch (String.valueOf(interaction.type())) {
+            case "IMPRESSION" -> impressions.add(interaction.timestamp(), 1);
+            case "CLICK" -> clicks.add(interaction.timestamp(), 1);
+            case "BOOKING" -> conversions.add(interaction.timestamp(), 1);
+            default -> {
+            }
+        }
+        if (interaction.userId() != null) {
+            updateActivity(interaction.userId(), 0, 1);
+        }
+    }
+
+    /**
+     * Records a generated recommendation list: the share of distinct types among its
+     * vehicles, out of as many as the list could have held.
+     */
+    public void recordRecommendations(List<Vehicle> recommendations) {
+        if (recommendations.isEmpty()) {
+            return;
+        }
+        long distinctTypes = recommendations.stream().map(Vehicle::getType).distinct().count();
+        int possibleTypes = Math.min(recommendations.size(), VehicleType.values().length);
+        Instant now = Instant.now();
+        lists.add(now, 1);
+        listDiversity.add(now, (double) distinctTypes / possibleTypes);
+    }
+
+    void recordBookings(long userId, long count) {
+        updateActivity(userId, count, 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void seed() {
+        eventGate.close();
+        users.set(userRepository.count());
+        List<Object[]> bookingCounts = bookingRepository.countBookingsByUser();
+        for (Object[] row : bookingCounts) {
+            recordBookings((Long) row[0], (Long) row[1]);
+        }
+        eventGate.open(outboxEventRepository).forEach(this::apply);
+        log.info("Recommendation metrics seeded: {} users, {} with bookings, {} covered",
+                users.get(), bookingCounts.size(), coveredUsers.get());
+    }
+
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.type() == OutboxEventType.BOOKING_CREATED && eventGate.admit(event)) {
+            apply(event);
+        }
+    }
+
+    private void apply(DomainEvent event) {
+        try {
+            BookingEventPayload booking = objectMapper.readValue(event.payload(), BookingEventPayload.class);
+            if (booking.userId() != null) {
+                recordBookings(booking.userId(), 1);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable booking event {}", event.id());
+        }
+    }
+
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        users.incrementAndGet();
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        users.decrementAndGet();
+        Activity removed = activityByUser.remove(event.userId());
+        if (removed != null && removed.covered) {
+            coveredUsers.decrementAndGet();
+        }
+    }
+
+    private void updateActivity(long userId, long bookings, long interactions) {
+        activityByUser.compute(userId, (id, activity) -> {
+            Activity updated = activity != null ? activity : new Activity();
+            updated.bookings += bookings;
+            updated.interactions += interactions;
+            if (!updated.covered
+                    && (updated.bookings >= MIN_BOOKINGS || updated.interactions >= MIN_INTERACTIONS)) {
+                updated.covered = true;
+                coveredUsers.incrementAndGet();
+            }
+            return updated;
+        });
+    }
+
+    private void gauge(String name, String description, ToDoubleFunction<RecommendationMetrics> value) {
+        Gauge.builder(name, this, value)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private static double ratio(RollingCounter numerator, RollingCounter denominator) {
+        Instant now = Instant.now();
+        double total = denominator.sum(now);
+        return total > 0 ? numerator.sum(now) / total : 0.0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Trains the matrix factorization model in the background and holds the current
+ * {@link FactorModel} snapshot.
+ *
+ * Training reads every booking once as (user, vehicle, dates), keeping the highest
+ * implicit rating per user and vehicle, and fits it with implicit-feedback ALS (or the
+ * rating SGD when app.recommendation.trainer is sgd). It runs in the background at
+ * startup, nightly (app.recommendation.training-cron) and when the models are refreshed.
+ * A new model replaces the snapshot only once fully trained, and cached personalized
+ * recommendations are dropped with it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationModelTrainer {
+
+    private static final String RECOMMENDATION_CACHE = "userRecommendations";
+
+    private final MatrixFactorization matrixFactorization;
+    private final ImplicitAlsTrainer implicitAlsTrainer;
+    private final BookingRepository bookingRepository;
+    private final VehicleRepository vehicleRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+
+    private final BackgroundRebuild training = new BackgroundRebuild("recommendation-training", this::train);
+
+    @Value("${app.recommendation.trainer:als}")
+    private String trainer = "als";
+
+    private volatile FactorModel current = FactorModel.EMPTY;
+
+    public FactorModel current() {
+        return current;
+    }
+
+    /**
+     * Schedules a retrain unless one is already queued.
+     */
+    public void requestTraining() {
+        training.request();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.recommendation.training-cron:0 30 2 * * ?}")
+    public void scheduledTraining() {
+        requestTraining();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        training.shutdown();
+    }
+
+    void train() {
+        long started = System.currentTimeMillis();
+        Map<Long, Map<Long, Double>> ratings = new LinkedHashMap<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        List<Long> vehicleIds = transaction.execute(status -> {
+            try (Stream<Object[]> rentals = bookingRepository.streamUserVehicleRentals()) {
+                rentals.forEach(row -> ratings.computeIfAbsent((Long) row[0], key -> new HashMap<>())
+                        .merge((Long) row[1], MatrixFactorization.implicitRating((LocalDate) row[2],
+                                (LocalDate) row[3]), Math::max));
+            }
+            return vehicleRepository.findAllIds();
+        });
+
+        RatingMatrix matrix = RatingMatrix.of(new ArrayList<>(ratings.keySet()), vehicleIds, ratings);
+        MatrixFactorization.Factors factors = "sgd".equalsIgnoreCase(trainer)
+                ? matrixFactorization.train(matrix)
+                : implicitAlsTrainer.train(matrix).factors();
+        FactorModel trained = new FactorModel(current.version() + 1, Instant.now(), matrix, factors);
+        current = trained;
+        Optional.ofNullable(cacheManager.getCache(RECOMMENDATION_CACHE)).ifPresent(Cache::clear);
+
+        log.info("Recommendation model version {} trained on {} ratings ({} users, {} vehicles) in {} ms",
+                trained.version(), matrix.nonZeros(), matrix.users(), matrix.items(),
+                System.currentTimeMillis() - started);
+    }
+}
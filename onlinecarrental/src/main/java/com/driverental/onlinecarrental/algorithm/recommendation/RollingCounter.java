@@ -0,0 +1,55 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Sum of amounts added over a sliding time window, kept in a ring of fixed-width buckets.
+ *
+ * A bucket is reset when its slot is reused for a later period, so adding is O(1) and the
+ * window advances without a sweep; reading adds up the buckets still inside it. Amounts
+ * dated before the oldest bucket are ignored.
+ */
+final class RollingCounter {
+
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final long bucketMillis;
+    private final long[] periods;
+    private final double[] sums;
+
+    RollingCounter(Duration window, int buckets) {
+        bucketMillis = Math.max(1, window.toMillis() / buckets);
+        periods = new long[buckets];
+        sums = new double[buckets];
+        Arrays.fill(periods, UNUSED);
+    }
+
+    synchronized void add(Instant at, double amount) {
+        long period = Math.floorDiv(at.toEpochMilli(), bucketMillis);
+        int slot = (int) Math.floorMod(period, (long) periods.length);
+        if (periods[slot] > period) {
+            return;
+        }
+        if (periods[slot] < period) {
+            periods[slot] = period;
+            sums[slot] = 0;
+        }
+        sums[slot] += amount;
+    }
+
+    /**
+     * Sum of the amounts dated within the window ending at the given instant.
+     */
+    synchronized double sum(Instant at) {
+        long current = Math.floorDiv(at.toEpochMilli(), bucketMillis);
+        double sum = 0;
+        for (int slot = 0; slot < periods.length; slot++) {
+            if (periods[slot] > current - periods.length && periods[slot] <= current) {
+                sum += sums[slot];
+            }
+        }
+        return sum;
+    }
+}
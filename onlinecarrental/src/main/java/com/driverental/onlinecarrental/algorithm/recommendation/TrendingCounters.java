@@ -0,0 +1,183 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.event.SnapshotEventGate;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Exponentially decayed activity per vehicle, for trending: each booking adds 2 and each
+ * interaction (impression, click, ...) 0.5, halving every configured half-life.
+ *
+ * Scores are kept relative to a landmark time: an event at t adds w * 2^((t - landmark) /
+ * halfLife), and the current score is that sum times 2^(-(now - landmark) / halfLife). The
+ * factor is common to all vehicles, so the stored values rank vehicles exactly as their
+ * current scores do and only ever grow. That keeps a top-K set valid under increments
+ * alone: a vehicle enters when it overtakes the K-th and the K-th leaves, and reading the
+ * leaders is O(K) with no database access. Values are rescaled to a new landmark before
+ * they can overflow.
+ *
+ * Interactions arrive from the {@link InteractionStore}, including those replayed from its
+ * log at startup. Bookings are seeded from the database once the application is ready and
+ * then follow relayed BOOKING_CREATED events, lined up with the seed by a
+ * {@link SnapshotEventGate}; cancellations do not undo demand already seen.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingCounters {
+
+    static final double BOOKING_WEIGHT = 2.0;
+    static final double INTERACTION_WEIGHT = 0.5;
+    // Rescale once stored values have grown by 2^RESCALE_HALF_LIVES
+    private static final double RESCALE_HALF_LIVES = 64;
+    private static final int SEED_HALF_LIVES = 16;
+    private static final long NO_LANDMARK = Long.MIN_VALUE;
+    private static final Comparator<Entry> BY_SCORE = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparingLong(Entry::vehicleId);
+
+    private final BookingRepository bookingRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.recommendation.trending-half-life-hours:72}")
+    private double halfLifeHours = 72;
+
+    @Value("${app.recommendation.trending-top-k:100}")
+    private int topK = 100;
+
+    private final Map<Long, Entry> scores = new HashMap<>();
+    private final ConcurrentSkipListSet<Entry> top = new ConcurrentSkipListSet<>(BY_SCORE);
+    private long landmarkMillis = NO_LANDMARK;
+    private final SnapshotEventGate eventGate = new SnapshotEventGate();
+
+    private record Entry(long vehicleId, double score) {
+    }
+
+    /**
+     * Ids of up to n vehicles with the highest current activity, best first; n is at most
+     * the configured top K.
+     */
+    public List<Long> top(int n) {
+        List<Long> leaders = new ArrayList<>(Math.min(n, topK));
+        for (Entry entry : top) {
+            if (leaders.size() == n) {
+                break;
+            }
+            leaders.add(entry.vehicleId());
+        }
+        return leaders;
+    }
+
+    /**
+     * The vehicle's activity decayed to the given instant.
+     */
+    public synchronized double score(long vehicleId, Instant at) {
+        Entry entry = scores.get(vehicleId);
+        return entry == null || entry.score() == 0 ? 0.0 : entry.score() * decay(landmarkMillis, at.toEpochMilli());
+    }
+
+    public void recordInteraction(UserInteraction interaction) {
+        if (interaction.vehicleId() != null) {
+            record(interaction.vehicleId(), INTERACTION_WEIGHT, interaction.timestamp());
+        }
+    }
+
+    public void recordBooking(long vehicleId, Instant bookedAt) {
+        record(vehicleId, BOOKING_WEIGHT, bookedAt);
+    }
+
+    synchronized void record(long vehicleId, double weight, Instant at) {
+        long millis = at.toEpochMilli();
+        if (landmarkMillis == NO_LANDMARK) {
+            landmarkMillis = millis;
+        } else if (halfLives(landmarkMillis, millis) > RESCALE_HALF_LIVES) {
+            rescale(millis);
+        }
+        Entry previous = scores.get(vehicleId);
+        Entry updated = new Entry(vehicleId,
+                (previous == null ? 0.0 : previous.score()) + weight / decay(landmarkMillis, millis));
+        scores.put(vehicleId, updated);
+
+        if (previous != null && top.remove(previous)) {
+            top.add(updated);
+        } else if (top.size() < topK || BY_SCORE.compare(updated, top.last()) < 0) {
+            top.add(updated);
+            if (top.size() > topK) {
+                top.pollLast();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void seedBookings() {
+        eventGate.close();
+        LocalDateTime since = LocalDateTime.now().minusHours((long) (halfLifeHours * SEED_HALF_LIVES));
+        List<Object[]> bookings = bookingRepository.findVehicleBookingTimesSince(since);
+        for (Object[] row : bookings) {
+            recordBooking((Long) row[0], ((LocalDateTime) row[1]).atZone(ZoneId.systemDefault()).toInstant());
+        }
+        eventGate.open(outboxEventRepository).forEach(this::apply);
+        log.info("Trending counters seeded with {} bookings since {}", bookings.size(), since);
+    }
+
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.type() == OutboxEventType.BOOKING_CREATED && eventGate.admit(event)) {
+            apply(event);
+        }
+    }
+
+    private void apply(DomainEvent event) {
+        try {
+            BookingEventPayload booking = objectMapper.readValue(event.payload(), BookingEventPayload.class);
+            if (booking.vehicleId() != null) {
+                LocalDateTime bookedAt = event.occurredAt() != null ? event.occurredAt() : LocalDateTime.now();
+                recordBooking(booking.vehicleId(), bookedAt.atZone(ZoneId.systemDefault()).toInstant());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable booking event {}", event.id());
+        }
+    }
+
+    private void rescale(long newLandmarkMillis) {
+        double factor = decay(landmarkMillis, newLandmarkMillis);
+        landmarkMillis = newLandmarkMillis;
+        scores.replaceAll((vehicleId, entry) -> new Entry(vehicleId, entry.score() * factor));
+        List<Entry> leaders = new ArrayList<>(top);
+        top.clear();
+        leaders.forEach(entry -> top.add(scores.get(entry.vehicleId())));
+    }
+
+    private double halfLives(long fromMillis, long toMillis) {
+        return (toMillis - fromMillis) / (double) Duration.ofMinutes((long) (halfLifeHours * 60)).toMillis();
+    }
+
+    private double decay(long fromMillis, long toMillis) {
+        return Math.pow(2, -halfLives(fromMillis, toMillis));
+    }
+}
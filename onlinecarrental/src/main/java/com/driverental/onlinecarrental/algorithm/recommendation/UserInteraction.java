@@ -0,0 +1,10 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import java.time.Instant;
+
+/**
+ * One tracked interaction of a user with a vehicle: CLICK, IMPRESSION, BOOKING, SEARCH, etc.
+ * Details carry the search text for SEARCH and are null otherwise.
+ */
+public record UserInteraction(Long userId, Long vehicleId, String type, String details, Instant timestamp) {
+}
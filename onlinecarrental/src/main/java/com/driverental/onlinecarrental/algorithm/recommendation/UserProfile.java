@@ -0,0 +1,173 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.Review;
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything {@link UserSimilarity} compares about a user, reduced to primitives: booked
+ * vehicle types as a bit mask, averages of duration, price, advance and interval, bookings
+ * per month, the most common pickup location, review ratings by vehicle, and the MinHash
+ * signature of the booked vehicles and types.
+ *
+ * Built once per user, either from the entity graph or from streamed rows, so comparing
+ * two users touches no lazy collections and allocates nothing.
+ */
+public final class UserProfile {
+
+    static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NULL_TYPE_BIT = 1 << VehicleType.values().length;
+
+    final long userId;
+    final long registeredDay;
+    final int bookings;
+    final int typeMask;
+    final double averageDuration;
+    final double averagePrice;
+    final double averageAdvance;
+    final double averageInterval;
+    final long firstBookingDay;
+    final int[] bookingsByMonth;
+    final String commonLocation;
+    final long[] ratedVehicles;
+    final int[] ratings;
+    final int[] signature;
+
+    private UserProfile(Accumulator accumulator) {
+        userId = accumulator.userId;
+        registeredDay = accumulator.registeredDay;
+        bookings = accumulator.bookings;
+        typeMask = accumulator.typeMask;
+        averageDuration = bookings == 0 ? 0 : accumulator.totalDuration / bookings;
+        averagePrice = bookings == 0 ? 0 : accumulator.totalPrice / bookings;
+        averageAdvance = bookings == 0 ? 0 : accumulator.totalAdvance / bookings;
+        // Sorted creation dates: the gaps between consecutive ones sum to last - first
+        averageInterval = bookings < 2 ? 0 : (double) (accumulator.lastCreatedDay - accumulator.firstCreatedDay)
+                / (bookings - 1);
+        firstBookingDay = accumulator.firstCreatedDay;
+        bookingsByMonth = accumulator.bookingsByMonth;
+        commonLocation = accumulator.locations.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        ratedVehicles = new long[accumulator.ratings.size()];
+        ratings = new int[ratedVehicles.length];
+        long[] vehicles = accumulator.ratings.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        for (int i = 0; i < vehicles.length; i++) {
+            ratedVehicles[i] = vehicles[i];
+            ratings[i] = accumulator.ratings.get(vehicles[i]);
+        }
+        signature = MinHashLsh.signature(accumulator.tokens());
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public int[] signature() {
+        return signature;
+    }
+
+    /**
+     * Profile of a loaded user, walking their bookings and reviews once.
+     */
+    public static UserProfile of(User user) {
+        Accumulator accumulator = new Accumulator(user.getId(), user.getCreatedAt());
+        if (user.getBookings() != null) {
+            for (Booking booking : user.getBookings()) {
+                accumulator.addBooking(booking.getVehicle().getId(), booking.getVehicle().getType(),
+                        booking.getStartDate(), booking.getEndDate(), booking.getTotalPrice(), booking.getCreatedAt(),
+                        booking.getPickupLocation());
+            }
+        }
+        if (user.getReviews() != null) {
+            for (Review review : user.getReviews()) {
+                accumulator.addReview(review.getVehicle().getId(), review.getRating());
+            }
+        }
+        return accumulator.build();
+    }
+
+    /**
+     * Collects one user's bookings and reviews; a vehicle reviewed twice keeps the first rating.
+     */
+    public static final class Accumulator {
+        private final long userId;
+        private final long registeredDay;
+        private int bookings;
+        private int typeMask;
+        private double totalDuration;
+        private double totalPrice;
+        private double totalAdvance;
+        private long firstCreatedDay = Long.MAX_VALUE;
+        private long lastCreatedDay = Long.MIN_VALUE;
+        private final int[] bookingsByMonth = new int[12];
+        private final Map<String, Integer> locations = new HashMap<>();
+        private final Set<Long> vehicles = new HashSet<>();
+        private final Map<Long, Integer> ratings = new LinkedHashMap<>();
+
+        public Accumulator(long userId, LocalDateTime registeredAt) {
+            this.userId = userId;
+            this.registeredDay = registeredAt == null ? NO_DATE : registeredAt.toLocalDate().toEpochDay();
+        }
+
+        public void addBooking(long vehicleId, VehicleType type, LocalDate startDate, LocalDate endDate,
+                               BigDecimal price, LocalDateTime createdAt, String pickupLocation) {
+            bookings++;
+            vehicles.add(vehicleId);
+            typeMask |= type == null ? NULL_TYPE_BIT : 1 << type.ordinal();
+            totalDuration += ChronoUnit.DAYS.between(startDate, endDate);
+            totalPrice += price == null ? 0 : price.doubleValue();
+            bookingsByMonth[startDate.getMonthValue() - 1]++;
+            if (createdAt != null) {
+                long createdDay = createdAt.toLocalDate().toEpochDay();
+                firstCreatedDay = Math.min(firstCreatedDay, createdDay);
+                lastCreatedDay = Math.max(lastCreatedDay, createdDay);
+                totalAdvance += startDate.toEpochDay() - createdDay;
+            }
+            if (pickupLocation != null) {
+                locations.merge(pickupLocation, 1, Integer::sum);
+            }
+        }
+
+        public void addReview(long vehicleId, Integer rating) {
+            if (rating != null) {
+                ratings.putIfAbsent(vehicleId, rating);
+            }
+        }
+
+        public UserProfile build() {
+            if (firstCreatedDay == Long.MAX_VALUE) {
+                firstCreatedDay = NO_DATE;
+                lastCreatedDay = NO_DATE;
+            }
+            return new UserProfile(this);
+        }
+
+        /**
+         * Booked vehicle ids, plus one negative token per booked vehicle type.
+         */
+        private long[] tokens() {
+            long[] tokens = new long[vehicles.size() + Integer.bitCount(typeMask)];
+            int next = 0;
+            for (long vehicle : vehicles) {
+                tokens[next++] = vehicle;
+            }
+            for (int mask = typeMask; mask != 0; mask &= mask - 1) {
+                tokens[next++] = -1 - Integer.numberOfTrailingZeros(mask);
+            }
+            return tokens;
+        }
+    }
+}
@@ -1,17 +1,14 @@
 package com.driverental.onlinecarrental.algorithm.recommendation;
 
 import com.driverental.onlinecarrental.model.entity.User;
-import com.driverental.onlinecarrental.model.entity.Booking;
-import com.driverental.onlinecarrental.model.entity.Review;
-import com.driverental.onlinecarrental.model.entity.Vehicle;
-import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.Data;
 import lombok.Builder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,6 +20,7 @@ import java.util.stream.Collectors;
  * - Behavioral patterns
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class UserSimilarity {
 
@@ -32,6 +30,9 @@ public class UserSimilarity {
     private static final double DEMOGRAPHIC_SIMILARITY_WEIGHT = 0.2;
     private static final double BEHAVIORAL_SIMILARITY_WEIGHT = 0.1;
 
+    private final UserSimilarityIndex userSimilarityIndex;
+    private final UserRepository userRepository;
+
     /**
      * Calculate overall similarity between two users
      */
@@ -45,10 +46,21 @@ public class UserSimilarity {
             return 1.0;
         }
 
+        return calculateOverallSimilarity(UserProfile.of(user1), UserProfile.of(user2), LocalDate.now());
+    }
+
+    /**
+     * Calculate overall similarity between two user profiles, as of the given day
+     */
+    public double calculateOverallSimilarity(UserProfile user1, UserProfile user2, LocalDate today) {
+        if (user1.userId == user2.userId) {
+            return 1.0;
+        }
+
         double bookingSimilarity = calculateBookingSimilarity(user1, user2);
         double ratingSimilarity = calculateRatingSimilarity(user1, user2);
         double demographicSimilarity = calculateDemographicSimilarity(user1, user2);
-        double behavioralSimilarity = calculateBehavioralSimilarity(user1, user2);
+        double behavioralSimilarity = calculateBehavioralSimilarity(user1, user2, today);
 
         double overallSimilarity = (BOOKING_SIMILARITY_WEIGHT * bookingSimilarity) +
                 (RATING_SIMILARITY_WEIGHT * ratingSimilarity) +
@@ -57,7 +69,7 @@ public class UserSimilarity {
 
         log.debug(
                 "User similarity calculated: {} vs {} = {} (booking: {}, rating: {}, demographic: {}, behavioral: {})",
-                user1.getId(), user2.getId(), overallSimilarity, bookingSimilarity,
+                user1.userId, user2.userId, overallSimilarity, bookingSimilarity,
                 ratingSimilarity, demographicSimilarity, behavioralSimilarity);
 
         return overallSimilarity;
@@ -67,35 +79,29 @@ public class UserSimilarity {
      * Calculate similarity based on booking history and preferences
      */
     public double calculateBookingSimilarity(User user1, User user2) {
-        List<Booking> bookings1 = user1.getBookings();
-        List<Booking> bookings2 = user2.getBookings();
+        return calculateBookingSimilarity(UserProfile.of(user1), UserProfile.of(user2));
+    }
 
-        if (bookings1.isEmpty() && bookings2.isEmpty()) {
+    public double calculateBookingSimilarity(UserProfile user1, UserProfile user2) {
+        if (user1.bookings == 0 && user2.bookings == 0) {
             return 0.5; // Neutral similarity if both have no bookings
         }
-        if (bookings1.isEmpty() || bookings2.isEmpty()) {
+        if (user1.bookings == 0 || user2.bookings == 0) {
             return 0.0; // No similarity if one has no bookings
         }
 
-        // Extract vehicle types from bookings
-        Set<VehicleType> types1 = bookings1.stream()
-                .map(booking -> booking.getVehicle().getType())
-                .collect(Collectors.toSet());
-        Set<VehicleType> types2 = bookings2.stream()
-                .map(booking -> booking.getVehicle().getType())
-                .collect(Collectors.toSet());
-
-        // Calculate Jaccard similarity for vehicle types
-        double typeSimilarity = calculateJaccardSimilarity(types1, types2);
+        // Jaccard similarity of the booked vehicle types
+        double typeSimilarity = (double) Integer.bitCount(user1.typeMask & user2.typeMask)
+                / Integer.bitCount(user1.typeMask | user2.typeMask);
 
         // Calculate similarity based on booking frequency and patterns
-        double patternSimilarity = calculateBookingPatternSimilarity(bookings1, bookings2);
+        double patternSimilarity = calculateBookingPatternSimilarity(user1, user2);
 
         // Calculate price range similarity
-        double priceSimilarity = calculatePriceRangeSimilarity(bookings1, bookings2);
+        double priceSimilarity = ratioSimilarity(user1.averagePrice, user2.averagePrice);
 
         // Calculate duration similarity
-        double durationSimilarity = calculateDurationSimilarity(bookings1, bookings2);
+        double durationSimilarity = ratioSimilarity(user1.averageDuration, user2.averageDuration);
 
         return (typeSimilarity * 0.4) + (patternSimilarity * 0.3) +
                 (priceSimilarity * 0.2) + (durationSimilarity * 0.1);
@@ -105,35 +111,50 @@ public class UserSimilarity {
      * Calculate similarity based on rating patterns
      */
     public double calculateRatingSimilarity(User user1, User user2) {
-        List<Review> reviews1 = user1.getReviews();
-        List<Review> reviews2 = user2.getReviews();
+        return calculateRatingSimilarity(UserProfile.of(user1), UserProfile.of(user2));
+    }
 
-        if (reviews1.isEmpty() && reviews2.isEmpty()) {
+    public double calculateRatingSimilarity(UserProfile user1, UserProfile user2) {
+        if (user1.ratings.length == 0 && user2.ratings.length == 0) {
             return 0.5;
         }
-        if (reviews1.isEmpty() || reviews2.isEmpty()) {
+        if (user1.ratings.length == 0 || user2.ratings.length == 0) {
             return 0.0;
         }
 
-        // Find common vehicles that both users have reviewed
-        Map<Long, Integer> ratings1 = reviews1.stream()
-                .collect(Collectors.toMap(
-                        review -> review.getVehicle().getId(),
-                        Review::getRating));
-        Map<Long, Integer> ratings2 = reviews2.stream()
-                .collect(Collectors.toMap(
-                        review -> review.getVehicle().getId(),
-                        Review::getRating));
-
-        Set<Long> commonVehicles = new HashSet<>(ratings1.keySet());
-        commonVehicles.retainAll(ratings2.keySet());
+        // Merge-join the vehicles both users have reviewed (sorted by id)
+        int n = 0;
+        double sum1 = 0.0, sum2 = 0.0;
+        double sum1Sq = 0.0, sum2Sq = 0.0;
+        double pSum = 0.0;
+        for (int i = 0, j = 0; i < user1.ratedVehicles.length && j < user2.ratedVehicles.length;) {
+            if (user1.ratedVehicles[i] < user2.ratedVehicles[j]) {
+                i++;
+            } else if (user1.ratedVehicles[i] > user2.ratedVehicles[j]) {
+                j++;
+            } else {
+                int rating1 = user1.ratings[i++];
+                int rating2 = user2.ratings[j++];
+                n++;
+                sum1 += rating1;
+                sum2 += rating2;
+                sum1Sq += rating1 * rating1;
+                sum2Sq += rating2 * rating2;
+                pSum += rating1 * rating2;
+            }
+        }
 
-        if (commonVehicles.isEmpty()) {
+        if (n == 0) {
             return 0.0;
         }
 
-        // Calculate Pearson correlation for common ratings
-        double correlation = calculatePearsonCorrelation(ratings1, ratings2, commonVehicles);
+        // Pearson correlation for common ratings, 0 with fewer than two
+        double correlation = 0.0;
+        if (n >= 2) {
+            double num = pSum - (sum1 * sum2 / n);
+            double den = Math.sqrt((sum1Sq - sum1 * sum1 / n) * (sum2Sq - sum2 * sum2 / n));
+            correlation = den == 0 ? 0.0 : num / den;
+        }
 
         // Normalize correlation to 0-1 range
         return Math.max(0.0, (correlation + 1) / 2);
@@ -143,32 +164,28 @@ public class UserSimilarity {
      * Calculate similarity based on demographic information
      */
     public double calculateDemographicSimilarity(User user1, User user2) {
+        return calculateDemographicSimilarity(UserProfile.of(user1), UserProfile.of(user2));
+    }
+
+    public double calculateDemographicSimilarity(UserProfile user1, UserProfile user2) {
         double similarity = 0.0;
         int factors = 0;
 
         // Age similarity (if we had age information)
         // For now, we'll use registration date as a proxy
-        if (user1.getCreatedAt() != null && user2.getCreatedAt() != null) {
-            long daysDiff = Math.abs(ChronoUnit.DAYS.between(
-                    user1.getCreatedAt().toLocalDate(),
-                    user2.getCreatedAt().toLocalDate()));
+        if (user1.registeredDay != UserProfile.NO_DATE && user2.registeredDay != UserProfile.NO_DATE) {
+            long daysDiff = Math.abs(user1.registeredDay - user2.registeredDay);
             double timeSimilarity = Math.max(0, 1.0 - (daysDiff / 365.0)); // Normalize to 1 year
             similarity += timeSimilarity;
             factors++;
         }
 
         // Location similarity (simplified - in real implementation, use geolocation)
-        if (user1.getBookings() != null && !user1.getBookings().isEmpty() &&
-                user2.getBookings() != null && !user2.getBookings().isEmpty()) {
-
-            String commonLocation1 = findMostCommonLocation(user1);
-            String commonLocation2 = findMostCommonLocation(user2);
-
-            if (commonLocation1 != null && commonLocation2 != null) {
-                double locationSimilarity = commonLocation1.equalsIgnoreCase(commonLocation2) ? 1.0 : 0.0;
-                similarity += locationSimilarity;
-                factors++;
-            }
+        if (user1.bookings > 0 && user2.bookings > 0
+                && user1.commonLocation != null && user2.commonLocation != null) {
+            double locationSimilarity = user1.commonLocation.equalsIgnoreCase(user2.commonLocation) ? 1.0 : 0.0;
+            similarity += locationSimilarity;
+            factors++;
         }
 
         return factors > 0 ? similarity / factors : 0.0;
@@ -178,34 +195,49 @@ public class UserSimilarity {
      * Calculate similarity based on behavioral patterns
      */
     public double calculateBehavioralSimilarity(User user1, User user2) {
-        List<Booking> bookings1 = user1.getBookings();
-        List<Booking> bookings2 = user2.getBookings();
+        return calculateBehavioralSimilarity(UserProfile.of(user1), UserProfile.of(user2), LocalDate.now());
+    }
 
-        if (bookings1.isEmpty() || bookings2.isEmpty()) {
+    public double calculateBehavioralSimilarity(UserProfile user1, UserProfile user2, LocalDate today) {
+        if (user1.bookings == 0 || user2.bookings == 0) {
             return 0.0;
         }
 
         // Booking frequency similarity
-        double frequencySimilarity = calculateFrequencySimilarity(bookings1, bookings2);
+        double frequencySimilarity = calculateFrequencySimilarity(user1, user2, today);
 
         // Seasonal pattern similarity
-        double seasonalSimilarity = calculateSeasonalSimilarity(bookings1, bookings2);
+        double seasonalSimilarity = calculateCosineSimilarity(user1.bookingsByMonth, user2.bookingsByMonth);
 
         // Advance booking similarity
-        double advanceBookingSimilarity = calculateAdvanceBookingSimilarity(bookings1, bookings2);
+        double advanceBookingSimilarity = ratioSimilarity(user1.averageAdvance, user2.averageAdvance);
 
         return (frequencySimilarity * 0.4) + (seasonalSimilarity * 0.3) + (advanceBookingSimilarity * 0.3);
     }
 
     /**
-     * Find the top N most similar users to a target user
+     * Find the top N most similar users to a target user among the LSH candidates of the user
+     * similarity index, scored on their precomputed profiles; only the top N are loaded.
+     * Empty until the index is first built.
      */
-    public List<UserSimilarityScore> findSimilarUsers(User targetUser, List<User> allUsers, int topN) {
-        return allUsers.stream()
-                .filter(user -> !user.getId().equals(targetUser.getId()))
-                .map(user -> new UserSimilarityScore(user, calculateOverallSimilarity(targetUser, user)))
-                .sorted(Comparator.comparing(UserSimilarityScore::getSimilarityScore).reversed())
+    public List<UserSimilarityScore> findSimilarUsers(User targetUser, int topN) {
+        if (!userSimilarityIndex.isReady()) {
+            return List.of();
+        }
+        UserProfile target = UserProfile.of(targetUser);
+        LocalDate today = LocalDate.now();
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        userSimilarityIndex.candidates(target).stream()
+                .map(candidate -> Map.entry(candidate.userId, calculateOverallSimilarity(target, candidate, today)))
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
                 .limit(topN)
+                .forEach(entry -> scores.put(entry.getKey(), entry.getValue()));
+
+        Map<Long, User> usersById = userRepository.findAllById(scores.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        return scores.entrySet().stream()
+                .filter(entry -> usersById.containsKey(entry.getKey()))
+                .map(entry -> new UserSimilarityScore(usersById.get(entry.getKey()), entry.getValue()))
                 .collect(Collectors.toList());
     }
 
@@ -214,9 +246,10 @@ public class UserSimilarity {
      */
     public List<UserSimilarityScore> findUsersWithSimilarVehiclePreferences(User targetUser, List<User> allUsers,
             int topN) {
+        UserProfile target = UserProfile.of(targetUser);
         return allUsers.stream()
                 .filter(user -> !user.getId().equals(targetUser.getId()))
-                .map(user -> new UserSimilarityScore(user, calculateBookingSimilarity(targetUser, user)))
+                .map(user -> new UserSimilarityScore(user, calculateBookingSimilarity(target, UserProfile.of(user))))
                 .sorted(Comparator.comparing(UserSimilarityScore::getSimilarityScore).reversed())
                 .limit(topN)
                 .collect(Collectors.toList());
@@ -227,9 +260,10 @@ public class UserSimilarity {
      */
     public List<UserSimilarityScore> findUsersWithSimilarRatingPatterns(User targetUser, List<User> allUsers,
             int topN) {
+        UserProfile target = UserProfile.of(targetUser);
         return allUsers.stream()
                 .filter(user -> !user.getId().equals(targetUser.getId()))
-                .map(user -> new UserSimilarityScore(user, calculateRatingSimilarity(targetUser, user)))
+                .map(user -> new UserSimilarityScore(user, calculateRatingSimilarity(target, UserProfile.of(user))))
                 .sorted(Comparator.comparing(UserSimilarityScore::getSimilarityScore).reversed())
                 .limit(topN)
                 .collect(Collectors.toList());
@@ -240,18 +274,15 @@ public class UserSimilarity {
      */
     public Map<Long, Map<Long, Double>> calculateSimilarityMatrix(List<User> users) {
         Map<Long, Map<Long, Double>> similarityMatrix = new HashMap<>();
+        List<UserProfile> profiles = users.stream().map(UserProfile::of).toList();
+        LocalDate today = LocalDate.now();
 
-        for (User user1 : users) {
+        for (UserProfile user1 : profiles) {
             Map<Long, Double> userSimilarities = new HashMap<>();
-            for (User user2 : users) {
-                if (user1.getId().equals(user2.getId())) {
-                    userSimilarities.put(user2.getId(), 1.0);
-                } else {
-                    double similarity = calculateOverallSimilarity(user1, user2);
-                    userSimilarities.put(user2.getId(), similarity);
-                }
+            for (UserProfile user2 : profiles) {
+                userSimilarities.put(user2.userId, calculateOverallSimilarity(user1, user2, today));
             }
-            similarityMatrix.put(user1.getId(), userSimilarities);
+            similarityMatrix.put(user1.userId, userSimilarities);
         }
 
         return similarityMatrix;
@@ -259,209 +290,62 @@ public class UserSimilarity {
 
     // Helper methods
 
-    private double calculateJaccardSimilarity(Set<?> set1, Set<?> set2) {
-        if (set1.isEmpty() && set2.isEmpty()) {
+    /**
+     * min / max of two non-negative averages: 1 when both are 0, 0 when only one is.
+     */
+    private double ratioSimilarity(double value1, double value2) {
+        if (value1 == 0 && value2 == 0) {
             return 1.0;
         }
+        if (value1 == 0 || value2 == 0) {
+            return 0.0;
+        }
 
-        Set<Object> intersection = new HashSet<>(set1);
-        intersection.retainAll(set2);
-
-        Set<Object> union = new HashSet<>(set1);
-        union.addAll(set2);
-
-        return (double) intersection.size() / union.size();
+        double ratio = Math.min(value1, value2) / Math.max(value1, value2);
+        return Math.max(0.0, ratio);
     }
 
-    private double calculateBookingPatternSimilarity(List<Booking> bookings1, List<Booking> bookings2) {
+    private double calculateBookingPatternSimilarity(UserProfile user1, UserProfile user2) {
         // Compare booking frequencies
-        double avgDuration1 = calculateAverageBookingDuration(bookings1);
-        double avgDuration2 = calculateAverageBookingDuration(bookings2);
-
-        double durationSimilarity = 1.0 - Math.abs(avgDuration1 - avgDuration2) / Math.max(avgDuration1, avgDuration2);
+        double durationSimilarity = 1.0 - Math.abs(user1.averageDuration - user2.averageDuration)
+                / Math.max(user1.averageDuration, user2.averageDuration);
 
         // Compare booking intervals (if we have enough data)
-        if (bookings1.size() > 1 && bookings2.size() > 1) {
-            double intervalSimilarity = calculateBookingIntervalSimilarity(bookings1, bookings2);
+        if (user1.bookings > 1 && user2.bookings > 1) {
+            double intervalSimilarity = ratioSimilarity(user1.averageInterval, user2.averageInterval);
             return (durationSimilarity * 0.6) + (intervalSimilarity * 0.4);
         }
 
         return durationSimilarity;
     }
 
-    private double calculatePriceRangeSimilarity(List<Booking> bookings1, List<Booking> bookings2) {
-        double avgPrice1 = calculateAverageBookingPrice(bookings1);
-        double avgPrice2 = calculateAverageBookingPrice(bookings2);
-
-        if (avgPrice1 == 0 && avgPrice2 == 0) {
-            return 1.0;
-        }
-        if (avgPrice1 == 0 || avgPrice2 == 0) {
-            return 0.0;
-        }
-
-        double priceRatio = Math.min(avgPrice1, avgPrice2) / Math.max(avgPrice1, avgPrice2);
-        return Math.max(0.0, priceRatio);
-    }
-
-    private double calculateDurationSimilarity(List<Booking> bookings1, List<Booking> bookings2) {
-        double avgDuration1 = calculateAverageBookingDuration(bookings1);
-        double avgDuration2 = calculateAverageBookingDuration(bookings2);
-
-        if (avgDuration1 == 0 && avgDuration2 == 0) {
-            return 1.0;
-        }
-        if (avgDuration1 == 0 || avgDuration2 == 0) {
-            return 0.0;
-        }
-
-        double durationRatio = Math.min(avgDuration1, avgDuration2) / Math.max(avgDuration1, avgDuration2);
-        return Math.max(0.0, durationRatio);
-    }
-
-    private double calculatePearsonCorrelation(Map<Long, Integer> ratings1, Map<Long, Integer> ratings2,
-            Set<Long> commonItems) {
-        if (commonItems.size() < 2) {
-            return 0.0;
-        }
-
-        double sum1 = 0.0, sum2 = 0.0;
-        double sum1Sq = 0.0, sum2Sq = 0.0;
-        double pSum = 0.0;
-
-        for (Long itemId : commonItems) {
-            int rating1 = ratings1.get(itemId);
-            int rating2 = ratings2.get(itemId);
-
-            sum1 += rating1;
-            sum2 += rating2;
-            sum1Sq += Math.pow(rating1, 2);
-            sum2Sq += Math.pow(rating2, 2);
-            pSum += rating1 * rating2;
-        }
-
-        int n = commonItems.size();
-        double num = pSum - (sum1 * sum2 / n);
-        double den = Math.sqrt((sum1Sq - Math.pow(sum1, 2) / n) * (sum2Sq - Math.pow(sum2, 2) / n));
-
-        if (den == 0) {
-            return 0.0;
-        }
-
-        return num / den;
-    }
-
-    private String findMostCommonLocation(User user) {
-        return user.getBookings().stream()
-                .collect(Collectors.groupingBy(
-                        Booking::getPickupLocation,
-                        Collectors.counting()))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
-    }
-
-    private double calculateFrequencySimilarity(List<Booking> bookings1, List<Booking> bookings2) {
-        long daysSinceFirst1 = calculateDaysSinceFirstBooking(bookings1);
-        long daysSinceFirst2 = calculateDaysSinceFirstBooking(bookings2);
+    private double calculateFrequencySimilarity(UserProfile user1, UserProfile user2, LocalDate today) {
+        long daysSinceFirst1 = daysSince(user1.firstBookingDay, today);
+        long daysSinceFirst2 = daysSince(user2.firstBookingDay, today);
 
         if (daysSinceFirst1 == 0 || daysSinceFirst2 == 0) {
             return 0.0;
         }
 
-        double frequency1 = (double) bookings1.size() / daysSinceFirst1;
-        double frequency2 = (double) bookings2.size() / daysSinceFirst2;
+        double frequency1 = (double) user1.bookings / daysSinceFirst1;
+        double frequency2 = (double) user2.bookings / daysSinceFirst2;
 
         return 1.0 - Math.abs(frequency1 - frequency2) / Math.max(frequency1, frequency2);
     }
 
-    private double calculateSeasonalSimilarity(List<Booking> bookings1, List<Booking> bookings2) {
-        Map<Integer, Long> monthlyBookings1 = groupBookingsByMonth(bookings1);
-        Map<Integer, Long> monthlyBookings2 = groupBookingsByMonth(bookings2);
-
-        return calculateCosineSimilarity(monthlyBookings1, monthlyBookings2);
-    }
-
-    private double calculateAdvanceBookingSimilarity(List<Booking> bookings1, List<Booking> bookings2) {
-        double avgAdvance1 = calculateAverageAdvanceBooking(bookings1);
-        double avgAdvance2 = calculateAverageAdvanceBooking(bookings2);
-
-        if (avgAdvance1 == 0 && avgAdvance2 == 0) {
-            return 1.0;
-        }
-        if (avgAdvance1 == 0 || avgAdvance2 == 0) {
-            return 0.0;
-        }
-
-        double advanceRatio = Math.min(avgAdvance1, avgAdvance2) / Math.max(avgAdvance1, avgAdvance2);
-        return Math.max(0.0, advanceRatio);
-    }
-
-    private double calculateAverageBookingDuration(List<Booking> bookings) {
-        return bookings.stream()
-                .mapToLong(booking -> ChronoUnit.DAYS.between(booking.getStartDate(), booking.getEndDate()))
-                .average()
-                .orElse(0.0);
-    }
-
-    private double calculateAverageBookingPrice(List<Booking> bookings) {
-        return bookings.stream()
-                .mapToDouble(booking -> booking.getTotalPrice().doubleValue())
-                .average()
-                .orElse(0.0);
-    }
-
-    private double calculateBookingIntervalSimilarity(List<Booking> bookings1, List<Booking> bookings2) {
-        // Simplified implementation - compare average time between bookings
-        double avgInterval1 = calculateAverageBookingInterval(bookings1);
-        double avgInterval2 = calculateAverageBookingInterval(bookings2);
-
-        if (avgInterval1 == 0 && avgInterval2 == 0) {
-            return 1.0;
-        }
-        if (avgInterval1 == 0 || avgInterval2 == 0) {
-            return 0.0;
-        }
-
-        double intervalRatio = Math.min(avgInterval1, avgInterval2) / Math.max(avgInterval1, avgInterval2);
-        return Math.max(0.0, intervalRatio);
-    }
-
-    private long calculateDaysSinceFirstBooking(List<Booking> bookings) {
-        if (bookings.isEmpty()) {
-            return 0;
-        }
-        LocalDate firstBooking = bookings.stream()
-                .map(booking -> booking.getCreatedAt().toLocalDate())
-                .min(LocalDate::compareTo)
-                .get();
-        return ChronoUnit.DAYS.between(firstBooking, LocalDate.now());
-    }
-
-    private Map<Integer, Long> groupBookingsByMonth(List<Booking> bookings) {
-        return bookings.stream()
-                .collect(Collectors.groupingBy(
-                        booking -> booking.getStartDate().getMonthValue(),
-                        Collectors.counting()));
+    private long daysSince(long epochDay, LocalDate today) {
+        return epochDay == UserProfile.NO_DATE ? 0 : today.toEpochDay() - epochDay;
     }
 
-    private double calculateCosineSimilarity(Map<Integer, Long> vec1, Map<Integer, Long> vec2) {
+    private double calculateCosineSimilarity(int[] vec1, int[] vec2) {
         double dotProduct = 0.0;
         double norm1 = 0.0;
         double norm2 = 0.0;
 
-        Set<Integer> allMonths = new HashSet<>();
-        allMonths.addAll(vec1.keySet());
-        allMonths.addAll(vec2.keySet());
-
-        for (Integer month : allMonths) {
-            long val1 = vec1.getOrDefault(month, 0L);
-            long val2 = vec2.getOrDefault(month, 0L);
-
-            dotProduct += val1 * val2;
-            norm1 += Math.pow(val1, 2);
-            norm2 += Math.pow(val2, 2);
+        for (int month = 0; month < vec1.length; month++) {
+            dotProduct += (double) vec1[month] * vec2[month];
+            norm1 += (double) vec1[month] * vec1[month];
+            norm2 += (double) vec2[month] * vec2[month];
         }
 
         if (norm1 == 0 || norm2 == 0) {
@@ -471,33 +355,6 @@ public class UserSimilarity {
         return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
     }
 
-    private double calculateAverageAdvanceBooking(List<Booking> bookings) {
-        return bookings.stream()
-                .mapToLong(booking -> ChronoUnit.DAYS.between(
-                        booking.getCreatedAt().toLocalDate(),
-                        booking.getStartDate()))
-                .average()
-                .orElse(0.0);
-    }
-
-    private double calculateAverageBookingInterval(List<Booking> bookings) {
-        if (bookings.size() < 2) {
-            return 0.0;
-        }
-
-        List<LocalDate> sortedDates = bookings.stream()
-                .map(booking -> booking.getCreatedAt().toLocalDate())
-                .sorted()
-                .collect(Collectors.toList());
-
-        double totalInterval = 0.0;
-        for (int i = 1; i < sortedDates.size(); i++) {
-            totalInterval += ChronoUnit.DAYS.between(sortedDates.get(i - 1), sortedDates.get(i));
-        }
-
-        return totalInterval / (sortedDates.size() - 1);
-    }
-
     /**
      * Inner class to represent user similarity scores
      */
@@ -0,0 +1,148 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.ReviewRepository;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Precomputed {@link UserProfile}s of every user, with their MinHash signatures bucketed
+ * in a {@link MinHashLsh} index, so similar-user lookup scores a few hundred candidates
+ * sharing buckets with the target instead of the whole user base.
+ *
+ * Profiles are built from three streamed projections (users, bookings, reviews) rather than
+ * by walking each user's lazy collections, in the background at startup, nightly
+ * (app.recommendation.user-index-cron) and when the models are refreshed. Users registered
+ * or first booking after a build become candidates at the next one.
+ *
+ * The same pass counts bookings per vehicle, which user-based recommendations use for
+ * popularity instead of walking every user's bookings.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSimilarityIndex {
+
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final ReviewRepository reviewRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final BackgroundRebuild rebuild = new BackgroundRebuild("user-similarity-index", this::build);
+
+    @Value("${app.recommendation.user-lsh-candidates:200}")
+    private int maxCandidates = 200;
+
+    private volatile Snapshot current;
+
+    private record Snapshot(Map<Long, UserProfile> profiles, MinHashLsh lsh, Map<Long, Long> bookingsByVehicle) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuild.shutdown();
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Profiles of the indexed users most likely to be similar to the target, most shared
+     * LSH buckets first, leaving out the target itself; empty until the first build.
+     */
+    public List<UserProfile> candidates(UserProfile target) {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            return List.of();
+        }
+        return snapshot.lsh().candidates(target.signature(), maxCandidates, target.userId()).stream()
+                .map(snapshot.profiles()::get)
+                .toList();
+    }
+
+    /**
+     * Bookings of the vehicle as of the last build; 0 until the first one.
+     */
+    public long vehicleBookings(long vehicleId) {
+        Snapshot snapshot = current;
+        return snapshot == null ? 0 : snapshot.bookingsByVehicle().getOrDefault(vehicleId, 0L);
+    }
+
+    /**
+     * Schedules a rebuild unless one is already queued.
+     */
+    public void requestBuild() {
+        rebuild.request();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.recommendation.user-index-cron:0 0 4 * * ?}")
+    public void scheduledBuild() {
+        requestBuild();
+    }
+
+    void build() {
+        long started = System.currentTimeMillis();
+        Map<Long, UserProfile.Accumulator> accumulators = new HashMap<>();
+        Map<Long, Long> bookingsByVehicle = new HashMap<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> users = userRepository.streamRegistrations()) {
+                users.forEach(row -> accumulators.put((Long) row[0],
+                        new UserProfile.Accumulator((Long) row[0], (LocalDateTime) row[1])));
+            }
+            try (Stream<Object[]> bookings = bookingRepository.streamUserBookingProfiles()) {
+                bookings.forEach(row -> {
+                    bookingsByVehicle.merge((Long) row[1], 1L, Long::sum);
+                    UserProfile.Accumulator accumulator = accumulators.get((Long) row[0]);
+                    if (accumulator != null) {
+                        accumulator.addBooking((Long) row[1], (VehicleType) row[2], (LocalDate) row[3],
+                                (LocalDate) row[4], (BigDecimal) row[5], (LocalDateTime) row[6], (String) row[7]);
+                    }
+                });
+            }
+            try (Stream<Object[]> reviews = reviewRepository.streamUserVehicleRatings()) {
+                reviews.forEach(row -> {
+                    UserProfile.Accumulator accumulator = accumulators.get((Long) row[0]);
+                    if (accumulator != null) {
+                        accumulator.addReview((Long) row[1], (Integer) row[2]);
+                    }
+                });
+            }
+        });
+
+        install(accumulators.values().stream().map(UserProfile.Accumulator::build).toList(), bookingsByVehicle);
+        log.info("User similarity index built: {} users in {} buckets in {} ms",
+                current.lsh().users(), current.lsh().buckets(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Replaces the snapshot with one over the given profiles and booking counts.
+     */
+    void install(Collection<UserProfile> profiles, Map<Long, Long> bookingsByVehicle) {
+        Map<Long, UserProfile> byId = new HashMap<>(profiles.size() * 2);
+        profiles.forEach(profile -> byId.put(profile.userId(), profile));
+        current = new Snapshot(byId, MinHashLsh.of(profiles), Map.copyOf(bookingsByVehicle));
+    }
+}
@@ -0,0 +1,124 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Encodes a vehicle's attributes as a unit vector, so that the dot product of two
+ * embeddings is a weighted average of per-attribute similarities.
+ *
+ * Each attribute gets its own block, normalized to unit length and scaled by the square
+ * root of its weight: type, fuel type and transmission are one-hot, features are hashed
+ * into buckets (the block cosine is close to the Jaccard overlap of the feature sets), and
+ * daily price, seats and luggage capacity are smoothed bumps over buckets, so nearby
+ * values overlap and distant ones do not. Missing attributes leave their block empty.
+ */
+public final class VehicleEmbedding {
+
+    private static final double TYPE_WEIGHT = 0.30;
+    private static final double PRICE_WEIGHT = 0.20;
+    private static final double FEATURES_WEIGHT = 0.20;
+    private static final double FUEL_WEIGHT = 0.10;
+    private static final double SEATS_WEIGHT = 0.10;
+    private static final double TRANSMISSION_WEIGHT = 0.05;
+    private static final double LUGGAGE_WEIGHT = 0.05;
+
+    private static final int TRANSMISSION_BUCKETS = 4;
+    private static final int FEATURE_BUCKETS = 32;
+    // log10 of the daily price, from 10 to 100 000 in quarter decades; 20% apart is about 0.08
+    private static final double PRICE_LOG_MIN = 1.0;
+    private static final double PRICE_LOG_STEP = 0.25;
+    private static final int PRICE_BUCKETS = 17;
+    private static final double PRICE_WIDTH = 0.15;
+    private static final int SEAT_BUCKETS = 8;
+    private static final int LUGGAGE_BUCKETS = 9;
+
+    private static final int TYPE_OFFSET = 0;
+    private static final int FUEL_OFFSET = TYPE_OFFSET + VehicleType.values().length;
+    private static final int TRANSMISSION_OFFSET = FUEL_OFFSET + FuelType.values().length;
+    private static final int FEATURES_OFFSET = TRANSMISSION_OFFSET + TRANSMISSION_BUCKETS;
+    private static final int PRICE_OFFSET = FEATURES_OFFSET + FEATURE_BUCKETS;
+    private static final int SEATS_OFFSET = PRICE_OFFSET + PRICE_BUCKETS;
+    private static final int LUGGAGE_OFFSET = SEATS_OFFSET + SEAT_BUCKETS;
+
+    public static final int DIMENSIONS = LUGGAGE_OFFSET + LUGGAGE_BUCKETS;
+
+    private VehicleEmbedding() {
+    }
+
+    public static float[] encode(Vehicle vehicle) {
+        float[] vector = new float[DIMENSIONS];
+        if (vehicle.getType() != null) {
+            vector[TYPE_OFFSET + vehicle.getType().ordinal()] = 1;
+            scale(vector, TYPE_OFFSET, FUEL_OFFSET, TYPE_WEIGHT);
+        }
+        if (vehicle.getFuelType() != null) {
+            vector[FUEL_OFFSET + vehicle.getFuelType().ordinal()] = 1;
+            scale(vector, FUEL_OFFSET, TRANSMISSION_OFFSET, FUEL_WEIGHT);
+        }
+        if (vehicle.getTransmission() != null) {
+            vector[TRANSMISSION_OFFSET + bucket(vehicle.getTransmission(), TRANSMISSION_BUCKETS)] = 1;
+            scale(vector, TRANSMISSION_OFFSET, FEATURES_OFFSET, TRANSMISSION_WEIGHT);
+        }
+        List<String> features = vehicle.getFeatures();
+        if (features != null && !features.isEmpty()) {
+            for (String feature : features) {
+                vector[FEATURES_OFFSET + bucket(feature, FEATURE_BUCKETS)] = 1;
+            }
+            scale(vector, FEATURES_OFFSET, PRICE_OFFSET, FEATURES_WEIGHT);
+        }
+        if (vehicle.getDailyPrice() != null && vehicle.getDailyPrice().signum() > 0) {
+            double position = (Math.log10(vehicle.getDailyPrice().doubleValue()) - PRICE_LOG_MIN) / PRICE_LOG_STEP;
+            bump(vector, PRICE_OFFSET, PRICE_BUCKETS, position, PRICE_WIDTH / PRICE_LOG_STEP);
+            scale(vector, PRICE_OFFSET, SEATS_OFFSET, PRICE_WEIGHT);
+        }
+        if (vehicle.getSeats() != null) {
+            // Buckets for 2 to 9 seats
+            bump(vector, SEATS_OFFSET, SEAT_BUCKETS, vehicle.getSeats() - 2, 1);
+            scale(vector, SEATS_OFFSET, LUGGAGE_OFFSET, SEATS_WEIGHT);
+        }
+        if (vehicle.getLuggageCapacity() != null) {
+            bump(vector, LUGGAGE_OFFSET, LUGGAGE_BUCKETS, vehicle.getLuggageCapacity(), 1);
+            scale(vector, LUGGAGE_OFFSET, DIMENSIONS, LUGGAGE_WEIGHT);
+        }
+        scale(vector, 0, DIMENSIONS, 1);
+        return vector;
+    }
+
+    private static int bucket(String value, int buckets) {
+        return Math.floorMod(value.trim().toLowerCase(Locale.ROOT).hashCode(), buckets);
+    }
+
+    /**
+     * Gaussian bump centred at position (in buckets, clamped to the range) with the given
+     * width, so two bumps overlap by exp(-d^2 / 4 width^2) at distance d.
+     */
+    private static void bump(float[] vector, int offset, int buckets, double position, double width) {
+        double centre = Math.max(0, Math.min(buckets - 1, position));
+        for (int b = 0; b < buckets; b++) {
+            double distance = (b - centre) / width;
+            vector[offset + b] = (float) Math.exp(-0.5 * distance * distance);
+        }
+    }
+
+    /**
+     * Scales vector[from, to) to length sqrt(weight); leaves an all-zero block as it is.
+     */
+    private static void scale(float[] vector, int from, int to, double weight) {
+        double norm = 0;
+        for (int i = from; i < to; i++) {
+            norm += vector[i] * vector[i];
+        }
+        if (norm == 0) {
+            return;
+        }
+        float factor = (float) Math.sqrt(weight / norm);
+        for (int i = from; i < to; i++) {
+            vector[i] *= factor;
+        }
+    }
+}
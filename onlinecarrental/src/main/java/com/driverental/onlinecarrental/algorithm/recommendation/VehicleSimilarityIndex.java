@@ -0,0 +1,181 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.event.VehicleCatalogChangedEvent;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.LongPredicate;
+
+/**
+ * Approximate nearest-neighbour index over the {@link VehicleEmbedding} of every available
+ * vehicle, for similar-vehicle queries in O(log n) instead of scoring the whole catalogue.
+ *
+ * The graph is built on its own thread at startup and nightly, logging its recall@k
+ * against brute force on a sample of vehicles. In between, each
+ * {@link VehicleCatalogChangedEvent} re-reads the vehicle once committed and adds,
+ * replaces or removes it in place. Cached similar-vehicle lists are dropped on every
+ * change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleSimilarityIndex {
+
+    private static final String SIMILAR_VEHICLES_CACHE = "similarVehicles";
+    private static final int RECALL_SAMPLE = 100;
+    private static final int RECALL_K = 10;
+
+    private final VehicleRepository vehicleRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+
+    // Catalogue changes run on the rebuild thread too, so they never race a build
+    private final BackgroundRebuild indexRebuild = new BackgroundRebuild("vehicle-similarity-index", this::rebuild);
+
+    @Value("${app.recommendation.hnsw-m:16}")
+    private int m = 16;
+
+    @Value("${app.recommendation.hnsw-ef-construction:100}")
+    private int efConstruction = 100;
+
+    @Value("${app.recommendation.hnsw-ef-search:64}")
+    private int efSearch = 64;
+
+    private volatile HnswIndex index;
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Ids of up to k available vehicles most similar to the target, excluding the target
+     * itself, most similar first. Empty until the first build has finished.
+     */
+    public List<Long> similarVehicleIds(Vehicle target, int k, LongPredicate eligible) {
+        HnswIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        long targetId = target.getId();
+        return current.search(VehicleEmbedding.encode(target), k, id -> id != targetId && eligible.test(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.recommendation.index-rebuild-cron:0 0 3 * * ?}")
+    public void scheduledRebuild() {
+        indexRebuild.request();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleCatalogChangedEvent event) {
+        indexRebuild.execute(() -> {
+            try {
+                refresh(event.vehicleId());
+            } catch (RuntimeException e) {
+                log.error("Could not update vehicle {} in the similarity index", event.vehicleId(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexRebuild.shutdown();
+    }
+
+    void rebuild() {
+        long started = System.currentTimeMillis();
+        HnswIndex built = new HnswIndex(VehicleEmbedding.DIMENSIONS, m, efConstruction, efSearch);
+        List<Long> ids = new ArrayList<>();
+        List<float[]> embeddings = new ArrayList<>();
+        // Features are lazily loaded, so encode inside the transaction
+        transaction().executeWithoutResult(status -> vehicleRepository.findByIsAvailableTrue().forEach(vehicle -> {
+            ids.add(vehicle.getId());
+            embeddings.add(VehicleEmbedding.encode(vehicle));
+        }));
+        for (int i = 0; i < ids.size(); i++) {
+            built.add(ids.get(i), embeddings.get(i));
+        }
+        long millis = System.currentTimeMillis() - started;
+        index = built;
+        clearCache();
+
+        log.info("Vehicle similarity index built over {} vehicles in {} ms, recall@{} {}", built.size(), millis,
+                RECALL_K, String.format("%.3f", recall(built, ids, embeddings)));
+    }
+
+    void refresh(Long vehicleId) {
+        HnswIndex current = index;
+        if (current == null) {
+            // The pending build reads it
+            return;
+        }
+        Optional<float[]> embedding = transaction().execute(status -> vehicleRepository.findById(vehicleId)
+                .filter(Vehicle::getIsAvailable)
+                .map(VehicleEmbedding::encode));
+        if (embedding.isPresent()) {
+            current.add(vehicleId, embedding.get());
+        } else {
+            current.remove(vehicleId);
+        }
+        clearCache();
+        log.debug("Vehicle {} {} the similarity index", vehicleId, embedding.isPresent() ? "updated in" : "removed from");
+    }
+
+    /**
+     * Share of the graph's top k that are as similar as the exact kth neighbour, averaged
+     * over a sample of the indexed vehicles. Ties make any order of equals correct.
+     */
+    static double recall(HnswIndex index, List<Long> ids, List<float[]> embeddings) {
+        List<Integer> sample = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            sample.add(i);
+        }
+        Collections.shuffle(sample, new Random(42L));
+        int hits = 0;
+        int expected = 0;
+        for (int i : sample.subList(0, Math.min(RECALL_SAMPLE, sample.size()))) {
+            long self = ids.get(i);
+            float[] query = embeddings.get(i);
+            List<Long> exact = index.exactSearch(query, RECALL_K, id -> id != self);
+            if (exact.isEmpty()) {
+                continue;
+            }
+            double threshold = index.similarity(query, exact.get(exact.size() - 1)) - 1e-6;
+            for (long id : index.search(query, RECALL_K, id -> id != self)) {
+                if (index.similarity(query, id) >= threshold) {
+                    hits++;
+                }
+            }
+            expected += exact.size();
+        }
+        return expected == 0 ? 1.0 : (double) hits / expected;
+    }
+
+    private TransactionTemplate transaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+
+    private void clearCache() {
+        Optional.ofNullable(cacheManager.getCache(SIMILAR_VEHICLES_CACHE)).ifPresent(Cache::clear);
+    }
+}
@@ -0,0 +1,110 @@
+package com.driverental.onlinecarrental.algorithm.waitlist;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of waiting requests, partitioned per vehicle.
+ *
+ * Each vehicle keeps its requests in a tree ordered by start day together with the
+ * longest requested span. A freed interval [from, to] can only overlap requests that
+ * start inside [from - maxSpan, to], so an overlap lookup is a single sub-map scan
+ * instead of a pass over every waiting customer. Matches are returned in offer order:
+ * highest priority first, then first come first served.
+ */
+@Component
+public class WaitlistIndex {
+
+    private static final Comparator<Entry> OFFER_ORDER = Comparator
+            .comparingInt(Entry::priority).reversed()
+            .thenComparingLong(Entry::sequence);
+
+    private final Map<Long, VehicleQueue> queues = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+
+    public void add(long entryId, long vehicleId, LocalDate startDate, LocalDate endDate, int priority) {
+        Entry entry = new Entry(entryId, vehicleId, startDate.toEpochDay(), endDate.toEpochDay(), priority, entryId);
+        Entry previous = entriesById.put(entryId, entry);
+        if (previous != null) {
+            queueFor(previous.vehicleId()).remove(previous);
+        }
+        queueFor(vehicleId).add(entry);
+    }
+
+    public void remove(long entryId) {
+        Entry entry = entriesById.remove(entryId);
+        if (entry != null) {
+            queueFor(entry.vehicleId()).remove(entry);
+        }
+    }
+
+    /**
+     * Waiting entry ids for the vehicle whose requested dates overlap [startDate, endDate],
+     * in offer order.
+     */
+    public List<Long> findOverlapping(long vehicleId, LocalDate startDate, LocalDate endDate) {
+        VehicleQueue queue = queues.get(vehicleId);
+        if (queue == null) {
+            return List.of();
+        }
+        List<Entry> matches = queue.overlapping(startDate.toEpochDay(), endDate.toEpochDay());
+        matches.sort(OFFER_ORDER);
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Entry match : matches) {
+            ids.add(match.id());
+        }
+        return ids;
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    public void clear() {
+        queues.clear();
+        entriesById.clear();
+    }
+
+    private VehicleQueue queueFor(long vehicleId) {
+        return queues.computeIfAbsent(vehicleId, id -> new VehicleQueue());
+    }
+
+    private record Entry(long id, long vehicleId, long startDay, long endDay, int priority, long sequence) {
+    }
+
+    private static final class VehicleQueue {
+        private final TreeMap<Long, List<Entry>> byStart = new TreeMap<>();
+        private long maxSpan;
+
+        synchronized void add(Entry entry) {
+            byStart.computeIfAbsent(entry.startDay(), day -> new ArrayList<>()).add(entry);
+            maxSpan = Math.max(maxSpan, entry.endDay() - entry.startDay());
+        }
+
+        synchronized void remove(Entry entry) {
+            List<Entry> bucket = byStart.get(entry.startDay());
+            if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+                byStart.remove(entry.startDay());
+            }
+            // maxSpan is only an upper bound, so it is left as is and reset once the queue drains
+            if (byStart.isEmpty()) {
+                maxSpan = 0;
+            }
+        }
+
+        synchronized List<Entry> overlapping(long fromDay, long toDay) {
+            List<Entry> matches = new ArrayList<>();
+            for (List<Entry> bucket : byStart.subMap(fromDay - maxSpan, true, toDay, true).values()) {
+                for (Entry entry : bucket) {
+                    if (entry.endDay() >= fromDay) {
+                        matches.add(entry);
+                    }
+                }
+            }
+            return matches;
+        }
+    }
+}
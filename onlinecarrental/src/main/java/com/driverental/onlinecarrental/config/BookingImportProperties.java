@@ -0,0 +1,17 @@
+package com.driverental.onlinecarrental.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.booking-import")
+public class BookingImportProperties {
+    // Rows parsed, validated and committed per transaction
+    private int chunkSize = 2000;
+    // JDBC batch size used for the import session, overriding hibernate.jdbc.batch_size
+    private int jdbcBatchSize = 500;
+    // Row errors beyond this are counted but not listed in the response
+    private int maxReportedErrors = 1000;
+}
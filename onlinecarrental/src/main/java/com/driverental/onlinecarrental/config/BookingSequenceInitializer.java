@@ -0,0 +1,39 @@
+package com.driverental.onlinecarrental.config;
+
+import com.driverental.onlinecarrental.model.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Booking ids come from the pooled booking_seq generator. On MySQL, Hibernate backs it
+ * with a table that starts at 1, so on databases that already hold IDENTITY-generated
+ * bookings the table is moved past the highest existing id before the first insert.
+ * This runs once every singleton, including the schema-managing EntityManagerFactory,
+ * is initialized, and before the web server starts accepting requests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingSequenceInitializer implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM bookings", Long.class);
+            long floor = (maxId == null ? 0 : maxId) + 2L * Booking.ID_ALLOCATION_SIZE;
+            int updated = jdbcTemplate.update("UPDATE booking_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                log.info("Advanced booking_seq to {} (max booking id {})", floor, maxId);
+            }
+        } catch (DataAccessException e) {
+            // Native sequences (or a fresh schema) need no adjustment
+            log.debug("booking_seq table not adjusted: {}", e.getMessage());
+        }
+    }
+}
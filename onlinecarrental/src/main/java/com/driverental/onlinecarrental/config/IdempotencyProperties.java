@@ -0,0 +1,21 @@
+package com.driverental.onlinecarrental.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+    // Upper bound on keys kept in memory; least recently used keys are evicted first
+    private int maxEntries = 10000;
+    // How long a key and its stored response stay valid
+    private Duration ttl = Duration.ofHours(24);
+    // How long a retry waits for the first attempt with the same key before giving up
+    private Duration waitTimeout = Duration.ofSeconds(30);
+    // Also persist keys in the idempotency_keys table so retries survive restarts
+    private boolean persistent = false;
+}
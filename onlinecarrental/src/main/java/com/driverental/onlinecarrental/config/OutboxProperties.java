@@ -0,0 +1,26 @@
+package com.driverental.onlinecarrental.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+    // Events read from the outbox table per relay round
+    private int relayBatchSize = 200;
+    // Fallback poll for events whose commit-time wake-up was missed
+    private long pollIntervalMs = 5000;
+    // Published events are kept this long so SSE clients can resume with Last-Event-ID
+    private Duration retention = Duration.ofDays(7);
+    // Events buffered per SSE client; a client that falls further behind is disconnected
+    private int clientBufferSize = 256;
+    // Concurrent SSE subscribers
+    private int maxClients = 20;
+    // Events replayed to a reconnecting client before it switches to live delivery
+    private int replayLimit = 1000;
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
@@ -38,8 +38,10 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers("/api/images/vehicles/upload").hasRole("ADMIN")
                         .requestMatchers("/api/images/**").permitAll()
+                        .requestMatchers("/api/payment/esewa/initiate").authenticated()
                         .requestMatchers("/api/payment/esewa/**", "/api/payment/khalti/**").permitAll()
                         .requestMatchers("/api/vehicles/search", "/api/vehicles/{id}").permitAll()
+                        .requestMatchers("/api/pricing/quotes").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
@@ -1,5 +1,6 @@
 package com.driverental.onlinecarrental.controller;
 
+import com.driverental.onlinecarrental.model.dto.response.BookingImportResponse;
 import com.driverental.onlinecarrental.model.dto.response.BookingResponse;
 import com.driverental.onlinecarrental.model.dto.response.UserResponse;
 import com.driverental.onlinecarrental.model.dto.response.VehicleResponse;
@@ -8,6 +9,7 @@ import com.driverental.onlinecarrental.model.enums.BookingStatus;
 import com.driverental.onlinecarrental.repository.BookingRepository;
 import com.driverental.onlinecarrental.repository.UserRepository;
 import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.driverental.onlinecarrental.service.BookingImportService;
 import com.driverental.onlinecarrental.service.BookingService;
 import com.driverental.onlinecarrental.service.UserService;
 import com.driverental.onlinecarrental.service.VehicleService;
@@ -19,10 +21,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -38,6 +44,7 @@ public class AdminController {
     private final UserService userService;
     private final VehicleService vehicleService;
     private final BookingService bookingService;
+    private final BookingImportService bookingImportService;
     private final ReviewService reviewService;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
@@ -70,6 +77,15 @@ public class AdminController {
         return ResponseEntity.ok(bookingService.getAllBookings(pageable));
     }
 
+    @PostMapping(value = "/bookings/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Bulk import bookings from a CSV file (Admin only)")
+    public ResponseEntity<BookingImportResponse> importBookings(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(bookingImportService.importBookings(csv));
+        }
+    }
+
     @GetMapping("/dashboard/stats")
     @Operation(summary = "Get admin dashboard statistics")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
@@ -0,0 +1,29 @@
+package com.driverental.onlinecarrental.controller;
+
+import com.driverental.onlinecarrental.service.DomainEventStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/admin/events")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Admin Events", description = "Live stream of booking and payment changes")
+public class AdminEventController {
+
+    private final DomainEventStreamService domainEventStreamService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to booking and payment events (Admin only)")
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return domainEventStreamService.subscribe(lastEventId);
+    }
+}
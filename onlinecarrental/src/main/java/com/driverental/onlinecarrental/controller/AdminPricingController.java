@@ -0,0 +1,55 @@
+package com.driverental.onlinecarrental.controller;
+
+import com.driverental.onlinecarrental.model.dto.request.PriceRulesRequest;
+import com.driverental.onlinecarrental.model.dto.request.PricingSimulationRequest;
+import com.driverental.onlinecarrental.model.dto.response.PricingRulesResponse;
+import com.driverental.onlinecarrental.model.dto.response.PricingSimulationResponse;
+import com.driverental.onlinecarrental.service.PricingRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/pricing")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Admin Pricing", description = "Pricing rule management and what-if simulation")
+public class AdminPricingController {
+
+    private final PricingRuleService pricingRuleService;
+
+    @GetMapping("/rules")
+    @Operation(summary = "List pricing rules with the current version (Admin only)")
+    public ResponseEntity<PricingRulesResponse> getRules() {
+        return ResponseEntity.ok(pricingRuleService.getRules());
+    }
+
+    @PutMapping("/rules")
+    @Operation(summary = "Add, change or deactivate pricing rules; applies immediately (Admin only)")
+    public ResponseEntity<PricingRulesResponse> updateRules(@Valid @RequestBody PriceRulesRequest request) {
+        return ResponseEntity.ok(pricingRuleService.updateRules(request));
+    }
+
+    @PostMapping("/simulations")
+    @Operation(summary = "Re-price booking history under candidate rules in the background (Admin only)")
+    public ResponseEntity<PricingSimulationResponse> startSimulation(
+            @Valid @RequestBody PricingSimulationRequest request) {
+        return ResponseEntity.accepted().body(pricingRuleService.startSimulation(request));
+    }
+
+    @GetMapping("/simulations/{id}")
+    @Operation(summary = "Progress and, once complete, revenue impact of a pricing simulation (Admin only)")
+    public ResponseEntity<PricingSimulationResponse> getSimulation(@PathVariable String id) {
+        return ResponseEntity.ok(pricingRuleService.getSimulation(id));
+    }
+}
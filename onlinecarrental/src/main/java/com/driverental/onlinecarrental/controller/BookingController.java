@@ -3,6 +3,8 @@ package com.driverental.onlinecarrental.controller;
 import com.driverental.onlinecarrental.model.dto.request.BookingRequest;
 import com.driverental.onlinecarrental.model.dto.response.BookingResponse;
 import com.driverental.onlinecarrental.service.BookingService;
+import com.driverental.onlinecarrental.service.IdempotencyService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -21,15 +23,20 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @Operation(summary = "Create a new booking")
     public ResponseEntity<BookingResponse> createBooking(
             @Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         // Extract user ID from authentication
         Long userId = extractUserIdFromAuth(authentication);
-        return ResponseEntity.ok(bookingService.createBooking(request, userId));
+        // Keys are scoped per user so two customers can never collide on the same key
+        BookingResponse response = idempotencyService.execute("booking:" + userId, idempotencyKey, request,
+                new TypeReference<BookingResponse>() {}, () -> bookingService.createBooking(request, userId));
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/user/{userId}")
@@ -1,12 +1,17 @@
 package com.driverental.onlinecarrental.controller;
 
 import com.driverental.onlinecarrental.model.dto.request.EsewaInitiateRequest;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.security.UserPrincipal;
 import com.driverental.onlinecarrental.service.EsewaPaymentService;
+import com.driverental.onlinecarrental.service.IdempotencyService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -18,11 +23,19 @@ import java.util.Map;
 public class EsewaPaymentController {
 
     private final EsewaPaymentService esewaPaymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/initiate")
     @Operation(summary = "Initiate eSewa payment (returns params for eSewa form POST)")
-    public ResponseEntity<Map<String, String>> initiate(@Valid @RequestBody EsewaInitiateRequest request) {
-        return ResponseEntity.ok(esewaPaymentService.initiate(request));
+    public ResponseEntity<Map<String, String>> initiate(
+            @Valid @RequestBody EsewaInitiateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication authentication) {
+        Long userId = extractUserIdFromAuth(authentication);
+        // Keys are scoped per user so one customer can never be served another's payment
+        Map<String, String> params = idempotencyService.execute("esewa-initiate:" + userId, idempotencyKey, request,
+                new TypeReference<Map<String, String>>() {}, () -> esewaPaymentService.initiate(request));
+        return ResponseEntity.ok(params);
     }
 
     @GetMapping("/verify")
@@ -32,4 +45,11 @@ public class EsewaPaymentController {
             @RequestParam("amount") String amount) {
         return ResponseEntity.ok(esewaPaymentService.verify(uuid, amount));
     }
+
+    private Long extractUserIdFromAuth(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        throw new BusinessException("User not authenticated");
+    }
 }
@@ -3,11 +3,16 @@ package com.driverental.onlinecarrental.controller;
 import com.driverental.onlinecarrental.model.dto.khalti.KhaltiCallbackDTO;
 import com.driverental.onlinecarrental.model.dto.khalti.KhaltiRequest;
 import com.driverental.onlinecarrental.model.dto.khalti.KhaltiResponse;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.security.UserPrincipal;
+import com.driverental.onlinecarrental.service.IdempotencyService;
 import com.driverental.onlinecarrental.service.KhaltiService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.view.RedirectView;
 
@@ -21,11 +26,18 @@ import java.nio.charset.StandardCharsets;
 public class KhaltiController {
 
     private final KhaltiService khaltiService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/khalti-initiate")
     @Operation(summary = "Initiate Khalti payment")
-    public ResponseEntity<KhaltiResponse> initiatePayment(@RequestBody KhaltiRequest request) {
-        KhaltiResponse response = khaltiService.initiatePayment(request);
+    public ResponseEntity<KhaltiResponse> initiatePayment(
+            @RequestBody KhaltiRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication authentication) {
+        Long userId = extractUserIdFromAuth(authentication);
+        // Keys are scoped per user so one customer can never be served another's payment
+        KhaltiResponse response = idempotencyService.execute("khalti-initiate:" + userId, idempotencyKey, request,
+                new TypeReference<KhaltiResponse>() {}, () -> khaltiService.initiatePayment(request));
         return ResponseEntity.ok(response);
     }
 
@@ -43,4 +55,11 @@ public class KhaltiController {
             return new RedirectView("http://localhost:5173/payment/failure?" + query);
         }
     }
+
+    private Long extractUserIdFromAuth(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        throw new BusinessException("User not authenticated");
+    }
 }
@@ -0,0 +1,72 @@
+package com.driverental.onlinecarrental.controller;
+
+import com.driverental.onlinecarrental.model.dto.request.PriceQuoteRequest;
+import com.driverental.onlinecarrental.model.dto.response.PriceQuoteResponse;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.driverental.onlinecarrental.security.UserPrincipal;
+import com.driverental.onlinecarrental.service.PricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/pricing")
+@RequiredArgsConstructor
+@Tag(name = "Pricing", description = "Dynamic price quotes")
+public class PricingController {
+
+    private final PricingService pricingService;
+    private final VehicleRepository vehicleRepository;
+
+    @PostMapping("/quotes")
+    @Operation(summary = "Quote the dynamic price of several vehicles for the same dates")
+    public ResponseEntity<List<PriceQuoteResponse>> quote(@Valid @RequestBody PriceQuoteRequest request,
+                                                          Authentication authentication) {
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            startDate = LocalDate.parse(request.getStartDate());
+            endDate = LocalDate.parse(request.getEndDate());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid date format. Please use YYYY-MM-DD");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("Start date cannot be after end date");
+        }
+
+        // Quotes follow the order of the requested ids; unknown ids are skipped
+        Map<Long, Vehicle> byId = vehicleRepository.findAllById(request.getVehicleIds()).stream()
+                .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        List<Vehicle> vehicles = new ArrayList<>(byId.size());
+        for (Long id : request.getVehicleIds().stream().distinct().toList()) {
+            Vehicle vehicle = byId.get(id);
+            if (vehicle != null) {
+                vehicles.add(vehicle);
+            }
+        }
+
+        return ResponseEntity.ok(pricingService.quoteAll(vehicles, startDate, endDate, userIdOrNull(authentication)));
+    }
+
+    // Quotes are public; only signed-in customers get a token to book at the quoted price
+    private Long userIdOrNull(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        return null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.driverental.onlinecarrental.controller;
 
+import com.driverental.onlinecarrental.model.dto.request.InteractionBatchRequest;
+import com.driverental.onlinecarrental.model.dto.response.InteractionBatchResponse;
 import com.driverental.onlinecarrental.model.dto.response.RecommendationResponse;
 import com.driverental.onlinecarrental.model.dto.response.VehicleResponse;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
@@ -7,7 +9,9 @@ import com.driverental.onlinecarrental.security.UserPrincipal;
 import com.driverental.onlinecarrental.service.RecommendationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -29,8 +33,10 @@ public class RecommendationController {
     public ResponseEntity<List<VehicleResponse>> getPersonalizedRecommendations(Authentication authentication) {
         Long userId = extractUserIdFromAuth(authentication);
 
-        var recommendations = recommendationService.getRecommendationsForUser(userId)
-                .stream()
+        List<Vehicle> vehicles = recommendationService.getRecommendationsForUser(userId);
+        // Tracked here, outside the cached service call, so cache hits count too
+        recommendationService.trackRecommendationList(vehicles);
+        var recommendations = vehicles.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
 
@@ -46,6 +52,7 @@ public class RecommendationController {
         Long userId = extractUserIdFromAuth(authentication);
 
         RecommendationResponse response = recommendationService.getHybridRecommendations(userId);
+        recommendationService.trackRecommendationList(response.getRecommendations());
 
         // Track impressions for all recommended cars
         response.getRecommendations()
@@ -106,10 +113,26 @@ public class RecommendationController {
             @RequestParam String interactionType) {
         Long userId = extractUserIdFromAuth(authentication);
 
-        recommendationService.trackUserInteraction(userId, carId, interactionType);
+        if (!recommendationService.trackUserInteraction(userId, carId, interactionType)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/interactions")
+    @Operation(summary = "Track a batch of user interactions, e.g. every impression on a page")
+    public ResponseEntity<InteractionBatchResponse> trackInteractions(
+            Authentication authentication,
+            @Valid @RequestBody InteractionBatchRequest request) {
+        Long userId = extractUserIdFromAuth(authentication);
+
+        InteractionBatchResponse response = recommendationService.trackUserInteractions(userId,
+                request.getInteractions());
+        // Shed load explicitly: clients retry the rejected tail later
+        HttpStatus status = response.getRejected() > 0 ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/metrics")
     @Operation(summary = "Get recommendation system performance metrics (Admin)")
     public ResponseEntity<Map<String, Double>> getRecommendationMetrics() {
@@ -0,0 +1,42 @@
+package com.driverental.onlinecarrental.controller;
+
+import com.driverental.onlinecarrental.model.dto.response.WaitlistEntryResponse;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.security.UserPrincipal;
+import com.driverental.onlinecarrental.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@Tag(name = "Waitlist", description = "Waitlist for sold-out vehicles")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @GetMapping("/my")
+    @Operation(summary = "Get my waitlist entries")
+    public ResponseEntity<List<WaitlistEntryResponse>> getMyEntries(Authentication authentication) {
+        return ResponseEntity.ok(waitlistService.getUserEntries(extractUserIdFromAuth(authentication)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Leave the waitlist")
+    public ResponseEntity<WaitlistEntryResponse> cancelEntry(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(waitlistService.cancelEntry(id, extractUserIdFromAuth(authentication)));
+    }
+
+    private Long extractUserIdFromAuth(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        throw new BusinessException("User not authenticated");
+    }
+}
@@ -0,0 +1,18 @@
+package com.driverental.onlinecarrental.event;
+
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record BookingEventPayload(Long bookingId, Long userId, Long vehicleId, VehicleType vehicleType,
+        String location, LocalDate startDate, LocalDate endDate, BigDecimal totalPrice, BookingStatus status) {
+
+    public static BookingEventPayload from(Booking booking) {
+        return new BookingEventPayload(booking.getId(), booking.getUser().getId(), booking.getVehicle().getId(),
+                booking.getVehicle().getType(), booking.getVehicle().getLocation(), booking.getStartDate(), booking.getEndDate(), booking.getTotalPrice(),
+                booking.getStatus());
+    }
+}
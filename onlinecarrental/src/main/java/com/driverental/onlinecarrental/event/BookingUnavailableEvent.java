@@ -0,0 +1,12 @@
+package com.driverental.onlinecarrental.event;
+
+import com.driverental.onlinecarrental.model.dto.request.BookingRequest;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a booking attempt is rejected because the vehicle is already taken
+ * for (part of) the requested dates.
+ */
+public record BookingUnavailableEvent(Long userId, BookingRequest request, LocalDate startDate, LocalDate endDate) {
+}
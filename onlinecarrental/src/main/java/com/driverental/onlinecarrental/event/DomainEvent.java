@@ -0,0 +1,22 @@
+package com.driverental.onlinecarrental.event;
+
+import com.driverental.onlinecarrental.model.entity.OutboxEvent;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed booking or payment change, relayed from the outbox.
+ * The payload is the JSON written alongside the change, e.g. a {@link BookingEventPayload}.
+ * The sequence is the event's position in delivery order; ids are assigned at insert and
+ * can commit out of order, so they identify an event but are no cursor.
+ */
+public record DomainEvent(Long id, Long sequence, String aggregateType, Long aggregateId, OutboxEventType type,
+        String payload, LocalDateTime occurredAt) {
+
+    public static DomainEvent from(OutboxEvent event) {
+        return new DomainEvent(event.getId(), event.getPublishSequence(), event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
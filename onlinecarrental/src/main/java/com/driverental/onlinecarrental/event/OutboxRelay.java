@@ -0,0 +1,116 @@
+package com.driverental.onlinecarrental.event;
+
+import com.driverental.onlinecarrental.config.OutboxProperties;
+import com.driverental.onlinecarrental.model.entity.OutboxEvent;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves committed outbox rows to in-process subscribers as {@link DomainEvent}s.
+ *
+ * All delivery happens on one thread, reading unpublished rows in id order. Each event is
+ * given the next publish sequence as it is delivered, so the sequence orders events as
+ * subscribers saw them even when a lower id commits after a higher one has gone out.
+ * Rows are marked published only after every subscriber has been called, which makes
+ * delivery at-least-once across crashes. Commits
+ * wake the relay immediately; the scheduled poll picks up anything a wake-up missed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxProperties properties;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    // Last publish sequence handed out; only touched on the relay thread
+    private long sequence = -1;
+
+    /**
+     * Schedules a drain unless one is already queued. Cheap enough to call after every commit.
+     */
+    public void requestDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                // Cleared first so a commit landing mid-drain queues one more round
+                drainScheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgePublished() {
+        int removed = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(properties.getRetention()),
+                outboxEventRepository.findMaxPublishSequence());
+        if (removed > 0) {
+            log.info("Purged {} published outbox events", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void drain() {
+        try {
+            List<OutboxEvent> batch;
+            do {
+                batch = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(
+                        PageRequest.of(0, properties.getRelayBatchSize()));
+                if (batch.isEmpty()) {
+                    return;
+                }
+
+                if (sequence < 0) {
+                    sequence = outboxEventRepository.findMaxPublishSequence();
+                }
+                for (OutboxEvent event : batch) {
+                    event.setPublishSequence(++sequence);
+                    publish(DomainEvent.from(event));
+                }
+                LocalDateTime now = LocalDateTime.now();
+                for (OutboxEvent event : batch) {
+                    outboxEventRepository.markPublished(event.getId(), event.getPublishSequence(), now);
+                }
+            } while (batch.size() == properties.getRelayBatchSize());
+        } catch (RuntimeException e) {
+            // Unmarked rows are retried on the next poll
+            log.error("Outbox relay failed", e);
+        }
+    }
+
+    private void publish(DomainEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            // A failing subscriber must not block the stream for everyone else
+            log.error("Subscriber failed for outbox event {} ({})", event.id(), event.type(), e);
+        }
+    }
+}
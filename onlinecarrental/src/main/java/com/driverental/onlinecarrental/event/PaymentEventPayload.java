@@ -0,0 +1,17 @@
+package com.driverental.onlinecarrental.event;
+
+import com.driverental.onlinecarrental.model.entity.Payment;
+import com.driverental.onlinecarrental.model.enums.PaymentMethod;
+import com.driverental.onlinecarrental.model.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+
+public record PaymentEventPayload(Long paymentId, Long bookingId, BigDecimal amount, PaymentMethod paymentMethod,
+        PaymentStatus status, String transactionId) {
+
+    public static PaymentEventPayload from(Payment payment) {
+        return new PaymentEventPayload(payment.getId(),
+                payment.getBooking() != null ? payment.getBooking().getId() : null,
+                payment.getAmount(), payment.getPaymentMethod(), payment.getStatus(), payment.getTransactionId());
+    }
+}
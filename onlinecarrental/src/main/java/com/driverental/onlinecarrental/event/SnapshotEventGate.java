@@ -0,0 +1,123 @@
+package com.driverental.onlinecarrental.event;
+
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lines relayed {@link DomainEvent}s up with in-memory state seeded from a database
+ * snapshot, so each event's change is counted exactly once.
+ *
+ * An outbox row commits with the change it describes, so the change is part of a snapshot
+ * exactly when the row is visible in it. Ids are assigned at insert and can commit out of
+ * order, so no id watermark can tell that; the gate asks the snapshot instead:
+ * <ul>
+ * <li>while closed (before the first seed and during a rebuild) events are buffered;</li>
+ * <li>{@link #open} runs in the seeding transaction, after the state was read: buffered
+ * events whose rows the snapshot sees are dropped and the rest returned to apply, and rows
+ * it sees that the relay has not published yet are skipped when they arrive;</li>
+ * <li>each event id is admitted once, so redeliveries by the at-least-once relay do not
+ * count twice. Recently admitted ids are remembered, which covers the relay's retries.</li>
+ * </ul>
+ * Callers close the gate before the seeding transaction first reads, and seed under
+ * repeatable read so every query sees the same snapshot.
+ */
+public final class SnapshotEventGate {
+
+    private static final int REMEMBERED_IDS = 10_000;
+
+    private final List<DomainEvent> buffered = new ArrayList<>();
+    private final Map<Long, Boolean> admitted = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > REMEMBERED_IDS;
+        }
+    };
+    // Rows in the last snapshot that had not been delivered yet
+    private Set<Long> inSnapshot = new HashSet<>();
+    private boolean open;
+
+    /**
+     * Starts buffering events, ahead of reading a new snapshot.
+     */
+    public synchronized void close() {
+        open = false;
+    }
+
+    /**
+     * Whether the event should be applied now; false when it is buffered, already part of
+     * the seeded state or a redelivery.
+     */
+    public synchronized boolean admit(DomainEvent event) {
+        if (!open) {
+            buffered.add(event);
+            return false;
+        }
+        return firstDelivery(event.id());
+    }
+
+    /**
+     * Resumes delivery against the snapshot of the calling transaction and returns the
+     * buffered events it does not reflect, in delivery order, for the caller to apply.
+     */
+    public synchronized List<DomainEvent> open(OutboxEventRepository outboxEventRepository) {
+        inSnapshot = new HashSet<>(outboxEventRepository.findUnpublishedIds());
+        Set<Long> bufferedIds = new HashSet<>();
+        for (DomainEvent event : buffered) {
+            if (event.id() != null) {
+                bufferedIds.add(event.id());
+            }
+        }
+        Set<Long> seeded = bufferedIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(outboxEventRepository.findExistingIds(bufferedIds));
+
+        List<DomainEvent> pending = new ArrayList<>();
+        for (DomainEvent event : buffered) {
+            if (seeded.contains(event.id())) {
+                remember(event.id());
+            } else if (firstDelivery(event.id())) {
+                pending.add(event);
+            }
+        }
+        buffered.clear();
+        open = true;
+        return pending;
+    }
+
+    /**
+     * Resumes delivery without a new snapshot, after a rebuild failed and the previous state
+     * stays in use. Returns the events buffered meanwhile, for the caller to apply to it.
+     */
+    public synchronized List<DomainEvent> reopen() {
+        List<DomainEvent> pending = new ArrayList<>();
+        for (DomainEvent event : buffered) {
+            if (firstDelivery(event.id())) {
+                pending.add(event);
+            }
+        }
+        buffered.clear();
+        open = true;
+        return pending;
+    }
+
+    private boolean firstDelivery(Long id) {
+        if (id == null) {
+            return true;
+        }
+        if (inSnapshot.remove(id)) {
+            remember(id);
+            return false;
+        }
+        return remember(id);
+    }
+
+    private boolean remember(Long id) {
+        return admitted.put(id, Boolean.TRUE) == null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.driverental.onlinecarrental.event;
+
+/**
+ * Published when a user account has been deleted.
+ */
+public record UserDeletedEvent(Long userId) {
+}
@@ -0,0 +1,7 @@
+package com.driverental.onlinecarrental.event;
+
+/**
+ * Published when a new user account has been saved.
+ */
+public record UserRegisteredEvent(Long userId) {
+}
@@ -0,0 +1,8 @@
+package com.driverental.onlinecarrental.event;
+
+/**
+ * Published when a vehicle is added, edited, deleted or has its availability changed.
+ * Listeners re-read the vehicle; a missing one has been deleted.
+ */
+public record VehicleCatalogChangedEvent(Long vehicleId) {
+}
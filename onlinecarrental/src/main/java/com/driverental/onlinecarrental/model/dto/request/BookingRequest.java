@@ -26,4 +26,6 @@ public class BookingRequest {
 
     @NotNull
     private String dropoffLocation;
+
+    private String quoteToken;  // Optional; a valid token from a price quote fixes the total price
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.driverental.onlinecarrental.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionBatchRequest {
+
+    // Everything one page tracks at once, e.g. an impression per rendered card
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<InteractionRequest> interactions;
+}
@@ -0,0 +1,26 @@
+package com.driverental.onlinecarrental.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionRequest {
+
+    @NotNull(message = "Vehicle ID is required")
+    private Long vehicleId;
+
+    @NotBlank(message = "Interaction type is required")
+    @Size(max = 32)
+    private String interactionType;  // CLICK, IMPRESSION, BOOKING, SEARCH, etc.
+
+    @Size(max = 255)
+    private String details;          // Optional, e.g. the search text for SEARCH
+}
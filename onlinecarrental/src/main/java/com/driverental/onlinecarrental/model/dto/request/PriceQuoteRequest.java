@@ -0,0 +1,28 @@
+package com.driverental.onlinecarrental.model.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteRequest {
+
+    @NotEmpty(message = "At least one vehicle ID is required")
+    @Size(max = 100, message = "At most 100 vehicles can be quoted at once")
+    private List<Long> vehicleIds;
+
+    @NotNull
+    private String startDate;
+
+    @NotNull
+    private String endDate;
+}
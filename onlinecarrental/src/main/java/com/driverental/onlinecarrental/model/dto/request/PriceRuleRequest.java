@@ -0,0 +1,31 @@
+package com.driverental.onlinecarrental.model.dto.request;
+
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRuleRequest {
+
+    @NotNull
+    private PriceRuleType ruleType;
+
+    @NotBlank
+    private String selector;
+
+    @NotNull
+    @Positive
+    private Double multiplier;
+
+    // false deactivates an existing rule
+    @Builder.Default
+    private Boolean active = true;
+}
@@ -0,0 +1,22 @@
+package com.driverental.onlinecarrental.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRulesRequest {
+
+    // Rules to add or change, matched on rule type and selector; rules not listed are kept
+    @NotEmpty
+    @Valid
+    private List<PriceRuleRequest> rules;
+}
@@ -0,0 +1,26 @@
+package com.driverental.onlinecarrental.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingSimulationRequest {
+
+    // Candidate changes on top of the active rules, as for an update; nothing is saved
+    @NotEmpty
+    @Valid
+    private List<PriceRuleRequest> rules;
+
+    private String fromDate;  // Optional, YYYY-MM-DD; defaults to one year before toDate
+
+    private String toDate;    // Optional, YYYY-MM-DD; defaults to today
+}
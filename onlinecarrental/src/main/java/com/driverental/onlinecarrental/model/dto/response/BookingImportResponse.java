@@ -0,0 +1,28 @@
+package com.driverental.onlinecarrental.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingImportResponse {
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+    private long elapsedMillis;
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
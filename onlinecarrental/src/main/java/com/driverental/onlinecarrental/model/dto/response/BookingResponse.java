@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -28,4 +29,25 @@ public class BookingResponse {
     private LocalDateTime cancelledAt;
     private VehicleResponse vehicle; // Optional: include vehicle details
     private UserResponse user; // Optional: include user details
+
+    /**
+     * Used by the JPQL constructor expressions in BookingRepository so listings are read
+     * straight from the bookings table without touching the user/vehicle associations.
+     */
+    public BookingResponse(Long id, Long userId, Long vehicleId, LocalDate startDate, LocalDate endDate,
+            BigDecimal totalPrice, BookingStatus status, String pickupLocation, String dropoffLocation,
+            LocalDateTime createdAt, LocalDateTime confirmedAt, LocalDateTime cancelledAt) {
+        this.id = id;
+        this.userId = userId;
+        this.vehicleId = vehicleId;
+        this.startDate = startDate != null ? startDate.toString() : null;
+        this.endDate = endDate != null ? endDate.toString() : null;
+        this.totalPrice = totalPrice;
+        this.status = status;
+        this.pickupLocation = pickupLocation;
+        this.dropoffLocation = dropoffLocation;
+        this.createdAt = createdAt;
+        this.confirmedAt = confirmedAt;
+        this.cancelledAt = cancelledAt;
+    }
 }
\ No newline at end of file
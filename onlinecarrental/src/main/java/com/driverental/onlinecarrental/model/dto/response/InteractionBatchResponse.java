@@ -0,0 +1,15 @@
+package com.driverental.onlinecarrental.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionBatchResponse {
+    private int accepted;
+    private int rejected;  // Dropped because the ingestion buffer was full; safe to retry later
+}
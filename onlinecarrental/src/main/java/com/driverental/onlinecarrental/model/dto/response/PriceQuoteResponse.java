@@ -0,0 +1,28 @@
+package com.driverental.onlinecarrental.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteResponse {
+    private Long vehicleId;
+    private String startDate;
+    private String endDate;
+    private long days;
+    // Listed daily price, for comparison with the dynamic rate
+    private BigDecimal dailyPrice;
+    private BigDecimal averageDailyPrice;
+    private BigDecimal totalPrice;
+    private long pricingRulesVersion;
+    // Pass back when booking to be charged totalPrice until the token expires; signed-in customers only
+    private String quoteToken;
+    private LocalDateTime quoteExpiresAt;
+}
@@ -0,0 +1,23 @@
+package com.driverental.onlinecarrental.model.dto.response;
+
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRuleResponse {
+    private Long id;
+    private PriceRuleType ruleType;
+    private String selector;
+    private Double multiplier;
+    private Boolean active;
+    private Long version;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.driverental.onlinecarrental.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingRulesResponse {
+    // Version of the stored rule set; bookings record the version they were priced with
+    private long version;
+    private List<PriceRuleResponse> rules;
+}
@@ -0,0 +1,53 @@
+package com.driverental.onlinecarrental.model.dto.response;
+
+import com.driverental.onlinecarrental.model.enums.SimulationStatus;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingSimulationResponse {
+    private String id;
+    private SimulationStatus status;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    // Rules version the candidate is compared against
+    private long currentRulesVersion;
+    private long processedBookings;
+    private long totalBookings;
+    private double progress;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    // Present once the simulation has completed
+    private Group totals;
+    private List<Group> groups;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Group {
+        private String month;
+        private String location;
+        private VehicleType vehicleType;
+        private long bookings;
+        // What was charged, and the same bookings re-priced under the current and candidate rules
+        private BigDecimal actualRevenue;
+        private BigDecimal currentRulesRevenue;
+        private BigDecimal candidateRevenue;
+        private BigDecimal revenueDelta;
+        private BigDecimal averagePriceDelta;
+        private Double revenueDeltaPercent;
+    }
+}
@@ -0,0 +1,27 @@
+package com.driverental.onlinecarrental.model.dto.response;
+
+import com.driverental.onlinecarrental.model.enums.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryResponse {
+    private Long id;
+    private Long vehicleId;
+    private String startDate;
+    private String endDate;
+    private String pickupLocation;
+    private String dropoffLocation;
+    private Integer priority;
+    private WaitlistStatus status;
+    private Long offeredBookingId;
+    private LocalDateTime createdAt;
+    private LocalDateTime offeredAt;
+}
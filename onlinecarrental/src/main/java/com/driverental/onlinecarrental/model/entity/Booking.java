@@ -21,8 +21,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class Booking {
+    // Pooled ids keep JDBC insert batching enabled; IDENTITY forces one round trip per row
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -45,6 +49,9 @@ public class Booking {
     @DecimalMin("0.0")
     private BigDecimal totalPrice;
 
+    // Pricing rules version totalPrice was calculated with; null when the price was not rule based
+    private Long pricingRulesVersion;
+
     @Enumerated(EnumType.STRING)
     private BookingStatus status = BookingStatus.PENDING;
 
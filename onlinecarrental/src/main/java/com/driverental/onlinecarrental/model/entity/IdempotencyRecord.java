@@ -0,0 +1,36 @@
+package com.driverental.onlinecarrental.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    /**
+     * Scope and client key joined as "scope:key"
+     */
+    @Id
+    @Column(length = 255)
+    private String id;
+
+    @Column(length = 64, nullable = false)
+    private String requestHash;
+
+    @Lob
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String responseBody;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,47 @@
+package com.driverental.onlinecarrental.model.entity;
+
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_published_at", columnList = "publishedAt"),
+        @Index(name = "idx_outbox_publish_sequence", columnList = "publishSequence") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 50, nullable = false)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false)
+    private OutboxEventType eventType;
+
+    @Lob
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the relay has handed the event to subscribers
+    private LocalDateTime publishedAt;
+
+    // Position in delivery order, assigned by the relay; ids are not, as they may commit out of order
+    private Long publishSequence;
+}
@@ -1,14 +1,54 @@
 package com.driverental.onlinecarrental.model.entity;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
+
+/**
+ * One pricing rule. The active rows together make up the rule set that is compiled into
+ * the in-memory pricing snapshot; rows are deactivated rather than deleted so every
+ * version stays explainable.
+ */
 @Entity
+@Table(name = "price_configs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_price_config_rule", columnNames = { "rule_type", "selector" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
 public class PriceConfig {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", length = 30)
+    private PriceRuleType ruleType;
+
+    // Month, weekday, holiday range, vehicle or fuel type; tier thresholds for tier rules
+    @NotNull
+    @Column(length = 50)
+    private String selector;
+
+    @NotNull
+    private Double multiplier;
+
+    @Builder.Default
+    private Boolean active = true;
+
+    // Rule set version that last changed this row
+    @NotNull
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
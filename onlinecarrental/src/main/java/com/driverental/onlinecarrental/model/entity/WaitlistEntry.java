@@ -0,0 +1,63 @@
+package com.driverental.onlinecarrental.model.entity;
+
+import com.driverental.onlinecarrental.model.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries", indexes = @Index(name = "idx_waitlist_status", columnList = "status"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vehicle_id")
+    private Vehicle vehicle;
+
+    @NotNull
+    private LocalDate startDate;
+
+    @NotNull
+    private LocalDate endDate;
+
+    @NotNull
+    private String pickupLocation;
+
+    @NotNull
+    private String dropoffLocation;
+
+    // Higher values are offered freed inventory first
+    @Builder.Default
+    private Integer priority = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    // Booking created for this customer when inventory was freed
+    private Long offeredBookingId;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime offeredAt;
+}
@@ -0,0 +1,12 @@
+package com.driverental.onlinecarrental.model.enums;
+
+public enum OutboxEventType {
+    BOOKING_CREATED,
+    BOOKING_CONFIRMED,
+    BOOKING_CANCELLED,
+    BOOKING_EXPIRED,
+    BOOKING_COMPLETED,
+    PAYMENT_INITIATED,
+    PAYMENT_COMPLETED,
+    PAYMENT_FAILED
+}
@@ -0,0 +1,23 @@
+package com.driverental.onlinecarrental.model.enums;
+
+/**
+ * Kinds of pricing rule stored in {@code PriceConfig}. Selector rules match a named
+ * value; tier rules match on a numeric threshold.
+ */
+public enum PriceRuleType {
+    SEASON,              // selector: month name
+    WEEKDAY,             // selector: day of week name
+    HOLIDAY,             // selector: MM-dd..MM-dd, may wrap the year end
+    DAILY_MIN,           // lower bound of the combined daily multiplier
+    DAILY_MAX,           // upper bound of the combined daily multiplier
+    DENSITY_ABOVE,       // retired: raw booking counts, superseded by UTILIZATION_ABOVE and no longer applied
+    DENSITY_BELOW,       // retired: raw booking counts, superseded by UTILIZATION_BELOW and no longer applied
+    UTILIZATION_ABOVE,   // forecast fleet utilization above threshold (0-1), highest threshold wins
+    UTILIZATION_BELOW,   // forecast fleet utilization below threshold (0-1), lowest threshold wins
+    DURATION_AT_LEAST,   // rental days at or above threshold, highest threshold wins
+    LEAD_TIME_AT_MOST,   // days until start at or below threshold, lowest threshold wins
+    LEAD_TIME_AT_LEAST,  // days until start at or above threshold, highest threshold wins
+    RATING_AT_LEAST,     // vehicle rating at or above threshold, highest threshold wins
+    VEHICLE_TYPE,        // selector: vehicle type name
+    FUEL_TYPE            // selector: fuel type name
+}
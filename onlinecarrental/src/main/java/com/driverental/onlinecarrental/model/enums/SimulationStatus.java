@@ -0,0 +1,7 @@
+package com.driverental.onlinecarrental.model.enums;
+
+public enum SimulationStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.driverental.onlinecarrental.model.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED,
+    CANCELLED,
+    EXPIRED
+}
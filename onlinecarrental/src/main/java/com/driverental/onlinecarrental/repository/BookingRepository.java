@@ -1,23 +1,44 @@
 package com.driverental.onlinecarrental.repository;
 
+import com.driverental.onlinecarrental.algorithm.pricing.HistoricalBooking;
+import com.driverental.onlinecarrental.model.dto.response.BookingResponse;
 import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+        String BOOKING_RESPONSE_PROJECTION = "SELECT new com.driverental.onlinecarrental.model.dto.response.BookingResponse(" +
+                        "b.id, b.user.id, b.vehicle.id, b.startDate, b.endDate, b.totalPrice, b.status, " +
+                        "b.pickupLocation, b.dropoffLocation, b.createdAt, b.confirmedAt, b.cancelledAt) " +
+                        "FROM Booking b";
+
         Page<Booking> findByUserId(Long userId, Pageable pageable);
 
+        @Query(value = BOOKING_RESPONSE_PROJECTION + " WHERE b.user.id = :userId",
+                        countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId")
+        Page<BookingResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+        @Query(value = BOOKING_RESPONSE_PROJECTION,
+                        countQuery = "SELECT COUNT(b) FROM Booking b")
+        Page<BookingResponse> findAllResponses(Pageable pageable);
+
         Page<Booking> findByVehicleId(Long vehicleId, Pageable pageable);
 
         @Query("SELECT b FROM Booking b WHERE b.vehicle.id = :vehicleId AND " +
@@ -29,10 +50,22 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                         @Param("startDate") LocalDate startDate,
                         @Param("endDate") LocalDate endDate);
 
-        @Query("SELECT COUNT(b) FROM Booking b WHERE b.startDate BETWEEN :start AND :end")
-        Long countByStartDateBetween(@Param("start") LocalDate start,
+        @Query("SELECT b.vehicle.location, b.vehicle.type, b.startDate, b.endDate, COUNT(b) FROM Booking b " +
+                        "WHERE b.status != 'CANCELLED' AND b.startDate BETWEEN :start AND :end " +
+                        "GROUP BY b.vehicle.location, b.vehicle.type, b.startDate, b.endDate")
+        List<Object[]> countActiveStartsByLocationAndType(@Param("start") LocalDate start,
                         @Param("end") LocalDate end);
 
+        @Query("SELECT new com.driverental.onlinecarrental.algorithm.pricing.HistoricalBooking(" +
+                        "b.startDate, b.endDate, b.createdAt, b.totalPrice, v.basePrice, v.rating, v.type, " +
+                        "v.fuelType, v.location) FROM Booking b JOIN b.vehicle v WHERE b.status != 'CANCELLED' " +
+                        "AND b.startDate BETWEEN :start AND :end")
+        @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+        Stream<HistoricalBooking> streamHistory(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+        @Query("SELECT COUNT(b) FROM Booking b WHERE b.status != 'CANCELLED' AND b.startDate BETWEEN :start AND :end")
+        long countHistory(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
         List<Booking> findByStatusAndCreatedAtBefore(BookingStatus status, LocalDateTime createdAt);
 
         @Query("SELECT COUNT(b) FROM Booking b WHERE b.vehicle.id = :vehicleId AND b.startDate >= :startDate")
@@ -41,6 +74,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
         Long countByStatus(BookingStatus status);
 
+        Long countByUserIdAndStatus(Long userId, BookingStatus status);
+
+        @Query("SELECT b.vehicle.id, b.startDate, b.endDate FROM Booking b " +
+                        "WHERE b.status != 'CANCELLED' AND b.endDate >= :from")
+        List<Object[]> findOccupiedIntervals(@Param("from") LocalDate from);
+
+        @Query("SELECT b.user.id, b.vehicle.id, b.startDate, b.endDate FROM Booking b WHERE b.vehicle IS NOT NULL")
+        @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+        Stream<Object[]> streamUserVehicleRentals();
+
+        @Query("SELECT b.user.id, b.vehicle.id, b.vehicle.type, b.startDate, b.endDate, b.totalPrice, b.createdAt, " +
+                        "b.pickupLocation FROM Booking b WHERE b.vehicle IS NOT NULL")
+        @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+        Stream<Object[]> streamUserBookingProfiles();
+
+        @Query("SELECT b.vehicle.id, b.createdAt FROM Booking b WHERE b.createdAt >= :since")
+        List<Object[]> findVehicleBookingTimesSince(@Param("since") LocalDateTime since);
+
+        @Query("SELECT b.user.id, COUNT(b) FROM Booking b GROUP BY b.user.id")
+        List<Object[]> countBookingsByUser();
+
         @Query("SELECT COUNT(b) FROM Booking b WHERE b.status IN :statuses")
         Long countByStatusIn(@Param("statuses") List<BookingStatus> statuses);
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.driverental.onlinecarrental.repository;
+
+import com.driverental.onlinecarrental.model.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    List<OutboxEvent> findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(Long publishSequence,
+            Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.publishSequence), 0) FROM OutboxEvent e")
+    long findMaxPublishSequence();
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.publishedAt IS NULL")
+    List<Long> findUnpublishedIds();
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.publishSequence = :publishSequence "
+            + "WHERE e.id = :id")
+    int markPublished(@Param("id") Long id, @Param("publishSequence") long publishSequence,
+            @Param("publishedAt") LocalDateTime publishedAt);
+
+    // Keeps the last published event so the delivery sequence survives quiet periods
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff AND e.publishSequence < :keepSequence")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("keepSequence") long keepSequence);
+}
@@ -1,7 +1,19 @@
 package com.driverental.onlinecarrental.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.driverental.onlinecarrental.model.entity.PriceConfig;
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+
+import java.util.List;
 
 public interface PriceConfigRepository extends JpaRepository<PriceConfig, Long> {
+
+    List<PriceConfig> findByActiveTrue();
+
+    @Query("SELECT COALESCE(MAX(p.version), 0) FROM PriceConfig p")
+    long findMaxVersion();
+
+    @Query("SELECT DISTINCT p.ruleType FROM PriceConfig p")
+    List<PriceRuleType> findStoredRuleTypes();
 }
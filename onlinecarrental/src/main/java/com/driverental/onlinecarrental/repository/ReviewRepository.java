@@ -1,13 +1,20 @@
 package com.driverental.onlinecarrental.repository;
 
 import com.driverental.onlinecarrental.model.entity.Review;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
@@ -27,4 +34,8 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     @Query("SELECT r FROM Review r WHERE r.vehicle.id = :vehicleId ORDER BY r.createdAt DESC")
     Page<Review> findLatestByVehicleId(@Param("vehicleId") Long vehicleId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT r.user.id, r.vehicle.id, r.rating FROM Review r WHERE r.rating IS NOT NULL ORDER BY r.id")
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    Stream<Object[]> streamUserVehicleRatings();
+}
@@ -2,11 +2,18 @@ package com.driverental.onlinecarrental.repository;
 
 import com.driverental.onlinecarrental.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,4 +22,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.bookings WHERE u.id = :id")
     Optional<User> findByIdWithBookings(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
+
+    @Query("SELECT u.id, u.createdAt FROM User u")
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    Stream<Object[]> streamRegistrations();
 }
\ No newline at end of file
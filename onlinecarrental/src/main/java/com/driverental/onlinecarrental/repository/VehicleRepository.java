@@ -19,6 +19,12 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpec
 
     List<Vehicle> findByIsAvailableTrue();
 
+    @Query("SELECT v.id FROM Vehicle v ORDER BY v.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT v.location, v.type, COUNT(v) FROM Vehicle v GROUP BY v.location, v.type")
+    List<Object[]> countByLocationAndType();
+
     @Query("SELECT DISTINCT v FROM Vehicle v LEFT JOIN FETCH v.features")
     List<Vehicle> findAllWithFeatures();
 
@@ -0,0 +1,20 @@
+package com.driverental.onlinecarrental.repository;
+
+import com.driverental.onlinecarrental.model.entity.WaitlistEntry;
+import com.driverental.onlinecarrental.model.enums.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    List<WaitlistEntry> findByStatusAndStartDateGreaterThanEqual(WaitlistStatus status, LocalDate startDate);
+
+    boolean existsByUserIdAndVehicleIdAndStartDateAndEndDateAndStatus(Long userId, Long vehicleId,
+            LocalDate startDate, LocalDate endDate, WaitlistStatus status);
+}
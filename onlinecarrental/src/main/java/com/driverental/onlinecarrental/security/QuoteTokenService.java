@@ -0,0 +1,113 @@
+package com.driverental.onlinecarrental.security;
+
+import com.driverental.onlinecarrental.algorithm.pricing.PriceQuote;
+import com.driverental.onlinecarrental.algorithm.pricing.SignedQuote;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.util.Money;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Signs quotes into expiring tokens and redeems them at booking time.
+ *
+ * A token is an HS256 JWT binding the customer, the vehicle, the dates, the total in paisa
+ * and the rules version, so a booking that presents a valid token is charged exactly the
+ * quoted price, and only when the customer it was quoted to makes it. The signing secret
+ * has no default; startup fails unless QUOTE_TOKEN_SECRET holds at least 32 bytes.
+ */
+@Service
+@Slf4j
+public class QuoteTokenService {
+
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final String USER = "user";
+    private static final String START = "start";
+    private static final String END = "end";
+    private static final String TOTAL = "total";
+    private static final String RULES_VERSION = "rulesVersion";
+
+    @Value("${app.pricing.quote-token-secret}")
+    private String quoteTokenSecret;
+
+    @Value("${app.pricing.quote-token-ttl:15m}")
+    private Duration quoteTokenTtl = Duration.ofMinutes(15);
+
+    private SecretKey signingKey;
+
+    @PostConstruct
+    public void init() {
+        byte[] secret = quoteTokenSecret == null ? new byte[0] : quoteTokenSecret.getBytes(StandardCharsets.UTF_8);
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.pricing.quote-token-secret (QUOTE_TOKEN_SECRET) must be at least "
+                    + MIN_SECRET_BYTES + " bytes");
+        }
+        signingKey = Keys.hmacShaKeyFor(secret);
+    }
+
+    public SignedQuote sign(Long userId, Long vehicleId, LocalDate startDate, LocalDate endDate, PriceQuote quote) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(quoteTokenTtl);
+        String token = Jwts.builder()
+                .setSubject(String.valueOf(vehicleId))
+                .claim(USER, userId)
+                .claim(START, startDate.toString())
+                .claim(END, endDate.toString())
+                .claim(TOTAL, quote.totalPrice().paisa())
+                .claim(RULES_VERSION, quote.rulesVersion())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+        return new SignedQuote(quote, token, expiresAt);
+    }
+
+    /**
+     * The quoted price when the token is genuine, unexpired and issued to this customer for
+     * this vehicle and these dates; empty when it has expired, so the booking is priced afresh.
+     *
+     * @throws BusinessException if the token was tampered with or quotes another booking
+     */
+    public Optional<PriceQuote> redeem(String token, Long userId, Long vehicleId, LocalDate startDate,
+                                       LocalDate endDate) {
+        Claims claims;
+        try {
+            claims = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (ExpiredJwtException e) {
+            log.debug("Quote token for vehicle {} expired, repricing", vehicleId);
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BusinessException("Invalid quote token");
+        }
+
+        if (!String.valueOf(vehicleId).equals(claims.getSubject())
+                || !startDate.toString().equals(claims.get(START, String.class))
+                || !endDate.toString().equals(claims.get(END, String.class))) {
+            throw new BusinessException("Quote token was issued for a different vehicle or dates");
+        }
+        if (userId == null || !userId.equals(claims.get(USER, Long.class))) {
+            throw new BusinessException("Quote token was issued to a different customer");
+        }
+        return Optional.of(new PriceQuote(Money.ofPaisa(claims.get(TOTAL, Long.class)),
+                claims.get(RULES_VERSION, Long.class)));
+    }
+}
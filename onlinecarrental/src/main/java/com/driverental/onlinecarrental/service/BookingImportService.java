@@ -0,0 +1,9 @@
+package com.driverental.onlinecarrental.service;
+
+import com.driverental.onlinecarrental.model.dto.response.BookingImportResponse;
+
+import java.io.InputStream;
+
+public interface BookingImportService {
+    BookingImportResponse importBookings(InputStream csv);
+}
@@ -0,0 +1,9 @@
+package com.driverental.onlinecarrental.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DomainEventStreamService {
+    SseEmitter subscribe(Long lastEventId);
+
+    int getSubscriberCount();
+}
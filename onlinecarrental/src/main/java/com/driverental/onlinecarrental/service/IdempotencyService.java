@@ -0,0 +1,15 @@
+package com.driverental.onlinecarrental.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Run {@code action} at most once per (scope, key). Retries with the same key get the
+     * stored response back; concurrent retries wait for the first attempt to finish.
+     * A blank key disables deduplication and simply runs the action.
+     */
+    <T> T execute(String scope, String key, Object request, TypeReference<T> responseType, Supplier<T> action);
+}
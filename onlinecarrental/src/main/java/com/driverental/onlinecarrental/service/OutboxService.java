@@ -0,0 +1,14 @@
+package com.driverental.onlinecarrental.service;
+
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.Payment;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+
+/**
+ * Records domain events in the caller's transaction; they are relayed only once it commits.
+ */
+public interface OutboxService {
+    void recordBookingEvent(Booking booking, OutboxEventType type);
+
+    void recordPaymentEvent(Payment payment, OutboxEventType type);
+}
@@ -0,0 +1,16 @@
+package com.driverental.onlinecarrental.service;
+
+import com.driverental.onlinecarrental.model.dto.request.PriceRulesRequest;
+import com.driverental.onlinecarrental.model.dto.request.PricingSimulationRequest;
+import com.driverental.onlinecarrental.model.dto.response.PricingRulesResponse;
+import com.driverental.onlinecarrental.model.dto.response.PricingSimulationResponse;
+
+public interface PricingRuleService {
+    PricingRulesResponse getRules();
+
+    PricingRulesResponse updateRules(PriceRulesRequest request);
+
+    PricingSimulationResponse startSimulation(PricingSimulationRequest request);
+
+    PricingSimulationResponse getSimulation(String id);
+}
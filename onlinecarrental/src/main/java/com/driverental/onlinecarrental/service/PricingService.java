@@ -1,9 +1,24 @@
 package com.driverental.onlinecarrental.service;
 
+import com.driverental.onlinecarrental.algorithm.pricing.PriceQuote;
+import com.driverental.onlinecarrental.model.dto.response.PriceQuoteResponse;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 public interface PricingService {
-    BigDecimal calculateBookingPrice(Vehicle vehicle, LocalDate startDate, LocalDate endDate);
+    PriceQuote calculateBookingPrice(Vehicle vehicle, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Price for a booking, honouring the quote token when it is still valid and was issued
+     * to this user.
+     */
+    PriceQuote calculateBookingPrice(Vehicle vehicle, LocalDate startDate, LocalDate endDate, Long userId,
+                                     String quoteToken);
+
+    /**
+     * Quotes for each vehicle, in order. Each carries a token bound to the user, or none
+     * when the caller is anonymous (userId null).
+     */
+    List<PriceQuoteResponse> quoteAll(List<Vehicle> vehicles, LocalDate startDate, LocalDate endDate, Long userId);
 }
@@ -1,6 +1,8 @@
 package com.driverental.onlinecarrental.service;
 
 import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.dto.request.InteractionRequest;
+import com.driverental.onlinecarrental.model.dto.response.InteractionBatchResponse;
 import com.driverental.onlinecarrental.model.dto.response.RecommendationResponse;
 
 import java.util.List;
@@ -54,7 +56,8 @@ public interface RecommendationService {
     Map<String, Object> getRecommendationExplanations(Long userId, Long vehicleId);
 
     /**
-     * Refresh recommendation model (for admin purposes)
+     * Retrain the recommendation model in the background and clear cached
+     * recommendations (for admin purposes)
      */
     void refreshRecommendationModel();
 
@@ -64,9 +67,22 @@ public interface RecommendationService {
     Map<String, Double> getRecommendationMetrics();
 
     /**
-     * Track user interaction for recommendation improvement
+     * Track user interaction for recommendation improvement; false if it was dropped
+     * because tracking is overloaded
      */
-    void trackUserInteraction(Long userId, Long vehicleId, String interactionType);
+    boolean trackUserInteraction(Long userId, Long vehicleId, String interactionType);
+
+    /**
+     * Track a batch of user interactions, accepting them in order until tracking is
+     * overloaded
+     */
+    InteractionBatchResponse trackUserInteractions(Long userId, List<InteractionRequest> interactions);
+
+    /**
+     * Track a recommendation list served to a user, for the diversity metric; called for
+     * every list served, whether or not it came from the cache
+     */
+    void trackRecommendationList(List<Vehicle> recommendations);
 
     /**
      * Get trending cars (recently popular)
@@ -0,0 +1,11 @@
+package com.driverental.onlinecarrental.service;
+
+import com.driverental.onlinecarrental.model.dto.response.WaitlistEntryResponse;
+
+import java.util.List;
+
+public interface WaitlistService {
+    List<WaitlistEntryResponse> getUserEntries(Long userId);
+
+    WaitlistEntryResponse cancelEntry(Long id, Long userId);
+}
@@ -1,5 +1,6 @@
 package com.driverental.onlinecarrental.service.impl;
 
+import com.driverental.onlinecarrental.event.UserRegisteredEvent;
 import com.driverental.onlinecarrental.model.dto.request.LoginRequest;
 import com.driverental.onlinecarrental.model.dto.request.RegisterRequest;
 import com.driverental.onlinecarrental.model.dto.response.AuthResponse;
@@ -10,6 +11,7 @@ import com.driverental.onlinecarrental.security.JwtService;
 import com.driverental.onlinecarrental.service.AuthService;
 import com.driverental.onlinecarrental.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,7 @@ public class AuthServiceImpl implements AuthService {
         private final PasswordEncoder passwordEncoder;
         private final JwtService jwtService;
         private final AuthenticationManager authenticationManager;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Override
         public AuthResponse register(RegisterRequest request) {
@@ -42,6 +45,7 @@ public class AuthServiceImpl implements AuthService {
                                 .build();
 
                 User savedUser = userRepository.save(user);
+                eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId()));
 
                 String jwtToken = jwtService.generateToken(new UserPrincipal(savedUser));
 
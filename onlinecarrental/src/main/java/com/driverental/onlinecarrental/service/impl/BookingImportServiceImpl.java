@@ -0,0 +1,346 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.algorithm.availability.IntervalIndex;
+import com.driverental.onlinecarrental.algorithm.pricing.DemandForecaster;
+import com.driverental.onlinecarrental.algorithm.pricing.PriceQuote;
+import com.driverental.onlinecarrental.config.BookingImportProperties;
+import com.driverental.onlinecarrental.model.dto.response.BookingImportResponse;
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.driverental.onlinecarrental.service.BookingImportService;
+import com.driverental.onlinecarrental.service.PricingService;
+import com.driverental.onlinecarrental.util.Money;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Bulk import of reservations from CSV.
+ *
+ * The file is read line by line and committed in chunks, so memory stays flat regardless
+ * of file size. Everything a row is validated against - users, vehicles and the
+ * occupied date ranges - is loaded once up front, which leaves no per-row queries; rows
+ * accepted earlier in the same file count as occupied for the rows after them, until
+ * their chunk fails to commit. Inserts
+ * go through a session-level JDBC batch, which works because booking ids come from a
+ * pooled generator rather than IDENTITY.
+ *
+ * Expected header (any column order): userId, vehicleId, startDate, endDate,
+ * pickupLocation, dropoffLocation and optionally totalPrice and status. Without a
+ * totalPrice the row is priced like a booking, through the pricing pipeline; status
+ * defaults to CONFIRMED.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingImportServiceImpl implements BookingImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "userId", "vehicleId", "startDate", "endDate", "pickupLocation", "dropoffLocation");
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final VehicleRepository vehicleRepository;
+    private final BookingImportProperties properties;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final DemandForecaster demandForecaster;
+    private final PricingService pricingService;
+
+    @Override
+    public BookingImportResponse importBookings(InputStream csv) {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+
+        Set<Long> userIds = new HashSet<>(userRepository.findAllIds());
+        Map<Long, Vehicle> vehicles = new HashMap<>();
+        for (Vehicle vehicle : vehicleRepository.findAll()) {
+            vehicles.put(vehicle.getId(), vehicle);
+        }
+        IntervalIndex occupied = new IntervalIndex();
+        for (Object[] row : bookingRepository.findOccupiedIntervals(today)) {
+            occupied.add((Long) row[0], (LocalDate) row[1], (LocalDate) row[2]);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<BookingImportResponse.RowError> errors = new ArrayList<>();
+        int totalRows = 0;
+        int importedRows = 0;
+        int failedRows = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new BusinessException("CSV file is empty");
+            }
+            Map<String, Integer> columns = parseHeader(headerLine);
+
+            List<ImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                totalRows++;
+                try {
+                    ImportRow row = parseRow(lineNumber, splitLine(line), columns, userIds, vehicles, today);
+                    if (occupied.conflicts(row.vehicleId(), row.startDate(), row.endDate())) {
+                        throw new BusinessException("Vehicle " + row.vehicleId() + " is already booked between "
+                                + row.startDate() + " and " + row.endDate());
+                    }
+                    occupied.add(row.vehicleId(), row.startDate(), row.endDate());
+                    chunk.add(row);
+                } catch (BusinessException e) {
+                    failedRows++;
+                    addError(errors, lineNumber, e.getMessage());
+                }
+
+                if (chunk.size() >= properties.getChunkSize()) {
+                    int written = writeChunk(transaction, chunk, occupied, errors);
+                    importedRows += written;
+                    failedRows += chunk.size() - written;
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                int written = writeChunk(transaction, chunk, occupied, errors);
+                importedRows += written;
+                failedRows += chunk.size() - written;
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Could not read CSV file: " + e.getMessage());
+        }
+
+        if (importedRows > 0) {
+            // Imported rows bypass the booking events, so refit the demand forecast from the table
+            demandForecaster.backfill();
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Booking import finished: {} rows, {} imported, {} failed in {} ms",
+                totalRows, importedRows, failedRows, elapsed);
+
+        return BookingImportResponse.builder()
+                .totalRows(totalRows)
+                .importedRows(importedRows)
+                .failedRows(failedRows)
+                .elapsedMillis(elapsed)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Inserts one chunk in its own transaction. If the database rejects it, the whole
+     * chunk is reported as failed, its ranges are freed for later rows, and the import
+     * carries on with the next one.
+     */
+    private int writeChunk(TransactionTemplate transaction, List<ImportRow> chunk, IntervalIndex occupied,
+            List<BookingImportResponse.RowError> errors) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                session.setJdbcBatchSize(properties.getJdbcBatchSize());
+                LocalDateTime now = LocalDateTime.now();
+
+                for (ImportRow row : chunk) {
+                    Booking booking = Booking.builder()
+                            .user(entityManager.getReference(User.class, row.userId()))
+                            .vehicle(entityManager.getReference(Vehicle.class, row.vehicleId()))
+                            .startDate(row.startDate())
+                            .endDate(row.endDate())
+                            .totalPrice(row.totalPrice())
+                            .pricingRulesVersion(row.pricingRulesVersion())
+                            .status(row.status())
+                            .pickupLocation(row.pickupLocation())
+                            .dropoffLocation(row.dropoffLocation())
+                            .createdAt(now)
+                            .confirmedAt(row.status() == BookingStatus.CONFIRMED ? now : null)
+                            .build();
+                    entityManager.persist(booking);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return chunk.size();
+        } catch (RuntimeException e) {
+            log.error("Failed to write booking import chunk starting at line {}", chunk.get(0).line(), e);
+            for (ImportRow row : chunk) {
+                occupied.remove(row.vehicleId(), row.startDate(), row.endDate());
+                addError(errors, row.line(), "Rejected by database: " + e.getMessage());
+            }
+            return 0;
+        }
+    }
+
+    private ImportRow parseRow(long lineNumber, List<String> fields, Map<String, Integer> columns,
+            Set<Long> userIds, Map<Long, Vehicle> vehicles, LocalDate today) {
+        Long userId = parseId(required(fields, columns, "userId"), "userId");
+        if (!userIds.contains(userId)) {
+            throw new BusinessException("User not found with id: " + userId);
+        }
+
+        Long vehicleId = parseId(required(fields, columns, "vehicleId"), "vehicleId");
+        Vehicle vehicle = vehicles.get(vehicleId);
+        if (vehicle == null) {
+            throw new BusinessException("Vehicle not found with id: " + vehicleId);
+        }
+
+        LocalDate startDate = parseDate(required(fields, columns, "startDate"), "startDate");
+        LocalDate endDate = parseDate(required(fields, columns, "endDate"), "endDate");
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("Start date cannot be after end date");
+        }
+        if (startDate.isBefore(today)) {
+            throw new BusinessException("Start date cannot be in the past");
+        }
+
+        Money totalPrice;
+        Long pricingRulesVersion = null;
+        String price = optional(fields, columns, "totalPrice");
+        if (price == null) {
+            PriceQuote quote = pricingService.calculateBookingPrice(vehicle, startDate, endDate);
+            totalPrice = quote.totalPrice();
+            pricingRulesVersion = quote.rulesVersion();
+        } else {
+            try {
+                totalPrice = Money.of(new BigDecimal(price));
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new BusinessException("Invalid totalPrice: " + price);
+            }
+            if (totalPrice.isNegative()) {
+                throw new BusinessException("totalPrice cannot be negative");
+            }
+        }
+
+        BookingStatus status = BookingStatus.CONFIRMED;
+        String statusValue = optional(fields, columns, "status");
+        if (statusValue != null) {
+            try {
+                status = BookingStatus.valueOf(statusValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Invalid status: " + statusValue);
+            }
+            if (status != BookingStatus.PENDING && status != BookingStatus.CONFIRMED) {
+                throw new BusinessException("Imported bookings must be PENDING or CONFIRMED");
+            }
+        }
+
+        return new ImportRow(lineNumber, userId, vehicleId, startDate, endDate,
+                required(fields, columns, "pickupLocation"), required(fields, columns, "dropoffLocation"),
+                totalPrice.toBigDecimal(), pricingRulesVersion, status);
+    }
+
+    private Map<String, Integer> parseHeader(String headerLine) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitLine(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column.toLowerCase(Locale.ROOT))) {
+                throw new BusinessException("CSV header is missing required column: " + column);
+            }
+        }
+        return columns;
+    }
+
+    private String required(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = optional(fields, columns, column);
+        if (value == null) {
+            throw new BusinessException("Missing value for " + column);
+        }
+        return value;
+    }
+
+    private String optional(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Long parseId(String value, String column) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private LocalDate parseDate(String value, String column) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid " + column + " (expected YYYY-MM-DD): " + value);
+        }
+    }
+
+    private void addError(List<BookingImportResponse.RowError> errors, long line, String message) {
+        if (errors.size() < properties.getMaxReportedErrors()) {
+            errors.add(new BookingImportResponse.RowError(line, message));
+        }
+    }
+
+    /**
+     * Splits a single CSV record, honouring double-quoted fields and "" escapes.
+     */
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record ImportRow(long line, Long userId, Long vehicleId, LocalDate startDate, LocalDate endDate,
+            String pickupLocation, String dropoffLocation, BigDecimal totalPrice, Long pricingRulesVersion,
+            BookingStatus status) {
+    }
+}
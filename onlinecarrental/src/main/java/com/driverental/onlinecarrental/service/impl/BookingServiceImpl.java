@@ -1,26 +1,31 @@
 package com.driverental.onlinecarrental.service.impl;
 
+import com.driverental.onlinecarrental.algorithm.pricing.PriceQuote;
+import com.driverental.onlinecarrental.event.BookingUnavailableEvent;
+import com.driverental.onlinecarrental.event.VehicleCatalogChangedEvent;
 import com.driverental.onlinecarrental.model.dto.request.BookingRequest;
 import com.driverental.onlinecarrental.model.dto.response.BookingResponse;
 import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.entity.User;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
 import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
 import com.driverental.onlinecarrental.model.exception.BusinessException;
 import com.driverental.onlinecarrental.model.exception.ResourceNotFoundException;
 import com.driverental.onlinecarrental.repository.BookingRepository;
 import com.driverental.onlinecarrental.repository.UserRepository;
 import com.driverental.onlinecarrental.repository.VehicleRepository;
 import com.driverental.onlinecarrental.service.BookingService;
+import com.driverental.onlinecarrental.service.OutboxService;
 import com.driverental.onlinecarrental.service.PricingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -35,6 +40,8 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final PricingService pricingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -73,10 +80,13 @@ public class BookingServiceImpl implements BookingService {
         if (!isVehicleAvailable(request.getVehicleId(), request.getStartDate(), request.getEndDate(), userId)) {
             log.warn("Vehicle {} not available for dates {} to {} (user: {})", 
                     request.getVehicleId(), startDate, endDate, userId);
+            // Queues the customer on the waitlist once this transaction has rolled back
+            eventPublisher.publishEvent(new BookingUnavailableEvent(userId, request, startDate, endDate));
             throw new BusinessException("Vehicle not available for selected dates. Please choose different dates.");
         }
 
-        BigDecimal totalPrice = pricingService.calculateBookingPrice(vehicle, startDate, endDate);
+        PriceQuote price = pricingService.calculateBookingPrice(vehicle, startDate, endDate, userId,
+                request.getQuoteToken());
 
         // Create booking
         Booking booking = Booking.builder()
@@ -84,7 +94,8 @@ public class BookingServiceImpl implements BookingService {
                 .vehicle(vehicle)
                 .startDate(startDate)
                 .endDate(endDate)
-                .totalPrice(totalPrice)
+                .totalPrice(price.totalPrice().toBigDecimal())
+                .pricingRulesVersion(price.rulesVersion())
                 .status(BookingStatus.PENDING)
                 .pickupLocation(request.getPickupLocation())
                 .dropoffLocation(request.getDropoffLocation())
@@ -92,6 +103,7 @@ public class BookingServiceImpl implements BookingService {
                 .build();
 
         Booking savedBooking = bookingRepository.save(booking);
+        outboxService.recordBookingEvent(savedBooking, OutboxEventType.BOOKING_CREATED);
         log.info("Booking created successfully: {} for vehicle: {}, dates: {} to {}", 
                 savedBooking.getId(), vehicle.getId(), startDate, endDate);
 
@@ -111,13 +123,11 @@ public class BookingServiceImpl implements BookingService {
             throw new ResourceNotFoundException("User", "id", userId);
         }
 
-        Page<Booking> bookings = bookingRepository.findByUserId(userId, pageable);
-        return bookings.map(this::convertToResponse);
+        return bookingRepository.findResponsesByUserId(userId, pageable);
     }
 
     public Page<BookingResponse> getAllBookings(Pageable pageable) {
-        Page<Booking> bookings = bookingRepository.findAll(pageable);
-        return bookings.map(this::convertToResponse);
+        return bookingRepository.findAllResponses(pageable);
     }
 
     @Override
@@ -139,6 +149,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setCancelledAt(LocalDateTime.now());
 
         Booking updatedBooking = bookingRepository.save(booking);
+        outboxService.recordBookingEvent(updatedBooking, OutboxEventType.BOOKING_CANCELLED);
         log.info("Booking cancelled: {}", id);
 
         return convertToResponse(updatedBooking);
@@ -166,6 +177,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setConfirmedAt(LocalDateTime.now());
 
         Booking updatedBooking = bookingRepository.save(booking);
+        outboxService.recordBookingEvent(updatedBooking, OutboxEventType.BOOKING_CONFIRMED);
         log.info("Booking confirmed: {}", id);
 
         return convertToResponse(updatedBooking);
@@ -183,9 +195,9 @@ public class BookingServiceImpl implements BookingService {
             log.debug("Found {} conflicting bookings for vehicle {} on dates {} to {}", 
                     conflictingBookings.size(), vehicleId, start, end);
             conflictingBookings.forEach(b -> 
-                    log.debug("  - Booking {}: {} ({}) to {} ({})", 
-                            b.getId(), b.getUser().getEmail(), b.getStatus(), 
-                            b.getEndDate(), b.getStatus()));
+                    log.debug("  - Booking {}: user={}, status={}, period: {} to {}", 
+                            b.getId(), b.getUser().getId(), b.getStatus(), 
+                            b.getStartDate(), b.getEndDate()));
         }
         return conflictingBookings.isEmpty();
     }
@@ -208,7 +220,7 @@ public class BookingServiceImpl implements BookingService {
                     vehicleId, userId, start, end, otherConflicts.size());
             otherConflicts.forEach(b -> 
                     log.debug("  - Booking {}: user={}, status={}, period: {} to {}", 
-                            b.getId(), b.getUser().getEmail(), b.getStatus(), 
+                            b.getId(), b.getUser().getId(), b.getStatus(), 
                             b.getStartDate(), b.getEndDate()));
         } else if (!conflictingBookings.isEmpty()) {
             log.info("User {} is retrying their own PENDING booking for vehicle {} on dates {} to {}", 
@@ -231,6 +243,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         bookingRepository.saveAll(expiredBookings);
+        expiredBookings.forEach(booking -> outboxService.recordBookingEvent(booking, OutboxEventType.BOOKING_EXPIRED));
     }
 
     @Override
@@ -247,10 +260,12 @@ public class BookingServiceImpl implements BookingService {
         Vehicle vehicle = booking.getVehicle();
         vehicle.setIsAvailable(true);
         vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleCatalogChangedEvent(vehicle.getId()));
 
         // Update booking status to COMPLETED
         booking.setStatus(BookingStatus.COMPLETED);
         Booking updatedBooking = bookingRepository.save(booking);
+        outboxService.recordBookingEvent(updatedBooking, OutboxEventType.BOOKING_COMPLETED);
 
         log.info("Car returned successfully for booking: {}", bookingId);
         return convertToResponse(updatedBooking);
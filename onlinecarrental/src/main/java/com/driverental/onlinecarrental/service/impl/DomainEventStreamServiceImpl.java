@@ -0,0 +1,171 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.config.OutboxProperties;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.service.DomainEventStreamService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans relayed domain events out to admin SSE subscribers.
+ *
+ * The relay only ever offers into a bounded per-client buffer, so a slow connection can
+ * never stall it or the other subscribers. Each client is written by its own sender task.
+ * A client whose buffer fills up is disconnected; it resumes where it left off by
+ * reconnecting with Last-Event-ID, which is replayed from the outbox table. Event ids on
+ * the stream are the relay's publish sequence, not outbox ids, so a replay resumes exactly
+ * after the last event the client saw in delivery order. Live events relayed while the
+ * replay is loaded wait in the client's buffer and are sent after it, skipping any the
+ * replay already covered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventStreamServiceImpl implements DomainEventStreamService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxProperties properties;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public SseEmitter subscribe(Long lastEventId) {
+        if (clients.size() >= properties.getMaxClients()) {
+            throw new BusinessException("Too many event stream subscribers, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Client client = new Client(emitter, properties.getClientBufferSize());
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+
+        // Registered before the replay query so an event relayed in between is buffered, not lost;
+        // nothing is sent until the replay is in place
+        clients.add(client);
+        if (lastEventId != null) {
+            client.lastSentSequence = lastEventId;
+            try {
+                client.backlog = outboxEventRepository
+                        .findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(lastEventId,
+                                PageRequest.of(0, properties.getReplayLimit()))
+                        .stream()
+                        .map(DomainEvent::from)
+                        .toList();
+            } catch (RuntimeException e) {
+                clients.remove(client);
+                throw e;
+            }
+        }
+        client.ready = true;
+        client.scheduleSend();
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return clients.size();
+    }
+
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        for (Client client : clients) {
+            if (client.buffer.offer(event)) {
+                client.scheduleSend();
+            } else {
+                log.warn("Event stream subscriber fell {} events behind; disconnecting", client.buffer.size());
+                clients.remove(client);
+                client.emitter.complete();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.forEach(client -> client.emitter.complete());
+        clients.clear();
+        senders.shutdownNow();
+    }
+
+    private final class Client {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<DomainEvent> buffer;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile List<DomainEvent> backlog = List.of();
+        // Set once the replay is loaded; live events only buffer until then
+        private volatile boolean ready;
+        // Set before the client is ready, then only touched by the sender task, which never runs
+        // concurrently with itself
+        private long lastSentSequence;
+
+        private Client(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void scheduleSend() {
+            if (ready && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                List<DomainEvent> replay = backlog;
+                if (!replay.isEmpty()) {
+                    backlog = List.of();
+                    for (DomainEvent event : replay) {
+                        writeOnce(event);
+                    }
+                }
+                DomainEvent event;
+                while ((event = buffer.poll()) != null) {
+                    writeOnce(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                clients.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // Picks up events, or the backlog, that arrived while this run was finishing
+            if (!buffer.isEmpty() || !backlog.isEmpty()) {
+                scheduleSend();
+            }
+        }
+
+        // Skips events that were already sent, from the replay or live
+        private void writeOnce(DomainEvent event) throws IOException {
+            if (event.sequence() > lastSentSequence) {
+                write(event);
+            }
+        }
+
+        private void write(DomainEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.sequence()))
+                    .name(event.type().name())
+                    .data(event.payload(), MediaType.APPLICATION_JSON));
+            lastSentSequence = event.sequence();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.driverental.onlinecarrental.config.EsewaProperties;
 import com.driverental.onlinecarrental.model.dto.request.EsewaInitiateRequest;
 import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.entity.Payment;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
 import com.driverental.onlinecarrental.model.enums.PaymentMethod;
 import com.driverental.onlinecarrental.model.enums.PaymentStatus;
 import com.driverental.onlinecarrental.model.exception.BusinessException;
@@ -12,6 +13,8 @@ import com.driverental.onlinecarrental.repository.BookingRepository;
 import com.driverental.onlinecarrental.repository.PaymentRepository;
 import com.driverental.onlinecarrental.service.BookingService;
 import com.driverental.onlinecarrental.service.EsewaPaymentService;
+import com.driverental.onlinecarrental.service.OutboxService;
+import com.driverental.onlinecarrental.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -27,7 +30,6 @@ import jakarta.persistence.EntityManager;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Base64;
@@ -47,6 +49,7 @@ public class EsewaPaymentServiceImpl implements EsewaPaymentService {
     private final BookingService bookingService;
     private final RestTemplateBuilder restTemplateBuilder;
     private final EntityManager entityManager;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -89,6 +92,7 @@ public class EsewaPaymentServiceImpl implements EsewaPaymentService {
                 payment.setPaymentMethod(PaymentMethod.ESEWA);
                 payment.setStatus(PaymentStatus.PROCESSING);
                 paymentRepository.save(payment);
+                outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_INITIATED);
                 
                 log.info("Payment updated successfully. UUID: {}", uuid);
             } else {
@@ -123,6 +127,7 @@ public class EsewaPaymentServiceImpl implements EsewaPaymentService {
                     .build();
             
             Payment saved = paymentRepository.save(payment);
+            outboxService.recordPaymentEvent(saved, OutboxEventType.PAYMENT_INITIATED);
             log.info("Payment created successfully. ID: {}, UUID: {}", saved.getId(), uuid);
             
             return uuid;
@@ -176,6 +181,7 @@ public class EsewaPaymentServiceImpl implements EsewaPaymentService {
                 payment.setStatus(PaymentStatus.COMPLETED);
                 payment.setCompletedAt(LocalDateTime.now());
                 paymentRepository.save(payment);
+                outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_COMPLETED);
 
                 if (payment.getBooking() != null) {
                     bookingService.confirmBooking(payment.getBooking().getId());
@@ -183,6 +189,7 @@ public class EsewaPaymentServiceImpl implements EsewaPaymentService {
             } else {
                 payment.setStatus(PaymentStatus.FAILED);
                 paymentRepository.save(payment);
+                outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_FAILED);
             }
         } else {
             log.warn("No local Payment found for transaction uuid={}", uuid);
@@ -195,23 +202,22 @@ public class EsewaPaymentServiceImpl implements EsewaPaymentService {
     }
 
     private Map<String, String> buildEsewaFormParams(String transactionUuid, BigDecimal totalAmount) {
-        // Ensure the amount is properly scaled
-        totalAmount = totalAmount.setScale(2, RoundingMode.HALF_UP);
-        
+        Money total = Money.of(totalAmount);
+
         // For eSewa requests, whole numbers should be formatted without decimals
         // (e.g., "100" instead of "100.00") and decimals should be plain strings
-        String totalAmountForFormAndSignature = totalAmount.stripTrailingZeros().scale() <= 0
-                ? String.valueOf(totalAmount.intValue())
-                : totalAmount.toPlainString();
+        String totalAmountForFormAndSignature = total.paisa() % 100 == 0
+                ? String.valueOf(total.paisa() / 100)
+                : total.toString();
 
         // Calculate amount breakdown (all charges are zero for test/basic implementation)
-        BigDecimal taxAmount = new BigDecimal("0.00");
-        BigDecimal serviceCharge = new BigDecimal("0.00");
-        BigDecimal deliveryCharge = new BigDecimal("0.00");
-        BigDecimal amount = totalAmount.subtract(taxAmount).subtract(serviceCharge).subtract(deliveryCharge);
+        Money taxAmount = Money.ZERO;
+        Money serviceCharge = Money.ZERO;
+        Money deliveryCharge = Money.ZERO;
+        Money amount = total.minus(taxAmount).minus(serviceCharge).minus(deliveryCharge);
 
         Map<String, String> params = new HashMap<>();
-        params.put("amount", amount.toPlainString());
+        params.put("amount", amount.toString());
         params.put("tax_amount", "0");
         params.put("total_amount", totalAmountForFormAndSignature);
         params.put("transaction_uuid", transactionUuid);
@@ -0,0 +1,220 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.config.IdempotencyProperties;
+import com.driverental.onlinecarrental.model.entity.IdempotencyRecord;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.model.exception.DuplicateResourceException;
+import com.driverental.onlinecarrental.repository.IdempotencyRecordRepository;
+import com.driverental.onlinecarrental.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based idempotency store.
+ *
+ * Keys live in an access-ordered map capped at {@code app.idempotency.max-entries}; each entry
+ * holds a future so a retry that arrives while the first attempt is still running waits for it,
+ * up to {@code app.idempotency.wait-timeout}, instead of repeating the work. Entries still running
+ * are never evicted, so the map can briefly exceed its cap by the number of attempts in flight. With {@code app.idempotency.persistent=true} completed responses
+ * are also written to the idempotency_keys table and read back on a memory miss.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Object lock = new Object();
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            // Evict the least recently used completed entries; running ones have retries waiting on them
+            Iterator<Entry> iterator = values().iterator();
+            while (size() > properties.getMaxEntries() && iterator.hasNext()) {
+                if (iterator.next().result.isDone()) {
+                    iterator.remove();
+                }
+            }
+            return false;
+        }
+    };
+
+    @Override
+    public <T> T execute(String scope, String key, Object request, TypeReference<T> responseType,
+            Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = scope + ":" + key;
+        String requestHash = fingerprint(request);
+        long now = System.currentTimeMillis();
+
+        Entry owned = new Entry(requestHash, now + properties.getTtl().toMillis());
+        Entry existing;
+        synchronized (lock) {
+            existing = entries.get(id);
+            if (existing != null && existing.isExpired(now)) {
+                entries.remove(id);
+                existing = null;
+            }
+            if (existing == null) {
+                entries.put(id, owned);
+            }
+        }
+
+        if (existing != null) {
+            log.debug("Replaying idempotent response for key {}", id);
+            return awaitStored(existing, requestHash);
+        }
+
+        try {
+            T response = loadPersisted(id, requestHash, responseType);
+            if (response == null) {
+                response = action.get();
+                persist(id, requestHash, response);
+            }
+            owned.result.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // Failed attempts are not remembered so the client can retry with the same key
+            synchronized (lock) {
+                entries.remove(id, owned);
+            }
+            owned.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpiredKeys() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        synchronized (lock) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        if (properties.isPersistent()) {
+            removed += idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        }
+        if (removed > 0) {
+            log.debug("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T awaitStored(Entry entry, String requestHash) {
+        if (!entry.requestHash.equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key has already been used for a different request");
+        }
+        try {
+            return (T) entry.result.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T loadPersisted(String id, String requestHash, TypeReference<T> responseType) {
+        if (!properties.isPersistent()) {
+            return null;
+        }
+        IdempotencyRecord record = idempotencyRecordRepository.findById(id).orElse(null);
+        if (record == null || record.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key has already been used for a different request");
+        }
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            log.warn("Stored idempotent response for key {} could not be read, re-executing", id);
+            return null;
+        }
+    }
+
+    private void persist(String id, String requestHash, Object response) {
+        if (!properties.isPersistent()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                    .id(id)
+                    .requestHash(requestHash)
+                    .responseBody(objectMapper.writeValueAsString(response))
+                    .createdAt(now)
+                    .expiresAt(now.plus(properties.getTtl()))
+                    .build());
+        } catch (JsonProcessingException | DataIntegrityViolationException e) {
+            // The response is still served from memory; only cross-restart replay is lost
+            log.warn("Could not persist idempotency key {}: {}", id, e.getMessage());
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = request == null ? new byte[0] : objectMapper.writeValueAsBytes(request);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint idempotent request", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String requestHash;
+        private final long expiresAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(String requestHash, long expiresAt) {
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
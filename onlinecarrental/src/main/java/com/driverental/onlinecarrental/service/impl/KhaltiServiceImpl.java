@@ -6,12 +6,15 @@ import com.driverental.onlinecarrental.model.dto.khalti.KhaltiRequest;
 import com.driverental.onlinecarrental.model.dto.khalti.KhaltiResponse;
 import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.entity.Payment;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
 import com.driverental.onlinecarrental.model.enums.PaymentStatus;
 import com.driverental.onlinecarrental.model.exception.ResourceNotFoundException;
 import com.driverental.onlinecarrental.repository.BookingRepository;
 import com.driverental.onlinecarrental.repository.PaymentRepository;
 import com.driverental.onlinecarrental.service.BookingService;
 import com.driverental.onlinecarrental.service.KhaltiService;
+import com.driverental.onlinecarrental.service.OutboxService;
+import com.driverental.onlinecarrental.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -34,6 +37,7 @@ public class KhaltiServiceImpl implements KhaltiService {
     private final BookingRepository bookingRepository;
     private final PaymentRepository paymentRepository;
     private final BookingService bookingService;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -49,7 +53,8 @@ public class KhaltiServiceImpl implements KhaltiService {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("return_url", config.getCallbackUrl());
         requestBody.put("website_url", config.getWebsiteUrl());
-        requestBody.put("amount", khalti.getAmount()); // amount in paisa
+        // Charge the booking's own total rather than an amount supplied by the client
+        requestBody.put("amount", Money.of(booking.getTotalPrice()).paisa()); // amount in paisa
         requestBody.put("purchase_order_id", khalti.getPurchase_order_id());
         requestBody.put("purchase_order_name", khalti.getPurchase_order_name());
 
@@ -78,6 +83,7 @@ public class KhaltiServiceImpl implements KhaltiService {
             payment.setStatus(PaymentStatus.PROCESSING);
             payment.setTransactionId(khaltiResponse.getPidx());
             paymentRepository.save(payment);
+            outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_INITIATED);
 
             log.info("Khalti payment initiated for booking: {}", bookingId);
             return khaltiResponse;
@@ -97,6 +103,7 @@ public class KhaltiServiceImpl implements KhaltiService {
             if (payment != null) {
                 payment.setStatus(PaymentStatus.FAILED);
                 paymentRepository.save(payment);
+                outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_FAILED);
             }
             return false;
         }
@@ -131,6 +138,7 @@ public class KhaltiServiceImpl implements KhaltiService {
                         payment.setStatus(PaymentStatus.COMPLETED);
                         payment.setCompletedAt(LocalDateTime.now());
                         paymentRepository.save(payment);
+                        outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_COMPLETED);
 
                         // Confirm booking
                         if (payment.getBooking() != null) {
@@ -142,6 +150,7 @@ public class KhaltiServiceImpl implements KhaltiService {
                     if (payment != null) {
                         payment.setStatus(PaymentStatus.FAILED);
                         paymentRepository.save(payment);
+                        outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_FAILED);
                     }
                     return false;
                 }
@@ -153,6 +162,7 @@ public class KhaltiServiceImpl implements KhaltiService {
         if (payment != null) {
             payment.setStatus(PaymentStatus.FAILED);
             paymentRepository.save(payment);
+            outboxService.recordPaymentEvent(payment, OutboxEventType.PAYMENT_FAILED);
         }
         return false;
     }
@@ -0,0 +1,67 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.OutboxRelay;
+import com.driverental.onlinecarrental.event.PaymentEventPayload;
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.OutboxEvent;
+import com.driverental.onlinecarrental.model.entity.Payment;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBookingEvent(Booking booking, OutboxEventType type) {
+        record("Booking", booking.getId(), type, BookingEventPayload.from(booking));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPaymentEvent(Payment payment, OutboxEventType type) {
+        record("Payment", payment.getId(), type, PaymentEventPayload.from(payment));
+    }
+
+    private void record(String aggregateType, Long aggregateId, OutboxEventType type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " payload", e);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(type)
+                .payload(json)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        // Wake the relay as soon as the change is visible instead of waiting for its next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.requestDrain();
+            }
+        });
+    }
+}
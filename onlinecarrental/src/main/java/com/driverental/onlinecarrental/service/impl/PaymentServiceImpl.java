@@ -4,11 +4,13 @@ import com.driverental.onlinecarrental.model.dto.request.PaymentRequest;
 import com.driverental.onlinecarrental.model.dto.response.PaymentResponse;
 import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.entity.Payment;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
 import com.driverental.onlinecarrental.model.enums.PaymentStatus;
 import com.driverental.onlinecarrental.model.exception.ResourceNotFoundException;
 import com.driverental.onlinecarrental.repository.BookingRepository;
 import com.driverental.onlinecarrental.repository.PaymentRepository;
 import com.driverental.onlinecarrental.service.PaymentService;
+import com.driverental.onlinecarrental.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +21,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -34,6 +37,7 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setStatus(PaymentStatus.PENDING);
 
         Payment saved = paymentRepository.save(payment);
+        outboxService.recordPaymentEvent(saved, OutboxEventType.PAYMENT_INITIATED);
         return toResponse(saved);
     }
 
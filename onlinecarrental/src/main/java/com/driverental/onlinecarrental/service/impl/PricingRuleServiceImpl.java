@@ -0,0 +1,221 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.algorithm.pricing.PricingRuleRegistry;
+import com.driverental.onlinecarrental.algorithm.pricing.PricingRules;
+import com.driverental.onlinecarrental.algorithm.pricing.PricingSimulator;
+import com.driverental.onlinecarrental.model.dto.request.PriceRuleRequest;
+import com.driverental.onlinecarrental.model.dto.request.PriceRulesRequest;
+import com.driverental.onlinecarrental.model.dto.request.PricingSimulationRequest;
+import com.driverental.onlinecarrental.model.dto.response.PriceRuleResponse;
+import com.driverental.onlinecarrental.model.dto.response.PricingRulesResponse;
+import com.driverental.onlinecarrental.model.dto.response.PricingSimulationResponse;
+import com.driverental.onlinecarrental.model.entity.PriceConfig;
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.model.exception.ResourceNotFoundException;
+import com.driverental.onlinecarrental.repository.PriceConfigRepository;
+import com.driverental.onlinecarrental.service.PricingRuleService;
+import com.driverental.onlinecarrental.util.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PricingRuleServiceImpl implements PricingRuleService {
+
+    private final PriceConfigRepository priceConfigRepository;
+    private final PricingRuleRegistry pricingRuleRegistry;
+    private final PricingSimulator pricingSimulator;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PricingRulesResponse getRules() {
+        return toResponse(priceConfigRepository.findMaxVersion(), priceConfigRepository.findAll());
+    }
+
+    @Override
+    @Transactional
+    public PricingRulesResponse updateRules(PriceRulesRequest request) {
+        long version = priceConfigRepository.findMaxVersion() + 1;
+
+        Map<String, PriceConfig> rulesByKey = new LinkedHashMap<>();
+        for (PriceConfig rule : priceConfigRepository.findAll()) {
+            rulesByKey.put(key(rule.getRuleType(), rule.getSelector()), rule);
+        }
+
+        List<PriceConfig> changed = new ArrayList<>();
+        for (PriceRuleRequest ruleRequest : request.getRules()) {
+            String selector = PricingRules.normalizeSelector(ruleRequest.getRuleType(), ruleRequest.getSelector());
+            PriceConfig rule = rulesByKey.computeIfAbsent(key(ruleRequest.getRuleType(), selector),
+                    key -> PriceConfig.builder().ruleType(ruleRequest.getRuleType()).selector(selector).build());
+            rule.setMultiplier(ruleRequest.getMultiplier());
+            rule.setActive(!Boolean.FALSE.equals(ruleRequest.getActive()));
+            rule.setVersion(version);
+            changed.add(rule);
+        }
+
+        // Compile the resulting rule set before saving so a bad edit never reaches the database
+        PricingRules.compile(version, rulesByKey.values().stream()
+                .filter(rule -> Boolean.TRUE.equals(rule.getActive()))
+                .toList());
+        priceConfigRepository.saveAll(changed);
+        log.info("Pricing rules updated to version {} ({} rules changed)", version, changed.size());
+
+        // Swap the snapshot on this instance once the new version is visible
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pricingRuleRegistry.reload();
+            }
+        });
+
+        return toResponse(version, rulesByKey.values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PricingSimulationResponse startSimulation(PricingSimulationRequest request) {
+        LocalDate toDate;
+        LocalDate fromDate;
+        try {
+            toDate = request.getToDate() != null ? LocalDate.parse(request.getToDate()) : LocalDate.now();
+            fromDate = request.getFromDate() != null ? LocalDate.parse(request.getFromDate()) : toDate.minusYears(1);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid date format. Please use YYYY-MM-DD");
+        }
+        if (fromDate.isAfter(toDate)) {
+            throw new BusinessException("Start date cannot be after end date");
+        }
+
+        // Candidate = active rules with the requested changes, built from copies so nothing is saved
+        Map<String, PriceConfig> candidateRules = new LinkedHashMap<>();
+        for (PriceConfig rule : priceConfigRepository.findByActiveTrue()) {
+            candidateRules.put(key(rule.getRuleType(), rule.getSelector()), rule);
+        }
+        for (PriceRuleRequest ruleRequest : request.getRules()) {
+            String selector = PricingRules.normalizeSelector(ruleRequest.getRuleType(), ruleRequest.getSelector());
+            String key = key(ruleRequest.getRuleType(), selector);
+            if (Boolean.FALSE.equals(ruleRequest.getActive())) {
+                candidateRules.remove(key);
+            } else {
+                candidateRules.put(key, PriceConfig.builder()
+                        .ruleType(ruleRequest.getRuleType())
+                        .selector(selector)
+                        .multiplier(ruleRequest.getMultiplier())
+                        .active(true)
+                        .build());
+            }
+        }
+
+        PricingRules current = pricingRuleRegistry.current();
+        PricingRules candidate = PricingRules.compileCandidate(List.copyOf(candidateRules.values()));
+        PricingSimulator.Simulation simulation = pricingSimulator.start(current, candidate, fromDate, toDate);
+        log.info("Pricing simulation {} started for bookings from {} to {}", simulation.id(), fromDate, toDate);
+        return toResponse(simulation);
+    }
+
+    @Override
+    public PricingSimulationResponse getSimulation(String id) {
+        return pricingSimulator.find(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Pricing simulation", "id", id));
+    }
+
+    private PricingSimulationResponse toResponse(PricingSimulator.Simulation simulation) {
+        List<PricingSimulationResponse.Group> groups = new ArrayList<>();
+        long bookings = 0;
+        Money actual = Money.ZERO;
+        Money current = Money.ZERO;
+        Money candidate = Money.ZERO;
+        for (PricingSimulator.GroupResult result : simulation.results()) {
+            groups.add(toGroup(result.month().toString(), result.location(), result.type(), result.bookings(),
+                    result.actual(), result.current(), result.candidate()));
+            bookings += result.bookings();
+            actual = actual.plus(result.actual());
+            current = current.plus(result.current());
+            candidate = candidate.plus(result.candidate());
+        }
+
+        long total = simulation.total();
+        return PricingSimulationResponse.builder()
+                .id(simulation.id())
+                .status(simulation.status())
+                .fromDate(simulation.from())
+                .toDate(simulation.to())
+                .currentRulesVersion(simulation.currentRulesVersion())
+                .processedBookings(simulation.processed())
+                .totalBookings(total)
+                .progress(total == 0 ? 0 : Math.min(1.0, (double) simulation.processed() / total))
+                .startedAt(toLocalDateTime(simulation.startedAt()))
+                .finishedAt(toLocalDateTime(simulation.finishedAt()))
+                .error(simulation.error())
+                .totals(groups.isEmpty() ? null : toGroup(null, null, null, bookings, actual, current, candidate))
+                .groups(groups)
+                .build();
+    }
+
+    private PricingSimulationResponse.Group toGroup(String month, String location, VehicleType type, long bookings,
+                                                    Money actual, Money current, Money candidate) {
+        Money delta = candidate.minus(current);
+        return PricingSimulationResponse.Group.builder()
+                .month(month)
+                .location(location)
+                .vehicleType(type)
+                .bookings(bookings)
+                .actualRevenue(actual.toBigDecimal())
+                .currentRulesRevenue(current.toBigDecimal())
+                .candidateRevenue(candidate.toBigDecimal())
+                .revenueDelta(delta.toBigDecimal())
+                .averagePriceDelta(bookings == 0 ? BigDecimal.ZERO.setScale(2) : delta.dividedBy(bookings).toBigDecimal())
+                .revenueDeltaPercent(current.isZero() ? null
+                        : Math.round(delta.paisa() * 10_000.0 / current.paisa()) / 100.0)
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static String key(PriceRuleType type, String selector) {
+        return type + ":" + selector;
+    }
+
+    private PricingRulesResponse toResponse(long version, Iterable<PriceConfig> rules) {
+        List<PriceRuleResponse> responses = new ArrayList<>();
+        for (PriceConfig rule : rules) {
+            responses.add(PriceRuleResponse.builder()
+                    .id(rule.getId())
+                    .ruleType(rule.getRuleType())
+                    .selector(rule.getSelector())
+                    .multiplier(rule.getMultiplier())
+                    .active(rule.getActive())
+                    .version(rule.getVersion())
+                    .updatedAt(rule.getUpdatedAt())
+                    .build());
+        }
+        responses.sort(Comparator.comparing(PriceRuleResponse::getRuleType)
+                .thenComparing(PriceRuleResponse::getSelector));
+        return PricingRulesResponse.builder()
+                .version(version)
+                .rules(responses)
+                .build();
+    }
+}
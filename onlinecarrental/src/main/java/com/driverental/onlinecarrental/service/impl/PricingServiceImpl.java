@@ -1,15 +1,25 @@
 package com.driverental.onlinecarrental.service.impl;
 
-import com.driverental.onlinecarrental.algorithm.pricing.DynamicPricingEngine;
+import com.driverental.onlinecarrental.algorithm.pricing.PriceCalendar;
+import com.driverental.onlinecarrental.algorithm.pricing.PriceQuote;
+import com.driverental.onlinecarrental.algorithm.pricing.PricingPipeline;
+import com.driverental.onlinecarrental.algorithm.pricing.PricingRules;
+import com.driverental.onlinecarrental.algorithm.pricing.QuoteCache;
+import com.driverental.onlinecarrental.algorithm.pricing.SignedQuote;
+import com.driverental.onlinecarrental.model.dto.response.PriceQuoteResponse;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
-import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.security.QuoteTokenService;
 import com.driverental.onlinecarrental.service.PricingService;
+import com.driverental.onlinecarrental.util.Money;
 
 import lombok.RequiredArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
@@ -17,25 +27,87 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class PricingServiceImpl implements PricingService {
 
-    private final DynamicPricingEngine dynamicPricingEngine;
-    private final BookingRepository bookingRepository;
+    private final PriceCalendar priceCalendar;
+    private final PricingPipeline pricingPipeline;
+    private final QuoteCache quoteCache;
+    private final QuoteTokenService quoteTokenService;
 
     @Override
-    public BigDecimal calculateBookingPrice(Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
-        long days = ChronoUnit.DAYS.between(startDate, endDate);
-        if (days < 1) {
-            days = 1;
+    public PriceQuote calculateBookingPrice(Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        // A quote the customer has just seen is reused; otherwise daily rates come from the calendar
+        PricingRules rules = pricingPipeline.rules();
+        PriceQuote cached = quoteCache.get(rules, vehicle, startDate, endDate);
+        if (cached != null) {
+            return cached;
         }
+        return new PriceQuote(priceCalendar.quote(rules, vehicle, startDate, endDate), rules.version());
+    }
+
+    @Override
+    public PriceQuote calculateBookingPrice(Vehicle vehicle, LocalDate startDate, LocalDate endDate, Long userId,
+                                           String quoteToken) {
+        if (quoteToken != null && !quoteToken.isBlank()) {
+            Optional<PriceQuote> quoted = quoteTokenService.redeem(quoteToken, userId, vehicle.getId(), startDate,
+                    endDate);
+            if (quoted.isPresent()) {
+                return quoted.get();
+            }
+        }
+        return calculateBookingPrice(vehicle, startDate, endDate);
+    }
 
-        Long totalBookings = bookingRepository.countByStartDateBetween(startDate, endDate);
-        if (totalBookings == null) {
-            totalBookings = 0L;
+    @Override
+    public List<PriceQuoteResponse> quoteAll(List<Vehicle> vehicles, LocalDate startDate, LocalDate endDate,
+                                             Long userId) {
+        if (vehicles.isEmpty()) {
+            return List.of();
         }
 
-        // Calculate a dynamic daily rate (engine ensures it never goes below base price)
-        BigDecimal dynamicDailyPrice = dynamicPricingEngine.calculateDynamicPrice(vehicle, startDate, endDate,
-                totalBookings);
+        PricingRules rules = pricingPipeline.rules();
+        PriceQuote[] quotes = new PriceQuote[vehicles.size()];
+        List<Vehicle> misses = new ArrayList<>();
+        List<Integer> missIndexes = new ArrayList<>();
+        for (int i = 0; i < quotes.length; i++) {
+            quotes[i] = quoteCache.get(rules, vehicles.get(i), startDate, endDate);
+            if (quotes[i] == null) {
+                misses.add(vehicles.get(i));
+                missIndexes.add(i);
+            }
+        }
 
-        return dynamicDailyPrice.multiply(BigDecimal.valueOf(days));
+        if (!misses.isEmpty()) {
+            // Range factors are computed once for all uncached vehicles; everything per vehicle stays in memory
+            long[] totals = priceCalendar.quoteAll(rules, misses, startDate, endDate);
+            for (int j = 0; j < totals.length; j++) {
+                PriceQuote quote = new PriceQuote(Money.ofPaisa(totals[j]), rules.version());
+                quoteCache.put(misses.get(j), startDate, endDate, quote);
+                quotes[missIndexes.get(j)] = quote;
+            }
+        }
+
+        long days = PricingPipeline.rentalDays(startDate, endDate);
+        List<PriceQuoteResponse> responses = new ArrayList<>(quotes.length);
+        for (int i = 0; i < quotes.length; i++) {
+            Money total = quotes[i].totalPrice();
+            // Tokens are bound to the customer, so anonymous visitors see prices without one
+            SignedQuote signed = userId == null
+                    ? null
+                    : quoteTokenService.sign(userId, vehicles.get(i).getId(), startDate, endDate, quotes[i]);
+            responses.add(PriceQuoteResponse.builder()
+                    .vehicleId(vehicles.get(i).getId())
+                    .startDate(startDate.toString())
+                    .endDate(endDate.toString())
+                    .days(days)
+                    .dailyPrice(vehicles.get(i).getDailyPrice())
+                    .averageDailyPrice(total.dividedBy(days).toBigDecimal())
+                    .totalPrice(total.toBigDecimal())
+                    .pricingRulesVersion(quotes[i].rulesVersion())
+                    .quoteToken(signed != null ? signed.token() : null)
+                    .quoteExpiresAt(signed != null
+                            ? LocalDateTime.ofInstant(signed.expiresAt(), ZoneId.systemDefault())
+                            : null)
+                    .build());
+        }
+        return responses;
     }
-}
\ No newline at end of file
+}
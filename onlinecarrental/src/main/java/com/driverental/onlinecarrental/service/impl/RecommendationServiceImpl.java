@@ -2,13 +2,23 @@ package com.driverental.onlinecarrental.service.impl;
 
 import com.driverental.onlinecarrental.algorithm.recommendation.CollaborativeFiltering;
 import com.driverental.onlinecarrental.algorithm.recommendation.HybridRecommender;
-import com.driverental.onlinecarrental.algorithm.recommendation.MatrixFactorization;
+import com.driverental.onlinecarrental.algorithm.recommendation.InteractionIngestor;
+import com.driverental.onlinecarrental.algorithm.recommendation.InteractionStore;
+import com.driverental.onlinecarrental.algorithm.recommendation.ItemNeighbourBuilder;
+import com.driverental.onlinecarrental.algorithm.recommendation.RecommendationMetrics;
+import com.driverental.onlinecarrental.algorithm.recommendation.RecommendationModelTrainer;
+import com.driverental.onlinecarrental.algorithm.recommendation.TrendingCounters;
+import com.driverental.onlinecarrental.algorithm.recommendation.UserInteraction;
+import com.driverental.onlinecarrental.algorithm.recommendation.UserSimilarity;
+import com.driverental.onlinecarrental.algorithm.recommendation.UserSimilarityIndex;
+import com.driverental.onlinecarrental.algorithm.recommendation.VehicleSimilarityIndex;
+import com.driverental.onlinecarrental.model.dto.request.InteractionRequest;
+import com.driverental.onlinecarrental.model.dto.response.InteractionBatchResponse;
 import com.driverental.onlinecarrental.model.dto.response.RecommendationResponse;
 import com.driverental.onlinecarrental.model.entity.Booking;
 import com.driverental.onlinecarrental.model.entity.User;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
 import com.driverental.onlinecarrental.model.enums.VehicleType;
-import com.driverental.onlinecarrental.repository.BookingRepository;
 import com.driverental.onlinecarrental.repository.UserRepository;
 import com.driverental.onlinecarrental.repository.VehicleRepository;
 import com.driverental.onlinecarrental.service.RecommendationService;
@@ -16,11 +26,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import lombok.Data;
-import lombok.Builder;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
@@ -32,15 +40,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RecommendationServiceImpl implements RecommendationService {
 
+    // Trending leaders loaded per request, enough to fill 10 after unavailable ones are skipped
+    private static final int TRENDING_CANDIDATES = 30;
+
     private final HybridRecommender hybridRecommender;
     private final CollaborativeFiltering collaborativeFiltering;
-    private final MatrixFactorization matrixFactorization;
+    private final RecommendationModelTrainer recommendationModelTrainer;
+    private final ItemNeighbourBuilder itemNeighbourBuilder;
+    private final UserSimilarityIndex userSimilarityIndex;
+    private final UserSimilarity userSimilarity;
+    private final VehicleSimilarityIndex vehicleSimilarityIndex;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
-    private final BookingRepository bookingRepository;
-
-    // In-memory cache for user interactions (in production, use Redis)
-    private final Map<Long, List<UserInteraction>> userInteractions = new HashMap<>();
+    private final InteractionStore interactionStore;
+    private final InteractionIngestor interactionIngestor;
+    private final TrendingCounters trendingCounters;
+    private final RecommendationMetrics recommendationMetrics;
 
     @Override
     @Cacheable(value = "userRecommendations", key = "#userId")
@@ -56,14 +71,9 @@ public class RecommendationServiceImpl implements RecommendationService {
             return getColdStartRecommendations();
         }
 
-        List<User> allUsers = userRepository.findAll();
         List<Vehicle> allVehicles = vehicleRepository.findByIsAvailableTrue();
 
-        // Needed for matrix factorization / item-similarity signals
-        List<Booking> allBookings = bookingRepository.findAll();
-
-        List<Vehicle> recommendations = hybridRecommender.getHybridRecommendations(
-                user, allUsers, allVehicles, allBookings, 10);
+        List<Vehicle> recommendations = hybridRecommender.getHybridRecommendations(user, allVehicles, 10);
 
         log.info("Generated {} personalized recommendations for user {}", recommendations.size(), userId);
         return recommendations;
@@ -84,14 +94,14 @@ public class RecommendationServiceImpl implements RecommendationService {
         Vehicle targetVehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + vehicleId));
 
-        List<Vehicle> allVehicles = vehicleRepository.findByIsAvailableTrue();
+        List<Long> similarIds = vehicleSimilarityIndex.similarVehicleIds(targetVehicle, 5, id -> true);
+        Map<Long, Vehicle> similarVehicles = vehicleRepository.findAllById(similarIds).stream()
+                .collect(Collectors.toMap(Vehicle::getId, vehicle -> vehicle));
 
-        return allVehicles.stream()
-                .filter(vehicle -> !vehicle.getId().equals(vehicleId))
-                .filter(vehicle -> vehicle.getIsAvailable())
-                .sorted((v1, v2) -> calculateSimilarityScore(targetVehicle, v1)
-                        .compareTo(calculateSimilarityScore(targetVehicle, v2)))
-                .limit(5)
+        // Most similar first; the index may briefly lag a change in availability
+        return similarIds.stream()
+                .map(similarVehicles::get)
+                .filter(vehicle -> vehicle != null && vehicle.getIsAvailable())
                 .collect(Collectors.toList());
     }
 
@@ -100,9 +110,9 @@ public class RecommendationServiceImpl implements RecommendationService {
         log.info("Generating search-based recommendations for user: {}", userId);
 
         // Get user's recent search interactions
-        List<UserInteraction> searches = getUserInteractions(userId).stream()
-                .filter(interaction -> "SEARCH".equals(interaction.getType()))
-                .sorted(Comparator.comparing(UserInteraction::getTimestamp).reversed())
+        List<UserInteraction> searches = interactionStore.recent(userId).stream()
+                .filter(interaction -> "SEARCH".equals(interaction.type()))
+                .sorted(Comparator.comparing(UserInteraction::timestamp).reversed())
                 .limit(5)
                 .collect(Collectors.toList());
 
@@ -112,7 +122,7 @@ public class RecommendationServiceImpl implements RecommendationService {
 
         // Extract keywords from searches and find similar vehicles
         Set<String> searchKeywords = searches.stream()
-                .map(UserInteraction::getDetails)
+                .map(UserInteraction::details)
                 .collect(Collectors.toSet());
 
         return vehicleRepository.findByIsAvailableTrue().stream()
@@ -221,10 +231,11 @@ public class RecommendationServiceImpl implements RecommendationService {
         }
 
         // Similar users also booked this
-        List<User> similarUsers = findSimilarUsers(userId, 3);
+        List<UserSimilarity.UserSimilarityScore> similarUsers = userSimilarity.findSimilarUsers(user, 3);
         if (!similarUsers.isEmpty()) {
             explanations.put("similarUsers",
                     similarUsers.stream()
+                            .map(UserSimilarity.UserSimilarityScore::getUser)
                             .map(u -> u.getFirstName() + " " + u.getLastName())
                             .collect(Collectors.toList()));
         }
@@ -259,95 +270,89 @@ public class RecommendationServiceImpl implements RecommendationService {
     }
 
     @Override
-    @CacheEvict(value = { "userRecommendations", "popularVehicles", "similarVehicles",
-            "trendingVehicles" }, allEntries = true)
+    @CacheEvict(value = { "userRecommendations", "popularVehicles", "similarVehicles" }, allEntries = true)
     public void refreshRecommendationModel() {
         log.info("Refreshing recommendation models");
-        // In a real implementation, this would retrain ML models
-        // For now, we just clear the caches
+        // Retrains in the background; personalized results are evicted again once the new model is live
+        recommendationModelTrainer.requestTraining();
+        itemNeighbourBuilder.requestBuild();
+        userSimilarityIndex.requestBuild();
     }
 
     @Override
     public Map<String, Double> getRecommendationMetrics() {
-        log.info("Calculating recommendation metrics");
-
-        Map<String, Double> metrics = new HashMap<>();
-
-        // Calculate click-through rate (simplified)
-        long totalImpressions = userInteractions.values().stream()
-                .flatMap(List::stream)
-                .filter(i -> "IMPRESSION".equals(i.getType()))
-                .count();
-        long totalClicks = userInteractions.values().stream()
-                .flatMap(List::stream)
-                .filter(i -> "CLICK".equals(i.getType()))
-                .count();
+        // CTR, conversion, coverage and diversity are maintained as interactions and bookings arrive
+        Map<String, Double> metrics = recommendationMetrics.snapshot();
 
-        double ctr = (totalImpressions > 0) ? (double) totalClicks / totalImpressions : 0.0;
-        metrics.put("clickThroughRate", ctr);
-
-        // Calculate conversion rate
-        long totalBookingsFromRecs = userInteractions.values().stream()
-                .flatMap(List::stream)
-                .filter(i -> "BOOKING".equals(i.getType()))
-                .count();
-
-        double conversionRate = (totalClicks > 0) ? (double) totalBookingsFromRecs / totalClicks : 0.0;
-        metrics.put("conversionRate", conversionRate);
-
-        // Calculate diversity score
-        metrics.put("diversityScore", calculateDiversityScore());
-
-        // Calculate coverage (percentage of users with personalized recommendations)
-        long totalUsers = userRepository.count();
-        long usersWithData = userRepository.findAll().stream()
-                .filter(user -> hasSufficientDataForPersonalization(user.getId()))
-                .count();
-
-        double coverage = (totalUsers > 0) ? (double) usersWithData / totalUsers : 0.0;
-        metrics.put("coverage", coverage);
+        // Interaction ingestion load
+        metrics.put("ingestBufferDepth", (double) interactionIngestor.bufferDepth());
+        metrics.put("ingestBufferUtilization",
+                (double) interactionIngestor.bufferDepth() / interactionIngestor.bufferCapacity());
+        metrics.put("ingestedInteractions", (double) interactionIngestor.ingested());
+        metrics.put("rejectedInteractions", (double) interactionIngestor.rejected());
 
         return metrics;
     }
 
     @Override
-    public void trackUserInteraction(Long userId, Long vehicleId, String interactionType) {
+    public boolean trackUserInteraction(Long userId, Long vehicleId, String interactionType) {
         log.debug("Tracking user interaction: user={}, vehicle={}, type={}", userId, vehicleId, interactionType);
 
-        UserInteraction interaction = UserInteraction.builder()
-                .userId(userId)
-                .vehicleId(vehicleId)
-                .type(interactionType)
-                .timestamp(LocalDateTime.now())
-                .build();
+        boolean accepted = interactionIngestor.submit(
+                new UserInteraction(userId, vehicleId, interactionType, null, Instant.now()));
+        if (!accepted) {
+            log.debug("Interaction buffer full, dropped interaction of user {}", userId);
+        }
+        return accepted;
+    }
 
-        userInteractions.computeIfAbsent(userId, k -> new ArrayList<>()).add(interaction);
+    @Override
+    public InteractionBatchResponse trackUserInteractions(Long userId, List<InteractionRequest> interactions) {
+        Instant now = Instant.now();
+        List<UserInteraction> batch = interactions.stream()
+                .map(request -> new UserInteraction(userId, request.getVehicleId(), request.getInteractionType(),
+                        request.getDetails(), now))
+                .collect(Collectors.toList());
 
-        // Keep only recent interactions (last 100 per user)
-        List<UserInteraction> userInteractionsList = userInteractions.get(userId);
-        if (userInteractionsList.size() > 100) {
-            userInteractionsList = userInteractionsList.subList(
-                    userInteractionsList.size() - 100, userInteractionsList.size());
-            userInteractions.put(userId, userInteractionsList);
+        int accepted = interactionIngestor.submitAll(batch);
+        if (accepted < batch.size()) {
+            log.warn("Interaction buffer full, dropped {} of {} interactions of user {}",
+                    batch.size() - accepted, batch.size(), userId);
         }
+        return InteractionBatchResponse.builder()
+                .accepted(accepted)
+                .rejected(batch.size() - accepted)
+                .build();
+    }
+
+    @Override
+    public void trackRecommendationList(List<Vehicle> recommendations) {
+        recommendationMetrics.recordRecommendations(recommendations);
     }
 
     @Override
-    @Cacheable(value = "trendingVehicles", key = "'trending'")
     public List<Vehicle> getTrendingVehicles() {
         log.info("Fetching trending vehicles");
 
-        LocalDate oneWeekAgo = LocalDate.now().minusWeeks(1);
-
-        // Get vehicles with recent bookings and high engagement
-        return vehicleRepository.findByIsAvailableTrue().stream()
-                .sorted((v1, v2) -> {
-                    double score1 = calculateTrendingScore(v1, oneWeekAgo);
-                    double score2 = calculateTrendingScore(v2, oneWeekAgo);
-                    return Double.compare(score2, score1);
-                })
+        // Vehicles with the most recent bookings and engagement, ranked as events arrive
+        List<Long> trendingIds = trendingCounters.top(TRENDING_CANDIDATES);
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllById(trendingIds).stream()
+                .collect(Collectors.toMap(Vehicle::getId, vehicle -> vehicle));
+        List<Vehicle> trending = trendingIds.stream()
+                .map(vehicles::get)
+                .filter(vehicle -> vehicle != null && vehicle.getIsAvailable())
                 .limit(10)
                 .collect(Collectors.toList());
+
+        // Too little recent activity: fill up with the best rated
+        if (trending.size() < 10) {
+            Set<Long> included = trending.stream().map(Vehicle::getId).collect(Collectors.toSet());
+            getPopularVehicles().stream()
+                    .filter(vehicle -> !included.contains(vehicle.getId()))
+                    .limit(10 - trending.size())
+                    .forEach(trending::add);
+        }
+        return trending;
     }
 
     @Override
@@ -425,39 +430,13 @@ public class RecommendationServiceImpl implements RecommendationService {
 
         // Check if user has at least 2 bookings or 5 interactions
         long bookingCount = user.getBookings().size();
-        long interactionCount = getUserInteractions(userId).size();
+        long interactionCount = interactionStore.recent(userId).size();
 
         return bookingCount >= 2 || interactionCount >= 5;
     }
 
     // Helper methods
 
-    private Double calculateSimilarityScore(Vehicle v1, Vehicle v2) {
-        double score = 0.0;
-
-        // Type similarity
-        if (v1.getType().equals(v2.getType())) {
-            score += 0.4;
-        }
-
-        // Price similarity (within 20%)
-        double priceDiff = Math.abs(v1.getDailyPrice().doubleValue() - v2.getDailyPrice().doubleValue());
-        double avgPrice = (v1.getDailyPrice().doubleValue() + v2.getDailyPrice().doubleValue()) / 2;
-        if (priceDiff / avgPrice <= 0.2) {
-            score += 0.3;
-        }
-
-        // Feature similarity
-        Set<String> features1 = new HashSet<>(v1.getFeatures());
-        Set<String> features2 = new HashSet<>(v2.getFeatures());
-        features1.retainAll(features2);
-        double featureSimilarity = (double) features1.size() /
-                (features1.size() + features2.size() - features1.size());
-        score += featureSimilarity * 0.3;
-
-        return score;
-    }
-
     private boolean matchesSearchKeywords(Vehicle vehicle, Set<String> keywords) {
         String vehicleText = (vehicle.getMake() + " " + vehicle.getModel() + " " +
                 vehicle.getType() + " " + String.join(" ", vehicle.getFeatures()))
@@ -518,38 +497,6 @@ public class RecommendationServiceImpl implements RecommendationService {
                 .orElse(100.0);
     }
 
-    private List<User> findSimilarUsers(Long userId, int limit) {
-        User targetUser = userRepository.findById(userId).orElse(null);
-        if (targetUser == null) {
-            return Collections.emptyList();
-        }
-
-        return userRepository.findAll().stream()
-                .filter(user -> !user.getId().equals(userId))
-                .sorted((u1, u2) -> Double.compare(
-                        calculateUserSimilarity(targetUser, u2),
-                        calculateUserSimilarity(targetUser, u1)))
-                .limit(limit)
-                .collect(Collectors.toList());
-    }
-
-    private Double calculateUserSimilarity(User u1, User u2) {
-        // Simple similarity based on booked vehicle types
-        Set<VehicleType> types1 = u1.getBookings().stream()
-                .map(booking -> booking.getVehicle().getType())
-                .collect(Collectors.toSet());
-        Set<VehicleType> types2 = u2.getBookings().stream()
-                .map(booking -> booking.getVehicle().getType())
-                .collect(Collectors.toSet());
-
-        Set<VehicleType> intersection = new HashSet<>(types1);
-        intersection.retainAll(types2);
-        Set<VehicleType> union = new HashSet<>(types1);
-        union.addAll(types2);
-
-        return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
-    }
-
     private Double getUserAverageSpending(Long userId) {
         User user = userRepository.findById(userId).orElse(null);
         if (user == null || user.getBookings().isEmpty()) {
@@ -566,39 +513,6 @@ public class RecommendationServiceImpl implements RecommendationService {
                 .orElse(null);
     }
 
-    private Double calculateTrendingScore(Vehicle vehicle, LocalDate sinceDate) {
-        long recentBookings = bookingRepository.countByVehicleIdAndStartDateAfter(vehicle.getId(), sinceDate);
-        long recentInteractions = getUserInteractionsForVehicle(vehicle.getId(), sinceDate);
-
-        return (recentBookings * 2.0) + (recentInteractions * 0.5) + (vehicle.getRating() * 10);
-    }
-
-    private long getUserInteractionsForVehicle(Long vehicleId, LocalDate sinceDate) {
-        return userInteractions.values().stream()
-                .flatMap(List::stream)
-                .filter(interaction -> interaction.getVehicleId().equals(vehicleId))
-                .filter(interaction -> interaction.getTimestamp().toLocalDate().isAfter(sinceDate))
-                .count();
-    }
-
-    private List<UserInteraction> getUserInteractions(Long userId) {
-        return userInteractions.getOrDefault(userId, Collections.emptyList());
-    }
-
-    private Double calculateDiversityScore() {
-        // Calculate how diverse recommendations are across different vehicle types
-        List<Vehicle> sampleRecommendations = getPopularVehicles();
-        if (sampleRecommendations.isEmpty())
-            return 0.0;
-
-        long distinctTypes = sampleRecommendations.stream()
-                .map(Vehicle::getType)
-                .distinct()
-                .count();
-
-        return (double) distinctTypes / VehicleType.values().length;
-    }
-
     private VehicleType getSeasonalVehicleType(Month month) {
         return switch (month) {
             case DECEMBER, JANUARY, FEBRUARY -> VehicleType.SUV; // Winter - SUVs for snow
@@ -606,28 +520,4 @@ public class RecommendationServiceImpl implements RecommendationService {
             case MARCH, APRIL, MAY, SEPTEMBER, OCTOBER, NOVEMBER -> VehicleType.SEDAN; // Other seasons
         };
     }
-
-    @Scheduled(cron = "0 0 3 * * ?") // Run daily at 3 AM
-    public void cleanupOldInteractions() {
-        log.info("Cleaning up old user interactions");
-        LocalDateTime cutoff = LocalDateTime.now().minusMonths(3);
-
-        userInteractions.forEach((userId, interactions) -> {
-            List<UserInteraction> recent = interactions.stream()
-                    .filter(interaction -> interaction.getTimestamp().isAfter(cutoff))
-                    .collect(Collectors.toList());
-            userInteractions.put(userId, recent);
-        });
-    }
-
-    // Inner class for tracking user interactions
-    @Data
-    @Builder
-    private static class UserInteraction {
-        private Long userId;
-        private Long vehicleId;
-        private String type; // CLICK, IMPRESSION, BOOKING, SEARCH, etc.
-        private String details;
-        private LocalDateTime timestamp;
-    }
-}
\ No newline at end of file
+}
@@ -1,10 +1,12 @@
 package com.driverental.onlinecarrental.service.impl;
 
+import com.driverental.onlinecarrental.event.UserDeletedEvent;
 import com.driverental.onlinecarrental.model.dto.response.UserResponse;
 import com.driverental.onlinecarrental.model.entity.User;
 import com.driverental.onlinecarrental.repository.UserRepository;
 import com.driverental.onlinecarrental.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Page<UserResponse> getAllUsers(Pageable pageable) {
@@ -47,6 +50,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.driverental.onlinecarrental.service.impl;
 
+import com.driverental.onlinecarrental.event.VehicleCatalogChangedEvent;
 import com.driverental.onlinecarrental.model.dto.request.VehicleRequest;
 import com.driverental.onlinecarrental.model.dto.response.VehicleResponse;
 import com.driverental.onlinecarrental.model.entity.Vehicle;
@@ -7,6 +8,7 @@ import com.driverental.onlinecarrental.repository.VehicleRepository;
 import com.driverental.onlinecarrental.service.ImageStorageService;
 import com.driverental.onlinecarrental.service.VehicleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,6 +24,7 @@ public class VehicleServiceImpl implements VehicleService {
 
     private final VehicleRepository vehicleRepository;
     private final ImageStorageService imageStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Pattern VEHICLE_IMAGE_WITH_CATEGORY = Pattern.compile("^/api/images/vehicles/([^/]+)/([^/]+)$");
 
@@ -65,6 +68,7 @@ public class VehicleServiceImpl implements VehicleService {
                 .build();
 
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleCatalogChangedEvent(savedVehicle.getId()));
         return convertToResponse(savedVehicle, false);
     }
 
@@ -104,6 +108,7 @@ public class VehicleServiceImpl implements VehicleService {
         vehicle.setIsAvailable(request.getIsAvailable());
 
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleCatalogChangedEvent(id));
         return convertToResponse(updatedVehicle, false);
     }
 
@@ -112,6 +117,7 @@ public class VehicleServiceImpl implements VehicleService {
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + id));
         vehicleRepository.delete(vehicle);
+        eventPublisher.publishEvent(new VehicleCatalogChangedEvent(id));
     }
 
     @Override
@@ -133,6 +139,7 @@ public class VehicleServiceImpl implements VehicleService {
 
         vehicle.setIsAvailable(isAvailable);
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleCatalogChangedEvent(id));
         return convertToResponse(updatedVehicle, false);
     }
 
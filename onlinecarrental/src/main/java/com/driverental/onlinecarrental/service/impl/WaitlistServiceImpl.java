@@ -0,0 +1,278 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.algorithm.waitlist.WaitlistIndex;
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.BookingUnavailableEvent;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.model.dto.request.BookingRequest;
+import com.driverental.onlinecarrental.model.dto.response.BookingResponse;
+import com.driverental.onlinecarrental.model.dto.response.WaitlistEntryResponse;
+import com.driverental.onlinecarrental.model.entity.WaitlistEntry;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.model.enums.WaitlistStatus;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.model.exception.ResourceNotFoundException;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.driverental.onlinecarrental.repository.WaitlistEntryRepository;
+import com.driverental.onlinecarrental.service.BookingService;
+import com.driverental.onlinecarrental.service.WaitlistService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps customers who hit a sold-out vehicle in line for it. Requests are queued when a
+ * booking attempt fails on availability, and are offered as soon as a cancellation or an
+ * expired hold frees an overlapping interval - there is no polling. Offers query and book,
+ * so they run on a thread of their own, one release at a time in relay order, and never
+ * hold up delivery of other events.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final VehicleRepository vehicleRepository;
+    private final BookingService bookingService;
+    private final WaitlistIndex waitlistIndex;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService offers = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "waitlist-offers");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Also offers every waiting entry whose dates are free by now, which catches releases
+     * that were relayed but not yet offered when the process last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadWaitingEntries() {
+        List<WaitlistEntry> entries = waitlistEntryRepository
+                .findByStatusAndStartDateGreaterThanEqual(WaitlistStatus.WAITING, LocalDate.now());
+        entries.forEach(this::index);
+        log.info("Loaded {} waiting waitlist entries", entries.size());
+
+        List<Long> inOfferOrder = entries.stream()
+                .sorted(Comparator.comparingInt(WaitlistEntry::getPriority).reversed()
+                        .thenComparing(WaitlistEntry::getId))
+                .map(WaitlistEntry::getId)
+                .toList();
+        submit(() -> inOfferOrder.forEach(this::offerInOwnTransaction));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        offers.shutdownNow();
+    }
+
+    /**
+     * The failed booking transaction has already rolled back, so the entry is written in
+     * a transaction of its own.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBookingUnavailable(BookingUnavailableEvent event) {
+        BookingRequest request = event.request();
+        if (waitlistEntryRepository.existsByUserIdAndVehicleIdAndStartDateAndEndDateAndStatus(event.userId(),
+                request.getVehicleId(), event.startDate(), event.endDate(), WaitlistStatus.WAITING)) {
+            return;
+        }
+
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .user(userRepository.getReferenceById(event.userId()))
+                .vehicle(vehicleRepository.getReferenceById(request.getVehicleId()))
+                .startDate(event.startDate())
+                .endDate(event.endDate())
+                .pickupLocation(request.getPickupLocation())
+                .dropoffLocation(request.getDropoffLocation())
+                .priority(priorityFor(event.userId()))
+                .build();
+
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        index(saved);
+        log.info("User {} waitlisted for vehicle {} from {} to {} (entry {})",
+                event.userId(), request.getVehicleId(), event.startDate(), event.endDate(), saved.getId());
+    }
+
+    /**
+     * Cancellations and expired holds arrive through the outbox relay, so a release is
+     * never lost even if the process stops right after the booking commits; the offer
+     * itself is handed to the offer thread.
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.type() != OutboxEventType.BOOKING_CANCELLED && event.type() != OutboxEventType.BOOKING_EXPIRED) {
+            return;
+        }
+
+        BookingEventPayload released;
+        try {
+            released = objectMapper.readValue(event.payload(), BookingEventPayload.class);
+        } catch (JsonProcessingException e) {
+            log.error("Unreadable payload for outbox event {}", event.id(), e);
+            return;
+        }
+        submit(() -> offerReleased(released));
+    }
+
+    /**
+     * Offers the released interval to the first waiting entry it satisfies.
+     */
+    void offerReleased(BookingEventPayload released) {
+        List<Long> candidates = waitlistIndex.findOverlapping(released.vehicleId(), released.startDate(),
+                released.endDate());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        for (Long entryId : candidates) {
+            if (offerInOwnTransaction(entryId)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryResponse> getUserEntries(Long userId) {
+        return waitlistEntryRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::convertToResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public WaitlistEntryResponse cancelEntry(Long id, Long userId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("WaitlistEntry", "id", id));
+
+        if (!entry.getUser().getId().equals(userId)) {
+            throw new BusinessException("Waitlist entry does not belong to the current user");
+        }
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new BusinessException("Cannot cancel waitlist entry in current status: " + entry.getStatus());
+        }
+
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        waitlistIndex.remove(entry.getId());
+        return convertToResponse(waitlistEntryRepository.save(entry));
+    }
+
+    /**
+     * Each offer runs in its own transaction so one failed attempt does not doom the rest.
+     */
+    private boolean offerInOwnTransaction(Long entryId) {
+        TransactionTemplate offerTransaction = new TransactionTemplate(transactionManager);
+        offerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return Boolean.TRUE.equals(offerTransaction.execute(status -> tryOffer(entryId)));
+        } catch (RuntimeException e) {
+            log.warn("Could not offer waitlist entry {}: {}", entryId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void submit(Runnable offer) {
+        try {
+            offers.execute(offer);
+        } catch (RejectedExecutionException e) {
+            log.debug("Waitlist offer dropped during shutdown");
+        }
+    }
+
+    private boolean tryOffer(Long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+            waitlistIndex.remove(entryId);
+            return false;
+        }
+
+        if (entry.getStartDate().isBefore(LocalDate.now())) {
+            entry.setStatus(WaitlistStatus.EXPIRED);
+            waitlistIndex.remove(entryId);
+            return false;
+        }
+
+        Long vehicleId = entry.getVehicle().getId();
+        String start = entry.getStartDate().toString();
+        String end = entry.getEndDate().toString();
+        // The freed interval may only cover part of what this customer asked for
+        if (!bookingService.isVehicleAvailable(vehicleId, start, end)) {
+            return false;
+        }
+
+        BookingRequest request = BookingRequest.builder()
+                .vehicleId(vehicleId)
+                .startDate(start)
+                .endDate(end)
+                .pickupLocation(entry.getPickupLocation())
+                .dropoffLocation(entry.getDropoffLocation())
+                .build();
+        BookingResponse booking = bookingService.createBooking(request, entry.getUser().getId());
+
+        entry.setStatus(WaitlistStatus.OFFERED);
+        entry.setOfferedBookingId(booking.getId());
+        entry.setOfferedAt(LocalDateTime.now());
+        waitlistIndex.remove(entryId);
+
+        log.info("Offered vehicle {} from {} to {} to waitlisted user {} (booking {})",
+                vehicleId, start, end, entry.getUser().getId(), booking.getId());
+        return true;
+    }
+
+    // Returning customers are served first
+    private int priorityFor(Long userId) {
+        return bookingRepository.countByUserIdAndStatus(userId, BookingStatus.COMPLETED).intValue();
+    }
+
+    private void index(WaitlistEntry entry) {
+        waitlistIndex.add(entry.getId(), entry.getVehicle().getId(), entry.getStartDate(), entry.getEndDate(),
+                entry.getPriority());
+    }
+
+    private WaitlistEntryResponse convertToResponse(WaitlistEntry entry) {
+        return WaitlistEntryResponse.builder()
+                .id(entry.getId())
+                .vehicleId(entry.getVehicle().getId())
+                .startDate(entry.getStartDate().toString())
+                .endDate(entry.getEndDate().toString())
+                .pickupLocation(entry.getPickupLocation())
+                .dropoffLocation(entry.getDropoffLocation())
+                .priority(entry.getPriority())
+                .status(entry.getStatus())
+                .offeredBookingId(entry.getOfferedBookingId())
+                .createdAt(entry.getCreatedAt())
+                .offeredAt(entry.getOfferedAt())
+                .build();
+    }
+}
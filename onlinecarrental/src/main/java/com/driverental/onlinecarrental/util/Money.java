@@ -0,0 +1,133 @@
+package com.driverental.onlinecarrental.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * An amount of rupees held as a whole number of paisa.
+ *
+ * Pricing and payment code works on Money and only converts to BigDecimal (scale 2) at
+ * the persistence and JSON boundaries. Arithmetic is on longs and overflow throws.
+ *
+ * Rounding rules:
+ * <ul>
+ *   <li>{@link #of(BigDecimal)} rounds to the nearest paisa, half up.</li>
+ *   <li>{@link #times(long, long)} and {@link #times(BigDecimal)} are exact rational
+ *   multiplication rounded once, half up (away from zero), like
+ *   {@code BigDecimal.multiply(..).setScale(2, HALF_UP)}.</li>
+ *   <li>{@link #times(double)} is for pricing multipliers that are already doubles; the
+ *   product is rounded half away from zero.</li>
+ * </ul>
+ */
+public record Money(long paisa) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    public static Money ofPaisa(long paisa) {
+        return paisa == 0 ? ZERO : new Money(paisa);
+    }
+
+    public static Money of(BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        return ofPaisa(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money ofRupees(long rupees) {
+        return ofPaisa(Math.multiplyExact(rupees, 100L));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(paisa, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofPaisa(Math.addExact(paisa, other.paisa));
+    }
+
+    public Money minus(Money other) {
+        return ofPaisa(Math.subtractExact(paisa, other.paisa));
+    }
+
+    public Money times(long quantity) {
+        return ofPaisa(Math.multiplyExact(paisa, quantity));
+    }
+
+    /**
+     * This amount x numerator / denominator, rounded half up once at the end.
+     */
+    public Money times(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return ofPaisa(divideHalfUp(Math.multiplyExact(paisa, numerator), denominator));
+    }
+
+    /**
+     * This amount x rate, exactly, for decimal rates such as tax or fee percentages.
+     */
+    public Money times(BigDecimal rate) {
+        BigDecimal normalized = rate.stripTrailingZeros();
+        if (normalized.scale() <= 0) {
+            return times(normalized.longValueExact());
+        }
+        if (normalized.scale() >= POWERS_OF_TEN.length) {
+            return of(toBigDecimal().multiply(rate));
+        }
+        return times(normalized.unscaledValue().longValueExact(), POWERS_OF_TEN[normalized.scale()]);
+    }
+
+    public Money times(double multiplier) {
+        double product = paisa * multiplier;
+        long rounded = Math.round(Math.abs(product));
+        return ofPaisa(product < 0 ? -rounded : rounded);
+    }
+
+    /**
+     * Even share of this amount over the divisor, rounded half up.
+     */
+    public Money dividedBy(long divisor) {
+        return times(1, divisor);
+    }
+
+    public Money max(Money other) {
+        return paisa >= other.paisa ? this : other;
+    }
+
+    public Money min(Money other) {
+        return paisa <= other.paisa ? this : other;
+    }
+
+    public boolean isZero() {
+        return paisa == 0;
+    }
+
+    public boolean isNegative() {
+        return paisa < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paisa, other.paisa);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        // Round away from zero when the remainder is at least half the divisor
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+}
@@ -1,7 +1,5 @@
 package com.driverental.onlinecarrental.util;
 
-import lombok.extern.slf4j.Slf4j;
-
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.DayOfWeek;
@@ -9,7 +7,11 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.util.Set;
 
-@Slf4j
+/**
+ * Standalone fee, tax and adjustment helpers. Rental prices themselves come from
+ * {@link com.driverental.onlinecarrental.algorithm.pricing.PricingPipeline}.
+ * Amounts are computed as {@link Money} and returned at scale 2.
+ */
 public class PriceCalculator {
 
     private static final Set<Month> PEAK_SEASON_MONTHS = Set.of(
@@ -31,8 +33,7 @@ public class PriceCalculator {
             throw new IllegalArgumentException("Invalid date range: start date must be before end date");
         }
         
-        return dailyRate.multiply(BigDecimal.valueOf(rentalDays))
-                       .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(dailyRate).times(rentalDays).toBigDecimal();
     }
 
     /**
@@ -40,8 +41,7 @@ public class PriceCalculator {
      */
     public static BigDecimal applySeasonalPricing(BigDecimal price, LocalDate date) {
         BigDecimal multiplier = getSeasonalMultiplier(date);
-        return price.multiply(multiplier)
-                   .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(price).times(multiplier).toBigDecimal();
     }
 
     /**
@@ -49,8 +49,7 @@ public class PriceCalculator {
      */
     public static BigDecimal applyWeekendPricing(BigDecimal price, LocalDate date) {
         BigDecimal multiplier = getWeekendMultiplier(date);
-        return price.multiply(multiplier)
-                   .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(price).times(multiplier).toBigDecimal();
     }
 
     /**
@@ -58,8 +57,7 @@ public class PriceCalculator {
      */
     public static BigDecimal applyLongTermDiscount(BigDecimal price, long rentalDays) {
         BigDecimal discountMultiplier = getLongTermDiscountMultiplier(rentalDays);
-        return price.multiply(discountMultiplier)
-                   .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(price).times(discountMultiplier).toBigDecimal();
     }
 
     /**
@@ -67,39 +65,7 @@ public class PriceCalculator {
      */
     public static BigDecimal applyLeadTimePricing(BigDecimal price, LocalDate startDate) {
         BigDecimal multiplier = getLeadTimeMultiplier(startDate);
-        return price.multiply(multiplier)
-                   .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    /**
-     * Calculate dynamic pricing based on multiple factors
-     */
-    public static BigDecimal calculateDynamicPrice(BigDecimal basePrice, LocalDate startDate, 
-                                                  LocalDate endDate, long totalBookingsInPeriod) {
-        long rentalDays = DateUtils.calculateDaysBetween(startDate, endDate);
-        
-        // Start with base calculation
-        BigDecimal price = calculateTotalPrice(basePrice, startDate, endDate);
-        
-        // Apply seasonal pricing for each day in the rental period
-        BigDecimal seasonalAdjustedPrice = applySeasonalAdjustment(price, startDate, endDate);
-        
-        // Apply weekend pricing
-        BigDecimal weekendAdjustedPrice = applyWeekendAdjustment(seasonalAdjustedPrice, startDate, endDate);
-        
-        // Apply long-term discount
-        BigDecimal discountedPrice = applyLongTermDiscount(weekendAdjustedPrice, rentalDays);
-        
-        // Apply lead time pricing
-        BigDecimal leadTimeAdjustedPrice = applyLeadTimePricing(discountedPrice, startDate);
-        
-        // Apply demand-based pricing
-        BigDecimal finalPrice = applyDemandPricing(leadTimeAdjustedPrice, totalBookingsInPeriod);
-        
-        log.debug("Price calculation - Base: {}, Seasonal: {}, Weekend: {}, Discounted: {}, LeadTime: {}, Final: {}",
-                 price, seasonalAdjustedPrice, weekendAdjustedPrice, discountedPrice, leadTimeAdjustedPrice, finalPrice);
-        
-        return finalPrice;
+        return Money.of(price).times(multiplier).toBigDecimal();
     }
 
     /**
@@ -109,32 +75,31 @@ public class PriceCalculator {
                                                      LocalDate cancellationDate) {
         long daysUntilStart = DateUtils.calculateDaysBetween(cancellationDate, startDate);
         
-        BigDecimal cancellationFee = BigDecimal.ZERO;
+        int feePercent = 0;
         
         if (daysUntilStart < 1) {
             // Same day cancellation - 100% fee
-            cancellationFee = totalPrice;
+            feePercent = 100;
         } else if (daysUntilStart < 3) {
             // 1-2 days notice - 75% fee
-            cancellationFee = totalPrice.multiply(BigDecimal.valueOf(0.75));
+            feePercent = 75;
         } else if (daysUntilStart < 7) {
             // 3-6 days notice - 50% fee
-            cancellationFee = totalPrice.multiply(BigDecimal.valueOf(0.50));
+            feePercent = 50;
         } else if (daysUntilStart < 14) {
             // 7-13 days notice - 25% fee
-            cancellationFee = totalPrice.multiply(BigDecimal.valueOf(0.25));
+            feePercent = 25;
         }
         // 14+ days notice - no fee
         
-        return cancellationFee.setScale(2, RoundingMode.HALF_UP);
+        return Money.of(totalPrice).times(feePercent, 100).toBigDecimal();
     }
 
     /**
      * Calculate refund amount after cancellation
      */
     public static BigDecimal calculateRefundAmount(BigDecimal totalPrice, BigDecimal cancellationFee) {
-        return totalPrice.subtract(cancellationFee)
-                        .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(totalPrice).minus(Money.of(cancellationFee)).toBigDecimal();
     }
 
     /**
@@ -142,22 +107,20 @@ public class PriceCalculator {
      */
     public static BigDecimal calculateInsuranceCost(BigDecimal totalPrice, String insuranceType) {
         BigDecimal insuranceRate = getInsuranceRate(insuranceType);
-        return totalPrice.multiply(insuranceRate)
-                        .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(totalPrice).times(insuranceRate).toBigDecimal();
     }
 
     /**
      * Calculate additional fees (cleaning, delivery, etc.)
      */
     public static BigDecimal calculateAdditionalFees(String[] additionalServices) {
-        BigDecimal totalFees = BigDecimal.ZERO;
+        Money totalFees = Money.ZERO;
         
         for (String service : additionalServices) {
-            BigDecimal fee = getServiceFee(service);
-            totalFees = totalFees.add(fee);
+            totalFees = totalFees.plus(getServiceFee(service));
         }
         
-        return totalFees.setScale(2, RoundingMode.HALF_UP);
+        return totalFees.toBigDecimal();
     }
 
     /**
@@ -165,8 +128,7 @@ public class PriceCalculator {
      */
     public static BigDecimal calculateTax(BigDecimal subtotal, String stateCode) {
         BigDecimal taxRate = getTaxRate(stateCode);
-        return subtotal.multiply(taxRate)
-                      .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(subtotal).times(taxRate).toBigDecimal();
     }
 
     /**
@@ -174,10 +136,11 @@ public class PriceCalculator {
      */
     public static BigDecimal calculateFinalTotal(BigDecimal basePrice, BigDecimal insuranceCost,
                                                 BigDecimal additionalFees, BigDecimal tax) {
-        return basePrice.add(insuranceCost)
-                       .add(additionalFees)
-                       .add(tax)
-                       .setScale(2, RoundingMode.HALF_UP);
+        return Money.of(basePrice)
+                .plus(Money.of(insuranceCost))
+                .plus(Money.of(additionalFees))
+                .plus(Money.of(tax))
+                .toBigDecimal();
     }
 
     // Helper methods for multipliers and rates
@@ -233,14 +196,14 @@ public class PriceCalculator {
         };
     }
 
-    private static BigDecimal getServiceFee(String service) {
+    private static Money getServiceFee(String service) {
         return switch (service.toUpperCase()) {
-            case "DELIVERY" -> BigDecimal.valueOf(25.00);
-            case "CLEANING" -> BigDecimal.valueOf(15.00);
-            case "EXTRA_DRIVER" -> BigDecimal.valueOf(10.00);
-            case "CHILD_SEAT" -> BigDecimal.valueOf(5.00);
-            case "GPS" -> BigDecimal.valueOf(3.00);
-            default -> BigDecimal.ZERO;
+            case "DELIVERY" -> Money.ofRupees(25);
+            case "CLEANING" -> Money.ofRupees(15);
+            case "EXTRA_DRIVER" -> Money.ofRupees(10);
+            case "CHILD_SEAT" -> Money.ofRupees(5);
+            case "GPS" -> Money.ofRupees(3);
+            default -> Money.ZERO;
         };
     }
 
@@ -255,61 +218,6 @@ public class PriceCalculator {
         };
     }
 
-    // Complex adjustment methods
-    
-    private static BigDecimal applySeasonalAdjustment(BigDecimal price, LocalDate startDate, LocalDate endDate) {
-        BigDecimal adjustedPrice = BigDecimal.ZERO;
-        LocalDate currentDate = startDate;
-        
-        while (!currentDate.isAfter(endDate)) {
-            BigDecimal dailyPrice = price.divide(
-                BigDecimal.valueOf(DateUtils.calculateDaysBetween(startDate, endDate)), 
-                2, RoundingMode.HALF_UP
-            );
-            
-            BigDecimal seasonalDailyPrice = applySeasonalPricing(dailyPrice, currentDate);
-            adjustedPrice = adjustedPrice.add(seasonalDailyPrice);
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        return adjustedPrice;
-    }
-
-    private static BigDecimal applyWeekendAdjustment(BigDecimal price, LocalDate startDate, LocalDate endDate) {
-        BigDecimal adjustedPrice = BigDecimal.ZERO;
-        LocalDate currentDate = startDate;
-        
-        while (!currentDate.isAfter(endDate)) {
-            BigDecimal dailyPrice = price.divide(
-                BigDecimal.valueOf(DateUtils.calculateDaysBetween(startDate, endDate)), 
-                2, RoundingMode.HALF_UP
-            );
-            
-            BigDecimal weekendDailyPrice = applyWeekendPricing(dailyPrice, currentDate);
-            adjustedPrice = adjustedPrice.add(weekendDailyPrice);
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        return adjustedPrice;
-    }
-
-    private static BigDecimal applyDemandPricing(BigDecimal price, long totalBookings) {
-        BigDecimal demandMultiplier = getDemandMultiplier(totalBookings);
-        return price.multiply(demandMultiplier)
-                   .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private static BigDecimal getDemandMultiplier(long totalBookings) {
-        if (totalBookings > 1000) {
-            return BigDecimal.valueOf(1.4); // High demand - 40% increase
-        } else if (totalBookings > 500) {
-            return BigDecimal.valueOf(1.2); // Medium demand - 20% increase
-        } else if (totalBookings < 100) {
-            return BigDecimal.valueOf(0.8); // Low demand - 20% discount
-        }
-        return BigDecimal.ONE;
-    }
-
     /**
      * Validate if price is within acceptable range
      */
@@ -346,6 +254,6 @@ public class PriceCalculator {
             throw new IllegalArgumentException("Rental days must be positive");
         }
         
-        return totalPrice.divide(BigDecimal.valueOf(rentalDays), 2, RoundingMode.HALF_UP);
+        return Money.of(totalPrice).dividedBy(rentalDays).toBigDecimal();
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DemandForecasterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private BookingRepository bookingRepository;
+    private VehicleRepository vehicleRepository;
+    private OutboxEventRepository outboxEventRepository;
+    private DemandForecaster demandForecaster;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        vehicleRepository = mock(VehicleRepository.class);
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        // Event 10 is in the history read by the fit but was not yet marked published
+        when(outboxEventRepository.findUnpublishedIds()).thenReturn(List.of(10L));
+        demandForecaster = new DemandForecaster(bookingRepository, vehicleRepository, outboxEventRepository,
+                objectMapper);
+    }
+
+    @Test
+    @DisplayName("Weekly seasonality in the history carries into the forecast for each weekday")
+    void backfill_WeekendHeavyHistory_ForecastsWeekendHigher() {
+        // Ten one-day rentals a year ago onwards: six starts every Saturday, one on other days
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate day = LocalDate.now().minusDays(365); day.isBefore(LocalDate.now()); day = day.plusDays(1)) {
+            long starts = day.getDayOfWeek() == DayOfWeek.SATURDAY ? 6 : 1;
+            rows.add(new Object[] { "Pokhara", VehicleType.SEDAN, day, day.plusDays(1), starts });
+        }
+        when(vehicleRepository.countByLocationAndType())
+                .thenReturn(List.<Object[]>of(new Object[] { "Pokhara", VehicleType.SEDAN, 10L }));
+        when(bookingRepository.countActiveStartsByLocationAndType(any(), any())).thenReturn(rows);
+
+        demandForecaster.backfill();
+
+        LocalDate saturday = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+        LocalDate tuesday = saturday.with(TemporalAdjusters.next(DayOfWeek.TUESDAY));
+        double weekend = demandForecaster.utilization("pokhara ", VehicleType.SEDAN, saturday, saturday.plusDays(1));
+        double weekday = demandForecaster.utilization("Pokhara", VehicleType.SEDAN, tuesday, tuesday.plusDays(1));
+
+        assertEquals(0.6, weekend, 0.1);
+        assertEquals(0.1, weekday, 0.05);
+        assertTrue(Double.isNaN(demandForecaster.utilization("Pokhara", VehicleType.SUV, saturday, saturday)));
+        assertTrue(Double.isNaN(demandForecaster.utilization("Chitwan", VehicleType.SEDAN, saturday, saturday)));
+    }
+
+    @Test
+    @DisplayName("Booking events after the fit move the forecast; events already in the history do not")
+    void onDomainEvent_BookingsAhead_RaiseForecast() throws Exception {
+        when(vehicleRepository.countByLocationAndType())
+                .thenReturn(List.<Object[]>of(new Object[] { "Pokhara", VehicleType.SUV, 2L }));
+        when(bookingRepository.countActiveStartsByLocationAndType(any(), any())).thenReturn(List.of());
+        demandForecaster.backfill();
+        LocalDate start = LocalDate.now().plusDays(10);
+
+        demandForecaster.onDomainEvent(event(10, OutboxEventType.BOOKING_CREATED, start));
+        assertEquals(0.0, demandForecaster.utilization("Pokhara", VehicleType.SUV, start, start.plusDays(1)));
+
+        demandForecaster.onDomainEvent(event(11, OutboxEventType.BOOKING_CREATED, start));
+        demandForecaster.onDomainEvent(event(12, OutboxEventType.BOOKING_CREATED, start));
+        assertEquals(1.0, demandForecaster.utilization("Pokhara", VehicleType.SUV, start, start.plusDays(1)));
+
+        demandForecaster.onDomainEvent(event(13, OutboxEventType.BOOKING_CANCELLED, start));
+        assertEquals(0.5, demandForecaster.utilization("Pokhara", VehicleType.SUV, start, start.plusDays(1)));
+
+        // Redeliveries by the relay count once
+        demandForecaster.onDomainEvent(event(12, OutboxEventType.BOOKING_CREATED, start));
+        demandForecaster.onDomainEvent(event(13, OutboxEventType.BOOKING_CANCELLED, start));
+        assertEquals(0.5, demandForecaster.utilization("Pokhara", VehicleType.SUV, start, start.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Events relayed during a rebuild reach the new model unless its history already holds them")
+    void backfill_EventsDuringRebuild_AppliedToNewModel() throws Exception {
+        LocalDate start = LocalDate.now().plusDays(10);
+        when(vehicleRepository.countByLocationAndType())
+                .thenReturn(List.<Object[]>of(new Object[] { "Pokhara", VehicleType.SUV, 4L }));
+        when(bookingRepository.countActiveStartsByLocationAndType(any(), any())).thenAnswer(invocation -> {
+            // 21 commits after the history was read, 20 before
+            demandForecaster.onDomainEvent(event(20, OutboxEventType.BOOKING_CREATED, start));
+            demandForecaster.onDomainEvent(event(21, OutboxEventType.BOOKING_CREATED, start));
+            return List.<Object[]>of(new Object[] { "Pokhara", VehicleType.SUV, start, start.plusDays(1), 1L });
+        });
+        when(outboxEventRepository.findExistingIds(any())).thenReturn(List.of(20L));
+
+        demandForecaster.backfill();
+
+        assertEquals(0.5, demandForecaster.utilization("Pokhara", VehicleType.SUV, start, start.plusDays(1)));
+        demandForecaster.onDomainEvent(event(21, OutboxEventType.BOOKING_CREATED, start));
+        assertEquals(0.5, demandForecaster.utilization("Pokhara", VehicleType.SUV, start, start.plusDays(1)));
+    }
+
+    private DomainEvent event(long id, OutboxEventType type, LocalDate start) throws Exception {
+        BookingEventPayload payload = new BookingEventPayload(id, 1L, 1L, VehicleType.SUV, "Pokhara", start,
+                start.plusDays(1), null, BookingStatus.CONFIRMED);
+        return new DomainEvent(id, id, "Booking", id, type, objectMapper.writeValueAsString(payload),
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,150 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceCalendarTest {
+
+    private final PricingRules rules = PricingRules.defaults();
+    private PricingPipeline pricingPipeline;
+    private PriceCalendar priceCalendar;
+    private PriceCalendar uncachedCalendar;
+
+    @BeforeEach
+    void setUp() {
+        // An unfitted forecaster knows no fleet, so the demand factor is neutral
+        DynamicPricingEngine dynamicPricingEngine = new DynamicPricingEngine(
+                new DemandForecaster(null, null, null, null));
+        pricingPipeline = new PricingPipeline(new DemandCalculator(), dynamicPricingEngine,
+                new PricingRuleRegistry(null));
+        ReflectionTestUtils.setField(pricingPipeline, "horizonDays", 365);
+        priceCalendar = new PriceCalendar(pricingPipeline);
+        ReflectionTestUtils.setField(priceCalendar, "horizonDays", 365);
+        // A zero-day horizon forces every quote through the direct evaluation path
+        uncachedCalendar = new PriceCalendar(pricingPipeline);
+        ReflectionTestUtils.setField(uncachedCalendar, "horizonDays", 0);
+    }
+
+    @Test
+    @DisplayName("Prefix-sum quotes match direct per-day evaluation")
+    void quote_FromCalendar_MatchesDirectEvaluation() {
+        Vehicle vehicle = vehicle(4.6);
+        LocalDate start = LocalDate.now().plusDays(10);
+
+        for (int length = 1; length <= 20; length++) {
+            LocalDate end = start.plusDays(length);
+            assertEquals(uncachedCalendar.quote(rules, vehicle, start, end),
+                    priceCalendar.quote(rules, vehicle, start, end));
+        }
+    }
+
+    @Test
+    @DisplayName("Changing the rating rebuilds the vehicle's calendar")
+    void quote_RatingChanged_ReflectsNewRating() {
+        Vehicle vehicle = vehicle(3.0);
+        LocalDate start = LocalDate.now().plusDays(20);
+        Money before = priceCalendar.quote(rules, vehicle, start, start.plusDays(2));
+
+        vehicle.setRating(4.8);
+        Money after = priceCalendar.quote(rules, vehicle, start, start.plusDays(2));
+
+        assertTrue(after.compareTo(before) > 0);
+        assertEquals(uncachedCalendar.quote(rules, vehicle, start, start.plusDays(2)), after);
+    }
+
+    @Test
+    @DisplayName("Batch quotes match single quotes, inside and beyond the horizon")
+    void quoteAll_MixedVehicles_MatchesSingleQuotes() {
+        Vehicle rated = vehicle(4.6);
+        Vehicle plain = vehicle(2.0);
+        plain.setId(2L);
+        plain.setType(VehicleType.LUXURY);
+        List<Vehicle> vehicles = List.of(rated, plain);
+
+        for (LocalDate start : List.of(LocalDate.now().plusDays(3), LocalDate.now().plusDays(400))) {
+            LocalDate end = start.plusDays(9);
+            long[] totals = priceCalendar.quoteAll(rules, vehicles, start, end);
+            for (int i = 0; i < vehicles.size(); i++) {
+                assertEquals(priceCalendar.quote(rules, vehicles.get(i), start, end), Money.ofPaisa(totals[i]));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Daily multipliers follow each day of the range, not just the start date")
+    void dailyMultipliers_WeekSpanningWeekend_PricesEachDay() {
+        // A March week, Monday to Sunday: no season or holiday, weekend from Friday
+        LocalDate monday = LocalDate.of(LocalDate.now().getYear() + 2, 3, 1)
+                .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        double[] daily = new double[7];
+        pricingPipeline.dailyMultipliers(rules, monday.toEpochDay(), daily);
+
+        assertArrayEquals(new double[] { 1.0, 1.0, 1.0, 1.0, 1.25, 1.25, 1.25 }, daily);
+        assertEquals(1.25, pricingPipeline.explain(vehicle(4.6), monday.plusDays(4), monday.plusDays(7))
+                .averageDailyMultiplier(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Forecast demand is bounded together with the calendar multiplier, day by day")
+    void quote_ForecastDemand_CombinedDailyFactorStaysWithinBounds() {
+        int year = LocalDate.now().getYear() + 1;
+        // Peak season, holiday and weekend at once: 1.3 x 1.5 x 1.25 = 2.4375 before the bounds
+        LocalDate holidaySaturday = LocalDate.of(year, 12, 20).with(TemporalAdjusters.nextOrSame(DayOfWeek.SATURDAY));
+        Vehicle vehicle = vehicle(3.0);
+        vehicle.setType(VehicleType.SEDAN);
+        long basePaisa = 350_000;
+
+        // A busy fleet (x1.4) cannot lift the day past the 2.0 cap
+        PriceCalendar busy = calendarForUtilization(0.95);
+        assertEquals(expected(basePaisa, 2.0, holidaySaturday), busy.quote(rules, vehicle, holidaySaturday,
+                holidaySaturday.plusDays(1)));
+        // A quiet fleet (x0.8) discounts the uncapped 2.4375, not the capped 2.0
+        PriceCalendar quiet = calendarForUtilization(0.1);
+        assertEquals(expected(basePaisa, 1.95, holidaySaturday), quiet.quote(rules, vehicle, holidaySaturday,
+                holidaySaturday.plusDays(1)));
+    }
+
+    private PriceCalendar calendarForUtilization(double utilization) {
+        DemandForecaster forecaster = mock(DemandForecaster.class);
+        when(forecaster.utilization(any(), any(), any(), any())).thenReturn(utilization);
+        PricingPipeline pipeline = new PricingPipeline(new DemandCalculator(), new DynamicPricingEngine(forecaster),
+                new PricingRuleRegistry(null));
+        ReflectionTestUtils.setField(pipeline, "horizonDays", 365);
+        PriceCalendar calendar = new PriceCalendar(pipeline);
+        ReflectionTestUtils.setField(calendar, "horizonDays", 365);
+        return calendar;
+    }
+
+    private Money expected(long basePaisa, double dailyMultiplier, LocalDate start) {
+        return Money.ofPaisa(PricingPipeline.total(basePaisa, Math.round(basePaisa * dailyMultiplier), 1,
+                pricingPipeline.rangeMultiplier(rules, start, start.plusDays(1))));
+    }
+
+    private Vehicle vehicle(double rating) {
+        return Vehicle.builder()
+                .id(1L)
+                .type(VehicleType.SUV)
+                .fuelType(FuelType.PETROL)
+                .basePrice(new BigDecimal("3500.00"))
+                .dailyPrice(new BigDecimal("3500.00"))
+                .rating(rating)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.entity.PriceConfig;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingRulesTest {
+
+    private final PricingRules defaults = PricingRules.defaults();
+
+    @Test
+    @DisplayName("Default rules keep the built-in seasonal, holiday and tier pricing")
+    void defaults_BuiltInPricing_Preserved() {
+        // Tuesday in March: no premium; Saturday in July: season x weekend
+        assertEquals(1.0, defaults.daily(LocalDate.of(2027, 3, 2)), 1e-9);
+        assertEquals(1.3 * 1.25, defaults.daily(LocalDate.of(2027, 7, 3)), 1e-9);
+        // Holiday wraps the year end and the combined multiplier is capped at 2.0
+        assertEquals(1.5, defaults.daily(LocalDate.of(2027, 1, 5)), 1e-9);
+        assertEquals(2.0, defaults.daily(LocalDate.of(2027, 12, 25)), 1e-9);
+
+        assertEquals(0.8, defaults.utilization(0.2), 1e-9);
+        assertEquals(1.0, defaults.utilization(0.5), 1e-9);
+        assertEquals(1.2, defaults.utilization(0.8), 1e-9);
+        assertEquals(1.4, defaults.utilization(0.95), 1e-9);
+        assertEquals(1.0, defaults.utilization(Double.NaN), 1e-9);
+        assertEquals(0.90, defaults.duration(10), 1e-9);
+        assertEquals(1.20, defaults.leadTime(0), 1e-9);
+        assertEquals(0.98, defaults.leadTime(20), 1e-9);
+        assertEquals(1.15 * 1.10 * 1.15, defaults.vehicle(4.7, VehicleType.SUV, FuelType.ELECTRIC), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Edited rules compile into a new snapshot without touching the old one")
+    void compile_EditedRules_NewSnapshotWithVersion() {
+        List<PriceConfig> rules = new ArrayList<>(PricingRules.defaultRules());
+        rules.add(PriceConfig.builder().ruleType(PriceRuleType.WEEKDAY).selector("TUESDAY").multiplier(1.1).build());
+
+        PricingRules edited = PricingRules.compile(7, rules);
+
+        assertEquals(7, edited.version());
+        assertEquals(1.1, edited.daily(LocalDate.of(2027, 3, 2)), 1e-9);
+        assertEquals(1.0, defaults.daily(LocalDate.of(2027, 3, 2)), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Candidate rule sets never share a version with stored ones or each other")
+    void compileCandidate_SameRules_OwnNegativeVersions() {
+        PricingRules first = PricingRules.compileCandidate(PricingRules.defaultRules());
+        PricingRules second = PricingRules.compileCandidate(PricingRules.defaultRules());
+
+        assertTrue(first.version() < 0);
+        assertTrue(second.version() < 0);
+        assertNotEquals(first.version(), second.version());
+    }
+
+    @Test
+    @DisplayName("Rules that cannot be applied are rejected at compile time")
+    void compile_InvalidRule_Rejected() {
+        List<PriceConfig> unknownMonth = List.of(
+                PriceConfig.builder().ruleType(PriceRuleType.SEASON).selector("SUMMER").multiplier(1.2).build());
+        List<PriceConfig> badThreshold = List.of(
+                PriceConfig.builder().ruleType(PriceRuleType.DURATION_AT_LEAST).selector("week").multiplier(0.9).build());
+
+        assertThrows(BusinessException.class, () -> PricingRules.compile(1, unknownMonth));
+        assertThrows(BusinessException.class, () -> PricingRules.compile(1, badThreshold));
+    }
+}
@@ -0,0 +1,96 @@
+package com.driverental.onlinecarrental.algorithm.pricing;
+
+import com.driverental.onlinecarrental.model.entity.PriceConfig;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.PriceRuleType;
+import com.driverental.onlinecarrental.model.enums.SimulationStatus;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.driverental.onlinecarrental.util.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PricingSimulatorTest {
+
+    private final LocalDate from = LocalDate.of(2025, 3, 1);
+    private final LocalDate to = LocalDate.of(2025, 4, 30);
+    private BookingRepository bookingRepository;
+    private PricingSimulator pricingSimulator;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+        when(vehicleRepository.countByLocationAndType()).thenReturn(List.of());
+        when(bookingRepository.countActiveStartsByLocationAndType(any(), any())).thenReturn(List.of());
+        pricingSimulator = new PricingSimulator(bookingRepository, vehicleRepository,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(pricingSimulator, "parallelism", 2);
+        ReflectionTestUtils.setField(pricingSimulator, "chunkSize", 2);
+        pricingSimulator.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pricingSimulator.shutdown();
+    }
+
+    @Test
+    @DisplayName("History is re-priced under both rule sets and grouped by month, location and type")
+    void start_TuesdayPremium_OnlyTuesdayBookingsChange() throws Exception {
+        // 2025-03-04 is a Tuesday, 2025-04-02 a Wednesday
+        List<HistoricalBooking> history = List.of(
+                booking(LocalDate.of(2025, 3, 4), "Pokhara", "1000.00"),
+                booking(LocalDate.of(2025, 3, 4), "Pokhara", "1200.00"),
+                booking(LocalDate.of(2025, 3, 4), "Pokhara", "1100.00"),
+                booking(LocalDate.of(2025, 4, 2), "Pokhara", "1000.00"));
+        when(bookingRepository.countHistory(from, to)).thenReturn((long) history.size());
+        when(bookingRepository.streamHistory(from, to)).thenReturn(history.stream());
+        List<PriceConfig> rules = new ArrayList<>(PricingRules.defaultRules());
+        rules.add(PriceConfig.builder().ruleType(PriceRuleType.WEEKDAY).selector("TUESDAY").multiplier(1.5).build());
+
+        PricingSimulator.Simulation simulation = pricingSimulator.start(PricingRules.defaults(),
+                PricingRules.compile(2, rules), from, to);
+        for (int i = 0; i < 500 && simulation.status() == SimulationStatus.RUNNING; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(SimulationStatus.COMPLETED, simulation.status());
+        assertEquals(4, simulation.processed());
+        List<PricingSimulator.GroupResult> results = simulation.results();
+        assertEquals(2, results.size());
+
+        PricingSimulator.GroupResult march = results.get(0);
+        assertEquals(YearMonth.of(2025, 3), march.month());
+        assertEquals(3, march.bookings());
+        assertEquals(Money.ofRupees(3300), march.actual());
+        assertTrue(march.candidate().compareTo(march.current()) > 0);
+
+        PricingSimulator.GroupResult april = results.get(1);
+        assertEquals(1, april.bookings());
+        assertEquals(april.current(), april.candidate());
+        assertTrue(pricingSimulator.find(simulation.id()).isPresent());
+    }
+
+    private HistoricalBooking booking(LocalDate start, String location, String total) {
+        return new HistoricalBooking(start, start.plusDays(1), start.minusDays(10).atStartOfDay(),
+                new BigDecimal(total), new BigDecimal("1000.00"), 4.0, VehicleType.SEDAN, FuelType.PETROL, location);
+    }
+}
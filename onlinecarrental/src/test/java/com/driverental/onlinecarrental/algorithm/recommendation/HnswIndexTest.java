@@ -0,0 +1,104 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static final List<String> FEATURES = List.of("GPS", "Bluetooth", "Air Conditioning", "Sunroof",
+            "Heated Seats", "Backup Camera", "Cruise Control", "Child Seat", "4WD", "USB Charging");
+
+    @Test
+    @DisplayName("Similar-vehicle search over a random catalogue agrees with brute force")
+    void search_RandomCatalogue_HighRecallAgainstBruteForce() {
+        Random random = new Random(7);
+        List<Long> ids = new ArrayList<>();
+        List<float[]> embeddings = new ArrayList<>();
+        HnswIndex index = new HnswIndex(VehicleEmbedding.DIMENSIONS, 16, 100, 64);
+        for (long id = 1; id <= 3000; id++) {
+            float[] embedding = VehicleEmbedding.encode(randomVehicle(id, random));
+            ids.add(id);
+            embeddings.add(embedding);
+            index.add(id, embedding);
+        }
+
+        assertEquals(3000, index.size());
+        assertTrue(VehicleSimilarityIndex.recall(index, ids, embeddings) >= 0.95);
+    }
+
+    @Test
+    @DisplayName("Removed vehicles are never returned, and re-added ones are found by their new attributes")
+    void addAndRemove_UpdatesInPlace() {
+        Vehicle suv = vehicle(1L, VehicleType.SUV, 80);
+        Vehicle sedan = vehicle(2L, VehicleType.SEDAN, 40);
+        HnswIndex index = new HnswIndex(VehicleEmbedding.DIMENSIONS, 4, 20, 10);
+        index.add(1L, VehicleEmbedding.encode(suv));
+        index.add(2L, VehicleEmbedding.encode(sedan));
+        for (long id = 3; id <= 20; id++) {
+            index.add(id, VehicleEmbedding.encode(vehicle(id, VehicleType.VAN, 120)));
+        }
+        Vehicle query = vehicle(99L, VehicleType.SUV, 85);
+
+        assertEquals(List.of(1L), index.search(VehicleEmbedding.encode(query), 1, id -> true));
+
+        index.remove(1L);
+        assertFalse(index.contains(1L));
+        assertFalse(index.search(VehicleEmbedding.encode(query), 20, id -> true).contains(1L));
+
+        // Vehicle 2 is re-listed as an SUV
+        index.add(2L, VehicleEmbedding.encode(vehicle(2L, VehicleType.SUV, 80)));
+        assertEquals(List.of(2L), index.search(VehicleEmbedding.encode(query), 1, id -> true));
+        assertEquals(19, index.size());
+
+        // Retiring most of the fleet compacts the graph without losing the rest
+        for (long id = 3; id <= 17; id++) {
+            index.remove(id);
+        }
+        List<Long> remaining = index.search(VehicleEmbedding.encode(query), 10, id -> true);
+        assertEquals(2L, remaining.get(0));
+        assertEquals(Set.of(18L, 19L, 20L), Set.copyOf(remaining.subList(1, remaining.size())));
+    }
+
+    private static Vehicle randomVehicle(long id, Random random) {
+        List<String> features = new ArrayList<>();
+        for (String feature : FEATURES) {
+            if (random.nextInt(3) == 0) {
+                features.add(feature);
+            }
+        }
+        return Vehicle.builder()
+                .id(id)
+                .type(VehicleType.values()[random.nextInt(VehicleType.values().length)])
+                .fuelType(FuelType.values()[random.nextInt(4)])
+                .transmission(random.nextBoolean() ? "Automatic" : "Manual")
+                .seats(2 + random.nextInt(7))
+                .luggageCapacity(random.nextInt(7))
+                .features(features)
+                .dailyPrice(BigDecimal.valueOf(20 + random.nextInt(480)))
+                .build();
+    }
+
+    private static Vehicle vehicle(Long id, VehicleType type, int dailyPrice) {
+        return Vehicle.builder()
+                .id(id)
+                .type(type)
+                .fuelType(FuelType.PETROL)
+                .transmission("Automatic")
+                .seats(5)
+                .luggageCapacity(3)
+                .features(List.of("GPS"))
+                .dailyPrice(BigDecimal.valueOf(dailyPrice))
+                .build();
+    }
+}
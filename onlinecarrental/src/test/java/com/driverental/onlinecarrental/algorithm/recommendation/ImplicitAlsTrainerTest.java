@@ -0,0 +1,81 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImplicitAlsTrainerTest {
+
+    private ImplicitAlsTrainer implicitAlsTrainer;
+
+    @BeforeEach
+    void setUp() {
+        implicitAlsTrainer = new ImplicitAlsTrainer();
+        ReflectionTestUtils.setField(implicitAlsTrainer, "parallelism", 2);
+        implicitAlsTrainer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        implicitAlsTrainer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Loss never increases, and users are steered to the vehicles their group books")
+    void train_TwoTasteGroups_RecommendsWithinGroup() {
+        // Users 1-20 book from vehicles 100-104, users 21-40 from 200-204; each skips one of their group's
+        List<Long> users = new ArrayList<>();
+        Map<Long, Map<Long, Double>> ratings = new HashMap<>();
+        for (long user = 1; user <= 40; user++) {
+            users.add(user);
+            long group = user <= 20 ? 100 : 200;
+            Map<Long, Double> booked = new HashMap<>();
+            for (long vehicle = group; vehicle < group + 5; vehicle++) {
+                if (vehicle - group != user % 5) {
+                    booked.put(vehicle, 3.0 + user % 3);
+                }
+            }
+            ratings.put(user, booked);
+        }
+        List<Long> vehicles = List.of(100L, 101L, 102L, 103L, 104L, 200L, 201L, 202L, 203L, 204L);
+        RatingMatrix matrix = RatingMatrix.of(users, vehicles, ratings);
+
+        ImplicitAlsTrainer.Training training = implicitAlsTrainer.train(matrix);
+
+        List<ImplicitAlsTrainer.Iteration> iterations = training.iterations();
+        assertEquals(15, iterations.size());
+        for (int i = 1; i < iterations.size(); i++) {
+            assertTrue(iterations.get(i).loss() <= iterations.get(i - 1).loss() + 1e-6);
+        }
+        FactorModel model = new FactorModel(1, Instant.now(), matrix, training.factors());
+        // User 3 skipped vehicle 103, user 27 skipped 202
+        assertEquals(List.of(103L), model.topItems(3L, 1, id -> true));
+        assertEquals(List.of(202L), model.topItems(27L, 1, id -> true));
+    }
+
+    @Test
+    @DisplayName("The transposed matrix holds the same ratings by vehicle")
+    void transpose_RatingsByVehicle() {
+        RatingMatrix matrix = RatingMatrix.of(List.of(1L, 2L), List.of(10L, 20L),
+                Map.of(1L, Map.of(20L, 4.0), 2L, Map.of(10L, 3.0, 20L, 5.0)));
+
+        RatingMatrix byVehicle = matrix.transpose();
+
+        assertEquals(2, byVehicle.users());
+        assertEquals(3, byVehicle.nonZeros());
+        int vehicle20 = byVehicle.userIndex(20L);
+        assertEquals(2, byVehicle.rowEnd(vehicle20) - byVehicle.rowStart(vehicle20));
+        assertEquals(1L, byVehicle.itemId(byVehicle.column(byVehicle.rowStart(vehicle20))));
+        assertEquals(4.0f, byVehicle.value(byVehicle.rowStart(vehicle20)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InteractionLogTest {
+
+    private static final Instant START = Instant.parse("2025-03-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Concurrent appends across full segments are all recovered after reopening")
+    void append_Concurrent_RecoveredInOrderAfterReopen() throws Exception {
+        InteractionLog log = InteractionLog.open(directory, 4096, Duration.ofDays(1), interaction -> { });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> appends = new ArrayList<>();
+        for (long user = 1; user <= 4; user++) {
+            long userId = user;
+            appends.add(executor.submit(() -> {
+                for (long i = 0; i < 500; i++) {
+                    log.append(new UserInteraction(userId, i, i % 5 == 0 ? "CLICK" : "IMPRESSION",
+                            i % 50 == 0 ? "search for suv" : null, START.plusMillis(i)));
+                }
+            }));
+        }
+        for (Future<?> append : appends) {
+            append.get();
+        }
+        executor.shutdown();
+        log.close();
+        assertTrue(log.segments() > 1);
+
+        List<UserInteraction> recovered = new ArrayList<>();
+        InteractionLog.open(directory, 4096, Duration.ofDays(1), recovered::add);
+
+        assertEquals(2000, recovered.size());
+        for (long user = 1; user <= 4; user++) {
+            long userId = user;
+            List<UserInteraction> ofUser = recovered.stream().filter(i -> i.userId() == userId).toList();
+            for (int i = 0; i < ofUser.size(); i++) {
+                assertEquals(i, ofUser.get(i).vehicleId());
+            }
+        }
+        assertEquals("search for suv", recovered.stream().filter(i -> i.vehicleId() == 50).findFirst()
+                .orElseThrow().details());
+    }
+
+    @Test
+    @DisplayName("Retention deletes only segments that end before the cutoff")
+    void dropBefore_SegmentsPerHour_DeletesWholeExpiredSegments() {
+        InteractionLog log = InteractionLog.open(directory, 1 << 20, Duration.ofHours(1), interaction -> { });
+        for (int hour = 0; hour < 5; hour += 2) {
+            log.append(new UserInteraction(1L, (long) hour, "CLICK", null, START.plus(Duration.ofHours(hour))));
+        }
+        assertEquals(3, log.segments());
+
+        assertEquals(1, log.dropBefore(START.plus(Duration.ofHours(3))));
+
+        assertEquals(2, log.segments());
+        log.close();
+        List<Long> recovered = new ArrayList<>();
+        InteractionLog.open(directory, 1 << 20, Duration.ofHours(1), interaction -> recovered.add(interaction.vehicleId()));
+        assertEquals(List.of(2L, 4L), recovered);
+    }
+
+    @Test
+    @DisplayName("A torn last record is discarded and appending continues after the last complete one")
+    void open_TornLastRecord_ResumesAfterLastCompleteRecord() throws IOException {
+        InteractionLog log = InteractionLog.open(directory, 1 << 16, Duration.ofDays(1), interaction -> { });
+        for (long i = 0; i < 10; i++) {
+            log.append(new UserInteraction(1L, i, "IMPRESSION", null, START));
+        }
+        log.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        // Records here are 8 + 38 bytes; corrupt the vehicle id of the tenth
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), 9 * 46 + 8 + 16);
+        }
+
+        List<UserInteraction> recovered = new ArrayList<>();
+        InteractionLog reopened = InteractionLog.open(directory, 1 << 16, Duration.ofDays(1), recovered::add);
+        assertEquals(9, recovered.size());
+        reopened.append(new UserInteraction(1L, 99L, "CLICK", null, START));
+        reopened.close();
+
+        recovered.clear();
+        InteractionLog.open(directory, 1 << 16, Duration.ofDays(1), recovered::add);
+        assertEquals(10, recovered.size());
+        assertEquals(99L, recovered.get(9).vehicleId());
+    }
+}
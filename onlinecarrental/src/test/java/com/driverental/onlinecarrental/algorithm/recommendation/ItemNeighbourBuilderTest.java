@@ -0,0 +1,110 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.Review;
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemNeighbourBuilderTest {
+
+    private ItemNeighbourBuilder itemNeighbourBuilder;
+
+    @BeforeEach
+    void setUp() {
+        itemNeighbourBuilder = new ItemNeighbourBuilder(null, null, null);
+        ReflectionTestUtils.setField(itemNeighbourBuilder, "parallelism", 2);
+        itemNeighbourBuilder.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemNeighbourBuilder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Neighbour scores match the pairwise co-occurrence and rating similarities")
+    void compute_RandomHistory_MatchesPairwiseSimilarity() {
+        Random random = new Random(11);
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            vehicles.add(Vehicle.builder().id(id).build());
+        }
+        List<Booking> allBookings = new ArrayList<>();
+        List<Review> allReviews = new ArrayList<>();
+        Map<Long, Map<Long, Double>> bookings = new HashMap<>();
+        Map<Long, Map<Long, Double>> ratings = new HashMap<>();
+        for (long userId = 1; userId <= 40; userId++) {
+            User user = User.builder().id(userId).build();
+            for (Vehicle vehicle : vehicles) {
+                if (random.nextInt(4) == 0) {
+                    allBookings.add(Booking.builder().user(user).vehicle(vehicle).build());
+                    bookings.computeIfAbsent(userId, key -> new HashMap<>()).put(vehicle.getId(), 1.0);
+                }
+                // Vehicle 12 is never reviewed
+                if (vehicle.getId() < 12 && random.nextInt(3) == 0) {
+                    int rating = 1 + random.nextInt(5);
+                    allReviews.add(Review.builder().user(user).vehicle(vehicle).rating(rating).build());
+                    ratings.computeIfAbsent(userId, key -> new HashMap<>()).put(vehicle.getId(), (double) rating);
+                }
+            }
+        }
+
+        ItemNeighbourTable table = itemNeighbourBuilder.compute(bookings, ratings, 1);
+
+        // Every vehicle here was booked, so pairs left out of the table score 0 pairwise
+        ItemSimilarity itemSimilarity = new ItemSimilarity(null);
+        int listed = 0;
+        for (Vehicle vehicle : vehicles) {
+            Map<Long, Double> neighbours = table.neighbours(vehicle.getId());
+            double previous = Double.MAX_VALUE;
+            for (double score : neighbours.values()) {
+                assertTrue(score > 0 && score <= previous);
+                previous = score;
+            }
+            for (Vehicle other : vehicles) {
+                if (other != vehicle) {
+                    double expected = 0.3 * itemSimilarity.calculateCoOccurrenceSimilarity(vehicle, other, allBookings)
+                            + 0.2 * itemSimilarity.calculateRatingSimilarity(vehicle, other, allReviews);
+                    assertEquals(expected, neighbours.getOrDefault(other.getId(), 0.0), 1e-5);
+                }
+            }
+            listed += neighbours.size();
+        }
+        assertTrue(listed > 100);
+    }
+
+    @Test
+    @DisplayName("Only the best K are kept, and recommendations merge the booked vehicles' lists")
+    void recommend_MergesNeighbourLists() {
+        ReflectionTestUtils.setField(itemNeighbourBuilder, "neighboursPerVehicle", 2);
+        // 10 and 20 are always booked together; 30 once with each; 40 only with 30
+        Map<Long, Map<Long, Double>> bookings = Map.of(
+                1L, Map.of(10L, 1.0, 20L, 1.0),
+                2L, Map.of(10L, 1.0, 20L, 1.0, 30L, 1.0),
+                3L, Map.of(30L, 1.0, 40L, 1.0),
+                4L, Map.of(50L, 1.0));
+
+        ItemNeighbourTable table = itemNeighbourBuilder.compute(bookings, Map.of(), 1);
+
+        assertEquals(List.of(20L, 30L), List.copyOf(table.neighbours(10L).keySet()));
+        assertEquals(2, table.neighbours(30L).size());
+        assertTrue(table.neighbours(50L).isEmpty());
+        assertEquals(List.of(30L), table.recommend(Set.of(10L, 20L), 5, id -> true));
+        assertEquals(List.of(20L), table.recommend(Set.of(10L), 5, id -> id != 30L));
+        assertTrue(ItemNeighbourTable.EMPTY.recommend(Set.of(10L), 5, id -> true).isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrixFactorizationTest {
+
+    private final MatrixFactorization matrixFactorization = new MatrixFactorization();
+
+    @Test
+    @DisplayName("Only ratings of known users and vehicles are stored, row by row")
+    void ratingMatrix_UnknownIdsAndNulls_Dropped() {
+        Map<Long, Map<Long, Double>> ratings = new HashMap<>();
+        ratings.put(1L, Map.of(10L, 4.0, 99L, 5.0));
+        ratings.put(2L, new HashMap<>(Map.of(20L, 3.5)));
+        ratings.get(2L).put(10L, null);
+        ratings.put(3L, Map.of(20L, 2.0));
+
+        RatingMatrix matrix = RatingMatrix.of(List.of(1L, 2L), List.of(10L, 20L), ratings);
+
+        assertEquals(2, matrix.nonZeros());
+        assertEquals(1, matrix.rowEnd(0) - matrix.rowStart(0));
+        assertEquals(0, matrix.column(matrix.rowStart(0)));
+        assertEquals(4.0f, matrix.value(matrix.rowStart(0)));
+        assertEquals(1, matrix.column(matrix.rowStart(1)));
+        assertEquals(3.5f, matrix.value(matrix.rowStart(1)));
+        assertEquals(-1, matrix.userIndex(3L));
+        assertEquals(20L, matrix.itemId(matrix.itemIndex(20L)));
+    }
+
+    @Test
+    @DisplayName("Training fits the observed ratings and scores every vehicle for the target")
+    void factorizeForUser_ObservedRatings_Reproduced() {
+        List<User> users = List.of(user(1L), user(2L), user(3L));
+        List<Vehicle> vehicles = List.of(vehicle(10L), vehicle(20L), vehicle(30L));
+        Map<Long, Map<Long, Double>> ratings = Map.of(
+                1L, Map.of(10L, 5.0, 20L, 1.0),
+                2L, Map.of(10L, 5.0, 20L, 1.0, 30L, 5.0),
+                3L, Map.of(20L, 2.0));
+
+        Map<Long, Double> predictions = matrixFactorization.factorizeForUser(users.get(0), users, vehicles, ratings);
+
+        assertEquals(3, predictions.size());
+        assertTrue(predictions.get(10L) > predictions.get(20L));
+        assertEquals(1.0, predictions.get(20L), 0.5);
+        assertTrue(matrixFactorization.factorizeForUser(user(4L), users, vehicles, ratings).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A model snapshot serves the best unbooked, eligible vehicles, best first")
+    void topItems_TrainedModel_RanksUnbookedEligibleVehicles() {
+        // Users 1 and 2 agree on 10 and 20; 2 also loves 30 and dislikes 40, which 1 has not booked
+        Map<Long, Map<Long, Double>> ratings = Map.of(
+                1L, Map.of(10L, 5.0, 20L, 1.0),
+                2L, Map.of(10L, 5.0, 20L, 1.0, 30L, 5.0, 40L, 1.0),
+                3L, Map.of(20L, 5.0, 40L, 5.0, 50L, 3.0));
+        RatingMatrix matrix = RatingMatrix.of(List.of(1L, 2L, 3L), List.of(10L, 20L, 30L, 40L, 50L, 60L), ratings);
+        FactorModel model = new FactorModel(1, Instant.now(), matrix, matrixFactorization.train(matrix));
+
+        List<Long> all = model.topItems(1L, 10, id -> true);
+        assertEquals(4, all.size());
+        assertFalse(all.contains(10L) || all.contains(20L));
+        assertTrue(all.indexOf(30L) < all.indexOf(40L));
+        assertEquals(all.subList(0, 2), model.topItems(1L, 2, id -> true));
+        assertFalse(model.topItems(1L, 10, id -> id != 30L).contains(30L));
+        assertTrue(model.topItems(9L, 10, id -> true).isEmpty());
+        assertTrue(FactorModel.EMPTY.topItems(1L, 10, id -> true).isEmpty());
+    }
+
+    private static User user(Long id) {
+        return User.builder().id(id).build();
+    }
+
+    private static Vehicle vehicle(Long id) {
+        return Vehicle.builder().id(id).build();
+    }
+}
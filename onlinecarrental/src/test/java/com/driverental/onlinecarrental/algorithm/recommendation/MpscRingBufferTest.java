@@ -0,0 +1,67 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("A full buffer rejects offers until the consumer drains it")
+    void offer_Full_RejectsUntilDrained() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drain(drained::add, 2));
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+        assertEquals(4, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Every element of concurrent producers is drained once, in each producer's order")
+    void drain_ConcurrentProducers_KeepsEveryElementInProducerOrder() throws InterruptedException {
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(new long[] { producer, i })) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+
+        long[] next = new long[producers];
+        int[] received = new int[1];
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drain(element -> {
+                assertEquals(next[(int) element[0]]++, element[1]);
+                received[0]++;
+            }, 16);
+            Thread.yield();
+        }
+
+        assertEquals(producers * perProducer, received[0]);
+    }
+}
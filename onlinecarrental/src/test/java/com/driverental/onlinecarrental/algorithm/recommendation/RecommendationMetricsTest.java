@@ -0,0 +1,143 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.event.UserDeletedEvent;
+import com.driverental.onlinecarrental.event.UserRegisteredEvent;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private RecommendationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new RecommendationMetrics(null, null, null, null, registry);
+        metrics.init();
+    }
+
+    @Test
+    @DisplayName("CTR and conversion count only interactions inside the rolling window")
+    void clickThroughAndConversion_OldInteractions_FallOutOfWindow() {
+        Instant now = Instant.now();
+        Instant expired = now.minus(Duration.ofDays(40));
+        for (int i = 0; i < 10; i++) {
+            metrics.recordInteraction(new UserInteraction(null, 1L, "IMPRESSION", null, now));
+            metrics.recordInteraction(new UserInteraction(null, 1L, "IMPRESSION", null, expired));
+            metrics.recordInteraction(new UserInteraction(null, 1L, "CLICK", null, expired));
+        }
+        for (int i = 0; i < 4; i++) {
+            metrics.recordInteraction(new UserInteraction(null, 1L, "CLICK", null, now.minus(Duration.ofDays(i))));
+        }
+        metrics.recordInteraction(new UserInteraction(null, 1L, "BOOKING", null, now));
+
+        assertEquals(0.4, metrics.clickThroughRate(), 1e-9);
+        assertEquals(0.25, metrics.conversionRate(), 1e-9);
+        assertEquals(0.4, registry.get("recommendation.click.through.rate").gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Coverage counts users once they reach 2 bookings or 5 interactions")
+    void coverage_ThresholdsCrossed_CountsEachUserOnce() {
+        for (long user = 1; user <= 4; user++) {
+            metrics.onUserRegistered(new UserRegisteredEvent(user));
+        }
+        Instant now = Instant.now();
+        for (int i = 0; i < 7; i++) {
+            metrics.recordInteraction(new UserInteraction(1L, 9L, "IMPRESSION", null, now));
+        }
+        for (int i = 0; i < 4; i++) {
+            metrics.recordInteraction(new UserInteraction(2L, 9L, "CLICK", null, now));
+        }
+        metrics.recordBookings(3L, 1);
+        metrics.recordBookings(3L, 1);
+        assertEquals(0.5, metrics.coverage(), 1e-9);
+
+        metrics.recordBookings(2L, 1);
+        assertEquals(0.5, metrics.coverage(), 1e-9);
+        metrics.recordInteraction(new UserInteraction(2L, 9L, "CLICK", null, now));
+        assertEquals(0.75, metrics.coverage(), 1e-9);
+
+        metrics.onUserDeleted(new UserDeletedEvent(1L));
+        assertEquals(2.0 / 3, registry.get("recommendation.coverage").gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Diversity is the mean share of distinct types per generated list")
+    void diversity_GeneratedLists_AveragesDistinctTypeShare() {
+        metrics.recordRecommendations(List.of(vehicle(VehicleType.SUV), vehicle(VehicleType.SEDAN)));
+        metrics.recordRecommendations(List.of(vehicle(VehicleType.SUV), vehicle(VehicleType.SUV),
+                vehicle(VehicleType.SUV), vehicle(VehicleType.SUV)));
+        metrics.recordRecommendations(List.of());
+
+        assertEquals((1.0 + 0.25) / 2, metrics.diversity(), 1e-9);
+        assertEquals(metrics.diversity(), metrics.snapshot().get("diversityScore"));
+    }
+
+    @Test
+    @DisplayName("Bookings relayed around the seed count once, whether or not the seed read them")
+    void seed_EventsDuringSeed_CountedOnce() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+        RecommendationMetrics seeded = new RecommendationMetrics(bookingRepository, userRepository,
+                outboxEventRepository, objectMapper, new SimpleMeterRegistry());
+        seeded.init();
+        when(userRepository.count()).thenReturn(4L);
+        when(bookingRepository.countBookingsByUser()).thenAnswer(invocation -> {
+            // 10 commits before the counts are read, 11 after; 12 is counted but not yet relayed
+            seeded.onDomainEvent(booking(10, 1L, objectMapper));
+            seeded.onDomainEvent(booking(11, 2L, objectMapper));
+            return List.<Object[]>of(new Object[] { 1L, 1L }, new Object[] { 3L, 1L });
+        });
+        when(outboxEventRepository.findExistingIds(any())).thenReturn(List.of(10L));
+        when(outboxEventRepository.findUnpublishedIds()).thenReturn(List.of(10L, 12L));
+
+        seeded.seed();
+        assertEquals(0.0, seeded.coverage(), 1e-9);
+
+        // A redelivery of 11 and the already counted 12 change nothing; 13 covers user 2
+        seeded.onDomainEvent(booking(11, 2L, objectMapper));
+        seeded.onDomainEvent(booking(12, 3L, objectMapper));
+        assertEquals(0.0, seeded.coverage(), 1e-9);
+        seeded.onDomainEvent(booking(13, 2L, objectMapper));
+        assertEquals(0.25, seeded.coverage(), 1e-9);
+    }
+
+    private static DomainEvent booking(long id, long userId, ObjectMapper objectMapper) throws Exception {
+        LocalDate start = LocalDate.now().plusDays(3);
+        BookingEventPayload payload = new BookingEventPayload(id, userId, 9L, VehicleType.SUV, "Pokhara", start,
+                start.plusDays(2), null, BookingStatus.CONFIRMED);
+        return new DomainEvent(id, id, "Booking", id, OutboxEventType.BOOKING_CREATED,
+                objectMapper.writeValueAsString(payload), LocalDateTime.now());
+    }
+
+    private static Vehicle vehicle(VehicleType type) {
+        return Vehicle.builder().type(type).build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.event.DomainEvent;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingCountersTest {
+
+    private static final Instant START = Instant.parse("2025-03-01T00:00:00Z");
+
+    private TrendingCounters trendingCounters;
+
+    @BeforeEach
+    void setUp() {
+        trendingCounters = new TrendingCounters(null, null, null);
+        ReflectionTestUtils.setField(trendingCounters, "halfLifeHours", 1.0);
+        ReflectionTestUtils.setField(trendingCounters, "topK", 5);
+    }
+
+    @Test
+    @DisplayName("Activity halves every half-life")
+    void score_OneHalfLifeLater_IsHalved() {
+        trendingCounters.recordBooking(1L, START);
+        trendingCounters.recordInteraction(new UserInteraction(7L, 1L, "CLICK", null, START));
+
+        assertEquals(2.5, trendingCounters.score(1L, START), 1e-9);
+        assertEquals(1.25, trendingCounters.score(1L, START.plus(Duration.ofHours(1))), 1e-9);
+        assertEquals(0.0, trendingCounters.score(2L, START));
+    }
+
+    @Test
+    @DisplayName("The top K follows the decayed scores of every vehicle, across rescaling")
+    void top_RandomEventsOverManyHalfLives_MatchesExactRanking() {
+        Random random = new Random(5);
+        Map<Long, Double> exact = new HashMap<>();
+        Instant now = START;
+        // 200 hours is well past the 64 half-lives after which stored values are rescaled
+        for (int i = 0; i < 20_000; i++) {
+            now = now.plusMillis(random.nextInt(72_000));
+            long vehicleId = 1 + (long) Math.min(49, Math.abs(random.nextGaussian()) * 15);
+            boolean booking = random.nextInt(10) == 0;
+            if (booking) {
+                trendingCounters.recordBooking(vehicleId, now);
+            } else {
+                trendingCounters.recordInteraction(new UserInteraction(1L, vehicleId, "IMPRESSION", null, now));
+            }
+            // Exact scores as of START, which rank the same as at any later instant
+            exact.merge(vehicleId, (booking ? 2.0 : 0.5) * Math.pow(2, hoursBetween(START, now)), Double::sum);
+        }
+        Instant end = now;
+
+        List<Long> expected = exact.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(5)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertEquals(expected, trendingCounters.top(10));
+        for (long id : expected) {
+            assertEquals(exact.get(id) * Math.pow(2, -hoursBetween(START, end)), trendingCounters.score(id, end),
+                    1e-9 * trendingCounters.score(id, end));
+        }
+    }
+
+    @Test
+    @DisplayName("Bookings relayed around the seed are counted once, whether or not the seed read them")
+    void seedBookings_EventsDuringSeed_CountedOnce() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+        TrendingCounters counters = new TrendingCounters(bookingRepository, outboxEventRepository, objectMapper);
+        ReflectionTestUtils.setField(counters, "halfLifeHours", 1.0);
+        ReflectionTestUtils.setField(counters, "topK", 5);
+        LocalDateTime bookedAt = LocalDateTime.now();
+        Instant at = bookedAt.atZone(ZoneId.systemDefault()).toInstant();
+
+        counters.onDomainEvent(booking(19, bookedAt, objectMapper));
+        when(bookingRepository.findVehicleBookingTimesSince(any())).thenAnswer(invocation -> {
+            // 19 and 20 commit before the bookings are read, 21 after; 22 is read but not yet relayed
+            counters.onDomainEvent(booking(20, bookedAt, objectMapper));
+            counters.onDomainEvent(booking(21, bookedAt, objectMapper));
+            return List.of(new Object[] { 1L, bookedAt }, new Object[] { 1L, bookedAt }, new Object[] { 1L, bookedAt });
+        });
+        when(outboxEventRepository.findExistingIds(any())).thenReturn(List.of(19L, 20L));
+        when(outboxEventRepository.findUnpublishedIds()).thenReturn(List.of(19L, 20L, 22L));
+
+        counters.seedBookings();
+        assertEquals(4 * TrendingCounters.BOOKING_WEIGHT, counters.score(1L, at), 1e-9);
+
+        counters.onDomainEvent(booking(21, bookedAt, objectMapper));
+        counters.onDomainEvent(booking(22, bookedAt, objectMapper));
+        counters.onDomainEvent(booking(23, bookedAt, objectMapper));
+        assertEquals(5 * TrendingCounters.BOOKING_WEIGHT, counters.score(1L, at), 1e-9);
+    }
+
+    private static DomainEvent booking(long id, LocalDateTime bookedAt, ObjectMapper objectMapper) throws Exception {
+        LocalDate start = bookedAt.toLocalDate().plusDays(3);
+        BookingEventPayload payload = new BookingEventPayload(id, 7L, 1L, VehicleType.SUV, "Pokhara", start,
+                start.plusDays(2), null, BookingStatus.CONFIRMED);
+        return new DomainEvent(id, id, "Booking", id, OutboxEventType.BOOKING_CREATED,
+                objectMapper.writeValueAsString(payload), bookedAt);
+    }
+
+    private static double hoursBetween(Instant from, Instant to) {
+        return Duration.between(from, to).toMillis() / 3_600_000.0;
+    }
+}
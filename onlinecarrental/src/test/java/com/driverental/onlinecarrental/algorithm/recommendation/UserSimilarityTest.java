@@ -0,0 +1,154 @@
+package com.driverental.onlinecarrental.algorithm.recommendation;
+
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.Review;
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserSimilarityTest {
+
+    private static final int CLUSTERS = 3;
+
+    private UserSimilarityIndex userSimilarityIndex;
+    private UserRepository userRepository;
+    private UserSimilarity userSimilarity;
+
+    @BeforeEach
+    void setUp() {
+        userSimilarityIndex = new UserSimilarityIndex(null, null, null, null);
+        userRepository = mock(UserRepository.class);
+        userSimilarity = new UserSimilarity(userSimilarityIndex, userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userSimilarityIndex.shutdown();
+    }
+
+    @Test
+    @DisplayName("Matching signature entries estimate the Jaccard similarity of the token sets")
+    void signature_OverlappingTokens_EstimatesJaccard() {
+        // 30 shared of 50 distinct tokens: Jaccard 0.6
+        int[] first = MinHashLsh.signature(LongStream.range(0, 40).toArray());
+        int[] second = MinHashLsh.signature(LongStream.range(10, 50).toArray());
+
+        int agreeing = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                agreeing++;
+            }
+        }
+        assertEquals(0.6, (double) agreeing / first.length, 0.15);
+        assertEquals(0, MinHashLsh.signature(new long[0]).length);
+    }
+
+    @Test
+    @DisplayName("Identical histories score 1 and missing ones keep their neutral scores")
+    void calculateOverallSimilarity_Profiles_MatchesExpectedScores() {
+        Random random = new Random(3);
+        User user = user(1, 0, random);
+        // Vehicle 99 is reviewed twice: the first rating counts
+        Vehicle rated = Vehicle.builder().id(99L).build();
+        user.getReviews().add(Review.builder().user(user).vehicle(rated).rating(1).build());
+        user.getReviews().add(Review.builder().user(user).vehicle(rated).rating(5).build());
+        user.getReviews().add(Review.builder().user(user).vehicle(Vehicle.builder().id(98L).build()).rating(4).build());
+        User twin = User.builder().id(2L).createdAt(user.getCreatedAt()).bookings(user.getBookings())
+                .reviews(user.getReviews()).build();
+        User empty = User.builder().id(3L).build();
+
+        assertEquals(1.0, userSimilarity.calculateBookingSimilarity(user, twin), 1e-9);
+        assertEquals(1.0, userSimilarity.calculateRatingSimilarity(user, twin), 1e-9);
+        assertEquals(1.0, userSimilarity.calculateBehavioralSimilarity(user, twin), 1e-9);
+        assertEquals(0.0, userSimilarity.calculateBookingSimilarity(user, empty));
+        assertEquals(0.5, userSimilarity.calculateRatingSimilarity(empty, User.builder().id(4L).build()));
+        assertEquals(1.0, userSimilarity.calculateOverallSimilarity(user, user));
+    }
+
+    @Test
+    @DisplayName("Similar users found among LSH candidates score like the best of a full scan")
+    void findSimilarUsers_IndexReady_ScoresOnlyCandidatesFromSameTaste() {
+        Random random = new Random(7);
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 600; id++) {
+            users.add(user(id, (int) (id % CLUSTERS), random));
+        }
+        User target = users.get(0);
+        // Reference: every other user scored against the target
+        List<User> fullScan = users.stream().filter(user -> user != target)
+                .sorted(Comparator.comparingDouble((User user) -> userSimilarity.calculateOverallSimilarity(target, user))
+                        .reversed())
+                .limit(10)
+                .toList();
+
+        assertTrue(userSimilarity.findSimilarUsers(target, 10).isEmpty());
+
+        userSimilarityIndex.install(users.stream().map(UserProfile::of).toList(), Map.of());
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            Set<?> ids = Set.copyOf((Collection<?>) invocation.getArgument(0));
+            return users.stream().filter(user -> ids.contains(user.getId())).toList();
+        });
+        List<UserSimilarity.UserSimilarityScore> indexed = userSimilarity.findSimilarUsers(target, 10);
+
+        assertEquals(10, indexed.size());
+        for (UserSimilarity.UserSimilarityScore score : indexed) {
+            assertEquals(target.getId() % CLUSTERS, score.getUser().getId() % CLUSTERS);
+            assertNotEquals(target.getId(), score.getUser().getId());
+        }
+        assertEquals(fullScan.get(0), indexed.get(0).getUser());
+        long found = indexed.stream().filter(score -> fullScan.contains(score.getUser())).count();
+        assertTrue(found >= 6);
+        // Only the top users were loaded, never the whole user base
+        verify(userRepository, never()).findAll();
+        // Only a fraction of the user base was scored
+        assertTrue(userSimilarityIndex.candidates(UserProfile.of(target)).size() < users.size() / 3);
+    }
+
+    /**
+     * A user booking and reviewing vehicles from their cluster's pool of 20, of its two types.
+     */
+    private User user(long id, int cluster, Random random) {
+        User user = User.builder().id(id).createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(random.nextInt(30)))
+                .bookings(new ArrayList<>()).reviews(new ArrayList<>()).build();
+        for (int i = 0; i < 4 + random.nextInt(4); i++) {
+            long vehicleId = cluster * 20L + random.nextInt(20) + 1;
+            Vehicle vehicle = Vehicle.builder().id(vehicleId)
+                    .type(VehicleType.values()[cluster * 2 + (int) (vehicleId % 2)]).build();
+            LocalDate start = LocalDate.of(2024, 1 + cluster * 4 + random.nextInt(4), 1 + random.nextInt(28));
+            user.getBookings().add(Booking.builder().user(user).vehicle(vehicle)
+                    .startDate(start).endDate(start.plusDays(2 + cluster * 3 + random.nextInt(3)))
+                    .totalPrice(BigDecimal.valueOf(100 * (cluster + 1) + random.nextInt(50)))
+                    .createdAt(start.minusDays(5 + random.nextInt(10)).atStartOfDay())
+                    .pickupLocation("Station " + cluster)
+                    .build());
+            if (random.nextBoolean()) {
+                user.getReviews().add(Review.builder().user(user).vehicle(vehicle).rating(1 + random.nextInt(5)).build());
+            }
+        }
+        return user;
+    }
+}
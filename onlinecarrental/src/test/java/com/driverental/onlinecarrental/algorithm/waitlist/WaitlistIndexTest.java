@@ -0,0 +1,53 @@
+package com.driverental.onlinecarrental.algorithm.waitlist;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 10);
+
+    @Test
+    @DisplayName("Only requests overlapping the freed interval on the same vehicle match")
+    void findOverlapping_ReturnsOnlyOverlappingRequests() {
+        WaitlistIndex index = new WaitlistIndex();
+        index.add(1, 7, DAY.minusDays(20), DAY.minusDays(1), 0);  // ends before
+        index.add(2, 7, DAY.minusDays(10), DAY.plusDays(1), 0);   // long request starting well before
+        index.add(3, 7, DAY.plusDays(2), DAY.plusDays(3), 0);     // inside
+        index.add(4, 7, DAY.plusDays(6), DAY.plusDays(8), 0);     // starts after
+        index.add(5, 8, DAY, DAY.plusDays(2), 0);                 // other vehicle
+
+        List<Long> matches = index.findOverlapping(7, DAY, DAY.plusDays(5));
+
+        assertEquals(List.of(2L, 3L), matches);
+    }
+
+    @Test
+    @DisplayName("Matches come back by priority, then in arrival order")
+    void findOverlapping_OrdersByPriorityThenArrival() {
+        WaitlistIndex index = new WaitlistIndex();
+        index.add(10, 1, DAY, DAY.plusDays(2), 0);
+        index.add(11, 1, DAY.plusDays(1), DAY.plusDays(1), 3);
+        index.add(12, 1, DAY, DAY.plusDays(4), 0);
+
+        assertEquals(List.of(11L, 10L, 12L), index.findOverlapping(1, DAY, DAY.plusDays(4)));
+    }
+
+    @Test
+    @DisplayName("Removed entries are no longer offered")
+    void remove_DropsEntry() {
+        WaitlistIndex index = new WaitlistIndex();
+        index.add(1, 1, DAY, DAY.plusDays(2), 0);
+        index.add(2, 1, DAY, DAY.plusDays(2), 0);
+
+        index.remove(1);
+
+        assertEquals(List.of(2L), index.findOverlapping(1, DAY, DAY));
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,158 @@
+package com.driverental.onlinecarrental.event;
+
+import com.driverental.onlinecarrental.config.OutboxProperties;
+import com.driverental.onlinecarrental.model.entity.OutboxEvent;
+import com.driverental.onlinecarrental.model.enums.OutboxEventType;
+import com.driverental.onlinecarrental.repository.OutboxEventRepository;
+import com.driverental.onlinecarrental.service.impl.DomainEventStreamServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.outbox.relay-batch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ OutboxRelay.class, OutboxProperties.class })
+@RecordApplicationEvents
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Test
+    @DisplayName("Unpublished events are delivered in id order across batches and then marked published")
+    void drain_DeliversInOrderAndMarksPublished() {
+        save(OutboxEventType.BOOKING_CREATED, 1L);
+        save(OutboxEventType.PAYMENT_INITIATED, 7L);
+        save(OutboxEventType.BOOKING_CONFIRMED, 1L);
+        OutboxEvent alreadyPublished = save(OutboxEventType.BOOKING_CANCELLED, 2L);
+        alreadyPublished.setPublishedAt(LocalDateTime.now());
+        outboxEventRepository.saveAndFlush(alreadyPublished);
+
+        outboxRelay.drain();
+
+        List<OutboxEventType> delivered = applicationEvents.stream(DomainEvent.class).map(DomainEvent::type).toList();
+        assertEquals(List.of(OutboxEventType.BOOKING_CREATED, OutboxEventType.PAYMENT_INITIATED,
+                OutboxEventType.BOOKING_CONFIRMED), delivered);
+        assertTrue(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, 10)).isEmpty());
+        List<Long> sequences = applicationEvents.stream(DomainEvent.class).map(DomainEvent::sequence).toList();
+        assertEquals(List.of(sequences.get(0), sequences.get(0) + 1, sequences.get(0) + 2), sequences);
+    }
+
+    @Test
+    @DisplayName("Publish sequences continue across drains and order the replay, whatever the ids")
+    void drain_AssignsSequenceInDeliveryOrder() {
+        OutboxEvent first = save(OutboxEventType.BOOKING_CREATED, 1L);
+        outboxRelay.drain();
+        OutboxEvent second = save(OutboxEventType.BOOKING_CANCELLED, 1L);
+        outboxRelay.drain();
+
+        long firstSequence = outboxEventRepository.findById(first.getId()).orElseThrow().getPublishSequence();
+        assertEquals(firstSequence + 1, outboxEventRepository.findMaxPublishSequence());
+        assertEquals(List.of(second.getId()), outboxEventRepository
+                .findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(firstSequence, PageRequest.of(0, 10))
+                .stream().map(OutboxEvent::getId).toList());
+        assertEquals(List.of(first.getId(), second.getId()), outboxEventRepository
+                .findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(firstSequence - 1, PageRequest.of(0, 10))
+                .stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("An event relayed during a stream replay is sent once, after the replayed events")
+    void subscribe_EventRelayedDuringReplay_SentOnceInOrder() throws Exception {
+        save(OutboxEventType.BOOKING_CREATED, 1L);
+        save(OutboxEventType.BOOKING_CONFIRMED, 1L);
+        outboxRelay.drain();
+        List<DomainEvent> relayed = applicationEvents.stream(DomainEvent.class).toList();
+        long first = relayed.get(0).sequence();
+
+        OutboxEventRepository replaying = mock(OutboxEventRepository.class);
+        DomainEventStreamServiceImpl stream = new DomainEventStreamServiceImpl(replaying, outboxProperties);
+        when(replaying.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    // Relayed after the client registered, and committed before the replay reads
+                    save(OutboxEventType.BOOKING_CANCELLED, 1L);
+                    outboxRelay.drain();
+                    List<DomainEvent> all = applicationEvents.stream(DomainEvent.class).toList();
+                    stream.onDomainEvent(all.get(all.size() - 1));
+                    stream.onDomainEvent(relayed.get(1));
+                    return outboxEventRepository.findByPublishSequenceGreaterThanOrderByPublishSequenceAsc(
+                            invocation.getArgument(0), invocation.getArgument(1));
+                });
+
+        SseEmitter emitter = stream.subscribe(first - 1);
+
+        List<Long> expected = List.of(first, first + 1, first + 2);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sentIds(emitter).size() < expected.size() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        assertEquals(expected, sentIds(emitter));
+        stream.shutdown();
+    }
+
+    /**
+     * Ids of the events written to an emitter that no response is attached to yet.
+     */
+    private static List<Long> sentIds(SseEmitter emitter) {
+        StringBuilder written = new StringBuilder();
+        synchronized (emitter) {
+            Collection<?> sent = (Collection<?>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+            for (Object data : sent) {
+                written.append(ReflectionTestUtils.getField(data, "data"));
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        Matcher id = Pattern.compile("(?m)^id:(\\d+)$").matcher(written);
+        while (id.find()) {
+            ids.add(Long.parseLong(id.group(1)));
+        }
+        return ids;
+    }
+
+    private OutboxEvent save(OutboxEventType type, Long aggregateId) {
+        return outboxEventRepository.saveAndFlush(OutboxEvent.builder()
+                .aggregateType(type.name().startsWith("PAYMENT") ? "Payment" : "Booking")
+                .aggregateId(aggregateId)
+                .eventType(type)
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
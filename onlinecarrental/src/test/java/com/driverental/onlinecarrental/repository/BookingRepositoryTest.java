@@ -0,0 +1,147 @@
+package com.driverental.onlinecarrental.repository;
+
+import com.driverental.onlinecarrental.model.dto.response.BookingResponse;
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookings;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingRepositoryTest {
+
+    private static final int BOOKINGS_PER_USER = 60;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = persistUser("projection@example.com");
+        userId = user.getId();
+
+        for (int i = 0; i < BOOKINGS_PER_USER; i++) {
+            // A fresh vehicle per booking so an entity-based mapping would need one lookup per row
+            Vehicle vehicle = persistVehicle("KA-" + i);
+            LocalDate start = LocalDate.now().plusDays(i);
+            entityManager.persist(Booking.builder()
+                    .user(user)
+                    .vehicle(vehicle)
+                    .startDate(start)
+                    .endDate(start.plusDays(2))
+                    .totalPrice(new BigDecimal("2000.00"))
+                    .status(BookingStatus.PENDING)
+                    .pickupLocation("Kathmandu")
+                    .dropoffLocation("Pokhara")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("User booking listing issues the same number of statements for any page size")
+    void findResponsesByUserId_AnyPageSize_ConstantStatementCount() {
+        long smallPageStatements = countStatements(() -> {
+            Page<BookingResponse> page = bookingRepository.findResponsesByUserId(userId, PageRequest.of(0, 5));
+            assertEquals(5, page.getContent().size());
+            assertEquals(BOOKINGS_PER_USER, page.getTotalElements());
+        });
+        entityManager.clear();
+
+        long largePageStatements = countStatements(() -> {
+            Page<BookingResponse> page = bookingRepository.findResponsesByUserId(userId, PageRequest.of(0, 50));
+            assertEquals(50, page.getContent().size());
+            BookingResponse first = page.getContent().get(0);
+            assertEquals(userId, first.getUserId());
+            assertNotNull(first.getVehicleId());
+            assertNotNull(first.getStartDate());
+        });
+
+        // One select for the page and one count query, independent of page size
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    @DisplayName("Admin booking listing issues the same number of statements for any page size")
+    void findAllResponses_AnyPageSize_ConstantStatementCount() {
+        long smallPageStatements = countStatements(() -> bookingRepository.findAllResponses(PageRequest.of(0, 5)));
+        entityManager.clear();
+        long largePageStatements = countStatements(() -> bookingRepository.findAllResponses(PageRequest.of(0, 50)));
+
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    private long countStatements(Runnable query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder()
+                .email(email)
+                .password("secret")
+                .firstName("Test")
+                .lastName("User")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Vehicle persistVehicle(String licensePlate) {
+        Vehicle vehicle = Vehicle.builder()
+                .make("Toyota")
+                .model("Corolla")
+                .year(2024)
+                .type(VehicleType.SEDAN)
+                .fuelType(FuelType.PETROL)
+                .transmission("Manual")
+                .seats(5)
+                .luggageCapacity(2)
+                .basePrice(new BigDecimal("1000.00"))
+                .dailyPrice(new BigDecimal("1000.00"))
+                .location("Kathmandu")
+                .licensePlate(licensePlate)
+                .build();
+        entityManager.persist(vehicle);
+        return vehicle;
+    }
+}
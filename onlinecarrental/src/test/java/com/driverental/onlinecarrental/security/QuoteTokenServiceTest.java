@@ -0,0 +1,76 @@
+package com.driverental.onlinecarrental.security;
+
+import com.driverental.onlinecarrental.algorithm.pricing.PriceQuote;
+import com.driverental.onlinecarrental.algorithm.pricing.SignedQuote;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteTokenServiceTest {
+
+    private static final String SECRET = "test-quote-token-secret-that-is-at-least-256-bits-long";
+
+    private final LocalDate start = LocalDate.now().plusDays(7);
+    private final LocalDate end = start.plusDays(3);
+    private final PriceQuote quote = new PriceQuote(Money.ofPaisa(1_234_550), 4);
+    private QuoteTokenService quoteTokenService;
+
+    @BeforeEach
+    void setUp() {
+        quoteTokenService = service(SECRET);
+    }
+
+    @Test
+    @DisplayName("A valid token redeems to exactly the quoted price and rules version")
+    void redeem_ValidToken_ReturnsQuotedPrice() {
+        SignedQuote signed = quoteTokenService.sign(7L, 42L, start, end, quote);
+
+        assertEquals(Optional.of(quote), quoteTokenService.redeem(signed.token(), 7L, 42L, start, end));
+    }
+
+    @Test
+    @DisplayName("An expired token is ignored so the booking is priced afresh")
+    void redeem_ExpiredToken_ReturnsEmpty() {
+        ReflectionTestUtils.setField(quoteTokenService, "quoteTokenTtl", Duration.ofSeconds(-5));
+        SignedQuote signed = quoteTokenService.sign(7L, 42L, start, end, quote);
+
+        assertTrue(quoteTokenService.redeem(signed.token(), 7L, 42L, start, end).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tokens for another booking or customer, or not signed by us, are rejected")
+    void redeem_MismatchedOrForgedToken_Throws() {
+        String token = quoteTokenService.sign(7L, 42L, start, end, quote).token();
+        QuoteTokenService otherKey = service(SECRET.replace("test", "fake"));
+        String forged = otherKey.sign(7L, 42L, start, end, new PriceQuote(Money.ofPaisa(100), 4)).token();
+
+        assertThrows(BusinessException.class, () -> quoteTokenService.redeem(token, 7L, 43L, start, end));
+        assertThrows(BusinessException.class, () -> quoteTokenService.redeem(token, 7L, 42L, start, end.plusDays(1)));
+        assertThrows(BusinessException.class, () -> quoteTokenService.redeem(token, 8L, 42L, start, end));
+        assertThrows(BusinessException.class, () -> quoteTokenService.redeem(forged, 7L, 42L, start, end));
+        assertThrows(BusinessException.class, () -> quoteTokenService.redeem("not-a-token", 7L, 42L, start, end));
+    }
+
+    @Test
+    @DisplayName("A missing or short signing secret fails at startup")
+    void init_MissingOrShortSecret_Throws() {
+        assertThrows(IllegalStateException.class, () -> service(null));
+        assertThrows(IllegalStateException.class, () -> service("only-31-bytes-of-secret-here!!!"));
+    }
+
+    private static QuoteTokenService service(String secret) {
+        QuoteTokenService service = new QuoteTokenService();
+        ReflectionTestUtils.setField(service, "quoteTokenSecret", secret);
+        service.init();
+        return service;
+    }
+}
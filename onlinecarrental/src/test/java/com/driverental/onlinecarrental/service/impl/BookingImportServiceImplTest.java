@@ -0,0 +1,213 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.algorithm.pricing.DemandForecaster;
+import com.driverental.onlinecarrental.algorithm.pricing.PriceQuote;
+import com.driverental.onlinecarrental.algorithm.pricing.PricingPipeline;
+import com.driverental.onlinecarrental.config.BookingImportProperties;
+import com.driverental.onlinecarrental.model.dto.response.BookingImportResponse;
+import com.driverental.onlinecarrental.model.entity.Booking;
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.FuelType;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.service.PricingService;
+import com.driverental.onlinecarrental.util.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:imports;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.booking-import.chunk-size=40"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ BookingImportServiceImpl.class, BookingImportProperties.class, DemandForecaster.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookingImportServiceImplTest {
+
+    private static final int VEHICLES = 100;
+
+    @Autowired
+    private BookingImportServiceImpl bookingImportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DemandForecaster demandForecaster;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PricingService pricingService;
+
+    private User user;
+    private Long firstVehicleId;
+
+    @BeforeEach
+    void setUp() {
+        // Rs 1000 a day under rules version 3
+        when(pricingService.calculateBookingPrice(any(), any(), any())).thenAnswer(invocation -> new PriceQuote(
+                Money.ofPaisa(100_000L * PricingPipeline.rentalDays(invocation.getArgument(1), invocation.getArgument(2))),
+                3L));
+
+        user = User.builder()
+                .email("fleet@example.com")
+                .password("secret")
+                .firstName("Fleet")
+                .lastName("Manager")
+                .build();
+        entityManager.persist(user);
+
+        for (int i = 0; i < VEHICLES; i++) {
+            Vehicle vehicle = Vehicle.builder()
+                    .make("Toyota")
+                    .model("Corolla")
+                    .year(2024)
+                    .type(VehicleType.SEDAN)
+                    .fuelType(FuelType.PETROL)
+                    .transmission("Manual")
+                    .seats(5)
+                    .luggageCapacity(2)
+                    .basePrice(new BigDecimal("1000.00"))
+                    .dailyPrice(new BigDecimal("1000.00"))
+                    .location("Kathmandu")
+                    .build();
+            entityManager.persist(vehicle);
+            if (i == 0) {
+                firstVehicleId = vehicle.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Valid rows are inserted in JDBC batches and invalid rows are reported by line")
+    void importBookings_MixedRows_BatchesInsertsAndReportsErrors() {
+        LocalDate start = LocalDate.now().plusDays(3);
+        StringBuilder csv = new StringBuilder("userId,vehicleId,startDate,endDate,pickupLocation,dropoffLocation\n");
+        for (int i = 0; i < VEHICLES; i++) {
+            csv.append(user.getId()).append(',').append(firstVehicleId + i).append(',')
+                    .append(start).append(',').append(start.plusDays(2)).append(",Kathmandu,\"Pokhara, Lakeside\"\n");
+        }
+        // Overlaps the first row of the file
+        csv.append(user.getId()).append(',').append(firstVehicleId).append(',')
+                .append(start.plusDays(1)).append(',').append(start.plusDays(4)).append(",Kathmandu,Pokhara\n");
+        csv.append(user.getId()).append(",999999,").append(start).append(',').append(start)
+                .append(",Kathmandu,Pokhara\n");
+        csv.append(user.getId()).append(',').append(firstVehicleId).append(",not-a-date,")
+                .append(start).append(",Kathmandu,Pokhara\n");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingImportResponse response = bookingImportService.importBookings(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(VEHICLES + 3, response.getTotalRows());
+        assertEquals(VEHICLES, response.getImportedRows());
+        assertEquals(3, response.getFailedRows());
+        assertEquals(VEHICLES + 2, response.getErrors().get(0).getLine());
+        assertEquals(VEHICLES + 3, response.getErrors().get(1).getLine());
+        assertEquals(VEHICLES + 4, response.getErrors().get(2).getLine());
+
+        // One insert statement per chunk plus a handful of lookups, not one per row
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "Expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+
+        Booking imported = bookingRepository.findAll().get(0);
+        assertEquals(BookingStatus.CONFIRMED, imported.getStatus());
+        assertEquals("Pokhara, Lakeside", imported.getDropoffLocation());
+        assertEquals(0, new BigDecimal("2000.00").compareTo(imported.getTotalPrice()));
+        assertEquals(3L, imported.getPricingRulesVersion());
+
+        // Imported rows are reflected in the demand forecast without waiting for the nightly backfill:
+        // every Kathmandu sedan is booked for the same two days
+        assertEquals(1.0, demandForecaster.utilization("Kathmandu", VehicleType.SEDAN, start, start.plusDays(2)), 1e-9);
+        assertTrue(Double.isNaN(demandForecaster.utilization("Kathmandu", VehicleType.SUV, start, start.plusDays(2))));
+    }
+
+    @Test
+    @DisplayName("Rows conflicting with existing bookings are rejected")
+    void importBookings_ExistingBooking_RejectsConflict() {
+        LocalDate start = LocalDate.now().plusDays(5);
+        entityManager.persist(Booking.builder()
+                .user(entityManager.getReference(User.class, user.getId()))
+                .vehicle(entityManager.getReference(Vehicle.class, firstVehicleId))
+                .startDate(start)
+                .endDate(start.plusDays(3))
+                .totalPrice(new BigDecimal("3000.00"))
+                .status(BookingStatus.CONFIRMED)
+                .pickupLocation("Kathmandu")
+                .dropoffLocation("Pokhara")
+                .createdAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+
+        String csv = "userId,vehicleId,startDate,endDate,pickupLocation,dropoffLocation,totalPrice\n"
+                + user.getId() + "," + firstVehicleId + "," + start.plusDays(3) + "," + start.plusDays(6)
+                + ",Kathmandu,Pokhara,4500\n";
+
+        BookingImportResponse response = bookingImportService.importBookings(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, response.getImportedRows());
+        assertEquals(1, response.getFailedRows());
+        assertTrue(response.getErrors().get(0).getMessage().contains("already booked"));
+    }
+
+    @Test
+    @DisplayName("Ranges of a chunk the database rejects are freed for later rows of the same file")
+    void importBookings_RejectedChunk_FreesItsRanges() {
+        LocalDate start = LocalDate.now().plusDays(3);
+        StringBuilder csv = new StringBuilder("userId,vehicleId,startDate,endDate,pickupLocation,dropoffLocation\n");
+        // First chunk of 40: one pickup location too long for its column fails the whole chunk
+        for (int i = 0; i < 40; i++) {
+            String pickup = i == 39 ? "K".repeat(300) : "Kathmandu";
+            csv.append(user.getId()).append(',').append(firstVehicleId + i).append(',')
+                    .append(start).append(',').append(start.plusDays(2)).append(',').append(pickup).append(",Pokhara\n");
+        }
+        csv.append(user.getId()).append(',').append(firstVehicleId).append(',')
+                .append(start.plusDays(1)).append(',').append(start.plusDays(4)).append(",Kathmandu,Pokhara\n");
+
+        BookingImportResponse response = bookingImportService.importBookings(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, response.getImportedRows());
+        assertEquals(40, response.getFailedRows());
+        // The overlapping row after the failed chunk is not reported as a conflict
+        assertEquals(40, response.getErrors().size());
+        assertTrue(response.getErrors().stream().allMatch(error -> error.getMessage().startsWith("Rejected by database")));
+    }
+}
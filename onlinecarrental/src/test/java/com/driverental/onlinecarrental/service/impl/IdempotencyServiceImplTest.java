@@ -0,0 +1,104 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.config.IdempotencyProperties;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.model.exception.DuplicateResourceException;
+import com.driverental.onlinecarrental.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyServiceImplTest {
+
+    private static final TypeReference<String> STRING = new TypeReference<>() {};
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntries(2);
+        properties.setWaitTimeout(Duration.ofMillis(200));
+        idempotencyService = new IdempotencyServiceImpl(properties,
+                mock(IdempotencyRecordRepository.class), new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Retry with the same key replays the stored response without re-running the action")
+    void execute_SameKey_RunsActionOnce() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = idempotencyService.execute("booking:1", "key-1", Map.of("vehicleId", 7), STRING,
+                () -> "response-" + calls.incrementAndGet());
+        String second = idempotencyService.execute("booking:1", "key-1", Map.of("vehicleId", 7), STRING,
+                () -> "response-" + calls.incrementAndGet());
+
+        assertEquals("response-1", first);
+        assertEquals("response-1", second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Reusing a key for a different request body is rejected")
+    void execute_SameKeyDifferentRequest_Throws() {
+        idempotencyService.execute("booking:1", "key-1", Map.of("vehicleId", 7), STRING, () -> "ok");
+
+        assertThrows(BusinessException.class, () -> idempotencyService.execute("booking:1", "key-1",
+                Map.of("vehicleId", 8), STRING, () -> "other"));
+    }
+
+    @Test
+    @DisplayName("Failed attempts are not remembered and the least recently used key is evicted")
+    void execute_FailureAndEviction_ReRunsAction() {
+        assertThrows(BusinessException.class, () -> idempotencyService.execute("s", "k", null, STRING, () -> {
+            throw new BusinessException("boom");
+        }));
+        assertEquals("retried", idempotencyService.execute("s", "k", null, STRING, () -> "retried"));
+
+        idempotencyService.execute("s", "k2", null, STRING, () -> "two");
+        idempotencyService.execute("s", "k3", null, STRING, () -> "three");
+        assertEquals("fresh", idempotencyService.execute("s", "k", null, STRING, () -> "fresh"));
+    }
+
+    @Test
+    @DisplayName("A running attempt is not evicted, and a retry waits for it only up to the timeout")
+    void execute_RunningAttempt_NotEvictedAndRetryTimesOut() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> idempotencyService.execute("s", "slow",
+                null, STRING, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "slow";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        idempotencyService.execute("s", "k2", null, STRING, () -> "two");
+        idempotencyService.execute("s", "k3", null, STRING, () -> "three");
+        assertThrows(DuplicateResourceException.class, () -> idempotencyService.execute("s", "slow", null, STRING,
+                () -> "again-" + calls.incrementAndGet()));
+
+        release.countDown();
+        assertEquals("slow", first.get(5, TimeUnit.SECONDS));
+        assertEquals("slow", idempotencyService.execute("s", "slow", null, STRING, () -> "again"));
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,129 @@
+package com.driverental.onlinecarrental.service.impl;
+
+import com.driverental.onlinecarrental.algorithm.waitlist.WaitlistIndex;
+import com.driverental.onlinecarrental.event.BookingEventPayload;
+import com.driverental.onlinecarrental.model.dto.request.BookingRequest;
+import com.driverental.onlinecarrental.model.dto.response.BookingResponse;
+import com.driverental.onlinecarrental.model.entity.User;
+import com.driverental.onlinecarrental.model.entity.Vehicle;
+import com.driverental.onlinecarrental.model.entity.WaitlistEntry;
+import com.driverental.onlinecarrental.model.enums.BookingStatus;
+import com.driverental.onlinecarrental.model.enums.VehicleType;
+import com.driverental.onlinecarrental.model.enums.WaitlistStatus;
+import com.driverental.onlinecarrental.model.exception.BusinessException;
+import com.driverental.onlinecarrental.repository.BookingRepository;
+import com.driverental.onlinecarrental.repository.UserRepository;
+import com.driverental.onlinecarrental.repository.VehicleRepository;
+import com.driverental.onlinecarrental.repository.WaitlistEntryRepository;
+import com.driverental.onlinecarrental.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitlistServiceImplTest {
+
+    private static final long VEHICLE_ID = 7L;
+    private static final LocalDate START = LocalDate.now().plusDays(10);
+    private static final LocalDate END = START.plusDays(3);
+
+    private final WaitlistIndex waitlistIndex = new WaitlistIndex();
+    private WaitlistEntryRepository waitlistEntryRepository;
+    private BookingService bookingService;
+    private WaitlistServiceImpl waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        waitlistEntryRepository = mock(WaitlistEntryRepository.class);
+        bookingService = mock(BookingService.class);
+        waitlistService = new WaitlistServiceImpl(waitlistEntryRepository, mock(BookingRepository.class),
+                mock(UserRepository.class), mock(VehicleRepository.class), bookingService, waitlistIndex,
+                mock(PlatformTransactionManager.class), new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("A cancellation books the vehicle for the first waiting customer and marks the entry offered")
+    void offerReleased_Cancellation_AutoBooksFirstWaitingEntry() {
+        WaitlistEntry entry = waiting(1L, 100L, 0);
+        when(bookingService.isVehicleAvailable(VEHICLE_ID, START.toString(), END.toString())).thenReturn(true);
+        when(bookingService.createBooking(any(BookingRequest.class), eq(100L)))
+                .thenReturn(BookingResponse.builder().id(55L).build());
+
+        waitlistService.offerReleased(released());
+
+        assertEquals(WaitlistStatus.OFFERED, entry.getStatus());
+        assertEquals(55L, entry.getOfferedBookingId());
+        assertNotNull(entry.getOfferedAt());
+        assertEquals(0, waitlistIndex.size());
+    }
+
+    @Test
+    @DisplayName("An entry whose dates are still taken, or whose booking conflicts, is skipped for the next one")
+    void offerReleased_UnavailableOrConflict_OffersNextEntry() {
+        WaitlistEntry longer = waiting(1L, 100L, 5);
+        longer.setEndDate(END.plusDays(4));
+        waitlistIndex.add(1L, VEHICLE_ID, START, END.plusDays(4), 5);
+        WaitlistEntry conflicting = waiting(2L, 200L, 3);
+        WaitlistEntry served = waiting(3L, 300L, 1);
+        when(bookingService.isVehicleAvailable(VEHICLE_ID, START.toString(), END.plusDays(4).toString()))
+                .thenReturn(false);
+        when(bookingService.isVehicleAvailable(VEHICLE_ID, START.toString(), END.toString())).thenReturn(true);
+        when(bookingService.createBooking(any(BookingRequest.class), eq(200L)))
+                .thenThrow(new BusinessException("Vehicle is not available for the selected dates"));
+        when(bookingService.createBooking(any(BookingRequest.class), eq(300L)))
+                .thenReturn(BookingResponse.builder().id(56L).build());
+
+        waitlistService.offerReleased(released());
+
+        assertEquals(WaitlistStatus.WAITING, longer.getStatus());
+        assertEquals(WaitlistStatus.WAITING, conflicting.getStatus());
+        assertEquals(WaitlistStatus.OFFERED, served.getStatus());
+        assertEquals(56L, served.getOfferedBookingId());
+        assertEquals(List.of(1L, 2L), waitlistIndex.findOverlapping(VEHICLE_ID, START, END));
+    }
+
+    @Test
+    @DisplayName("A release with nobody waiting for the vehicle books nothing")
+    void offerReleased_EmptyWaitlist_BooksNothing() {
+        waitlistService.offerReleased(released());
+
+        verify(waitlistEntryRepository, never()).findById(anyLong());
+        verify(bookingService, never()).isVehicleAvailable(anyLong(), anyString(), anyString());
+        verify(bookingService, never()).createBooking(any(BookingRequest.class), anyLong());
+    }
+
+    private WaitlistEntry waiting(long id, long userId, int priority) {
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .id(id)
+                .user(User.builder().id(userId).build())
+                .vehicle(Vehicle.builder().id(VEHICLE_ID).build())
+                .startDate(START)
+                .endDate(END)
+                .priority(priority)
+                .build();
+        when(waitlistEntryRepository.findById(id)).thenReturn(Optional.of(entry));
+        waitlistIndex.add(id, VEHICLE_ID, START, END, priority);
+        return entry;
+    }
+
+    private static BookingEventPayload released() {
+        return new BookingEventPayload(9L, 1L, VEHICLE_ID, VehicleType.SUV, "Kathmandu", START, END,
+                BigDecimal.valueOf(300), BookingStatus.CANCELLED);
+    }
+}
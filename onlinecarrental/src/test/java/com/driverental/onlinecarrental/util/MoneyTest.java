@@ -0,0 +1,55 @@
+package com.driverental.onlinecarrental.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Conversion rounds to the nearest paisa, half up, and returns scale 2")
+    void of_ThreeDecimals_RoundsHalfUp() {
+        assertEquals(1235, Money.of(new BigDecimal("12.345")).paisa());
+        assertEquals(-1235, Money.of(new BigDecimal("-12.345")).paisa());
+        assertEquals(new BigDecimal("12.30"), Money.of(new BigDecimal("12.3")).toBigDecimal());
+        assertEquals("100.00", Money.ofRupees(100).toString());
+    }
+
+    @Test
+    @DisplayName("Decimal rates match BigDecimal multiply-then-round exactly")
+    void times_DecimalRate_MatchesBigDecimal() {
+        BigDecimal[] rates = { new BigDecimal("0.13"), new BigDecimal("0.015"), new BigDecimal("1.25"),
+                new BigDecimal("0.75"), new BigDecimal("2") };
+        for (long paisa = -2_000; paisa <= 2_000; paisa += 7) {
+            Money amount = Money.ofPaisa(paisa);
+            for (BigDecimal rate : rates) {
+                BigDecimal expected = amount.toBigDecimal().multiply(rate).setScale(2, RoundingMode.HALF_UP);
+                assertEquals(expected, amount.times(rate).toBigDecimal(), amount + " x " + rate);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Fractions and division round once, half up")
+    void times_Fraction_RoundsOnce() {
+        assertEquals(Money.ofPaisa(333), Money.ofRupees(10).dividedBy(3));
+        assertEquals(Money.ofPaisa(667), Money.ofRupees(20).dividedBy(3));
+        assertEquals(Money.ofPaisa(38), Money.ofPaisa(50).times(75, 100));
+        assertEquals(Money.ofPaisa(-38), Money.ofPaisa(-50).times(75, 100));
+        assertEquals(Money.ofPaisa(13), Money.ofPaisa(10).times(1.25));
+    }
+
+    @Test
+    @DisplayName("Overflow throws instead of wrapping")
+    void plus_Overflow_Throws() {
+        Money max = Money.ofPaisa(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofPaisa(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.ofRupees(1).dividedBy(0));
+    }
+}